@@ -54,6 +54,8 @@ public class HttpReceiverAdapterConfig {
     // Retry & Error Handling for outbound calls
     private int maxRetryAttempts = 3;
     private long retryDelayMs = 1000;
+    private double retryBudgetRatio = 0.2; // Retries allowed as a fraction of requests
+    private int minRetriesPerSecond = 10; // Retries always allowed regardless of traffic
     private boolean useExponentialBackoff = true;
     private String[] retryableErrorCodes = {"500", "502", "503", "504"};
     
@@ -183,6 +185,12 @@ public class HttpReceiverAdapterConfig {
     
     public long getRetryDelayMs() { return retryDelayMs; }
     public void setRetryDelayMs(long retryDelayMs) { this.retryDelayMs = retryDelayMs; }
+
+    public double getRetryBudgetRatio() { return retryBudgetRatio; }
+    public void setRetryBudgetRatio(double retryBudgetRatio) { this.retryBudgetRatio = retryBudgetRatio; }
+
+    public int getMinRetriesPerSecond() { return minRetriesPerSecond; }
+    public void setMinRetriesPerSecond(int minRetriesPerSecond) { this.minRetriesPerSecond = minRetriesPerSecond; }
     
     public boolean isUseExponentialBackoff() { return useExponentialBackoff; }
     public void setUseExponentialBackoff(boolean useExponentialBackoff) { this.useExponentialBackoff = useExponentialBackoff; }
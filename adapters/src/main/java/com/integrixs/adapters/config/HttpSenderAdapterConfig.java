@@ -46,6 +46,8 @@ public class HttpSenderAdapterConfig {
 	// Error Handling & Response
 	private String errorHandling; // Expected error codes and their meanings
 	private String retryPolicy; // Instructions on retries or idempotency
+	private double retryBudgetRatio = 0.2; // Retries allowed as a fraction of requests
+	private int minRetriesPerSecond = 10; // Retries always allowed regardless of traffic
 
 	// Processing Configuration
 	private int connectionTimeout = 30; // Seconds to wait for connections
@@ -282,6 +284,22 @@ public class HttpSenderAdapterConfig {
 		this.retryPolicy = retryPolicy;
 	}
 
+	public double getRetryBudgetRatio() {
+		return retryBudgetRatio;
+	}
+
+	public void setRetryBudgetRatio(double retryBudgetRatio) {
+		this.retryBudgetRatio = retryBudgetRatio;
+	}
+
+	public int getMinRetriesPerSecond() {
+		return minRetriesPerSecond;
+	}
+
+	public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+		this.minRetriesPerSecond = minRetriesPerSecond;
+	}
+
 	public int getConnectionTimeout() {
 		return connectionTimeout;
 	}
@@ -93,6 +93,9 @@ public class OdataSenderAdapterConfig {
     private boolean logRequestResponse = false;
     private int pageSize = 100; // OData $top parameter
     private boolean enablePaging = true;
+    private boolean followNextLinks = true; // Follow @odata.nextLink for server-driven paging
+    private boolean enableParallelPageFetch = false; // Fetch $skip ranges in parallel when $count is supported
+    private int maxParallelPageRequests = 4; // Max concurrent page requests in parallel mode
     
     // Certificate and SSL
     private String sslConfig;
@@ -292,6 +295,15 @@ public class OdataSenderAdapterConfig {
     public boolean isEnablePaging() { return enablePaging; }
     public void setEnablePaging(boolean enablePaging) { this.enablePaging = enablePaging; }
     
+    public boolean isFollowNextLinks() { return followNextLinks; }
+    public void setFollowNextLinks(boolean followNextLinks) { this.followNextLinks = followNextLinks; }
+    
+    public boolean isEnableParallelPageFetch() { return enableParallelPageFetch; }
+    public void setEnableParallelPageFetch(boolean enableParallelPageFetch) { this.enableParallelPageFetch = enableParallelPageFetch; }
+    
+    public int getMaxParallelPageRequests() { return maxParallelPageRequests; }
+    public void setMaxParallelPageRequests(int maxParallelPageRequests) { this.maxParallelPageRequests = maxParallelPageRequests; }
+    
     public String getSslConfig() { return sslConfig; }
     public void setSslConfig(String sslConfig) { this.sslConfig = sslConfig; }
     
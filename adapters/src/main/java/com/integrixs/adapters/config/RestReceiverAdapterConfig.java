@@ -89,6 +89,8 @@ public class RestReceiverAdapterConfig {
     private String retryPolicy; // Retry configuration
     private int maxRetryAttempts = 3;
     private long retryDelayMs = 2000;
+    private double retryBudgetRatio = 0.2; // Retries allowed as a fraction of requests
+    private int minRetriesPerSecond = 10; // Retries always allowed regardless of traffic
     private boolean continueOnError = false;
     private String errorHandlingStrategy = "FAIL_FAST";
     
@@ -284,6 +286,12 @@ public class RestReceiverAdapterConfig {
     
     public long getRetryDelayMs() { return retryDelayMs; }
     public void setRetryDelayMs(long retryDelayMs) { this.retryDelayMs = retryDelayMs; }
+
+    public double getRetryBudgetRatio() { return retryBudgetRatio; }
+    public void setRetryBudgetRatio(double retryBudgetRatio) { this.retryBudgetRatio = retryBudgetRatio; }
+
+    public int getMinRetriesPerSecond() { return minRetriesPerSecond; }
+    public void setMinRetriesPerSecond(int minRetriesPerSecond) { this.minRetriesPerSecond = minRetriesPerSecond; }
     
     public boolean isContinueOnError() { return continueOnError; }
     public void setContinueOnError(boolean continueOnError) { this.continueOnError = continueOnError; }
@@ -75,8 +75,19 @@ public class RestSenderAdapterConfig {
     // Pagination and Data Limits
     private Integer pageSize; // For paginated APIs
     private Integer maxResults; // Maximum records to retrieve
-    private String paginationStrategy = "OFFSET_BASED"; // OFFSET_BASED, CURSOR_BASED, PAGE_BASED
+    private String paginationStrategy = "NONE"; // NONE (single request), OFFSET_BASED, PAGE_BASED, CURSOR_BASED, LINK_HEADER
     private String nextPageParam; // Parameter name for next page
+    private String offsetParam = "offset"; // Query parameter carrying the offset (OFFSET_BASED)
+    private String limitParam = "limit"; // Query parameter carrying the page size
+    private String pageParam = "page"; // Query parameter carrying the page number (PAGE_BASED)
+    private int firstPageNumber = 1; // Number of the first page (PAGE_BASED)
+    private String cursorJsonPath; // JSONPath to the next cursor token (CURSOR_BASED)
+    private String recordsJsonPath; // JSONPath to the record array, used to detect the last page
+    private int maxPagesPerPoll = 100; // Safety limit on pages fetched in one poll
+    
+    // Conditional Requests and Duplicate Detection
+    private boolean enableConditionalRequests = true; // Send If-None-Match / If-Modified-Since without pagination
+    private int duplicateCacheSize = 10000; // Max remembered message fingerprints
     
     // Rate Limiting and Error Handling
     private String rateLimits; // Rate limiting configuration
@@ -254,6 +265,33 @@ public class RestSenderAdapterConfig {
     public String getNextPageParam() { return nextPageParam; }
     public void setNextPageParam(String nextPageParam) { this.nextPageParam = nextPageParam; }
     
+    public String getOffsetParam() { return offsetParam; }
+    public void setOffsetParam(String offsetParam) { this.offsetParam = offsetParam; }
+    
+    public String getLimitParam() { return limitParam; }
+    public void setLimitParam(String limitParam) { this.limitParam = limitParam; }
+    
+    public String getPageParam() { return pageParam; }
+    public void setPageParam(String pageParam) { this.pageParam = pageParam; }
+    
+    public int getFirstPageNumber() { return firstPageNumber; }
+    public void setFirstPageNumber(int firstPageNumber) { this.firstPageNumber = firstPageNumber; }
+    
+    public String getCursorJsonPath() { return cursorJsonPath; }
+    public void setCursorJsonPath(String cursorJsonPath) { this.cursorJsonPath = cursorJsonPath; }
+    
+    public String getRecordsJsonPath() { return recordsJsonPath; }
+    public void setRecordsJsonPath(String recordsJsonPath) { this.recordsJsonPath = recordsJsonPath; }
+    
+    public int getMaxPagesPerPoll() { return maxPagesPerPoll; }
+    public void setMaxPagesPerPoll(int maxPagesPerPoll) { this.maxPagesPerPoll = maxPagesPerPoll; }
+    
+    public boolean isEnableConditionalRequests() { return enableConditionalRequests; }
+    public void setEnableConditionalRequests(boolean enableConditionalRequests) { this.enableConditionalRequests = enableConditionalRequests; }
+    
+    public int getDuplicateCacheSize() { return duplicateCacheSize; }
+    public void setDuplicateCacheSize(int duplicateCacheSize) { this.duplicateCacheSize = duplicateCacheSize; }
+    
     public String getRateLimits() { return rateLimits; }
     public void setRateLimits(String rateLimits) { this.rateLimits = rateLimits; }
     
@@ -102,6 +102,8 @@ public class SoapReceiverAdapterConfig {
     private String errorHandling = "FAIL_FAST";
     private int maxRetryAttempts = 3;
     private long retryDelayMs = 2000;
+    private double retryBudgetRatio = 0.2; // Retries allowed as a fraction of requests
+    private int minRetriesPerSecond = 10; // Retries always allowed regardless of traffic
     private boolean continueOnError = false;
     
     // Target System Specific
@@ -260,6 +262,12 @@ public class SoapReceiverAdapterConfig {
     
     public long getRetryDelayMs() { return retryDelayMs; }
     public void setRetryDelayMs(long retryDelayMs) { this.retryDelayMs = retryDelayMs; }
+
+    public double getRetryBudgetRatio() { return retryBudgetRatio; }
+    public void setRetryBudgetRatio(double retryBudgetRatio) { this.retryBudgetRatio = retryBudgetRatio; }
+
+    public int getMinRetriesPerSecond() { return minRetriesPerSecond; }
+    public void setMinRetriesPerSecond(int minRetriesPerSecond) { this.minRetriesPerSecond = minRetriesPerSecond; }
     
     public boolean isContinueOnError() { return continueOnError; }
     public void setContinueOnError(boolean continueOnError) { this.continueOnError = continueOnError; }
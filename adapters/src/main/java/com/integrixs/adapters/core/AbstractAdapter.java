@@ -1,8 +1,10 @@
 package com.integrixs.adapters.core;
 
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -11,6 +13,10 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class AbstractAdapter implements BaseAdapter {
     
+    /** Default retry budget: retries up to 20% of requests, plus 10 per second */
+    protected static final double DEFAULT_RETRY_BUDGET_RATIO = 0.2;
+    protected static final int DEFAULT_MIN_RETRIES_PER_SECOND = 10;
+    
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
     
     private final AdapterType adapterType;
@@ -18,6 +24,7 @@ public abstract class AbstractAdapter implements BaseAdapter {
     private final AtomicBoolean initialized = new AtomicBoolean(false);
     private Instant lastActivityTime;
     private String adapterId;
+    private boolean configuredAdapterId;
     
     protected AbstractAdapter(AdapterType adapterType) {
         this.adapterType = adapterType;
@@ -40,6 +47,17 @@ public abstract class AbstractAdapter implements BaseAdapter {
         return adapterId;
     }
     
+    @Override
+    public void setAdapterId(String adapterId) {
+        if (initialized.get()) {
+            throw new IllegalStateException("Adapter ID must be set before the adapter is initialized");
+        }
+        if (adapterId != null && !adapterId.isBlank()) {
+            this.adapterId = adapterId;
+            this.configuredAdapterId = true;
+        }
+    }
+    
     @Override
     public AdapterType getAdapterType() {
         return adapterType;
@@ -60,6 +78,10 @@ public abstract class AbstractAdapter implements BaseAdapter {
         try {
             logger.info("Initializing {} adapter in {} mode", getAdapterType(), getAdapterMode());
             doInitialize();
+            // Instances of one configuration share its budget, so a new one does not reset it
+            if (!configuredAdapterId || RetryExecutor.getRetryBudget(adapterId) == null) {
+                RetryExecutor.setRetryBudget(adapterId, createRetryBudget());
+            }
             initialized.set(true);
             active.set(true);
             updateLastActivity();
@@ -80,6 +102,11 @@ public abstract class AbstractAdapter implements BaseAdapter {
         try {
             logger.info("Destroying {} adapter", getAdapterType());
             active.set(false);
+            if (!configuredAdapterId) {
+                // Nothing else will use this instance's ID again
+                RetryExecutor.setRetryBudget(adapterId, null);
+                AdapterExceptionHandler.getInstance().unregister(getAdapterType(), getAdapterMode(), adapterId);
+            }
             doDestroy();
             initialized.set(false);
             logger.info("Successfully destroyed {} adapter", getAdapterType());
@@ -126,6 +153,16 @@ public abstract class AbstractAdapter implements BaseAdapter {
                 getAdapterType(), getAdapterMode(), isActive(), initialized.get(), lastActivityTime);
     }
     
+    /**
+     * Retry budget registered for this adapter instance while it is initialized.
+     * Adapters whose configuration carries budget settings override this.
+     * 
+     * @return the budget, or null to retry without a budget
+     */
+    protected RetryBudget createRetryBudget() {
+        return new RetryBudget(DEFAULT_RETRY_BUDGET_RATIO, DEFAULT_MIN_RETRIES_PER_SECOND);
+    }
+    
     /**
      * Update the last activity timestamp.
      */
@@ -177,9 +214,18 @@ public abstract class AbstractAdapter implements BaseAdapter {
                     getAdapterMode(),
                     adapterId,
                     () -> {
+                        AdapterExceptionHandler.CallPermit permit = null;
                         try {
-                            return operation.execute();
+                            // Fails fast while the circuit is open or the bulkhead is full
+                            permit = AdapterExceptionHandler.getInstance().acquirePermission(
+                                    getAdapterType(), getAdapterMode(), adapterId, true);
+                            AdapterResult attemptResult = operation.execute();
+                            permit.onSuccess();
+                            return attemptResult;
                         } catch (Exception e) {
+                            if (permit != null) {
+                                permit.onError(e);
+                            }
                             if (e instanceof RuntimeException) {
                                 throw (RuntimeException) e;
                             }
@@ -214,6 +260,40 @@ public abstract class AbstractAdapter implements BaseAdapter {
         }
     }
     
+    /**
+     * Asynchronous variant of {@link #executeTimedOperation}. No thread is held while
+     * waiting between attempts; the returned future never completes exceptionally.
+     * 
+     * @param operationName name recorded in the result metadata
+     * @param attempt starts one attempt and returns its future result
+     * @return future completed with the operation result, or a failure result
+     */
+    protected CompletableFuture<AdapterResult> executeTimedOperationAsync(String operationName,
+                                                                          Supplier<CompletableFuture<AdapterResult>> attempt) {
+        Map<String, Object> context = RetryExecutor.createRetryContext(operationName, null);
+        long startTime = System.currentTimeMillis();
+        
+        logger.debug("Executing async {} for {} adapter", operationName, getAdapterType());
+        
+        return RetryExecutor.executeWithRetryAsync(getAdapterType(), getAdapterMode(), getAdapterId(), attempt, context)
+                .handle((result, error) -> {
+                    long duration = System.currentTimeMillis() - startTime;
+                    updateLastActivity();
+                    if (error != null) {
+                        Throwable cause = error instanceof java.util.concurrent.CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        logger.error("{} error for {} adapter", operationName, getAdapterType(), cause);
+                        result = AdapterResult.failure(operationName + " failed: " + cause.getMessage(), cause);
+                    } else if (!result.isSuccess()) {
+                        logger.warn("{} failed for {} adapter: {}", 
+                                operationName, getAdapterType(), result.getMessage());
+                    }
+                    result.setDurationMs(duration);
+                    result.addMetadata("operation", operationName);
+                    return result;
+                });
+    }
+    
     /**
      * Functional interface for timed operations.
      */
@@ -6,6 +6,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 
 /**
  * Abstract base implementation for receiver adapters.
@@ -16,6 +17,7 @@ public abstract class AbstractReceiverAdapter extends AbstractAdapter implements
     private final AtomicBoolean polling = new AtomicBoolean(false);
     private final AtomicReference<ScheduledFuture<?>> pollingTask = new AtomicReference<>();
     private final AtomicReference<AdapterCallback> currentCallback = new AtomicReference<>();
+    private volatile BooleanSupplier pollGate = () -> true;
     
     protected AbstractReceiverAdapter(AdapterType adapterType) {
         super(adapterType);
@@ -66,9 +68,18 @@ public abstract class AbstractReceiverAdapter extends AbstractAdapter implements
     @Override
     public AdapterResult receive(Object criteria) throws AdapterException {
         validateReady();
+        MemoryPressure.getInstance().checkPayload(getAdapterType(), criteria);
         return executeTimedOperation("receive", () -> doReceive(criteria));
     }
     
+    /**
+     * Set a check made before every scheduled poll; the poll is skipped while it returns
+     * false. Used to poll a source from one cluster node only.
+     */
+    public void setPollGate(BooleanSupplier pollGate) {
+        this.pollGate = pollGate != null ? pollGate : () -> true;
+    }
+    
     @Override
     public void startPolling(AdapterCallback callback) throws AdapterException {
         validateReady();
@@ -89,6 +100,14 @@ public abstract class AbstractReceiverAdapter extends AbstractAdapter implements
         currentCallback.set(callback);
         
         ScheduledFuture<?> task = pollingExecutor.scheduleAtFixedRate(() -> {
+            if (!pollGate.getAsBoolean()) {
+                logger.debug("Skipping poll for {} adapter, source polled by another node", getAdapterType());
+                return;
+            }
+            if (MemoryPressure.getInstance().shouldSkipPoll()) {
+                logger.debug("Skipping poll for {} adapter under memory pressure", getAdapterType());
+                return;
+            }
             try {
                 logger.debug("Polling for data with {} adapter", getAdapterType());
                 AdapterResult result = doReceive(null);
@@ -145,7 +164,8 @@ public abstract class AbstractReceiverAdapter extends AbstractAdapter implements
             throw new AdapterException.ValidationException(getAdapterType(), "maxItems must be positive");
         }
         
-        return executeTimedOperation("receiveBatch", () -> doReceiveBatch(maxItems));
+        int batchSize = MemoryPressure.getInstance().scaleBatchSize(maxItems);
+        return executeTimedOperation("receiveBatch", () -> doReceiveBatch(batchSize));
     }
     
     @Override
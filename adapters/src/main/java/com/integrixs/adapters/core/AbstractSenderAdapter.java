@@ -4,8 +4,8 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Abstract base implementation for sender adapters.
@@ -20,11 +20,7 @@ public abstract class AbstractSenderAdapter extends AbstractAdapter implements S
     
     @Override
     protected void doInitialize() throws Exception {
-        this.asyncExecutor = Executors.newCachedThreadPool(r -> {
-            Thread t = new Thread(r, getAdapterType() + "-sender-async");
-            t.setDaemon(true);
-            return t;
-        });
+        this.asyncExecutor = AdapterExecutors.getInstance().newAdapterExecutor(getAdapterType() + "-sender-async");
         doSenderInitialize();
     }
     
@@ -64,13 +60,21 @@ public abstract class AbstractSenderAdapter extends AbstractAdapter implements S
             throw new AdapterException.ValidationException(getAdapterType(), "Callback cannot be null");
         }
         
-        CompletableFuture.supplyAsync(() -> {
+        // Attempts run on the async executor; backoff between them holds no thread
+        deliver(executeTimedOperationAsync("send", () -> CompletableFuture.supplyAsync(() -> {
             try {
-                return send(payload);
-            } catch (AdapterException e) {
-                return AdapterResult.failure("Async send failed: " + e.getMessage(), e);
+                return doSend(payload, new HashMap<>());
+            } catch (Exception e) {
+                throw new CompletionException(e);
             }
-        }, asyncExecutor).thenAccept(result -> {
+        }, asyncExecutor)), callback);
+    }
+    
+    /**
+     * Hand a completed async result to the callback.
+     */
+    protected void deliver(CompletableFuture<AdapterResult> future, AdapterCallback callback) {
+        future.thenAccept(result -> {
             if (result.isSuccess()) {
                 callback.onSuccess(result);
             } else {
@@ -139,6 +143,13 @@ public abstract class AbstractSenderAdapter extends AbstractAdapter implements S
         return result;
     }
     
+    /**
+     * Executor used for asynchronous sends and streamed polling.
+     */
+    protected ExecutorService getAsyncExecutor() {
+        return asyncExecutor;
+    }
+    
     // Abstract methods for subclasses to implement
     
     /**
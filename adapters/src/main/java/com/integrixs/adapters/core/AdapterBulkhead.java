@@ -0,0 +1,76 @@
+package com.integrixs.adapters.core;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Semaphore bulkhead limiting concurrent calls into one adapter instance,
+ * so a hung endpoint cannot absorb every executor thread.
+ */
+public class AdapterBulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    public AdapterBulkhead(String name, int maxConcurrentCalls, long maxWaitMs) {
+        this.name = name;
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.permits = new Semaphore(this.maxConcurrentCalls);
+    }
+
+    /**
+     * Acquire a permit, waiting up to the configured maximum wait.
+     *
+     * @return false if no permit became available
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(maxWaitMs);
+    }
+
+    /**
+     * Acquire a permit, waiting up to the given time.
+     *
+     * @param waitMs maximum wait in milliseconds, 0 to fail immediately
+     * @return false if no permit became available
+     */
+    public boolean tryAcquire(long waitMs) {
+        boolean acquired;
+        try {
+            acquired = waitMs > 0
+                    ? permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS)
+                    : permits.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedCalls.incrementAndGet();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getInUse() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    public long getRejectedCallCount() {
+        return rejectedCalls.get();
+    }
+}
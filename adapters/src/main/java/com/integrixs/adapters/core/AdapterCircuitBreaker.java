@@ -0,0 +1,331 @@
+package com.integrixs.adapters.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding-window circuit breaker for one adapter instance.
+ * Calls are recorded in time buckets; the breaker opens when either the failure rate
+ * or the slow-call rate over the window crosses its threshold. After the open period
+ * a limited number of probe calls are let through (half-open) and their outcome
+ * decides whether the breaker closes again or re-opens.
+ */
+public class AdapterCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdapterCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Listener for breaker state transitions.
+     */
+    @FunctionalInterface
+    public interface TransitionListener {
+        void onTransition(String name, State from, State to);
+    }
+
+    /**
+     * Circuit breaker settings.
+     */
+    public static class Config {
+        private double failureRateThreshold = 50.0;
+        private double slowCallRateThreshold = 80.0;
+        private long slowCallDurationMs = 10000;
+        private int minimumCalls = 10;
+        private long windowMs = 60000;
+        private int bucketCount = 10;
+        private long openDurationMs = 60000;
+        private int halfOpenProbes = 3;
+
+        public double getFailureRateThreshold() { return failureRateThreshold; }
+        public Config setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        public double getSlowCallRateThreshold() { return slowCallRateThreshold; }
+        public Config setSlowCallRateThreshold(double slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        public long getSlowCallDurationMs() { return slowCallDurationMs; }
+        public Config setSlowCallDurationMs(long slowCallDurationMs) {
+            this.slowCallDurationMs = slowCallDurationMs;
+            return this;
+        }
+
+        public int getMinimumCalls() { return minimumCalls; }
+        public Config setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = Math.max(1, minimumCalls);
+            return this;
+        }
+
+        public long getWindowMs() { return windowMs; }
+        public Config setWindowMs(long windowMs) {
+            this.windowMs = Math.max(1, windowMs);
+            return this;
+        }
+
+        public int getBucketCount() { return bucketCount; }
+        public Config setBucketCount(int bucketCount) {
+            this.bucketCount = Math.max(1, bucketCount);
+            return this;
+        }
+
+        public long getOpenDurationMs() { return openDurationMs; }
+        public Config setOpenDurationMs(long openDurationMs) {
+            this.openDurationMs = openDurationMs;
+            return this;
+        }
+
+        public int getHalfOpenProbes() { return halfOpenProbes; }
+        public Config setHalfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = Math.max(1, halfOpenProbes);
+            return this;
+        }
+    }
+
+    private static class Bucket {
+        long epoch = -1;
+        int calls;
+        int failures;
+        int slowCalls;
+
+        void reset(long epoch) {
+            this.epoch = epoch;
+            calls = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    private final String name;
+    private final Config config;
+    private final TransitionListener listener;
+    private final Bucket[] buckets;
+    private final long bucketMs;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+    private final AtomicLong transitions = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    public AdapterCircuitBreaker(String name, Config config, TransitionListener listener) {
+        this.name = name;
+        this.config = config;
+        this.listener = listener;
+        this.buckets = new Bucket[config.getBucketCount()];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.bucketMs = Math.max(1, config.getWindowMs() / buckets.length);
+    }
+
+    /**
+     * Ask permission for a call. Every permitted call must be followed by exactly one
+     * of {@link #onSuccess(long)}, {@link #onFailure(long)} or {@link #onIgnored()}.
+     *
+     * @return false if the breaker is open or all half-open probes are in use
+     */
+    public boolean tryAcquirePermission() {
+        State from;
+        boolean permitted = true;
+        synchronized (this) {
+            from = state;
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < config.getOpenDurationMs()) {
+                    rejectedCalls.incrementAndGet();
+                    return false;
+                }
+                moveTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight >= config.getHalfOpenProbes()) {
+                    rejectedCalls.incrementAndGet();
+                    permitted = false;
+                } else {
+                    probesInFlight++;
+                }
+            }
+        }
+        notifyIfChanged(from);
+        return permitted;
+    }
+
+    public void onSuccess(long durationMs) {
+        record(false, durationMs);
+    }
+
+    public void onFailure(long durationMs) {
+        record(true, durationMs);
+    }
+
+    /**
+     * Release a permitted call without counting it, e.g. when the outcome says nothing
+     * about the health of the target.
+     */
+    public void onIgnored() {
+        synchronized (this) {
+            if (state == State.HALF_OPEN && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        }
+    }
+
+    private void record(boolean failed, long durationMs) {
+        boolean slow = durationMs >= config.getSlowCallDurationMs();
+        State from;
+        synchronized (this) {
+            from = state;
+            long now = System.currentTimeMillis();
+            switch (state) {
+                case HALF_OPEN:
+                    if (probesInFlight > 0) {
+                        probesInFlight--;
+                    }
+                    if (failed || slow) {
+                        open(now);
+                    } else if (++probeSuccesses >= config.getHalfOpenProbes()) {
+                        moveTo(State.CLOSED);
+                        clearBuckets();
+                    }
+                    break;
+                case CLOSED:
+                    Bucket bucket = currentBucket(now);
+                    bucket.calls++;
+                    if (failed) {
+                        bucket.failures++;
+                    }
+                    if (slow) {
+                        bucket.slowCalls++;
+                    }
+                    evaluate(now);
+                    break;
+                default:
+                    // Call was admitted before the breaker opened
+                    break;
+            }
+        }
+        notifyIfChanged(from);
+    }
+
+    private void evaluate(long now) {
+        long currentEpoch = now / bucketMs;
+        int calls = 0;
+        int failures = 0;
+        int slowCalls = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.epoch > currentEpoch - buckets.length) {
+                calls += bucket.calls;
+                failures += bucket.failures;
+                slowCalls += bucket.slowCalls;
+            }
+        }
+        if (calls < config.getMinimumCalls()) {
+            return;
+        }
+        double failureRate = failures * 100.0 / calls;
+        double slowCallRate = slowCalls * 100.0 / calls;
+        if (failureRate >= config.getFailureRateThreshold() || slowCallRate >= config.getSlowCallRateThreshold()) {
+            logger.warn("Circuit breaker {} opened: failure rate {}%, slow call rate {}% over {} calls",
+                    name, Math.round(failureRate), Math.round(slowCallRate), calls);
+            open(now);
+        }
+    }
+
+    private Bucket currentBucket(long now) {
+        long epoch = now / bucketMs;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        if (bucket.epoch != epoch) {
+            bucket.reset(epoch);
+        }
+        return bucket;
+    }
+
+    private void open(long now) {
+        openedAt = now;
+        moveTo(State.OPEN);
+    }
+
+    private void moveTo(State target) {
+        if (state != target) {
+            state = target;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+            transitions.incrementAndGet();
+        }
+    }
+
+    private void clearBuckets() {
+        for (Bucket bucket : buckets) {
+            bucket.reset(-1);
+        }
+    }
+
+    private void notifyIfChanged(State from) {
+        State to = getState();
+        if (from != to && listener != null) {
+            try {
+                listener.onTransition(name, from, to);
+            } catch (Exception e) {
+                logger.warn("Circuit breaker listener failed for {}", name, e);
+            }
+        }
+    }
+
+    /**
+     * @return true while the breaker rejects calls
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.currentTimeMillis() - openedAt < config.getOpenDurationMs();
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Numeric state for metrics: 0 = closed, 1 = half-open, 2 = open.
+     */
+    public int getStateValue() {
+        switch (getState()) {
+            case OPEN:
+                return 2;
+            case HALF_OPEN:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    public void reset() {
+        State from;
+        synchronized (this) {
+            from = state;
+            moveTo(State.CLOSED);
+            clearBuckets();
+        }
+        notifyIfChanged(from);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTransitionCount() {
+        return transitions.get();
+    }
+
+    public long getRejectedCallCount() {
+        return rejectedCalls.get();
+    }
+}
@@ -121,6 +121,24 @@ public class AdapterException extends Exception {
         }
     }
     
+    /**
+     * Bulkhead exceptions - too many concurrent calls into one adapter
+     */
+    public static class BulkheadFullException extends AdapterException {
+        public BulkheadFullException(AdapterType adapterType, String message) {
+            super(adapterType, null, "BULKHEAD_FULL", message, null);
+        }
+    }
+    
+    /**
+     * Work rejected because the JVM is under memory pressure
+     */
+    public static class MemoryPressureException extends AdapterException {
+        public MemoryPressureException(AdapterType adapterType, String message) {
+            super(adapterType, null, "MEMORY_PRESSURE", message, null);
+        }
+    }
+    
     /**
      * Timeout exceptions
      */
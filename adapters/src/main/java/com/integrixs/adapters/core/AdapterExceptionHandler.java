@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -14,13 +15,47 @@ import java.util.function.Consumer;
 /**
  * Centralized exception handling framework for all adapters.
  * Provides error classification, retry logic, circuit breaker patterns, and error reporting.
+ * 
+ * <p>Each adapter instance gets a sliding-window {@link AdapterCircuitBreaker} and a
+ * semaphore {@link AdapterBulkhead}. Calls obtain a {@link CallPermit} from
+ * {@link #acquirePermission} and report their outcome through it, which fails fast
+ * while the breaker is open or the bulkhead is saturated.
  */
 public class AdapterExceptionHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(AdapterExceptionHandler.class);
     
+    /**
+     * Listener for resilience components, e.g. to publish them as metrics.
+     */
+    public interface ResilienceListener {
+        /**
+         * Called once when the breaker and bulkhead of an adapter are created.
+         */
+        default void onRegistered(String adapterKey, AdapterCircuitBreaker breaker, AdapterBulkhead bulkhead) {}
+        
+        /**
+         * Called on every circuit breaker state transition.
+         */
+        default void onStateTransition(String adapterKey, AdapterCircuitBreaker.State from, 
+                                       AdapterCircuitBreaker.State to) {}
+        
+        /**
+         * Called when the breaker and bulkhead of an adapter are removed.
+         */
+        default void onUnregistered(String adapterKey) {}
+    }
+    
     // Circuit breaker state tracking
-    private final Map<String, CircuitBreakerState> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, AdapterCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    
+    // Concurrent call limits per adapter
+    private final Map<String, AdapterBulkhead> bulkheads = new ConcurrentHashMap<>();
+    
+    private volatile AdapterCircuitBreaker.Config circuitBreakerConfig = new AdapterCircuitBreaker.Config();
+    private volatile int bulkheadMaxConcurrentCalls = 25;
+    private volatile long bulkheadMaxWaitMs = 100;
+    private volatile ResilienceListener resilienceListener;
     
     // Error statistics
     private final Map<String, ErrorStatistics> errorStats = new ConcurrentHashMap<>();
@@ -42,7 +77,7 @@ public class AdapterExceptionHandler {
      * 
      * @param adapterType the adapter type
      * @param adapterMode the adapter mode
-     * @param adapterId unique adapter instance identifier
+     * @param adapterId adapter configuration ID, or a unique instance ID
      * @param exception the exception to handle
      * @param context additional context information
      * @return ErrorHandlingResult with recommended actions
@@ -61,9 +96,9 @@ public class AdapterExceptionHandler {
         // Update error statistics
         updateErrorStatistics(adapterKey, classification, exception);
         
-        // Check circuit breaker state
-        CircuitBreakerState circuitState = getOrCreateCircuitBreaker(adapterKey);
-        boolean circuitOpen = updateCircuitBreaker(circuitState, classification);
+        // Check circuit breaker state - call outcomes are recorded through CallPermit
+        AdapterCircuitBreaker circuitState = getOrCreateCircuitBreaker(adapterKey);
+        boolean circuitOpen = circuitState.isOpen();
         
         // Determine retry strategy
         RetryStrategy retryStrategy = determineRetryStrategy(classification, circuitState, context);
@@ -89,6 +124,104 @@ public class AdapterExceptionHandler {
         return result;
     }
     
+    /**
+     * Ask permission to call an adapter. Fails fast while its circuit breaker is open
+     * or its bulkhead is full; otherwise the returned permit must be completed with
+     * {@link CallPermit#onSuccess()} or {@link CallPermit#onError(Exception)}.
+     * 
+     * @param adapterType the adapter type
+     * @param adapterMode the adapter mode
+     * @param adapterId adapter configuration ID, or a unique instance ID
+     * @param waitForBulkhead whether to wait up to the configured time for a bulkhead slot
+     * @return the call permit
+     * @throws AdapterException.CircuitBreakerException if the breaker is open
+     * @throws AdapterException.BulkheadFullException if the bulkhead is saturated
+     */
+    public CallPermit acquirePermission(AdapterType adapterType, AdapterMode adapterMode, 
+                                        String adapterId, boolean waitForBulkhead) throws AdapterException {
+        String adapterKey = createAdapterKey(adapterType, adapterMode, adapterId);
+        AdapterCircuitBreaker breaker = getOrCreateCircuitBreaker(adapterKey);
+        AdapterBulkhead bulkhead = bulkheads.get(adapterKey);
+        
+        if (!breaker.tryAcquirePermission()) {
+            throw new AdapterException.CircuitBreakerException(adapterType, 
+                    "Circuit breaker is open for adapter " + adapterKey);
+        }
+        boolean acquired = waitForBulkhead ? bulkhead.tryAcquire() : bulkhead.tryAcquire(0);
+        if (!acquired) {
+            breaker.onIgnored();
+            throw new AdapterException.BulkheadFullException(adapterType, 
+                    "Too many concurrent calls for adapter " + adapterKey + 
+                    " (limit " + bulkhead.getMaxConcurrentCalls() + ")");
+        }
+        return new CallPermit(breaker, bulkhead);
+    }
+    
+    /**
+     * Configure circuit breakers created from now on.
+     */
+    public void setCircuitBreakerConfig(AdapterCircuitBreaker.Config config) {
+        this.circuitBreakerConfig = config;
+    }
+    
+    /**
+     * Configure bulkheads created from now on.
+     * 
+     * @param maxConcurrentCalls maximum concurrent calls per adapter
+     * @param maxWaitMs how long a blocking caller may wait for a slot
+     */
+    public void setBulkheadConfig(int maxConcurrentCalls, long maxWaitMs) {
+        this.bulkheadMaxConcurrentCalls = maxConcurrentCalls;
+        this.bulkheadMaxWaitMs = maxWaitMs;
+    }
+    
+    /**
+     * Set the resilience listener. Components that already exist are reported to it.
+     */
+    public void setResilienceListener(ResilienceListener listener) {
+        this.resilienceListener = listener;
+        if (listener != null) {
+            circuitBreakers.forEach((key, breaker) -> listener.onRegistered(key, breaker, bulkheads.get(key)));
+        }
+    }
+    
+    /**
+     * Remove the circuit breaker, bulkhead and error statistics of an adapter that will not
+     * be called again.
+     */
+    public void unregister(AdapterType adapterType, AdapterMode adapterMode, String adapterId) {
+        String adapterKey = createAdapterKey(adapterType, adapterMode, adapterId);
+        errorStats.remove(adapterKey);
+        bulkheads.remove(adapterKey);
+        AdapterCircuitBreaker breaker = circuitBreakers.remove(adapterKey);
+        ResilienceListener listener = resilienceListener;
+        if (breaker != null && listener != null) {
+            try {
+                listener.onUnregistered(adapterKey);
+            } catch (Exception e) {
+                logger.warn("Resilience listener failed to unregister adapter {}", adapterKey, e);
+            }
+        }
+    }
+    
+    /**
+     * Get the circuit breaker of an adapter.
+     * 
+     * @return the circuit breaker or null if the adapter has not been called yet
+     */
+    public AdapterCircuitBreaker getCircuitBreaker(AdapterType adapterType, AdapterMode adapterMode, String adapterId) {
+        return circuitBreakers.get(createAdapterKey(adapterType, adapterMode, adapterId));
+    }
+    
+    /**
+     * Get the bulkhead of an adapter.
+     * 
+     * @return the bulkhead or null if the adapter has not been called yet
+     */
+    public AdapterBulkhead getBulkhead(AdapterType adapterType, AdapterMode adapterMode, String adapterId) {
+        return bulkheads.get(createAdapterKey(adapterType, adapterMode, adapterId));
+    }
+    
     /**
      * Register an error listener for monitoring and alerting.
      * 
@@ -132,7 +265,7 @@ public class AdapterExceptionHandler {
      */
     public void resetCircuitBreaker(AdapterType adapterType, AdapterMode adapterMode, String adapterId) {
         String adapterKey = createAdapterKey(adapterType, adapterMode, adapterId);
-        CircuitBreakerState state = circuitBreakers.get(adapterKey);
+        AdapterCircuitBreaker state = circuitBreakers.get(adapterKey);
         if (state != null) {
             state.reset();
             logger.info("Circuit breaker reset for adapter: {}", adapterKey);
@@ -149,12 +282,20 @@ public class AdapterExceptionHandler {
      */
     public boolean isCircuitOpen(AdapterType adapterType, AdapterMode adapterMode, String adapterId) {
         String adapterKey = createAdapterKey(adapterType, adapterMode, adapterId);
-        CircuitBreakerState state = circuitBreakers.get(adapterKey);
+        AdapterCircuitBreaker state = circuitBreakers.get(adapterKey);
         return state != null && state.isOpen();
     }
     
-    private ErrorClassification classifyError(Exception exception) {
-        if (exception instanceof AdapterException.ConnectionException) {
+    ErrorClassification classifyError(Exception exception) {
+        // Checked exceptions are often wrapped in a plain RuntimeException to pass through suppliers
+        if (exception.getClass() == RuntimeException.class && exception.getCause() instanceof Exception) {
+            return classifyError((Exception) exception.getCause());
+        }
+        if (exception instanceof AdapterException.CircuitBreakerException || 
+            exception instanceof AdapterException.BulkheadFullException ||
+            exception instanceof AdapterException.MemoryPressureException) {
+            return ErrorClassification.REJECTED_ERROR;
+        } else if (exception instanceof AdapterException.ConnectionException) {
             return ErrorClassification.CONNECTION_ERROR;
         } else if (exception instanceof AdapterException.AuthenticationException) {
             return ErrorClassification.AUTHENTICATION_ERROR;
@@ -187,7 +328,7 @@ public class AdapterExceptionHandler {
     }
     
     private RetryStrategy determineRetryStrategy(ErrorClassification classification, 
-                                               CircuitBreakerState circuitState,
+                                               AdapterCircuitBreaker circuitState,
                                                Map<String, Object> context) {
         
         if (circuitState.isOpen()) {
@@ -213,6 +354,9 @@ public class AdapterExceptionHandler {
             case SECURITY_ERROR:
                 return new RetryStrategy(false, 0, 0, "Security error - manual intervention required");
                 
+            case REJECTED_ERROR:
+                return new RetryStrategy(false, 0, 0, "Call rejected by circuit breaker or bulkhead");
+                
             case ADAPTER_ERROR:
                 return new RetryStrategy(true, 1, 30000, "Adapter error - single retry");
                 
@@ -226,23 +370,87 @@ public class AdapterExceptionHandler {
         stats.recordError(classification, exception);
     }
     
-    private CircuitBreakerState getOrCreateCircuitBreaker(String adapterKey) {
-        return circuitBreakers.computeIfAbsent(adapterKey, k -> new CircuitBreakerState());
+    private AdapterCircuitBreaker getOrCreateCircuitBreaker(String adapterKey) {
+        AdapterCircuitBreaker breaker = circuitBreakers.get(adapterKey);
+        if (breaker != null) {
+            return breaker;
+        }
+        // Bulkhead is created first so it is in place once the breaker becomes visible
+        AdapterBulkhead bulkhead = bulkheads.computeIfAbsent(adapterKey, 
+                k -> new AdapterBulkhead(k, bulkheadMaxConcurrentCalls, bulkheadMaxWaitMs));
+        boolean[] created = new boolean[1];
+        breaker = circuitBreakers.computeIfAbsent(adapterKey, k -> {
+            created[0] = true;
+            return new AdapterCircuitBreaker(k, circuitBreakerConfig, this::onStateTransition);
+        });
+        ResilienceListener listener = resilienceListener;
+        if (created[0] && listener != null) {
+            try {
+                listener.onRegistered(adapterKey, breaker, bulkhead);
+            } catch (Exception e) {
+                logger.warn("Resilience listener failed to register adapter {}", adapterKey, e);
+            }
+        }
+        return breaker;
+    }
+    
+    private void onStateTransition(String adapterKey, AdapterCircuitBreaker.State from, AdapterCircuitBreaker.State to) {
+        logger.info("Circuit breaker {} transitioned from {} to {}", adapterKey, from, to);
+        ResilienceListener listener = resilienceListener;
+        if (listener != null) {
+            try {
+                listener.onStateTransition(adapterKey, from, to);
+            } catch (Exception e) {
+                logger.warn("Resilience listener failed for adapter {}", adapterKey, e);
+            }
+        }
+    }
+    
+    /**
+     * Only certain error types say something about the health of the target.
+     */
+    private static boolean countsAsFailure(ErrorClassification classification) {
+        return classification == ErrorClassification.CONNECTION_ERROR ||
+               classification == ErrorClassification.TIMEOUT_ERROR ||
+               classification == ErrorClassification.DATABASE_ERROR;
     }
     
-    private boolean updateCircuitBreaker(CircuitBreakerState state, ErrorClassification classification) {
-        // Only certain error types contribute to circuit breaker
-        boolean shouldTrip = classification == ErrorClassification.CONNECTION_ERROR ||
-                            classification == ErrorClassification.TIMEOUT_ERROR ||
-                            classification == ErrorClassification.DATABASE_ERROR;
+    /**
+     * Permission for one call into an adapter. Completing it records the outcome in
+     * the circuit breaker and releases the bulkhead slot; later completions are ignored.
+     */
+    public class CallPermit {
+        private final AdapterCircuitBreaker breaker;
+        private final AdapterBulkhead bulkhead;
+        private final long startTime = System.currentTimeMillis();
+        private final AtomicBoolean completed = new AtomicBoolean();
         
-        if (shouldTrip) {
-            state.recordFailure();
-        } else {
-            state.recordSuccess();
+        private CallPermit(AdapterCircuitBreaker breaker, AdapterBulkhead bulkhead) {
+            this.breaker = breaker;
+            this.bulkhead = bulkhead;
         }
         
-        return state.isOpen();
+        public void onSuccess() {
+            if (completed.compareAndSet(false, true)) {
+                bulkhead.release();
+                breaker.onSuccess(System.currentTimeMillis() - startTime);
+            }
+        }
+        
+        public void onError(Exception exception) {
+            if (completed.compareAndSet(false, true)) {
+                bulkhead.release();
+                long duration = System.currentTimeMillis() - startTime;
+                ErrorClassification classification = classifyError(exception);
+                if (countsAsFailure(classification)) {
+                    breaker.onFailure(duration);
+                } else if (classification == ErrorClassification.REJECTED_ERROR) {
+                    breaker.onIgnored();
+                } else {
+                    breaker.onSuccess(duration);
+                }
+            }
+        }
     }
     
     private void notifyErrorListeners(String adapterKey, AdapterErrorEvent errorEvent) {
@@ -351,6 +559,7 @@ enum ErrorClassification {
     DATABASE_ERROR,
     IO_ERROR,
     SECURITY_ERROR,
+    REJECTED_ERROR,
     ADAPTER_ERROR,
     UNKNOWN_ERROR
 }
@@ -377,53 +586,6 @@ class RetryStrategy {
     public String getReason() { return reason; }
 }
 
-/**
- * Circuit breaker state management.
- */
-class CircuitBreakerState {
-    private static final int FAILURE_THRESHOLD = 5;
-    private static final long TIMEOUT_MS = 60000; // 1 minute
-    
-    private final AtomicInteger failureCount = new AtomicInteger(0);
-    private volatile long lastFailureTime = 0;
-    private volatile boolean open = false;
-    
-    public void recordFailure() {
-        int failures = failureCount.incrementAndGet();
-        lastFailureTime = System.currentTimeMillis();
-        
-        if (failures >= FAILURE_THRESHOLD && !open) {
-            open = true;
-            LoggerFactory.getLogger(CircuitBreakerState.class)
-                    .warn("Circuit breaker opened after {} failures", failures);
-        }
-    }
-    
-    public void recordSuccess() {
-        if (open && (System.currentTimeMillis() - lastFailureTime) > TIMEOUT_MS) {
-            reset();
-        } else {
-            failureCount.set(0);
-        }
-    }
-    
-    public boolean isOpen() {
-        if (open && (System.currentTimeMillis() - lastFailureTime) > TIMEOUT_MS) {
-            // Half-open state - allow one attempt
-            return false;
-        }
-        return open;
-    }
-    
-    public void reset() {
-        failureCount.set(0);
-        open = false;
-        lastFailureTime = 0;
-        LoggerFactory.getLogger(CircuitBreakerState.class)
-                .info("Circuit breaker reset");
-    }
-}
-
 /**
  * Error statistics tracking.
  */
@@ -0,0 +1,87 @@
+package com.integrixs.adapters.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Process-wide source of executors for adapter I/O.
+ *
+ * <p>In {@link Mode#PLATFORM} mode each sender gets its own cached pool of platform
+ * threads, as before. In {@link Mode#VIRTUAL} mode adapter calls run on virtual
+ * threads and one semaphore shared by all adapters caps how many run at once, so
+ * blocking JDBC, SFTP, JMS or HTTP calls no longer tie up pool threads.
+ */
+public final class AdapterExecutors {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdapterExecutors.class);
+
+    private static final AdapterExecutors INSTANCE = new AdapterExecutors();
+
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    private volatile Mode mode = Mode.PLATFORM;
+    private volatile int maxConcurrentCalls = 500;
+    private volatile Semaphore permits = new Semaphore(maxConcurrentCalls);
+
+    private AdapterExecutors() {
+    }
+
+    public static AdapterExecutors getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Apply the execution mode. Applies to executors created after this call.
+     *
+     * @param mode platform or virtual threads
+     * @param maxConcurrentCalls concurrent adapter calls across all adapters in virtual mode
+     */
+    public synchronized void configure(Mode mode, int maxConcurrentCalls) {
+        this.mode = mode;
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+        this.permits = new Semaphore(this.maxConcurrentCalls);
+        logger.info("Adapter execution mode: {}, max concurrent calls: {}", mode, this.maxConcurrentCalls);
+    }
+
+    /**
+     * Create the executor for one adapter's asynchronous work.
+     *
+     * @param name thread name prefix
+     */
+    public ExecutorService newAdapterExecutor(String name) {
+        if (mode == Mode.VIRTUAL) {
+            return new SemaphoreBoundedExecutor(name, permits, maxConcurrentCalls);
+        }
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isVirtual() {
+        return mode == Mode.VIRTUAL;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * @return adapter calls currently running on virtual threads
+     */
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+}
@@ -24,6 +24,17 @@ public interface BaseAdapter {
      */
     AdapterResult testConnection();
     
+    /**
+     * Identify the adapter by the ID of its stored configuration, so that instances created
+     * for the same configuration share one circuit breaker, bulkhead and retry budget.
+     * Must be called before {@link #initialize()}. Without it each instance is tracked on
+     * its own until it is destroyed.
+     * 
+     * @param adapterId the configuration ID
+     */
+    default void setAdapterId(String adapterId) {
+    }
+    
     /**
      * Initialize the adapter with its configuration.
      * This method should prepare the adapter for operation.
@@ -0,0 +1,80 @@
+package com.integrixs.adapters.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffer for receiver adapters that write payloads in batches.
+ * The lock only guards the buffer itself: a full batch is handed back to the caller
+ * and written outside the lock, so a slow file, FTP, SFTP, mail or HTTP write neither
+ * blocks other producers nor pins a virtual thread to its carrier.
+ */
+public class BatchBuffer {
+
+    /**
+     * Decides whether the buffer should be flushed after an item was added.
+     */
+    @FunctionalInterface
+    public interface FlushPolicy {
+        boolean shouldFlush(int size, long millisSinceLastFlush);
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Object> items = new ArrayList<>();
+    private long lastFlush = System.currentTimeMillis();
+
+    /**
+     * Add an item and drain the buffer if the policy asks for a flush.
+     *
+     * @return the drained items to write, or null if the item was only buffered
+     */
+    public List<Object> addAndDrainIf(Object item, FlushPolicy policy) {
+        lock.lock();
+        try {
+            items.add(item);
+            if (policy.shouldFlush(items.size(), System.currentTimeMillis() - lastFlush)) {
+                return swap();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return all buffered items, possibly empty; the buffer is left empty
+     */
+    public List<Object> drain() {
+        lock.lock();
+        try {
+            return swap();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Object> swap() {
+        List<Object> drained = items;
+        items = new ArrayList<>();
+        lastFlush = System.currentTimeMillis();
+        return drained;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return items.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        drain();
+    }
+}
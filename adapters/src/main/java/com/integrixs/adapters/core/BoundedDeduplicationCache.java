@@ -0,0 +1,54 @@
+package com.integrixs.adapters.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-capacity record of already processed message keys.
+ * Keys are evicted in least-recently-seen order once the capacity is reached,
+ * so polling adapters can detect duplicates without unbounded memory growth.
+ */
+public class BoundedDeduplicationCache {
+
+    private final int maxEntries;
+    private final Map<String, Long> entries;
+
+    public BoundedDeduplicationCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > BoundedDeduplicationCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Record a key as processed.
+     *
+     * @param key the message key
+     * @return true if the key was not seen before, false if it is a duplicate
+     */
+    public synchronized boolean markProcessed(String key) {
+        return entries.put(key, System.currentTimeMillis()) == null;
+    }
+
+    /**
+     * Check whether a key has already been processed.
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,180 @@
+package com.integrixs.adapters.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide memory pressure level, fed by the heap monitor with the old-generation
+ * occupancy measured after each collection.
+ *
+ * <p>Adapters consult it to shed load instead of the JVM being pushed into back-to-back
+ * full collections: at {@link Level#HIGH} batch sizes are reduced and large payloads are
+ * rejected, at {@link Level#CRITICAL} pollers also skip their polls. The level only drops
+ * once occupancy falls below the recovery threshold, so it does not flap around a
+ * threshold.
+ */
+public final class MemoryPressure {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemoryPressure.class);
+
+    private static final MemoryPressure INSTANCE = new MemoryPressure();
+
+    public enum Level {
+        NORMAL,
+        HIGH,
+        CRITICAL
+    }
+
+    private volatile double highThreshold = 0.75;
+    private volatile double criticalThreshold = 0.90;
+    private volatile double recoveryThreshold = 0.65;
+    private volatile long largePayloadBytes = 5L * 1024 * 1024;
+
+    private volatile Level level = Level.NORMAL;
+    private volatile double occupancy;
+    private final AtomicLong skippedPolls = new AtomicLong();
+    private final AtomicLong rejectedPayloads = new AtomicLong();
+    private final AtomicLong levelChanges = new AtomicLong();
+
+    private MemoryPressure() {
+    }
+
+    public static MemoryPressure getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param highThreshold old-gen occupancy (0-1) at which load shedding starts
+     * @param criticalThreshold occupancy at which polling is paused as well
+     * @param recoveryThreshold occupancy below which the level returns to normal
+     * @param largePayloadBytes payloads from this size on are rejected under pressure
+     */
+    public void configure(double highThreshold, double criticalThreshold, double recoveryThreshold,
+                          long largePayloadBytes) {
+        this.highThreshold = highThreshold;
+        this.criticalThreshold = Math.max(highThreshold, criticalThreshold);
+        this.recoveryThreshold = Math.min(highThreshold, recoveryThreshold);
+        this.largePayloadBytes = largePayloadBytes;
+    }
+
+    /**
+     * Record the old-gen occupancy measured after a collection.
+     *
+     * @param occupancy used / max of the old generation, 0-1
+     * @return the resulting level
+     */
+    public synchronized Level update(double occupancy) {
+        this.occupancy = occupancy;
+        Level next;
+        if (occupancy >= criticalThreshold) {
+            next = Level.CRITICAL;
+        } else if (occupancy >= highThreshold) {
+            next = Level.HIGH;
+        } else if (occupancy < recoveryThreshold) {
+            next = Level.NORMAL;
+        } else {
+            // Between recovery and high: keep shedding until memory actually recovered
+            next = level == Level.CRITICAL ? Level.HIGH : level;
+        }
+        if (next != level) {
+            levelChanges.incrementAndGet();
+            if (next == Level.NORMAL) {
+                logger.info("Memory pressure cleared: old gen at {}%", Math.round(occupancy * 100));
+            } else {
+                logger.warn("Memory pressure {}: old gen at {}%, shedding load", next, Math.round(occupancy * 100));
+            }
+            level = next;
+        }
+        return next;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public double getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * @return true if a poll should be skipped; counts the skipped poll
+     */
+    public boolean shouldSkipPoll() {
+        if (level == Level.CRITICAL) {
+            skippedPolls.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Scale a configured batch size to the current pressure: halved when high,
+     * quartered when critical, never below one.
+     */
+    public int scaleBatchSize(int batchSize) {
+        switch (level) {
+            case CRITICAL:
+                return Math.max(1, batchSize / 4);
+            case HIGH:
+                return Math.max(1, batchSize / 2);
+            default:
+                return batchSize;
+        }
+    }
+
+    /**
+     * Reject a large payload while memory is under pressure.
+     *
+     * @param adapterType adapter receiving the payload
+     * @param payload the payload; only String and byte[] sizes are known up front
+     * @throws AdapterException.MemoryPressureException if the payload is rejected
+     */
+    public void checkPayload(AdapterType adapterType, Object payload) throws AdapterException.MemoryPressureException {
+        long size = estimateSize(payload);
+        if (!acceptsPayload(size)) {
+            throw new AdapterException.MemoryPressureException(adapterType,
+                    "Payload of " + size + " bytes rejected under memory pressure (" + level + ")");
+        }
+    }
+
+    /**
+     * @param sizeBytes payload size, negative if unknown
+     * @return false if the payload should be rejected; counts the rejection
+     */
+    public boolean acceptsPayload(long sizeBytes) {
+        if (level != Level.NORMAL && sizeBytes >= largePayloadBytes) {
+            rejectedPayloads.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private static long estimateSize(Object payload) {
+        if (payload instanceof byte[]) {
+            return ((byte[]) payload).length;
+        }
+        if (payload instanceof CharSequence) {
+            // UTF-16 in memory
+            return ((CharSequence) payload).length() * 2L;
+        }
+        return -1;
+    }
+
+    public long getLargePayloadBytes() {
+        return largePayloadBytes;
+    }
+
+    public long getSkippedPolls() {
+        return skippedPolls.get();
+    }
+
+    public long getRejectedPayloads() {
+        return rejectedPayloads.get();
+    }
+
+    public long getLevelChanges() {
+        return levelChanges.get();
+    }
+}
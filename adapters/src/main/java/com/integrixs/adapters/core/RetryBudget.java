@@ -0,0 +1,98 @@
+package com.integrixs.adapters.core;
+
+/**
+ * Per-adapter retry budget.
+ * Caps retries at a share of the requests seen over a sliding window, plus a small
+ * fixed allowance, so a failing target cannot multiply its own traffic.
+ */
+public class RetryBudget {
+
+    private static final long DEFAULT_WINDOW_MS = 10_000;
+
+    private final double retryRatio;
+    private final int minRetriesPerSecond;
+    private final long windowMs;
+
+    // Two fixed windows approximate a sliding one: the previous window is weighted
+    // by how much of it still overlaps the sliding window
+    private long windowStart;
+    private long currentRequests;
+    private long currentRetries;
+    private long previousRequests;
+    private long previousRetries;
+    private long rejectedRetries;
+
+    /**
+     * @param retryRatio maximum retries as a fraction of requests (e.g. 0.2 = 20%)
+     * @param minRetriesPerSecond retries always allowed regardless of traffic
+     */
+    public RetryBudget(double retryRatio, int minRetriesPerSecond) {
+        this(retryRatio, minRetriesPerSecond, DEFAULT_WINDOW_MS);
+    }
+
+    public RetryBudget(double retryRatio, int minRetriesPerSecond, long windowMs) {
+        this.retryRatio = Math.max(0, retryRatio);
+        this.minRetriesPerSecond = Math.max(0, minRetriesPerSecond);
+        this.windowMs = Math.max(1, windowMs);
+        this.windowStart = System.currentTimeMillis();
+    }
+
+    /**
+     * Record a first attempt of an operation.
+     */
+    public synchronized void recordRequest() {
+        roll(System.currentTimeMillis());
+        currentRequests++;
+    }
+
+    /**
+     * Try to spend one retry from the budget.
+     *
+     * @return true if the retry may proceed
+     */
+    public synchronized boolean tryAcquireRetry() {
+        long now = System.currentTimeMillis();
+        roll(now);
+
+        double previousWeight = 1.0 - (double) (now - windowStart) / windowMs;
+        double requests = currentRequests + previousRequests * previousWeight;
+        double retries = currentRetries + previousRetries * previousWeight;
+        double allowed = retryRatio * requests + minRetriesPerSecond * (windowMs / 1000.0);
+
+        if (retries + 1 > allowed) {
+            rejectedRetries++;
+            return false;
+        }
+        currentRetries++;
+        return true;
+    }
+
+    private void roll(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < windowMs) {
+            return;
+        }
+        if (elapsed < 2 * windowMs) {
+            previousRequests = currentRequests;
+            previousRetries = currentRetries;
+        } else {
+            previousRequests = 0;
+            previousRetries = 0;
+        }
+        currentRequests = 0;
+        currentRetries = 0;
+        windowStart = now - (elapsed % windowMs);
+    }
+
+    public double getRetryRatio() {
+        return retryRatio;
+    }
+
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    public synchronized long getRejectedRetries() {
+        return rejectedRetries;
+    }
+}
@@ -5,17 +5,86 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /**
  * Retry execution utility for adapter operations.
  * Provides configurable retry strategies with exponential backoff, jitter, and circuit breaker integration.
+ * 
+ * <p>The {@code *Async} variants never sleep: each attempt is scheduled on a small shared
+ * scheduler and the outcome is returned as a {@link CompletableFuture}, so thousands of
+ * operations can be waiting for a retry without holding a thread each. Retries can be
+ * capped per adapter with a {@link RetryBudget}.
  */
 public class RetryExecutor {
     
     private static final Logger logger = LoggerFactory.getLogger(RetryExecutor.class);
     
+    private static final int SCHEDULER_THREADS = 2;
+    
+    private static final ScheduledExecutorService RETRY_SCHEDULER = createScheduler();
+    
+    private static final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
+    
+    /**
+     * Decides whether a failed attempt is retried.
+     */
+    @FunctionalInterface
+    private interface RetryDecision {
+        /**
+         * @return delay before the next attempt in milliseconds, or a negative value to give up
+         * @throws Exception to fail with a different exception than the attempt's
+         */
+        long nextDelay(int attempt, Exception failure) throws Exception;
+    }
+    
+    private static ScheduledExecutorService createScheduler() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(SCHEDULER_THREADS, r -> {
+            Thread thread = new Thread(r, "adapter-retry-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+    
+    /**
+     * Register a retry budget for an adapter instance. Both synchronous and
+     * asynchronous retries of that adapter draw from it.
+     * 
+     * @param adapterId unique adapter instance identifier
+     * @param budget the budget, or null to remove it
+     */
+    public static void setRetryBudget(String adapterId, RetryBudget budget) {
+        if (budget == null) {
+            retryBudgets.remove(adapterId);
+        } else {
+            retryBudgets.put(adapterId, budget);
+        }
+    }
+    
+    public static RetryBudget getRetryBudget(String adapterId) {
+        return adapterId != null ? retryBudgets.get(adapterId) : null;
+    }
+    
+    /**
+     * Shared scheduler used for asynchronous retries.
+     */
+    public static ScheduledExecutorService getRetryScheduler() {
+        return RETRY_SCHEDULER;
+    }
+    
     /**
      * Execute an operation with retry logic based on error handling recommendations.
      * 
@@ -35,6 +104,10 @@ public class RetryExecutor {
                                         Map<String, Object> context) throws Exception {
         
         AdapterExceptionHandler errorHandler = AdapterExceptionHandler.getInstance();
+        RetryBudget budget = getRetryBudget(adapterId);
+        if (budget != null) {
+            budget.recordRequest();
+        }
         Exception lastException = null;
         int attemptCount = 0;
         
@@ -77,6 +150,12 @@ public class RetryExecutor {
                     throw e;
                 }
                 
+                if (budget != null && !budget.tryAcquireRetry()) {
+                    logger.warn("Retry budget exhausted for adapter {}-{}-{}, failing after {} attempts", 
+                               adapterType, adapterMode, adapterId, attemptCount);
+                    throw e;
+                }
+                
                 long delayMs = calculateRetryDelay(attemptCount, retryStrategy.getRetryDelayMs());
                 
                 logger.warn("Operation failed on attempt {} for adapter {}-{}-{}, retrying in {}ms: {}", 
@@ -118,6 +197,10 @@ public class RetryExecutor {
                                               boolean useJitter,
                                               Map<String, Object> context) throws Exception {
         
+        RetryBudget budget = getRetryBudget(adapterId);
+        if (budget != null) {
+            budget.recordRequest();
+        }
         Exception lastException = null;
         
         for (int attempt = 1; attempt <= maxRetries + 1; attempt++) {
@@ -143,6 +226,12 @@ public class RetryExecutor {
                     break;
                 }
                 
+                if (budget != null && !budget.tryAcquireRetry()) {
+                    logger.warn("Retry budget exhausted for adapter {}-{}-{}, failing after {} attempts", 
+                               adapterType, adapterMode, adapterId, attempt);
+                    break;
+                }
+                
                 long delayMs = calculateCustomRetryDelay(attempt, baseDelayMs, 
                                                        useExponentialBackoff, useJitter);
                 
@@ -161,6 +250,198 @@ public class RetryExecutor {
         throw lastException;
     }
     
+    /**
+     * Asynchronous variant of {@link #executeWithRetry}. Attempts are started from the
+     * shared retry scheduler, so the operation itself must not block.
+     * 
+     * @param adapterType the adapter type
+     * @param adapterMode the adapter mode
+     * @param adapterId unique adapter instance identifier
+     * @param operation starts one attempt and returns its future result
+     * @param context additional context information
+     * @param <T> the return type
+     * @return future completed with the first successful result, or with the last failure
+     */
+    public static <T> CompletableFuture<T> executeWithRetryAsync(AdapterType adapterType,
+                                                                AdapterMode adapterMode,
+                                                                String adapterId,
+                                                                Supplier<CompletableFuture<T>> operation,
+                                                                Map<String, Object> context) {
+        
+        AdapterExceptionHandler errorHandler = AdapterExceptionHandler.getInstance();
+        
+        return retryAsync(adapterType, adapterMode, adapterId, operation, (attempt, failure) -> {
+            ErrorHandlingResult handlingResult = errorHandler.handleException(
+                    adapterType, adapterMode, adapterId, failure, context);
+            RetryStrategy retryStrategy = handlingResult.getRetryStrategy();
+            
+            if (!retryStrategy.shouldRetry() || attempt >= retryStrategy.getMaxRetries()) {
+                return -1;
+            }
+            if (errorHandler.isCircuitOpen(adapterType, adapterMode, adapterId)) {
+                logger.warn("Circuit breaker is open for adapter {}-{}-{}, aborting retry", 
+                           adapterType, adapterMode, adapterId);
+                throw new AdapterException.CircuitBreakerException(adapterType, 
+                        "Circuit breaker is open, operation aborted");
+            }
+            return calculateRetryDelay(attempt, retryStrategy.getRetryDelayMs());
+        });
+    }
+    
+    /**
+     * Asynchronous variant of {@link #executeWithRetry} for blocking operations.
+     * Each attempt runs on the given executor; waiting between attempts holds no thread.
+     * 
+     * @param operation the blocking operation
+     * @param executor executor that runs the attempts
+     * @return future completed with the first successful result, or with the last failure
+     */
+    public static <T> CompletableFuture<T> executeWithRetryAsync(AdapterType adapterType,
+                                                                AdapterMode adapterMode,
+                                                                String adapterId,
+                                                                Supplier<T> operation,
+                                                                Executor executor,
+                                                                Map<String, Object> context) {
+        return executeWithRetryAsync(adapterType, adapterMode, adapterId,
+                () -> CompletableFuture.supplyAsync(operation, executor), context);
+    }
+    
+    /**
+     * Asynchronous variant of {@link #executeWithCustomRetry}. Attempts are started from
+     * the shared retry scheduler, so the operation itself must not block.
+     * 
+     * @param adapterType the adapter type
+     * @param adapterMode the adapter mode
+     * @param adapterId unique adapter instance identifier
+     * @param operation starts one attempt and returns its future result
+     * @param maxRetries maximum number of retry attempts
+     * @param baseDelayMs base delay between retries in milliseconds
+     * @param useExponentialBackoff whether to use exponential backoff
+     * @param useJitter whether to add random jitter to delays
+     * @param context additional context information
+     * @param <T> the return type
+     * @return future completed with the first successful result, or with the last failure
+     */
+    public static <T> CompletableFuture<T> executeWithCustomRetryAsync(AdapterType adapterType,
+                                                                      AdapterMode adapterMode,
+                                                                      String adapterId,
+                                                                      Supplier<CompletableFuture<T>> operation,
+                                                                      int maxRetries,
+                                                                      long baseDelayMs,
+                                                                      boolean useExponentialBackoff,
+                                                                      boolean useJitter,
+                                                                      Map<String, Object> context) {
+        
+        return retryAsync(adapterType, adapterMode, adapterId, operation, (attempt, failure) -> {
+            if (attempt > maxRetries) {
+                return -1;
+            }
+            return calculateCustomRetryDelay(attempt, baseDelayMs, useExponentialBackoff, useJitter);
+        });
+    }
+    
+    private static <T> CompletableFuture<T> retryAsync(AdapterType adapterType,
+                                                      AdapterMode adapterMode,
+                                                      String adapterId,
+                                                      Supplier<CompletableFuture<T>> operation,
+                                                      RetryDecision decision) {
+        
+        CompletableFuture<T> result = new CompletableFuture<>();
+        RetryBudget budget = getRetryBudget(adapterId);
+        if (budget != null) {
+            budget.recordRequest();
+        }
+        attemptAsync(adapterType, adapterMode, adapterId, operation, decision, budget, result, 1);
+        return result;
+    }
+    
+    private static <T> void attemptAsync(AdapterType adapterType,
+                                         AdapterMode adapterMode,
+                                         String adapterId,
+                                         Supplier<CompletableFuture<T>> operation,
+                                         RetryDecision decision,
+                                         RetryBudget budget,
+                                         CompletableFuture<T> result,
+                                         int attempt) {
+        
+        // Caller cancelled or otherwise completed the result
+        if (result.isDone()) {
+            return;
+        }
+        
+        CompletableFuture<T> attemptFuture;
+        AdapterExceptionHandler.CallPermit permit = null;
+        try {
+            // Never wait for a bulkhead slot here - this may be a scheduler thread
+            permit = AdapterExceptionHandler.getInstance().acquirePermission(
+                    adapterType, adapterMode, adapterId, false);
+            attemptFuture = operation.get();
+        } catch (Exception e) {
+            attemptFuture = CompletableFuture.failedFuture(e);
+        }
+        
+        AdapterExceptionHandler.CallPermit attemptPermit = permit;
+        attemptFuture.whenComplete((value, error) -> {
+            if (attemptPermit != null) {
+                if (error == null) {
+                    attemptPermit.onSuccess();
+                } else {
+                    attemptPermit.onError(unwrap(error));
+                }
+            }
+            if (error == null) {
+                if (attempt > 1) {
+                    logger.info("Operation succeeded on async attempt {} for adapter {}-{}-{}", 
+                               attempt, adapterType, adapterMode, adapterId);
+                }
+                result.complete(value);
+                return;
+            }
+            
+            Exception failure = unwrap(error);
+            long delayMs;
+            try {
+                delayMs = decision.nextDelay(attempt, failure);
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            
+            if (delayMs < 0) {
+                logger.error("Async operation failed after {} attempts for adapter {}-{}-{}: {}", 
+                            attempt, adapterType, adapterMode, adapterId, failure.getMessage());
+                result.completeExceptionally(failure);
+                return;
+            }
+            if (budget != null && !budget.tryAcquireRetry()) {
+                logger.warn("Retry budget exhausted for adapter {}-{}-{}, failing after {} attempts", 
+                           adapterType, adapterMode, adapterId, attempt);
+                result.completeExceptionally(failure);
+                return;
+            }
+            
+            logger.debug("Async attempt {} failed for adapter {}-{}-{}, retrying in {}ms: {}", 
+                        attempt, adapterType, adapterMode, adapterId, delayMs, failure.getMessage());
+            
+            RETRY_SCHEDULER.schedule(
+                    () -> attemptAsync(adapterType, adapterMode, adapterId, operation, decision, 
+                                       budget, result, attempt + 1),
+                    delayMs, TimeUnit.MILLISECONDS);
+        });
+    }
+    
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) 
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        return new CompletionException(cause);
+    }
+    
     /**
      * Execute an operation with a simple retry count.
      * 
@@ -0,0 +1,103 @@
+package com.integrixs.adapters.core;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs every task on its own virtual thread, with concurrency capped by a semaphore
+ * instead of a pool size. Tasks over the limit wait on their (cheap) virtual thread
+ * rather than in a queue, so submission never blocks and never rejects.
+ */
+public class SemaphoreBoundedExecutor extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final AtomicLong waitingTasks = new AtomicLong();
+
+    /**
+     * @param name thread name prefix
+     * @param permits shared permits limiting concurrent tasks
+     * @param maxConcurrency number of permits, for reporting
+     */
+    public SemaphoreBoundedExecutor(String name, Semaphore permits, int maxConcurrency) {
+        ThreadFactory factory = Thread.ofVirtual().name(name + "-", 0).factory();
+        this.delegate = Executors.newThreadPerTaskExecutor(factory);
+        this.permits = permits;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public SemaphoreBoundedExecutor(String name, int maxConcurrency) {
+        this(name, new Semaphore(Math.max(1, maxConcurrency)), Math.max(1, maxConcurrency));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(() -> {
+            waitingTasks.incrementAndGet();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                // Interrupted by shutdownNow while waiting: the task never runs, so cancel
+                // it rather than leave its future pending
+                Thread.currentThread().interrupt();
+                if (command instanceof Future<?> future) {
+                    future.cancel(false);
+                }
+                throw new RejectedExecutionException("Interrupted while waiting for a concurrency permit", e);
+            } finally {
+                waitingTasks.decrementAndGet();
+            }
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    public int getInUse() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public long getWaitingTasks() {
+        return waitingTasks.get();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
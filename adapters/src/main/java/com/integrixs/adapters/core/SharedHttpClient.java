@@ -0,0 +1,394 @@
+package com.integrixs.adapters.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide outbound HTTP client shared by the HTTP/REST adapters and the backend.
+ *
+ * <p>All callers share one {@link HttpClient} (HTTP/2 with HTTP/1.1 fallback, keep-alive
+ * connection reuse) instead of building their own. Concurrency is capped per route
+ * (scheme, host and port) so one slow endpoint cannot take every connection, and each route
+ * tracks request counts, failures and latency for metrics export.
+ *
+ * <p>Adapters that need their own SSL material or a proxy get a dedicated client that is
+ * created once per key and reused.
+ */
+public final class SharedHttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedHttpClient.class);
+
+    private static final SharedHttpClient INSTANCE = new SharedHttpClient();
+
+    private volatile Settings settings = new Settings();
+    private volatile HttpClient defaultClient;
+    private final Map<String, HttpClient> customClients = new ConcurrentHashMap<>();
+    private final Map<String, RouteState> routes = new ConcurrentHashMap<>();
+    private volatile Consumer<RouteStats> routeListener;
+
+    private SharedHttpClient() {
+    }
+
+    public static SharedHttpClient getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Apply client settings. Connection timeout and HTTP version apply to clients created
+     * after this call; route limits apply to routes first seen after this call.
+     */
+    public void configure(Settings newSettings) {
+        this.settings = newSettings;
+        logger.info("Shared HTTP client configured: maxConcurrentPerRoute={}, maxPendingPerRoute={}, connectTimeout={}ms",
+                newSettings.getMaxConcurrentPerRoute(), newSettings.getMaxPendingPerRoute(),
+                newSettings.getConnectTimeout().toMillis());
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Register a callback invoked once for each new route, used to bind route metrics.
+     * Routes that already exist are reported immediately.
+     */
+    public void setRouteListener(Consumer<RouteStats> listener) {
+        this.routeListener = listener;
+        if (listener != null) {
+            routes.values().forEach(route -> listener.accept(route.stats));
+        }
+    }
+
+    /**
+     * The shared client using the JVM default SSL context.
+     */
+    public HttpClient getClient() {
+        HttpClient client = defaultClient;
+        if (client == null) {
+            synchronized (this) {
+                client = defaultClient;
+                if (client == null) {
+                    client = newClientBuilder().build();
+                    defaultClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * A client bound to custom SSL material, created once per key and then reused. The SSL
+     * context is only built the first time the key is seen.
+     *
+     * @param sslKey key identifying the SSL configuration, see {@link #clientKey(String...)}
+     * @param sslContextSupplier creates the SSL context the first time the key is seen
+     */
+    public HttpClient getClient(String sslKey, Supplier<SSLContext> sslContextSupplier) {
+        return getClient("ssl|" + sslKey, builder -> builder.sslContext(sslContextSupplier.get()));
+    }
+
+    /**
+     * A client with custom builder settings (SSL material, proxy), created once per key and
+     * then reused.
+     *
+     * @param clientKey key identifying the settings applied by the customizer
+     * @param customizer applied to a builder with the shared defaults the first time the key is seen
+     */
+    public HttpClient getClient(String clientKey, Consumer<HttpClient.Builder> customizer) {
+        return customClients.computeIfAbsent(clientKey, key -> {
+            HttpClient.Builder builder = newClientBuilder();
+            customizer.accept(builder);
+            return builder.build();
+        });
+    }
+
+    /**
+     * Key for {@link #getClient(String, Consumer)} from the settings that shape a client.
+     * Values are hashed, so keys carry no passwords but configurations that differ only in
+     * a password still get different clients.
+     */
+    public static String clientKey(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private HttpClient.Builder newClientBuilder() {
+        Settings current = settings;
+        return HttpClient.newBuilder()
+                .version(current.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(current.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL);
+    }
+
+    /**
+     * Send a request without holding a thread while it is in flight. Requests above the
+     * route's concurrency limit wait in a bounded per-route queue.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpClient client, HttpRequest request,
+                                                            HttpResponse.BodyHandler<T> bodyHandler) {
+        RouteState route = route(request.uri());
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+
+        Runnable task = () -> {
+            long start = System.nanoTime();
+            route.stats.inFlight.incrementAndGet();
+            CompletableFuture<HttpResponse<T>> call;
+            try {
+                call = client.sendAsync(request, bodyHandler);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((response, error) -> {
+                route.stats.inFlight.decrementAndGet();
+                route.stats.record(System.nanoTime() - start, error != null || response.statusCode() >= 500);
+                route.release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(response);
+                }
+            });
+        };
+
+        if (!route.submit(task)) {
+            route.stats.rejected.increment();
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Too many pending requests for route " + route.stats.getRoute()));
+        }
+        return result;
+    }
+
+    /**
+     * Blocking send through the shared limits. I/O exceptions are rethrown unwrapped so
+     * callers can keep classifying connection and timeout failures.
+     */
+    public <T> HttpResponse<T> send(HttpClient client, HttpRequest request,
+                                    HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        try {
+            return sendAsync(client, request, bodyHandler).get();
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * RestTemplate backed by the shared client, with the same per-route limits and metrics.
+     */
+    public RestTemplate restTemplate(Duration readTimeout) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory(readTimeout));
+        restTemplate.getInterceptors().add(routeInterceptor());
+        return restTemplate;
+    }
+
+    public JdkClientHttpRequestFactory requestFactory(Duration readTimeout) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(getClient());
+        if (readTimeout != null) {
+            factory.setReadTimeout(readTimeout);
+        }
+        return factory;
+    }
+
+    /**
+     * Interceptor that applies the per-route concurrency limit and records latency for
+     * RestTemplate calls.
+     */
+    public ClientHttpRequestInterceptor routeInterceptor() {
+        return (request, body, execution) -> {
+            RouteState route = route(request.getURI());
+            try {
+                if (!route.permits.tryAcquire(settings.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    route.stats.rejected.increment();
+                    throw new IOException("Timed out waiting for a connection to " + route.stats.getRoute());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for a connection to " + route.stats.getRoute(), e);
+            }
+
+            long start = System.nanoTime();
+            route.stats.inFlight.incrementAndGet();
+            boolean failed = true;
+            try {
+                var response = execution.execute(request, body);
+                failed = response.getStatusCode().is5xxServerError();
+                return response;
+            } finally {
+                route.stats.inFlight.decrementAndGet();
+                route.stats.record(System.nanoTime() - start, failed);
+                route.release();
+            }
+        };
+    }
+
+    public Collection<RouteStats> getRouteStats() {
+        return routes.values().stream().map(route -> route.stats).toList();
+    }
+
+    private RouteState route(URI uri) {
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase() : "http";
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equals(scheme) ? 443 : 80);
+        String key = scheme + "://" + uri.getHost() + ":" + port;
+        return routes.computeIfAbsent(key, k -> {
+            RouteState state = new RouteState(k, settings);
+            Consumer<RouteStats> listener = routeListener;
+            if (listener != null) {
+                listener.accept(state.stats);
+            }
+            return state;
+        });
+    }
+
+    /**
+     * Per-route permits plus a bounded queue of requests waiting for one. A permit released
+     * by a finished request is handed straight to the next queued request.
+     */
+    private static final class RouteState {
+        private final Semaphore permits;
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+        private final int maxPending;
+        private final RouteStats stats;
+
+        RouteState(String route, Settings settings) {
+            this.permits = new Semaphore(settings.getMaxConcurrentPerRoute());
+            this.maxPending = settings.getMaxPendingPerRoute();
+            this.stats = new RouteStats(route, settings.getMaxConcurrentPerRoute(), pending::size);
+        }
+
+        boolean submit(Runnable task) {
+            if (pending.size() >= maxPending) {
+                return false;
+            }
+            pending.add(task);
+            drain();
+            return true;
+        }
+
+        void release() {
+            permits.release();
+            drain();
+        }
+
+        private void drain() {
+            while (!pending.isEmpty() && permits.tryAcquire()) {
+                Runnable next = pending.poll();
+                if (next == null) {
+                    permits.release();
+                    break;
+                }
+                next.run();
+            }
+        }
+    }
+
+    /**
+     * Live counters for one route.
+     */
+    public static final class RouteStats {
+        private final String route;
+        private final int maxConcurrent;
+        private final Supplier<Integer> pendingSupplier;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        RouteStats(String route, int maxConcurrent, Supplier<Integer> pendingSupplier) {
+            this.route = route;
+            this.maxConcurrent = maxConcurrent;
+            this.pendingSupplier = pendingSupplier;
+        }
+
+        void record(long latencyNanos, boolean failed) {
+            requests.increment();
+            totalLatencyNanos.add(latencyNanos);
+            maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        public String getRoute() { return route; }
+        public int getMaxConcurrent() { return maxConcurrent; }
+        public int getInFlight() { return inFlight.get(); }
+        public int getPending() { return pendingSupplier.get(); }
+        public long getRequestCount() { return requests.sum(); }
+        public long getFailureCount() { return failures.sum(); }
+        public long getRejectedCount() { return rejected.sum(); }
+        public double getTotalLatencyMillis() { return totalLatencyNanos.sum() / 1_000_000.0; }
+        public double getMaxLatencyMillis() { return maxLatencyNanos.get() / 1_000_000.0; }
+    }
+
+    /**
+     * Tunables for the shared client.
+     */
+    public static final class Settings {
+        private int maxConcurrentPerRoute = 50;
+        private int maxPendingPerRoute = 1000;
+        private Duration connectTimeout = Duration.ofSeconds(30);
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+        private boolean http2Enabled = true;
+
+        public int getMaxConcurrentPerRoute() { return maxConcurrentPerRoute; }
+        public Settings setMaxConcurrentPerRoute(int maxConcurrentPerRoute) { this.maxConcurrentPerRoute = Math.max(1, maxConcurrentPerRoute); return this; }
+
+        public int getMaxPendingPerRoute() { return maxPendingPerRoute; }
+        public Settings setMaxPendingPerRoute(int maxPendingPerRoute) { this.maxPendingPerRoute = Math.max(0, maxPendingPerRoute); return this; }
+
+        public Duration getConnectTimeout() { return connectTimeout; }
+        public Settings setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; return this; }
+
+        public Duration getAcquireTimeout() { return acquireTimeout; }
+        public Settings setAcquireTimeout(Duration acquireTimeout) { this.acquireTimeout = acquireTimeout; return this; }
+
+        public boolean isHttp2Enabled() { return http2Enabled; }
+        public Settings setHttp2Enabled(boolean http2Enabled) { this.http2Enabled = http2Enabled; return this; }
+    }
+}
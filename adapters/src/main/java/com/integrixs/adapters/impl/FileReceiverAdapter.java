@@ -23,8 +23,7 @@ public class FileReceiverAdapter extends AbstractReceiverAdapter {
     private final FileReceiverAdapterConfig config;
     private Path targetDirectory;
     private final AtomicInteger batchCounter = new AtomicInteger(0);
-    private final List<Object> batchBuffer = new ArrayList<>();
-    private long lastBatchFlush = System.currentTimeMillis();
+    private final BatchBuffer batchBuffer = new BatchBuffer();
     
     public FileReceiverAdapter(FileReceiverAdapterConfig config) {
         super(AdapterType.FILE);
@@ -144,49 +143,36 @@ public class FileReceiverAdapter extends AbstractReceiverAdapter {
     }
     
     private AdapterResult addToBatch(Object payload) throws Exception {
-        synchronized (batchBuffer) {
-            batchBuffer.add(payload);
-            
-            boolean shouldFlush = false;
-            
+        List<Object> itemsToWrite = batchBuffer.addAndDrainIf(payload, (size, millisSinceLastFlush) -> {
             // Check size-based flushing
             if ("SIZE_BASED".equals(config.getBatchStrategy()) || "MIXED".equals(config.getBatchStrategy())) {
-                if (config.getBatchSize() != null && batchBuffer.size() >= config.getBatchSize()) {
-                    shouldFlush = true;
+                if (config.getBatchSize() != null && size >= MemoryPressure.getInstance().scaleBatchSize(config.getBatchSize())) {
+                    return true;
                 }
             }
             
             // Check time-based flushing
-            if ("TIME_BASED".equals(config.getBatchStrategy()) || "MIXED".equals(config.getBatchStrategy())) {
-                long timeSinceLastFlush = System.currentTimeMillis() - lastBatchFlush;
-                if (timeSinceLastFlush >= config.getBatchTimeoutMs()) {
-                    shouldFlush = true;
-                }
-            }
-            
-            if (shouldFlush) {
-                return flushBatch();
-            } else {
-                return AdapterResult.success(null, 
-                        String.format("Added to batch (%d/%d items)", 
-                                batchBuffer.size(), 
-                                config.getBatchSize() != null ? config.getBatchSize() : "unlimited"));
-            }
+            return ("TIME_BASED".equals(config.getBatchStrategy()) || "MIXED".equals(config.getBatchStrategy()))
+                    && millisSinceLastFlush >= config.getBatchTimeoutMs();
+        });
+        
+        if (itemsToWrite != null) {
+            return writeBatchToFile(itemsToWrite);
         }
+        return AdapterResult.success(null, 
+                String.format("Added to batch (%d/%d items)", 
+                        batchBuffer.size(), 
+                        config.getBatchSize() != null ? config.getBatchSize() : "unlimited"));
     }
     
     private AdapterResult flushBatch() throws Exception {
-        synchronized (batchBuffer) {
-            if (batchBuffer.isEmpty()) {
-                return AdapterResult.success(null, "No items in batch to flush");
-            }
-            
-            List<Object> itemsToWrite = new ArrayList<>(batchBuffer);
-            batchBuffer.clear();
-            lastBatchFlush = System.currentTimeMillis();
-            
-            return writeBatchToFile(itemsToWrite);
+        // Drain under the buffer lock, write outside it
+        List<Object> itemsToWrite = batchBuffer.drain();
+        if (itemsToWrite.isEmpty()) {
+            return AdapterResult.success(null, "No items in batch to flush");
         }
+        
+        return writeBatchToFile(itemsToWrite);
     }
     
     private AdapterResult writeBatchToFile(List<Object> items) throws Exception {
@@ -130,8 +130,9 @@ public class FileSenderAdapter extends AbstractSenderAdapter {
             // Sort files based on configuration
             sortFiles(availableFiles);
             
-            // Apply file limits
-            int maxFiles = Math.min(availableFiles.size(), config.getMaxFilesPerPoll());
+            // Apply file limits, fewer files per poll under memory pressure
+            int maxFiles = Math.min(availableFiles.size(),
+                    MemoryPressure.getInstance().scaleBatchSize(config.getMaxFilesPerPoll()));
             
             for (int i = 0; i < maxFiles; i++) {
                 Path file = availableFiles.get(i);
@@ -24,8 +24,7 @@ public class FtpReceiverAdapter extends AbstractReceiverAdapter {
     private final FtpReceiverAdapterConfig config;
     private FTPClient ftpClient;
     private final AtomicInteger batchCounter = new AtomicInteger(0);
-    private final List<Object> batchBuffer = new ArrayList<>();
-    private long lastBatchFlush = System.currentTimeMillis();
+    private final BatchBuffer batchBuffer = new BatchBuffer();
     
     public FtpReceiverAdapter(FtpReceiverAdapterConfig config) {
         super(AdapterType.FTP);
@@ -188,49 +187,36 @@ public class FtpReceiverAdapter extends AbstractReceiverAdapter {
     }
     
     private AdapterResult addToBatch(Object payload) throws Exception {
-        synchronized (batchBuffer) {
-            batchBuffer.add(payload);
-            
-            boolean shouldFlush = false;
-            
+        List<Object> itemsToUpload = batchBuffer.addAndDrainIf(payload, (size, millisSinceLastFlush) -> {
             // Check size-based flushing
             if ("SIZE_BASED".equals(config.getBatchStrategy()) || "MIXED".equals(config.getBatchStrategy())) {
-                if (config.getBatchSize() != null && batchBuffer.size() >= config.getBatchSize()) {
-                    shouldFlush = true;
+                if (config.getBatchSize() != null && size >= MemoryPressure.getInstance().scaleBatchSize(config.getBatchSize())) {
+                    return true;
                 }
             }
             
             // Check time-based flushing
-            if ("TIME_BASED".equals(config.getBatchStrategy()) || "MIXED".equals(config.getBatchStrategy())) {
-                long timeSinceLastFlush = System.currentTimeMillis() - lastBatchFlush;
-                if (timeSinceLastFlush >= config.getBatchTimeoutMs()) {
-                    shouldFlush = true;
-                }
-            }
-            
-            if (shouldFlush) {
-                return flushBatch();
-            } else {
-                return AdapterResult.success(null, 
-                        String.format("Added to batch (%d/%d items)", 
-                                batchBuffer.size(), 
-                                config.getBatchSize() != null ? config.getBatchSize() : "unlimited"));
-            }
+            return ("TIME_BASED".equals(config.getBatchStrategy()) || "MIXED".equals(config.getBatchStrategy()))
+                    && millisSinceLastFlush >= config.getBatchTimeoutMs();
+        });
+        
+        if (itemsToUpload != null) {
+            return uploadBatchToFtp(itemsToUpload);
         }
+        return AdapterResult.success(null, 
+                String.format("Added to batch (%d/%d items)", 
+                        batchBuffer.size(), 
+                        config.getBatchSize() != null ? config.getBatchSize() : "unlimited"));
     }
     
     private AdapterResult flushBatch() throws Exception {
-        synchronized (batchBuffer) {
-            if (batchBuffer.isEmpty()) {
-                return AdapterResult.success(null, "No items in batch to flush");
-            }
-            
-            List<Object> itemsToUpload = new ArrayList<>(batchBuffer);
-            batchBuffer.clear();
-            lastBatchFlush = System.currentTimeMillis();
-            
-            return uploadBatchToFtp(itemsToUpload);
+        // Drain under the buffer lock, write outside it
+        List<Object> itemsToUpload = batchBuffer.drain();
+        if (itemsToUpload.isEmpty()) {
+            return AdapterResult.success(null, "No items in batch to flush");
         }
+        
+        return uploadBatchToFtp(itemsToUpload);
     }
     
     private AdapterResult uploadBatchToFtp(List<Object> items) throws Exception {
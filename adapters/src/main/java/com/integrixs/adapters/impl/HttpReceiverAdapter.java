@@ -43,10 +43,15 @@ public class HttpReceiverAdapter extends AbstractReceiverAdapter {
     @Override
     protected void doReceiverDestroy() throws Exception {
         logger.info("Destroying HTTP receiver adapter");
-        // HttpClient doesn't need explicit cleanup
+        // The shared client outlives the adapter
         httpClient = null;
     }
     
+    @Override
+    protected RetryBudget createRetryBudget() {
+        return new RetryBudget(config.getRetryBudgetRatio(), config.getMinRetriesPerSecond());
+    }
+    
     @Override
     protected AdapterResult doTestConnection() throws Exception {
         String endpoint = getEffectiveEndpoint();
@@ -65,7 +70,7 @@ public class HttpReceiverAdapter extends AbstractReceiverAdapter {
             addCommonHeaders(requestBuilder);
             
             HttpRequest request = requestBuilder.build();
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = SharedHttpClient.getInstance().send(httpClient, request, HttpResponse.BodyHandlers.ofString());
             
             int statusCode = response.statusCode();
             if (statusCode >= 200 && statusCode < 400) {
@@ -107,7 +112,7 @@ public class HttpReceiverAdapter extends AbstractReceiverAdapter {
             
             logger.debug("Receiving data from HTTP endpoint: {}", maskSensitiveUrl(endpoint));
             
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = SharedHttpClient.getInstance().send(httpClient, request, HttpResponse.BodyHandlers.ofString());
             
             return processReceiveResponse(response);
             
@@ -194,17 +199,15 @@ public class HttpReceiverAdapter extends AbstractReceiverAdapter {
     }
     
     private HttpClient createHttpClient() throws Exception {
-        HttpClient.Builder clientBuilder = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(config.getConnectionTimeout()));
-        
-        // Configure proxy if enabled
+        // Only a proxy needs a client of its own; adapters with the same proxy share it
         if (config.isUseProxy()) {
-            ProxySelector proxySelector = ProxySelector.of(
-                    new InetSocketAddress(config.getProxyServer(), config.getProxyPort()));
-            clientBuilder.proxy(proxySelector);
+            String clientKey = SharedHttpClient.clientKey("proxy", config.getProxyServer(),
+                    String.valueOf(config.getProxyPort()));
+            return SharedHttpClient.getInstance().getClient(clientKey, builder -> builder.proxy(
+                    ProxySelector.of(new InetSocketAddress(config.getProxyServer(), config.getProxyPort()))));
         }
         
-        return clientBuilder.build();
+        return SharedHttpClient.getInstance().getClient();
     }
     
     private String getEffectiveEndpoint() {
@@ -47,10 +47,15 @@ public class HttpSenderAdapter extends AbstractSenderAdapter {
     @Override
     protected void doSenderDestroy() throws Exception {
         logger.info("Destroying HTTP sender adapter");
-        // HttpClient doesn't need explicit cleanup
+        // The client is shared across adapters, so only drop the reference
         httpClient = null;
     }
     
+    @Override
+    protected RetryBudget createRetryBudget() {
+        return new RetryBudget(config.getRetryBudgetRatio(), config.getMinRetriesPerSecond());
+    }
+    
     @Override
     protected AdapterResult doTestConnection() throws Exception {
         if (config.getEndpointUrl() == null || config.getEndpointUrl().trim().isEmpty()) {
@@ -68,7 +73,8 @@ public class HttpSenderAdapter extends AbstractSenderAdapter {
             addCommonHeaders(requestBuilder);
             
             HttpRequest request = requestBuilder.build();
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = SharedHttpClient.getInstance()
+                    .send(httpClient, request, HttpResponse.BodyHandlers.ofString());
             
             int statusCode = response.statusCode();
             if (statusCode >= 200 && statusCode < 400) {
@@ -89,48 +95,87 @@ public class HttpSenderAdapter extends AbstractSenderAdapter {
             throw new AdapterException.ValidationException(AdapterType.HTTP, "Payload cannot be null");
         }
         
-        String payloadString = convertPayloadToString(payload);
-        
         try {
-            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                    .uri(new URI(config.getEndpointUrl()))
-                    .timeout(Duration.ofMillis(config.getTimeoutMillis()));
-            
-            // Set HTTP method and body
-            setHttpMethodAndBody(requestBuilder, payloadString);
-            
-            // Add authentication headers
-            addAuthenticationHeaders(requestBuilder, headers);
-            
-            // Add common headers
-            addCommonHeaders(requestBuilder);
-            
-            // Add custom headers from config
-            addCustomHeaders(requestBuilder);
-            
-            // Add runtime headers
-            addRuntimeHeaders(requestBuilder, headers);
-            
-            HttpRequest request = requestBuilder.build();
+            HttpRequest request = buildRequest(payload, headers);
             
             logger.debug("Sending HTTP request to: {}", maskSensitiveUrl(config.getEndpointUrl()));
             
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = SharedHttpClient.getInstance()
+                    .send(httpClient, request, HttpResponse.BodyHandlers.ofString());
             
             return processResponse(response);
             
         } catch (Exception e) {
-            logger.error("HTTP send operation failed", e);
-            
-            if (e instanceof java.net.ConnectException) {
-                throw new AdapterException.ConnectionException(AdapterType.HTTP, "Connection failed: " + e.getMessage(), e);
-            } else if (e instanceof java.net.SocketTimeoutException) {
-                throw new AdapterException.TimeoutException(AdapterType.HTTP, "Request timeout: " + e.getMessage(), e);
-            } else if (e instanceof javax.net.ssl.SSLException) {
-                throw new AdapterException.ConnectionException(AdapterType.HTTP, "SSL connection failed: " + e.getMessage(), e);
-            } else {
-                throw new AdapterException(AdapterType.HTTP, AdapterMode.SENDER, "Send operation failed", e);
-            }
+            throw translateException(e);
+        }
+    }
+    
+    /**
+     * Non-blocking send: no thread is held while the request is in flight or between retries.
+     */
+    @Override
+    public void sendAsync(Object payload, AdapterCallback callback) throws AdapterException {
+        validateReady();
+        
+        if (payload == null) {
+            throw new AdapterException.ValidationException(AdapterType.HTTP, "Payload cannot be null");
+        }
+        
+        if (callback == null) {
+            throw new AdapterException.ValidationException(AdapterType.HTTP, "Callback cannot be null");
+        }
+        
+        HttpRequest request;
+        try {
+            request = buildRequest(payload, new HashMap<>());
+        } catch (Exception e) {
+            throw translateException(e);
+        }
+        
+        // Retries are scheduled, so neither the request nor the backoff holds a thread
+        deliver(executeTimedOperationAsync("send", () -> SharedHttpClient.getInstance()
+                .sendAsync(httpClient, request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::processResponse)), callback);
+    }
+    
+    private HttpRequest buildRequest(Object payload, Map<String, Object> headers) throws Exception {
+        String payloadString = convertPayloadToString(payload);
+        
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(new URI(config.getEndpointUrl()))
+                .timeout(Duration.ofMillis(config.getTimeoutMillis()));
+        
+        // Set HTTP method and body
+        setHttpMethodAndBody(requestBuilder, payloadString);
+        
+        // Add authentication headers
+        addAuthenticationHeaders(requestBuilder, headers);
+        
+        // Add common headers
+        addCommonHeaders(requestBuilder);
+        
+        // Add custom headers from config
+        addCustomHeaders(requestBuilder);
+        
+        // Add runtime headers
+        addRuntimeHeaders(requestBuilder, headers);
+        
+        return requestBuilder.build();
+    }
+    
+    private AdapterException translateException(Exception e) {
+        logger.error("HTTP send operation failed", e);
+        
+        if (e instanceof AdapterException adapterException) {
+            return adapterException;
+        } else if (e instanceof java.net.ConnectException) {
+            return new AdapterException.ConnectionException(AdapterType.HTTP, "Connection failed: " + e.getMessage(), e);
+        } else if (e instanceof java.net.SocketTimeoutException || e instanceof java.net.http.HttpTimeoutException) {
+            return new AdapterException.TimeoutException(AdapterType.HTTP, "Request timeout: " + e.getMessage(), e);
+        } else if (e instanceof javax.net.ssl.SSLException) {
+            return new AdapterException.ConnectionException(AdapterType.HTTP, "SSL connection failed: " + e.getMessage(), e);
+        } else {
+            return new AdapterException(AdapterType.HTTP, AdapterMode.SENDER, "Send operation failed", e);
         }
     }
     
@@ -185,18 +230,23 @@ public class HttpSenderAdapter extends AbstractSenderAdapter {
     }
     
     private HttpClient createHttpClient() throws Exception {
-        HttpClient.Builder clientBuilder = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofMillis(config.getTimeoutMillis()));
-        
-        // Configure SSL if needed
+        // Configure SSL if needed; adapters with the same key material share one client
         if (config.getEndpointUrl().toLowerCase().startsWith("https")) {
             if (config.getSslKeyStorePath() != null || config.getSslTrustStorePath() != null) {
-                SSLContext sslContext = createSSLContext();
-                clientBuilder.sslContext(sslContext);
+                String sslKey = SharedHttpClient.clientKey(
+                        config.getSslKeyStorePath(), config.getSslKeyStorePassword(),
+                        config.getSslTrustStorePath(), config.getSslTrustStorePassword());
+                return SharedHttpClient.getInstance().getClient(sslKey, () -> {
+                    try {
+                        return createSSLContext();
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Failed to create SSL context: " + e.getMessage(), e);
+                    }
+                });
             }
         }
         
-        return clientBuilder.build();
+        return SharedHttpClient.getInstance().getClient();
     }
     
     private SSLContext createSSLContext() throws Exception {
@@ -138,7 +138,7 @@ public class JdbcSenderAdapter extends AbstractSenderAdapter {
                 stmt.setQueryTimeout(config.getQueryTimeoutSeconds());
                 
                 if (config.getFetchSize() != null) {
-                    stmt.setFetchSize(config.getFetchSize());
+                    stmt.setFetchSize(MemoryPressure.getInstance().scaleBatchSize(config.getFetchSize()));
                 }
                 
                 if (config.getMaxResults() != null) {
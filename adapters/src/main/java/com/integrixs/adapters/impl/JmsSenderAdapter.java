@@ -138,7 +138,8 @@ public class JmsSenderAdapter extends AbstractSenderAdapter {
             // Receive messages based on configuration
             if (config.isEnableBatchReceive() && config.getBatchSize() > 0) {
                 // Batch receive
-                for (int i = 0; i < config.getBatchSize(); i++) {
+                int batchSize = MemoryPressure.getInstance().scaleBatchSize(config.getBatchSize());
+                for (int i = 0; i < batchSize; i++) {
                     Message message = consumer.receive(config.getReceiveTimeout());
                     if (message == null) {
                         break; // No more messages
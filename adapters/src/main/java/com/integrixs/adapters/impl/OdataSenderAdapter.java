@@ -15,7 +15,11 @@ import org.apache.olingo.commons.api.format.ContentType;
 import java.net.URI;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * OData Sender Adapter implementation for OData service consumption (INBOUND).
@@ -27,7 +31,8 @@ public class OdataSenderAdapter extends AbstractSenderAdapter {
     private final OdataSenderAdapterConfig config;
     private ODataClient client;
     private final Map<String, String> processedEntities = new ConcurrentHashMap<>();
-    private String lastDeltaToken;
+    private volatile String lastDeltaToken;
+    private ExecutorService pageExecutor;
     
     public OdataSenderAdapter(OdataSenderAdapterConfig config) {
         super(AdapterType.ODATA);
@@ -43,6 +48,18 @@ public class OdataSenderAdapter extends AbstractSenderAdapter {
         // Initialize OData client
         client = ODataClientFactory.getClient();
         
+        // Dedicated pool for parallel $skip-range page requests
+        if (config.isEnableParallelPageFetch()) {
+            int parallelism = Math.max(1, config.getMaxParallelPageRequests());
+            pageExecutor = AdapterExecutors.getInstance().isVirtual()
+                    ? new SemaphoreBoundedExecutor("ODATA-page-fetch", parallelism)
+                    : Executors.newFixedThreadPool(parallelism, r -> {
+                        Thread t = new Thread(r, "ODATA-page-fetch");
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+        
         // Configure client settings
         if (config.getUsername() != null && !config.getUsername().isEmpty()) {
             // Basic authentication would be configured here
@@ -56,6 +73,10 @@ public class OdataSenderAdapter extends AbstractSenderAdapter {
     protected void doSenderDestroy() throws Exception {
         logger.info("Destroying OData sender adapter");
         processedEntities.clear();
+        if (pageExecutor != null) {
+            pageExecutor.shutdownNow();
+            pageExecutor = null;
+        }
         client = null;
     }
     
@@ -128,65 +149,47 @@ public class OdataSenderAdapter extends AbstractSenderAdapter {
         return pollODataService();
     }
     
+    /**
+     * Streams the polled entities downstream one page at a time instead of
+     * collecting the whole result set first. Each page is delivered through
+     * {@link AdapterCallback#onSuccess(AdapterResult)} with page metadata.
+     */
+    @Override
+    public void sendAsync(Object payload, AdapterCallback callback) throws AdapterException {
+        validateReady();
+        
+        if (callback == null) {
+            throw new AdapterException.ValidationException(AdapterType.ODATA, "Callback cannot be null");
+        }
+        
+        CompletableFuture.runAsync(() -> {
+            try {
+                int total = streamPages(callback);
+                logger.info("OData sender adapter streamed {} entities", total);
+            } catch (Exception e) {
+                logger.error("Error streaming OData pages", e);
+                callback.onFailure(AdapterResult.failure("Failed to poll OData service: " + e.getMessage(), e));
+            }
+        }, getAsyncExecutor());
+    }
+    
     private AdapterResult pollODataService() throws Exception {
         List<Map<String, Object>> entities = new ArrayList<>();
         
         try {
-            // Build OData URI
-            String serviceUrl = config.getServiceUrl();
-            
-            // Create entity set request
-            ODataEntitySetRequest<ClientEntitySet> request = client.getRetrieveRequestFactory()
-                    .getEntitySetRequest(client.newURIBuilder(serviceUrl)
-                            .appendEntitySetSegment(config.getEntitySetName())
-                            .build());
-            
-            // Set format
-            request.setFormat(ContentType.APPLICATION_JSON);
-            
-            // Add query options
-            URI requestUri = addQueryOptions(request.getURI());
-            request = client.getRetrieveRequestFactory().getEntitySetRequest(requestUri);
-            
-            // Add authentication headers if configured
-            if (config.getUsername() != null && !config.getUsername().isEmpty()) {
-                String credentials = config.getUsername() + ":" + config.getPassword();
-                String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
-                request.addCustomHeader("Authorization", "Basic " + encodedCredentials);
-            }
-            
-            // Add custom headers if configured
-            if (config.getCustomHeaders() != null && !config.getCustomHeaders().isEmpty()) {
-                for (Map.Entry<String, String> header : config.getCustomHeaders().entrySet()) {
-                    request.addCustomHeader(header.getKey(), header.getValue());
-                }
-            }
-            
-            // Execute request
-            ODataRetrieveResponse<ClientEntitySet> response = request.execute();
-            ClientEntitySet entitySet = response.getBody();
-            
-            // Process entities
-            for (ClientEntity entity : entitySet.getEntities()) {
-                Map<String, Object> entityData = processEntity(entity);
-                if (entityData != null) {
-                    entities.add(entityData);
-                }
-            }
-            
-            // Handle delta token for change tracking
-            if (config.isEnableChangeTracking() && response.getHeader("DataServiceVersion") != null) {
-                String deltaLink = entitySet.getDeltaLink() != null ? entitySet.getDeltaLink().toString() : null;
-                if (deltaLink != null) {
-                    lastDeltaToken = extractDeltaToken(deltaLink);
-                    logger.debug("Updated delta token: {}", lastDeltaToken);
-                }
+            Iterator<List<Map<String, Object>>> pages = openPageIterator();
+            int pageCount = 0;
+            while (pages.hasNext()) {
+                entities.addAll(pages.next());
+                pageCount++;
             }
             
-            logger.info("OData sender adapter retrieved {} entities", entities.size());
+            logger.info("OData sender adapter retrieved {} entities in {} pages", entities.size(), pageCount);
             
-            return AdapterResult.success(entities, 
+            AdapterResult result = AdapterResult.success(entities, 
                     String.format("Successfully retrieved %d entities from OData service", entities.size()));
+            result.addMetadata("pageCount", pageCount);
+            return result;
                     
         } catch (Exception e) {
             logger.error("Error polling OData service", e);
@@ -195,6 +198,213 @@ public class OdataSenderAdapter extends AbstractSenderAdapter {
         }
     }
     
+    /**
+     * Emit each retrieved page to the callback as soon as it is available.
+     *
+     * @return total number of entities emitted
+     */
+    private int streamPages(AdapterCallback callback) throws Exception {
+        Iterator<List<Map<String, Object>>> pages = openPageIterator();
+        int pageIndex = 0;
+        int total = 0;
+        
+        while (pages.hasNext()) {
+            List<Map<String, Object>> page = pages.next();
+            total += page.size();
+            
+            AdapterResult pageResult = AdapterResult.success(page, 
+                    String.format("Retrieved page %d with %d entities", pageIndex, page.size()));
+            pageResult.addMetadata("pageIndex", pageIndex);
+            pageResult.addMetadata("pageSize", page.size());
+            pageResult.addMetadata("lastPage", !pages.hasNext());
+            callback.onSuccess(pageResult);
+            
+            if (pages instanceof SkipRangePageIterator rangeIterator && rangeIterator.totalCount > 0) {
+                callback.onProgress(Math.min(1.0, (double) total / rangeIterator.totalCount), 
+                        String.format("Retrieved %d of %d entities", total, rangeIterator.totalCount));
+            }
+            pageIndex++;
+        }
+        
+        return total;
+    }
+    
+    /**
+     * Choose the paging strategy for this poll. Parallel $skip ranges are used only when
+     * enabled and the service reports an inline count; otherwise next links are followed.
+     */
+    private Iterator<List<Map<String, Object>>> openPageIterator() throws Exception {
+        int pageSize = config.isEnablePaging() && config.getPageSize() > 0 ? config.getPageSize() : 0;
+        
+        if (config.isEnablePaging() && config.isEnableParallelPageFetch() && pageSize > 0 && pageExecutor != null) {
+            ClientEntitySet firstPage = fetchPage(buildEntitySetUri(pageSize, config.getSkip(), true), false);
+            Integer count = firstPage.getCount();
+            if (count != null) {
+                return new SkipRangePageIterator(firstPage, count, pageSize);
+            }
+            logger.debug("OData service did not return $count, falling back to next link paging");
+            return new NextLinkPageIterator(firstPage);
+        }
+        
+        // Server-driven paging: let the service choose page boundaries and follow @odata.nextLink
+        URI firstUri = buildEntitySetUri(config.isEnablePaging() ? 0 : config.getTop(), 
+                config.getSkip(), config.isIncludeCount());
+        return new NextLinkPageIterator(fetchPage(firstUri, config.isEnablePaging() && pageSize > 0));
+    }
+    
+    private ClientEntitySet fetchPage(URI uri, boolean preferMaxPageSize) {
+        ODataEntitySetRequest<ClientEntitySet> request = client.getRetrieveRequestFactory().getEntitySetRequest(uri);
+        request.setFormat(ContentType.APPLICATION_JSON);
+        
+        // Add authentication headers if configured
+        if (config.getUsername() != null && !config.getUsername().isEmpty()) {
+            String credentials = config.getUsername() + ":" + config.getPassword();
+            String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
+            request.addCustomHeader("Authorization", "Basic " + encodedCredentials);
+        }
+        
+        // Add custom headers if configured
+        if (config.getCustomHeaders() != null && !config.getCustomHeaders().isEmpty()) {
+            for (Map.Entry<String, String> header : config.getCustomHeaders().entrySet()) {
+                request.addCustomHeader(header.getKey(), header.getValue());
+            }
+        }
+        
+        if (preferMaxPageSize) {
+            request.addCustomHeader("Prefer", "odata.maxpagesize=" + config.getPageSize());
+        }
+        
+        logger.debug("Fetching OData page: {}", uri);
+        ODataRetrieveResponse<ClientEntitySet> response = request.execute();
+        ClientEntitySet entitySet = response.getBody();
+        
+        // Handle delta token for change tracking (only the final page carries the delta link)
+        if (config.isEnableChangeTracking() && entitySet.getDeltaLink() != null) {
+            lastDeltaToken = extractDeltaToken(entitySet.getDeltaLink().toString());
+            logger.debug("Updated delta token: {}", lastDeltaToken);
+        }
+        
+        return entitySet;
+    }
+    
+    private List<Map<String, Object>> processPage(ClientEntitySet entitySet, int remaining) {
+        List<Map<String, Object>> page = new ArrayList<>(entitySet.getEntities().size());
+        for (ClientEntity entity : entitySet.getEntities()) {
+            if (remaining >= 0 && page.size() >= remaining) {
+                break;
+            }
+            Map<String, Object> entityData = processEntity(entity);
+            if (entityData != null) {
+                page.add(entityData);
+            }
+        }
+        return page;
+    }
+    
+    /**
+     * Sequential iterator that follows {@code @odata.nextLink} until the service stops
+     * returning one or {@code maxRecordsPerPoll} is reached. Only one page is held at a time.
+     */
+    private class NextLinkPageIterator implements Iterator<List<Map<String, Object>>> {
+        
+        private ClientEntitySet current;
+        private int emitted;
+        
+        NextLinkPageIterator(ClientEntitySet firstPage) {
+            this.current = firstPage;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return current != null && remaining() != 0;
+        }
+        
+        @Override
+        public List<Map<String, Object>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<Map<String, Object>> page = processPage(current, remaining());
+            emitted += page.size();
+            
+            URI nextLink = current.getNext();
+            current = null;
+            if (nextLink != null && config.isFollowNextLinks() && remaining() != 0) {
+                current = fetchPage(nextLink, config.isEnablePaging() && config.getPageSize() > 0);
+            }
+            return page;
+        }
+        
+        private int remaining() {
+            return config.getMaxRecordsPerPoll() > 0 ? Math.max(0, config.getMaxRecordsPerPoll() - emitted) : -1;
+        }
+    }
+    
+    /**
+     * Iterator that fetches {@code $skip}/{@code $top} ranges in parallel once the total count
+     * is known. At most {@code maxParallelPageRequests} pages are in flight, and pages are
+     * returned in order so downstream processing sees a stable sequence.
+     */
+    private class SkipRangePageIterator implements Iterator<List<Map<String, Object>>> {
+        
+        private final Deque<CompletableFuture<ClientEntitySet>> inFlight = new ArrayDeque<>();
+        private final int totalCount;
+        private final int pageSize;
+        private final int endOffset;
+        private ClientEntitySet firstPage;
+        private int nextSkip;
+        private int emitted;
+        
+        SkipRangePageIterator(ClientEntitySet firstPage, int totalCount, int pageSize) {
+            this.firstPage = firstPage;
+            this.totalCount = totalCount;
+            this.pageSize = pageSize;
+            this.nextSkip = config.getSkip() + pageSize;
+            int limit = config.getMaxRecordsPerPoll() > 0 ? config.getSkip() + config.getMaxRecordsPerPoll() : Integer.MAX_VALUE;
+            this.endOffset = Math.min(totalCount, limit);
+            fillWindow();
+        }
+        
+        private void fillWindow() {
+            int parallelism = Math.max(1, config.getMaxParallelPageRequests());
+            while (inFlight.size() < parallelism && nextSkip < endOffset) {
+                int skip = nextSkip;
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return fetchPage(buildEntitySetUri(pageSize, skip, false), false);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, pageExecutor));
+                nextSkip += pageSize;
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return firstPage != null || !inFlight.isEmpty();
+        }
+        
+        @Override
+        public List<Map<String, Object>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ClientEntitySet entitySet;
+            if (firstPage != null) {
+                entitySet = firstPage;
+                firstPage = null;
+            } else {
+                entitySet = inFlight.removeFirst().join();
+                fillWindow();
+            }
+            int remaining = config.getMaxRecordsPerPoll() > 0 ? Math.max(0, config.getMaxRecordsPerPoll() - emitted) : -1;
+            List<Map<String, Object>> page = processPage(entitySet, remaining);
+            emitted += page.size();
+            return page;
+        }
+    }
+    
     private Map<String, Object> processEntity(ClientEntity entity) {
         Map<String, Object> entityData = new HashMap<>();
         
@@ -238,7 +448,10 @@ public class OdataSenderAdapter extends AbstractSenderAdapter {
         return entityData;
     }
     
-    private URI addQueryOptions(URI baseUri) throws Exception {
+    private URI buildEntitySetUri(int top, int skip, boolean includeCount) throws Exception {
+        URI baseUri = client.newURIBuilder(config.getServiceUrl())
+                .appendEntitySetSegment(config.getEntitySetName())
+                .build();
         String uriString = baseUri.toString();
         List<String> queryOptions = new ArrayList<>();
         
@@ -263,17 +476,17 @@ public class OdataSenderAdapter extends AbstractSenderAdapter {
         }
         
         // Add top
-        if (config.getTop() > 0) {
-            queryOptions.add("$top=" + config.getTop());
+        if (top > 0) {
+            queryOptions.add("$top=" + top);
         }
         
         // Add skip for pagination
-        if (config.getSkip() > 0) {
-            queryOptions.add("$skip=" + config.getSkip());
+        if (skip > 0) {
+            queryOptions.add("$skip=" + skip);
         }
         
         // Add count
-        if (config.isIncludeCount()) {
+        if (includeCount) {
             queryOptions.add("$count=true");
         }
         
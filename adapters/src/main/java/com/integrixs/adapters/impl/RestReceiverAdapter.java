@@ -10,6 +10,7 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
 
 import java.util.*;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -22,8 +23,7 @@ public class RestReceiverAdapter extends AbstractReceiverAdapter {
     private final RestReceiverAdapterConfig config;
     private RestTemplate restTemplate;
     private final AtomicInteger batchCounter = new AtomicInteger(0);
-    private final List<Object> batchBuffer = new ArrayList<>();
-    private long lastBatchFlush = System.currentTimeMillis();
+    private final BatchBuffer batchBuffer = new BatchBuffer();
     
     public RestReceiverAdapter(RestReceiverAdapterConfig config) {
         super(AdapterType.REST);
@@ -57,6 +57,11 @@ public class RestReceiverAdapter extends AbstractReceiverAdapter {
         restTemplate = null;
     }
     
+    @Override
+    protected RetryBudget createRetryBudget() {
+        return new RetryBudget(config.getRetryBudgetRatio(), config.getMinRetriesPerSecond());
+    }
+    
     @Override
     protected AdapterResult doTestConnection() throws Exception {
         List<AdapterResult> testResults = new ArrayList<>();
@@ -159,49 +164,36 @@ public class RestReceiverAdapter extends AbstractReceiverAdapter {
     }
     
     private AdapterResult addToBatch(Object payload) throws Exception {
-        synchronized (batchBuffer) {
-            batchBuffer.add(payload);
-            
-            boolean shouldFlush = false;
-            
+        List<Object> itemsToSend = batchBuffer.addAndDrainIf(payload, (size, millisSinceLastFlush) -> {
             // Check size-based flushing
             if ("SIZE_BASED".equals(config.getBatchStrategy()) || "MIXED".equals(config.getBatchStrategy())) {
-                if (config.getBatchSize() != null && batchBuffer.size() >= config.getBatchSize()) {
-                    shouldFlush = true;
+                if (config.getBatchSize() != null && size >= MemoryPressure.getInstance().scaleBatchSize(config.getBatchSize())) {
+                    return true;
                 }
             }
             
             // Check time-based flushing
-            if ("TIME_BASED".equals(config.getBatchStrategy()) || "MIXED".equals(config.getBatchStrategy())) {
-                long timeSinceLastFlush = System.currentTimeMillis() - lastBatchFlush;
-                if (timeSinceLastFlush >= config.getBatchTimeoutMs()) {
-                    shouldFlush = true;
-                }
-            }
-            
-            if (shouldFlush) {
-                return flushBatch();
-            } else {
-                return AdapterResult.success(null, 
-                        String.format("Added to batch (%d/%d items)", 
-                                batchBuffer.size(), 
-                                config.getBatchSize() != null ? config.getBatchSize() : "unlimited"));
-            }
+            return ("TIME_BASED".equals(config.getBatchStrategy()) || "MIXED".equals(config.getBatchStrategy()))
+                    && millisSinceLastFlush >= config.getBatchTimeoutMs();
+        });
+        
+        if (itemsToSend != null) {
+            return sendBatchToRestApi(itemsToSend);
         }
+        return AdapterResult.success(null, 
+                String.format("Added to batch (%d/%d items)", 
+                        batchBuffer.size(), 
+                        config.getBatchSize() != null ? config.getBatchSize() : "unlimited"));
     }
     
     private AdapterResult flushBatch() throws Exception {
-        synchronized (batchBuffer) {
-            if (batchBuffer.isEmpty()) {
-                return AdapterResult.success(null, "No items in batch to flush");
-            }
-            
-            List<Object> itemsToSend = new ArrayList<>(batchBuffer);
-            batchBuffer.clear();
-            lastBatchFlush = System.currentTimeMillis();
-            
-            return sendBatchToRestApi(itemsToSend);
+        // Drain under the buffer lock, write outside it
+        List<Object> itemsToSend = batchBuffer.drain();
+        if (itemsToSend.isEmpty()) {
+            return AdapterResult.success(null, "No items in batch to flush");
         }
+        
+        return sendBatchToRestApi(itemsToSend);
     }
     
     private AdapterResult sendBatchToRestApi(List<Object> items) throws Exception {
@@ -374,11 +366,9 @@ public class RestReceiverAdapter extends AbstractReceiverAdapter {
     }
     
     private void initializeRestTemplate() throws Exception {
-        restTemplate = new RestTemplate();
-        
-        // Configure timeouts and other settings
-        // In production, you'd configure connection pool, timeouts, etc.
-        logger.debug("REST template initialized with default configuration");
+        // Pooled connections and per-route limits shared with the other HTTP adapters
+        restTemplate = SharedHttpClient.getInstance().restTemplate(Duration.ofSeconds(config.getReadTimeout()));
+        logger.debug("REST template initialized on the shared HTTP client");
     }
     
     private void validateConfiguration() throws AdapterException.ConfigurationException {
@@ -9,8 +9,18 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
 
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * REST Sender Adapter implementation for REST API consumption (INBOUND).
@@ -20,12 +30,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public class RestSenderAdapter extends AbstractSenderAdapter {
     
     private final RestSenderAdapterConfig config;
-    private final Map<String, String> processedMessages = new ConcurrentHashMap<>();
+    private final BoundedDeduplicationCache processedMessages;
     private RestTemplate restTemplate;
+    private volatile String lastETag;
+    private volatile long lastModified = -1;
     
     public RestSenderAdapter(RestSenderAdapterConfig config) {
         super(AdapterType.REST);
         this.config = config;
+        this.processedMessages = new BoundedDeduplicationCache(config.getDuplicateCacheSize());
     }
     
     @Override
@@ -130,48 +143,41 @@ public class RestSenderAdapter extends AbstractSenderAdapter {
         return pollFromRestApi();
     }
     
+    /**
+     * Streams polled pages to the callback as they are fetched rather than
+     * collecting the whole poll in memory first.
+     */
+    @Override
+    public void sendAsync(Object payload, AdapterCallback callback) throws AdapterException {
+        validateReady();
+        
+        if (callback == null) {
+            throw new AdapterException.ValidationException(AdapterType.REST, "Callback cannot be null");
+        }
+        
+        CompletableFuture.runAsync(() -> {
+            try {
+                int[] pageIndex = {0};
+                streamPages().forEach(page -> {
+                    AdapterResult pageResult = AdapterResult.success(List.of(page), 
+                            String.format("Retrieved page %d from REST API", pageIndex[0]));
+                    pageResult.addMetadata("pageIndex", pageIndex[0]++);
+                    callback.onSuccess(pageResult);
+                });
+            } catch (Exception e) {
+                logger.error("Error streaming REST pages", e);
+                callback.onFailure(AdapterResult.failure("REST polling failed: " + e.getMessage(), e));
+            }
+        }, getAsyncExecutor());
+    }
+    
     private AdapterResult pollFromRestApi() throws Exception {
-        List<Map<String, Object>> processedData = new ArrayList<>();
+        List<Map<String, Object>> processedData;
         
         try {
-            String pollUrl = config.getBaseUrl() + config.getPollingEndpoint();
-            
-            // Add query parameters if configured
-            if (config.getQueryParameters() != null && !config.getQueryParameters().isEmpty()) {
-                pollUrl += "?" + config.getQueryParameters();
-            }
-            
-            HttpHeaders httpHeaders = createHeaders();
-            HttpEntity<?> entity = new HttpEntity<>(httpHeaders);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                    pollUrl, HttpMethod.GET, entity, String.class);
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String responseBody = response.getBody();
-                
-                if (responseBody != null && !responseBody.trim().isEmpty()) {
-                    Map<String, Object> responseData = processResponse(responseBody, response.getHeaders());
-                    
-                    // Check for duplicates if enabled
-                    if (config.isEnableDuplicateHandling()) {
-                        String messageId = generateMessageId(responseData);
-                        if (processedMessages.containsKey(messageId)) {
-                            logger.debug("Duplicate message detected, skipping: {}", messageId);
-                            return AdapterResult.success(Collections.emptyList(), "Duplicate message skipped");
-                        }
-                        processedMessages.put(messageId, String.valueOf(System.currentTimeMillis()));
-                    }
-                    
-                    processedData.add(responseData);
-                } else {
-                    logger.debug("Empty response from REST endpoint");
-                }
-            } else {
-                throw new AdapterException.ProcessingException(AdapterType.REST, 
-                        "REST polling failed with status: " + response.getStatusCode());
-            }
-            
+            processedData = streamPages().toList();
+        } catch (RestPollingException e) {
+            throw e.adapterException;
         } catch (HttpClientErrorException e) {
             throw new AdapterException.ProcessingException(AdapterType.REST, 
                     "REST client error: " + e.getStatusCode() + " - " + e.getResponseBodyAsString(), e);
@@ -189,6 +195,279 @@ public class RestSenderAdapter extends AbstractSenderAdapter {
                 String.format("Retrieved %d items from REST API", processedData.size()));
     }
     
+    /**
+     * Lazily fetch pages according to the configured pagination strategy. A page is only
+     * requested when the previous one has been consumed.
+     */
+    private Stream<Map<String, Object>> streamPages() {
+        RestPageIterator iterator = new RestPageIterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .filter(Objects::nonNull);
+    }
+    
+    /**
+     * Iterator over the pages of one poll. Supports offset/limit, page-number, JSONPath cursor
+     * and RFC 5988 {@code Link} header pagination. Without pagination the request is
+     * conditional when a previous poll returned an {@code ETag} or {@code Last-Modified}
+     * validator; the validators are kept only once the poll has been consumed completely.
+     * Paged endpoints are always fetched in full, since an unchanged first page says
+     * nothing about the later ones.
+     */
+    private class RestPageIterator implements Iterator<Map<String, Object>> {
+        
+        private final int pageSize = config.getPageSize() != null && config.getPageSize() > 0 ? config.getPageSize() : 0;
+        private final PaginationStrategy strategy = PaginationStrategy.from(config.getPaginationStrategy(), pageSize);
+        private String nextUrl;
+        private int pagesFetched;
+        private int recordsFetched;
+        private int offset;
+        private int pageNumber = config.getFirstPageNumber();
+        private final boolean conditional = config.isEnableConditionalRequests() && strategy == PaginationStrategy.NONE;
+        private boolean exhausted;
+        private boolean validatorsReceived;
+        private String receivedETag;
+        private long receivedLastModified = -1;
+        
+        RestPageIterator() {
+            this.nextUrl = buildPageUrl(null);
+        }
+        
+        @Override
+        public boolean hasNext() {
+            boolean more = !exhausted && nextUrl != null;
+            if (!more && validatorsReceived) {
+                // Every page was consumed without failure; the next poll may be conditional
+                lastETag = receivedETag;
+                lastModified = receivedLastModified;
+                validatorsReceived = false;
+            }
+            return more;
+        }
+        
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            HttpHeaders httpHeaders = createHeadersUnchecked();
+            if (conditional) {
+                if (lastETag != null) {
+                    httpHeaders.setIfNoneMatch(lastETag);
+                }
+                if (lastModified > 0) {
+                    httpHeaders.setIfModifiedSince(lastModified);
+                }
+            }
+            
+            ResponseEntity<String> response = restTemplate.exchange(
+                    nextUrl, HttpMethod.GET, new HttpEntity<>(httpHeaders), String.class);
+            pagesFetched++;
+            
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                logger.debug("REST endpoint not modified since last poll, skipping");
+                exhausted = true;
+                return null;
+            }
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new RestPollingException(new AdapterException.ProcessingException(AdapterType.REST, 
+                        "REST polling failed with status: " + response.getStatusCode()));
+            }
+            
+            if (conditional) {
+                receivedETag = response.getHeaders().getETag();
+                receivedLastModified = response.getHeaders().getLastModified();
+                validatorsReceived = true;
+            }
+            
+            String responseBody = response.getBody();
+            if (responseBody == null || responseBody.trim().isEmpty()) {
+                logger.debug("Empty response from REST endpoint");
+                exhausted = true;
+                return null;
+            }
+            
+            int pageRecords = countRecords(responseBody);
+            recordsFetched += Math.max(pageRecords, 0);
+            advance(response.getHeaders(), responseBody, pageRecords);
+            
+            // Check for duplicates if enabled
+            if (config.isEnableDuplicateHandling() && !processedMessages.markProcessed(generateMessageId(responseBody))) {
+                logger.debug("Duplicate page detected, skipping");
+                return null;
+            }
+            
+            try {
+                Map<String, Object> responseData = processResponse(responseBody, response.getHeaders());
+                responseData.put("pageIndex", pagesFetched - 1);
+                return responseData;
+            } catch (Exception e) {
+                throw new RestPollingException(new AdapterException.ProcessingException(AdapterType.REST, 
+                        "Failed to process REST response: " + e.getMessage(), e));
+            }
+        }
+        
+        private void advance(HttpHeaders responseHeaders, String responseBody, int pageRecords) {
+            nextUrl = null;
+            if (pagesFetched >= config.getMaxPagesPerPoll()
+                    || (config.getMaxResults() != null && recordsFetched >= config.getMaxResults())) {
+                return;
+            }
+            
+            switch (strategy) {
+                case OFFSET_BASED -> {
+                    if (isLastPage(pageRecords)) return;
+                    offset += pageRecords > 0 ? pageRecords : pageSize;
+                    nextUrl = buildPageUrl(null);
+                }
+                case PAGE_BASED -> {
+                    if (isLastPage(pageRecords)) return;
+                    pageNumber++;
+                    nextUrl = buildPageUrl(null);
+                }
+                case CURSOR_BASED -> {
+                    String cursor = readCursor(responseBody);
+                    if (cursor != null && !cursor.isEmpty()) {
+                        nextUrl = buildPageUrl(cursor);
+                    }
+                }
+                case LINK_HEADER -> nextUrl = parseNextLink(responseHeaders.get(HttpHeaders.LINK));
+                case NONE -> { }
+            }
+        }
+        
+        private boolean isLastPage(int pageRecords) {
+            if (pageRecords == 0) return true;
+            // Without a record count or page size the end of the data cannot be detected
+            return pageSize <= 0 || pageRecords < 0 || pageRecords < pageSize;
+        }
+        
+        private String buildPageUrl(String cursor) {
+            StringBuilder url = new StringBuilder(config.getBaseUrl() + config.getPollingEndpoint());
+            List<String> params = new ArrayList<>();
+            
+            if (config.getQueryParameters() != null && !config.getQueryParameters().isEmpty()) {
+                params.add(config.getQueryParameters());
+            }
+            
+            switch (strategy) {
+                case OFFSET_BASED -> {
+                    params.add(config.getOffsetParam() + "=" + offset);
+                    if (pageSize > 0) params.add(config.getLimitParam() + "=" + pageSize);
+                }
+                case PAGE_BASED -> {
+                    params.add(config.getPageParam() + "=" + pageNumber);
+                    if (pageSize > 0) params.add(config.getLimitParam() + "=" + pageSize);
+                }
+                case CURSOR_BASED -> {
+                    if (pageSize > 0) params.add(config.getLimitParam() + "=" + pageSize);
+                    if (cursor != null) {
+                        String cursorParam = config.getNextPageParam() != null ? config.getNextPageParam() : "cursor";
+                        params.add(cursorParam + "=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+                    }
+                }
+                case LINK_HEADER -> {
+                    if (pageSize > 0) params.add(config.getLimitParam() + "=" + pageSize);
+                }
+                case NONE -> { }
+            }
+            
+            if (!params.isEmpty()) {
+                url.append(url.indexOf("?") >= 0 ? "&" : "?").append(String.join("&", params));
+            }
+            return url.toString();
+        }
+    }
+    
+    private int countRecords(String responseBody) {
+        try {
+            if (config.getRecordsJsonPath() != null && !config.getRecordsJsonPath().isEmpty()) {
+                Object records = JsonPath.read(responseBody, config.getRecordsJsonPath());
+                return records instanceof Collection<?> collection ? collection.size() : -1;
+            }
+            if (responseBody.trim().startsWith("[")) {
+                List<?> records = JsonPath.read(responseBody, "$");
+                return records.size();
+            }
+        } catch (Exception e) {
+            logger.debug("Unable to count records in REST response: {}", e.getMessage());
+        }
+        return -1;
+    }
+    
+    private String readCursor(String responseBody) {
+        if (config.getCursorJsonPath() == null || config.getCursorJsonPath().isEmpty()) {
+            return null;
+        }
+        try {
+            Object cursor = JsonPath.read(responseBody, config.getCursorJsonPath());
+            return cursor != null ? cursor.toString() : null;
+        } catch (PathNotFoundException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Extract the {@code rel="next"} target from RFC 5988 Link header values.
+     */
+    static String parseNextLink(List<String> linkHeaders) {
+        if (linkHeaders == null) {
+            return null;
+        }
+        for (String header : linkHeaders) {
+            for (String link : header.split(",(?=\\s*<)")) {
+                String[] segments = link.split(";");
+                if (segments.length < 2) continue;
+                
+                String target = segments[0].trim();
+                if (!target.startsWith("<") || !target.endsWith(">")) continue;
+                
+                for (int i = 1; i < segments.length; i++) {
+                    String param = segments[i].trim();
+                    if (param.startsWith("rel=")) {
+                        String rel = param.substring(4).replace("\"", "");
+                        if (Arrays.asList(rel.split("\\s+")).contains("next")) {
+                            return target.substring(1, target.length() - 1);
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    private enum PaginationStrategy {
+        NONE, OFFSET_BASED, PAGE_BASED, CURSOR_BASED, LINK_HEADER;
+        
+        static PaginationStrategy from(String value, int pageSize) {
+            if (value == null || value.isBlank()) {
+                return NONE;
+            }
+            try {
+                PaginationStrategy strategy = valueOf(value.trim().toUpperCase());
+                // Offset and page-number paging only make sense with a configured page size
+                if ((strategy == OFFSET_BASED || strategy == PAGE_BASED) && pageSize <= 0) {
+                    return NONE;
+                }
+                return strategy;
+            } catch (IllegalArgumentException e) {
+                return NONE;
+            }
+        }
+    }
+    
+    /**
+     * Carries an adapter exception out of the page iterator.
+     */
+    private static class RestPollingException extends RuntimeException {
+        private final AdapterException adapterException;
+        
+        RestPollingException(AdapterException adapterException) {
+            super(adapterException.getMessage(), adapterException);
+            this.adapterException = adapterException;
+        }
+    }
+    
     private Map<String, Object> processResponse(String responseBody, HttpHeaders responseHeaders) throws Exception {
         Map<String, Object> responseData = new HashMap<>();
         
@@ -248,10 +527,23 @@ public class RestSenderAdapter extends AbstractSenderAdapter {
         }
     }
     
-    private String generateMessageId(Map<String, Object> responseData) {
-        // Generate unique message ID based on content
-        String content = (String) responseData.get("rawResponse");
-        return String.valueOf(content.hashCode()) + "_" + responseData.get("timestamp");
+    private String generateMessageId(String content) {
+        // Content fingerprint, so identical payloads map to the same key across polls
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            return content.hashCode() + "_" + content.length();
+        }
+    }
+    
+    private HttpHeaders createHeadersUnchecked() {
+        try {
+            return createHeaders();
+        } catch (Exception e) {
+            throw new RestPollingException(new AdapterException.ConfigurationException(AdapterType.REST, 
+                    "Failed to build request headers: " + e.getMessage()));
+        }
     }
     
     private HttpHeaders createHeaders() throws Exception {
@@ -323,11 +615,9 @@ public class RestSenderAdapter extends AbstractSenderAdapter {
     }
     
     private void initializeRestTemplate() throws Exception {
-        restTemplate = new RestTemplate();
-        
-        // Configure timeouts and other settings
-        // In production, you'd configure connection pool, timeouts, etc.
-        logger.debug("REST template initialized with default configuration");
+        // Backed by the shared pooled client; readTimeout is configured in seconds
+        restTemplate = SharedHttpClient.getInstance().restTemplate(Duration.ofSeconds(config.getReadTimeout()));
+        logger.debug("REST template initialized on shared HTTP client");
     }
     
     private void validateConfiguration() throws AdapterException.ConfigurationException {
@@ -59,6 +59,11 @@ public class SoapReceiverAdapter extends AbstractReceiverAdapter {
         // Cleanup resources if needed
     }
     
+    @Override
+    protected RetryBudget createRetryBudget() {
+        return new RetryBudget(config.getRetryBudgetRatio(), config.getMinRetriesPerSecond());
+    }
+    
     @Override
     protected AdapterResult doTestConnection() throws Exception {
         List<AdapterResult> testResults = new ArrayList<>();
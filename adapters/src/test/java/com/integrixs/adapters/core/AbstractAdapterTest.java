@@ -0,0 +1,105 @@
+package com.integrixs.adapters.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Adapters created per message for one configuration share its circuit breaker, so the
+ * breaker opens for a failing endpoint; adapters without a configuration ID leave nothing
+ * behind once destroyed.
+ */
+public class AbstractAdapterTest {
+
+    private final AdapterExceptionHandler handler = AdapterExceptionHandler.getInstance();
+
+    @Test
+    void createDestroyCyclesShareOneBreaker() throws Exception {
+        String configId = UUID.randomUUID().toString();
+        AdapterCircuitBreaker first = null;
+
+        // Default breaker: opens at 50% failures once 10 calls are recorded
+        for (int i = 0; i < 10; i++) {
+            StubAdapter adapter = new StubAdapter();
+            adapter.setAdapterId(configId);
+            adapter.initialize();
+            failOnce(adapter);
+            adapter.destroy();
+
+            AdapterCircuitBreaker breaker = handler.getCircuitBreaker(AdapterType.HTTP, AdapterMode.SENDER, configId);
+            if (first == null) {
+                first = breaker;
+            }
+            assertSame(first, breaker, "cycle " + i);
+        }
+
+        assertTrue(handler.isCircuitOpen(AdapterType.HTTP, AdapterMode.SENDER, configId));
+        assertEquals(10, handler.getErrorStatistics(AdapterType.HTTP, AdapterMode.SENDER, configId).getTotalErrors());
+        handler.unregister(AdapterType.HTTP, AdapterMode.SENDER, configId);
+    }
+
+    @Test
+    void instanceWithoutConfigurationIdIsRemovedOnDestroy() throws Exception {
+        StubAdapter adapter = new StubAdapter();
+        adapter.initialize();
+        failOnce(adapter);
+        String instanceId = adapter.getAdapterId();
+        assertNotNull(handler.getCircuitBreaker(AdapterType.HTTP, AdapterMode.SENDER, instanceId));
+        assertNotNull(RetryExecutor.getRetryBudget(instanceId));
+
+        adapter.destroy();
+
+        assertNull(handler.getCircuitBreaker(AdapterType.HTTP, AdapterMode.SENDER, instanceId));
+        assertNull(handler.getBulkhead(AdapterType.HTTP, AdapterMode.SENDER, instanceId));
+        assertNull(handler.getErrorStatistics(AdapterType.HTTP, AdapterMode.SENDER, instanceId));
+        assertNull(RetryExecutor.getRetryBudget(instanceId));
+    }
+
+    @Test
+    void adapterIdCannotChangeOnceInitialized() throws Exception {
+        StubAdapter adapter = new StubAdapter();
+        adapter.initialize();
+        assertThrows(IllegalStateException.class, () -> adapter.setAdapterId("late"));
+        adapter.destroy();
+    }
+
+    /**
+     * One call that fails to connect, recorded as a single attempt would be
+     */
+    private void failOnce(StubAdapter adapter) throws Exception {
+        AdapterExceptionHandler.CallPermit permit =
+            handler.acquirePermission(AdapterType.HTTP, AdapterMode.SENDER, adapter.getAdapterId(), false);
+        ConnectException failure = new ConnectException("Connection refused");
+        permit.onError(failure);
+        handler.handleException(AdapterType.HTTP, AdapterMode.SENDER, adapter.getAdapterId(), failure,
+            RetryExecutor.createRetryContext("send", null));
+    }
+
+    private static final class StubAdapter extends AbstractAdapter {
+
+        StubAdapter() {
+            super(AdapterType.HTTP);
+        }
+
+        @Override
+        public AdapterMode getAdapterMode() {
+            return AdapterMode.SENDER;
+        }
+
+        @Override
+        protected void doInitialize() {
+        }
+
+        @Override
+        protected void doDestroy() {
+        }
+
+        @Override
+        protected AdapterResult doTestConnection() {
+            return AdapterResult.success(null, "ok");
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.integrixs.adapters.core;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load comparison of platform and virtual execution with 1k concurrent flows
+ * that block on simulated I/O. Throughput and latency are logged; completion,
+ * the concurrency limit and the throughput ordering are asserted.
+ */
+public class ExecutionModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeLoadTest.class);
+
+    private static final int FLOWS = 1000;
+    private static final long IO_MILLIS = 20;
+
+    @Test
+    void virtualThreadsRunConcurrentFlowsWithinLimit() throws Exception {
+        int limit = 200;
+        SemaphoreBoundedExecutor virtual = new SemaphoreBoundedExecutor("flow-load", limit);
+        ExecutorService platform = Executors.newFixedThreadPool(50);
+        try {
+            AtomicInteger peak = new AtomicInteger();
+            Result virtualResult = run(virtual, peak);
+            assertEquals(FLOWS, virtualResult.completed);
+            assertTrue(peak.get() <= limit, "Concurrency limit exceeded: " + peak.get());
+
+            Result platformResult = run(platform, new AtomicInteger());
+            assertEquals(FLOWS, platformResult.completed);
+
+            log.info("{} flows, {}ms I/O each: platform(50) {} flows/s p50 {}ms p99 {}ms; "
+                            + "virtual(limit {}) {} flows/s p50 {}ms p99 {}ms",
+                    FLOWS, IO_MILLIS,
+                    Math.round(platformResult.throughput()), platformResult.percentile(50), platformResult.percentile(99),
+                    limit, Math.round(virtualResult.throughput()), virtualResult.percentile(50), virtualResult.percentile(99));
+            // Four times the concurrency on blocking I/O must show up as higher throughput
+            assertTrue(virtualResult.throughput() > platformResult.throughput(),
+                    "Virtual threads should outrun 50 platform threads on blocking I/O");
+        } finally {
+            virtual.shutdown();
+            platform.shutdown();
+        }
+    }
+
+    @Test
+    void tasksWaitingForAPermitAreCancelledOnShutdownNow() throws Exception {
+        SemaphoreBoundedExecutor executor = new SemaphoreBoundedExecutor("shutdown-test", 1);
+        CountDownLatch running = new CountDownLatch(1);
+        Future<?> blocker = executor.submit(() -> {
+            running.countDown();
+            Thread.sleep(60_000);
+            return null;
+        });
+        running.await();
+        Future<?> waiting = executor.submit(() -> { });
+
+        executor.shutdownNow();
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertThrows(CancellationException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> blocker.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void batchBufferHandsEachItemOutOnce() throws Exception {
+        BatchBuffer buffer = new BatchBuffer();
+        List<Object> written = Collections.synchronizedList(new ArrayList<>());
+        SemaphoreBoundedExecutor executor = new SemaphoreBoundedExecutor("batch-load", 100);
+        List<CompletableFuture<Void>> producers = new ArrayList<>();
+        for (int i = 0; i < FLOWS; i++) {
+            int item = i;
+            producers.add(CompletableFuture.runAsync(() -> {
+                List<Object> batch = buffer.addAndDrainIf(item, (size, sinceFlush) -> size >= 25);
+                if (batch != null) {
+                    sleep(IO_MILLIS); // the write happens outside the buffer lock
+                    written.addAll(batch);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(producers.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        written.addAll(buffer.drain());
+        executor.shutdown();
+
+        assertEquals(FLOWS, written.size());
+        assertEquals(FLOWS, written.stream().distinct().count());
+        assertTrue(buffer.isEmpty());
+    }
+
+    private Result run(ExecutorService executor, AtomicInteger peak) throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        long[] latencies = new long[FLOWS];
+        List<CompletableFuture<Void>> flows = new ArrayList<>(FLOWS);
+        long start = System.nanoTime();
+        for (int i = 0; i < FLOWS; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            flows.add(CompletableFuture.runAsync(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(IO_MILLIS);
+                running.decrementAndGet();
+                latencies[index] = System.nanoTime() - submitted;
+            }, executor));
+        }
+        CompletableFuture.allOf(flows.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+        int completed = (int) flows.stream().filter(f -> f.isDone() && !f.isCompletedExceptionally()).count();
+        return new Result(completed, elapsed, latencies);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(int completed, long elapsedNanos, long[] latencies) {
+
+        double throughput() {
+            return completed / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        long percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.integrixs.adapters.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for asynchronous retries in RetryExecutor.
+ */
+public class RetryExecutorTest {
+
+    @Test
+    void concurrentRetriesDoNotBlockTheCallerAndKeepTheirDelays() throws Exception {
+        int operations = 5000;
+        int failuresBeforeSuccess = 3;
+        long delayMs = 50;
+        Thread caller = Thread.currentThread();
+        Map<Integer, List<Long>> attemptTimes = new ConcurrentHashMap<>();
+        List<Thread> retryThreads = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>(operations);
+
+        for (int i = 0; i < operations; i++) {
+            int id = i;
+            List<Long> times = new CopyOnWriteArrayList<>();
+            attemptTimes.put(id, times);
+            results.add(RetryExecutor.executeWithCustomRetryAsync(
+                    AdapterType.HTTP, AdapterMode.SENDER, "retry-test",
+                    () -> {
+                        times.add(System.nanoTime());
+                        if (times.size() > 1) {
+                            retryThreads.add(Thread.currentThread());
+                        }
+                        return times.size() <= failuresBeforeSuccess
+                                ? CompletableFuture.failedFuture(new IllegalStateException("target unavailable"))
+                                : CompletableFuture.completedFuture(id);
+                    },
+                    failuresBeforeSuccess, delayMs, false, false, null));
+            if (i == 0) {
+                // The first attempt failed on this thread, yet the call returned without
+                // waiting for the backoff
+                assertEquals(1, times.size());
+                assertFalse(results.get(0).isDone());
+            }
+        }
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        for (int i = 0; i < operations; i++) {
+            assertEquals(i, results.get(i).get());
+            List<Long> times = attemptTimes.get(i);
+            assertEquals(failuresBeforeSuccess + 1, times.size());
+            for (int attempt = 1; attempt < times.size(); attempt++) {
+                long gapMs = TimeUnit.NANOSECONDS.toMillis(times.get(attempt) - times.get(attempt - 1));
+                assertTrue(gapMs >= delayMs, "Retry " + attempt + " of operation " + i + " after only " + gapMs + "ms");
+            }
+        }
+        assertTrue(retryThreads.stream().noneMatch(caller::equals), "Retries must not run on the calling thread");
+
+        // Thousands of pending retries share the scheduler's threads rather than one each
+        int poolSize = ((ThreadPoolExecutor) RetryExecutor.getRetryScheduler()).getCorePoolSize();
+        Set<Thread> distinctRetryThreads = Set.copyOf(retryThreads);
+        assertTrue(distinctRetryThreads.size() <= poolSize,
+                distinctRetryThreads.size() + " retry threads for a scheduler of " + poolSize);
+    }
+
+    @Test
+    void failsWithLastExceptionWhenRetriesAreExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = RetryExecutor.executeWithCustomRetryAsync(
+                AdapterType.HTTP, AdapterMode.SENDER, "exhausted-test",
+                () -> CompletableFuture.failedFuture(
+                        new IllegalStateException("attempt " + attempts.incrementAndGet())),
+                2, 1, true, false, null);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals("attempt 3", e.getCause().getMessage());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void retryBudgetCapsRetriesAtShareOfTraffic() throws Exception {
+        String adapterId = "budget-test";
+        RetryBudget budget = new RetryBudget(0.1, 0);
+        RetryExecutor.setRetryBudget(adapterId, budget);
+        AtomicInteger attempts = new AtomicInteger();
+
+        try {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(RetryExecutor.executeWithCustomRetryAsync(
+                        AdapterType.HTTP, AdapterMode.SENDER, adapterId,
+                        () -> {
+                            attempts.incrementAndGet();
+                            return CompletableFuture.failedFuture(new IllegalStateException("down"));
+                        },
+                        5, 1, false, false, null));
+            }
+            for (CompletableFuture<Object> result : results) {
+                assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            }
+
+            // 100 first attempts plus at most 10% of them as retries
+            assertTrue(attempts.get() <= 110, "Too many attempts: " + attempts.get());
+            assertTrue(budget.getRejectedRetries() > 0);
+        } finally {
+            RetryExecutor.setRetryBudget(adapterId, null);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.integrixs.backend.cluster;
+
+import com.integrixs.shared.enums.AdapterType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns each deployed polling source adapter to exactly one node of the cluster.
+ *
+ * <p>Every deployed flow whose source adapter polls has a row in {@code polling_leases}.
+ * A heartbeat thread on every node records the node in {@code cluster_nodes}, renews the
+ * node's leases and then moves it towards its fair share: the leases divided evenly over
+ * the live nodes, the remainder going to the first nodes by ID. A node below its share
+ * acquires unowned or expired leases with {@code FOR UPDATE SKIP LOCKED}, so two nodes never
+ * acquire the same lease; a node above it gives leases up, which lets a joining node take
+ * them over on its next heartbeat. Leases of a node that died expire after the lease time
+ * and are acquired by the remaining nodes. Lease times are taken from the database clock.
+ *
+ * <p>Pollers learn of ownership changes through {@link PollingOwnershipListener}s and
+ * check {@link #isOwner(UUID)} before each poll, e.g. by giving a receiver adapter the
+ * {@link #pollGate(UUID)} of its flow. Ownership is only trusted locally until
+ * the lease time has passed since the last successful renewal, so a node cut off from the
+ * database stops polling before its leases can be acquired elsewhere.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class PollingLeaseService {
+
+    /** Source adapter types that poll for input rather than receive it */
+    public static final Set<AdapterType> POLLING_TYPES =
+        EnumSet.of(AdapterType.FILE, AdapterType.FTP, AdapterType.SFTP, AdapterType.JDBC, AdapterType.MAIL);
+
+    private static final String POLLING_TYPES_SQL = POLLING_TYPES.stream()
+        .map(type -> "'" + type.name() + "'")
+        .collect(Collectors.joining(", "));
+
+    private static final String HEARTBEAT_SQL =
+        "INSERT INTO cluster_nodes (node_id, host_name) VALUES (?, ?) " +
+        "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()";
+
+    private static final String REMOVE_DEAD_NODES_SQL =
+        "DELETE FROM cluster_nodes WHERE heartbeat_at < now() - ? * interval '1 millisecond'";
+
+    private static final String LIVE_NODES_SQL =
+        "SELECT node_id FROM cluster_nodes ORDER BY node_id";
+
+    private static final String REMOVE_NODE_SQL =
+        "DELETE FROM cluster_nodes WHERE node_id = ?";
+
+    private static final String REGISTER_SQL =
+        "INSERT INTO polling_leases (flow_id, adapter_id) VALUES (?, ?) ON CONFLICT (flow_id) DO NOTHING";
+
+    private static final String UNREGISTER_SQL =
+        "DELETE FROM polling_leases WHERE flow_id = ?";
+
+    private static final String ADD_DEPLOYED_SQL =
+        "INSERT INTO polling_leases (flow_id, adapter_id) " +
+        "SELECT f.id, f.source_adapter_id FROM integration_flows f " +
+        "JOIN communication_adapters a ON a.id = f.source_adapter_id " +
+        "WHERE f.status = 'DEPLOYED_ACTIVE' AND a.type IN (" + POLLING_TYPES_SQL + ") " +
+        "ON CONFLICT (flow_id) DO NOTHING";
+
+    private static final String REMOVE_UNDEPLOYED_SQL =
+        "DELETE FROM polling_leases l WHERE NOT EXISTS (" +
+        "  SELECT 1 FROM integration_flows f JOIN communication_adapters a ON a.id = f.source_adapter_id " +
+        "  WHERE f.id = l.flow_id AND f.status = 'DEPLOYED_ACTIVE' AND a.type IN (" + POLLING_TYPES_SQL + "))";
+
+    private static final String COUNT_SQL =
+        "SELECT count(*) FROM polling_leases";
+
+    private static final String RENEW_SQL =
+        "UPDATE polling_leases SET lease_expires_at = now() + ? * interval '1 millisecond' " +
+        "WHERE owner_node = ? RETURNING flow_id, adapter_id";
+
+    private static final String ACQUIRE_SQL =
+        "UPDATE polling_leases SET owner_node = ?, lease_expires_at = now() + ? * interval '1 millisecond', " +
+        "acquired_at = now() " +
+        "WHERE flow_id IN (SELECT flow_id FROM polling_leases " +
+        "                  WHERE owner_node IS NULL OR lease_expires_at < now() " +
+        "                  ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING flow_id, adapter_id";
+
+    private static final String RELEASE_SQL =
+        "UPDATE polling_leases SET owner_node = NULL, lease_expires_at = NULL " +
+        "WHERE owner_node = ? AND flow_id = ANY(?)";
+
+    private static final String RELEASE_ALL_SQL =
+        "UPDATE polling_leases SET owner_node = NULL, lease_expires_at = NULL WHERE owner_node = ?";
+
+    private static final RowMapper<Lease> LEASE_MAPPER = (rs, rowNum) -> new Lease(
+        rs.getObject("flow_id", UUID.class),
+        rs.getObject("adapter_id", UUID.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<PollingOwnershipListener> listeners;
+    private final String nodeId;
+    private final String hostName;
+    private final Map<UUID, UUID> owned = new ConcurrentHashMap<>();
+
+    @Value("${cluster.polling.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cluster.polling.heartbeat-ms:5000}")
+    private long heartbeatMillis;
+
+    @Value("${cluster.polling.lease-ms:15000}")
+    private long leaseMillis;
+
+    @Value("${cluster.polling.node-timeout-ms:15000}")
+    private long nodeTimeoutMillis;
+
+    private Thread heartbeat;
+    private volatile boolean active;
+    private volatile long validUntilNanos = System.nanoTime();
+
+    private record Lease(UUID flowId, UUID adapterId) {
+    }
+
+    public PollingLeaseService(JdbcTemplate jdbcTemplate,
+                               ObjectProvider<PollingOwnershipListener> listeners,
+                               @Value("${cluster.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.listeners = listeners;
+        this.hostName = hostName();
+        this.nodeId = nodeId != null && !nodeId.isBlank()
+            ? nodeId
+            : hostName + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Cluster polling leases disabled; every node polls all deployed adapters");
+            return;
+        }
+        active = true;
+        heartbeat = new Thread(this::run, "polling-lease-heartbeat");
+        heartbeat.setDaemon(true);
+        heartbeat.start();
+        log.info("Polling lease node {} started (heartbeat {} ms, lease {} ms)", nodeId, heartbeatMillis, leaseMillis);
+    }
+
+    /**
+     * Stop polling everything and hand the leases back, so other nodes take them over on
+     * their next heartbeat instead of after the lease time.
+     */
+    @PreDestroy
+    public void stop() {
+        active = false;
+        if (heartbeat != null) {
+            heartbeat.interrupt();
+            try {
+                heartbeat.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            revokeAll();
+            try {
+                jdbcTemplate.update(RELEASE_ALL_SQL, nodeId);
+                jdbcTemplate.update(REMOVE_NODE_SQL, nodeId);
+            } catch (RuntimeException e) {
+                log.warn("Could not release polling leases of node {}; they expire in {} ms: {}",
+                         nodeId, leaseMillis, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Whether this node polls the flow's source adapter now.
+     */
+    public boolean isOwner(UUID flowId) {
+        if (!enabled) {
+            return true;
+        }
+        return owned.containsKey(flowId) && System.nanoTime() - validUntilNanos < 0;
+    }
+
+    /**
+     * Ownership check for {@code AbstractReceiverAdapter.setPollGate}, so an adapter polling
+     * for the flow skips its polls while another node holds the lease.
+     */
+    public BooleanSupplier pollGate(UUID flowId) {
+        return () -> isOwner(flowId);
+    }
+
+    /**
+     * Flows whose source adapters this node polls.
+     */
+    public Set<UUID> getOwnedFlows() {
+        return Set.copyOf(owned.keySet());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Add the lease of a deployed flow; in the deploying transaction, so it only appears
+     * once the deployment commits. A node acquires it on its next heartbeat.
+     */
+    public void register(UUID flowId, UUID adapterId) {
+        jdbcTemplate.update(REGISTER_SQL, flowId, adapterId);
+    }
+
+    /**
+     * Remove the lease of an undeployed flow; its owner stops polling on its next heartbeat,
+     * or right away if that is this node.
+     */
+    public void unregister(UUID flowId) {
+        jdbcTemplate.update(UNREGISTER_SQL, flowId);
+        UUID adapterId = owned.remove(flowId);
+        if (adapterId != null) {
+            notifyRevoked(flowId, adapterId);
+        }
+    }
+
+    private void run() {
+        while (active) {
+            heartbeat();
+            try {
+                Thread.sleep(heartbeatMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Record this node as alive, renew its leases and move it towards its fair share.
+     */
+    public synchronized void heartbeat() {
+        long started = System.nanoTime();
+        try {
+            jdbcTemplate.update(HEARTBEAT_SQL, nodeId, hostName);
+            jdbcTemplate.update(REMOVE_DEAD_NODES_SQL, nodeTimeoutMillis);
+            List<String> nodes = jdbcTemplate.queryForList(LIVE_NODES_SQL, String.class);
+
+            // One node keeps the leases in line with the deployed flows
+            if (!nodes.isEmpty() && nodes.get(0).equals(nodeId)) {
+                jdbcTemplate.update(ADD_DEPLOYED_SQL);
+                jdbcTemplate.update(REMOVE_UNDEPLOYED_SQL);
+            }
+
+            Map<UUID, UUID> renewed = new HashMap<>();
+            for (Lease lease : jdbcTemplate.query(RENEW_SQL, LEASE_MAPPER, leaseMillis, nodeId)) {
+                renewed.put(lease.flowId(), lease.adapterId());
+            }
+            validUntilNanos = started + TimeUnit.MILLISECONDS.toNanos(leaseMillis);
+            for (Map.Entry<UUID, UUID> lease : Map.copyOf(owned).entrySet()) {
+                if (!renewed.containsKey(lease.getKey())) {
+                    // Expired and acquired by another node, or the flow was undeployed
+                    owned.remove(lease.getKey());
+                    notifyRevoked(lease.getKey(), lease.getValue());
+                }
+            }
+            renewed.forEach((flowId, adapterId) -> {
+                if (owned.putIfAbsent(flowId, adapterId) == null) {
+                    notifyAcquired(flowId, adapterId);
+                }
+            });
+
+            Integer total = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class);
+            int target = fairShare(total != null ? total : 0, nodes, nodeId);
+            if (owned.size() < target) {
+                acquire(target - owned.size());
+            } else if (owned.size() > target) {
+                release(owned.size() - target);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Polling lease heartbeat of node {} failed: {}", nodeId, e.getMessage());
+            if (!owned.isEmpty() && System.nanoTime() - validUntilNanos >= 0) {
+                log.warn("Polling leases of node {} could not be renewed in time; stopping {} pollers",
+                         nodeId, owned.size());
+                revokeAll();
+            }
+        }
+    }
+
+    /**
+     * Leases a node should hold: an even split over the live nodes, the remainder going to
+     * the first nodes in ID order so that the shares add up to the total.
+     */
+    static int fairShare(int leases, List<String> nodes, String nodeId) {
+        int index = nodes.indexOf(nodeId);
+        int count = nodes.size();
+        if (index < 0) {
+            index = count++;
+        }
+        int share = leases / count;
+        return index < leases % count ? share + 1 : share;
+    }
+
+    private void acquire(int limit) {
+        for (Lease lease : jdbcTemplate.query(ACQUIRE_SQL, LEASE_MAPPER, nodeId, leaseMillis, limit)) {
+            if (owned.putIfAbsent(lease.flowId(), lease.adapterId()) == null) {
+                notifyAcquired(lease.flowId(), lease.adapterId());
+            }
+        }
+    }
+
+    private void release(int count) {
+        List<UUID> released = new ArrayList<>(count);
+        for (Map.Entry<UUID, UUID> lease : Map.copyOf(owned).entrySet()) {
+            if (released.size() == count) {
+                break;
+            }
+            // Stop polling before another node can acquire the lease
+            owned.remove(lease.getKey());
+            notifyRevoked(lease.getKey(), lease.getValue());
+            released.add(lease.getKey());
+        }
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(RELEASE_SQL)) {
+                statement.setString(1, nodeId);
+                statement.setArray(2, connection.createArrayOf("uuid", released.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+        log.info("Node {} released {} polling lease(s) for rebalancing", nodeId, released.size());
+    }
+
+    private void revokeAll() {
+        for (Map.Entry<UUID, UUID> lease : Map.copyOf(owned).entrySet()) {
+            owned.remove(lease.getKey());
+            notifyRevoked(lease.getKey(), lease.getValue());
+        }
+    }
+
+    private void notifyAcquired(UUID flowId, UUID adapterId) {
+        log.info("Node {} now polls flow {}", nodeId, flowId);
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onOwnershipAcquired(flowId, adapterId);
+            } catch (RuntimeException e) {
+                log.error("Polling ownership listener failed on acquiring flow {}", flowId, e);
+            }
+        });
+    }
+
+    private void notifyRevoked(UUID flowId, UUID adapterId) {
+        log.info("Node {} stops polling flow {}", nodeId, flowId);
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onOwnershipRevoked(flowId, adapterId);
+            } catch (RuntimeException e) {
+                log.error("Polling ownership listener failed on revoking flow {}", flowId, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.integrixs.backend.cluster;
+
+import java.util.UUID;
+
+/**
+ * Starts and stops polling of a flow's source adapter as this node gains or loses its lease.
+ *
+ * <p>Callbacks run on the lease heartbeat thread and must return quickly. A revocation is
+ * delivered before the lease is given up, so polling has stopped by the time another node
+ * can acquire it; pollers should still check {@link PollingLeaseService#isOwner(UUID)}
+ * before each poll, since a node that cannot reach the database loses its leases without
+ * being able to release them.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+public interface PollingOwnershipListener {
+
+    /**
+     * This node now polls the flow's source adapter.
+     */
+    void onOwnershipAcquired(UUID flowId, UUID adapterId);
+
+    /**
+     * This node must stop polling the flow's source adapter.
+     */
+    void onOwnershipRevoked(UUID flowId, UUID adapterId);
+}
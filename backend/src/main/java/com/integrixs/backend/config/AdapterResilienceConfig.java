@@ -0,0 +1,119 @@
+package com.integrixs.backend.config;
+
+import com.integrixs.adapters.core.AdapterBulkhead;
+import com.integrixs.adapters.core.AdapterCircuitBreaker;
+import com.integrixs.adapters.core.AdapterExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for adapter circuit breakers and bulkheads.
+ *
+ * <p>Applies the {@code adapter.resilience.*} settings to {@link AdapterExceptionHandler}
+ * and publishes breaker state, transitions and bulkhead usage under {@code adapter.circuit.*}
+ * and {@code adapter.bulkhead.*}.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Configuration
+public class AdapterResilienceConfig {
+    
+    @Value("${adapter.resilience.circuit-breaker.failure-rate-threshold:50}")
+    private double failureRateThreshold;
+    
+    @Value("${adapter.resilience.circuit-breaker.slow-call-rate-threshold:80}")
+    private double slowCallRateThreshold;
+    
+    @Value("${adapter.resilience.circuit-breaker.slow-call-duration-ms:10000}")
+    private long slowCallDurationMs;
+    
+    @Value("${adapter.resilience.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+    
+    @Value("${adapter.resilience.circuit-breaker.window-ms:60000}")
+    private long windowMs;
+    
+    @Value("${adapter.resilience.circuit-breaker.bucket-count:10}")
+    private int bucketCount;
+    
+    @Value("${adapter.resilience.circuit-breaker.open-duration-ms:60000}")
+    private long openDurationMs;
+    
+    @Value("${adapter.resilience.circuit-breaker.half-open-probes:3}")
+    private int halfOpenProbes;
+    
+    @Value("${adapter.resilience.bulkhead.max-concurrent-calls:25}")
+    private int bulkheadMaxConcurrentCalls;
+    
+    @Value("${adapter.resilience.bulkhead.max-wait-ms:100}")
+    private long bulkheadMaxWaitMs;
+    
+    @Bean
+    public AdapterExceptionHandler adapterExceptionHandler(MeterRegistry meterRegistry) {
+        AdapterExceptionHandler handler = AdapterExceptionHandler.getInstance();
+        handler.setCircuitBreakerConfig(new AdapterCircuitBreaker.Config()
+            .setFailureRateThreshold(failureRateThreshold)
+            .setSlowCallRateThreshold(slowCallRateThreshold)
+            .setSlowCallDurationMs(slowCallDurationMs)
+            .setMinimumCalls(minimumCalls)
+            .setWindowMs(windowMs)
+            .setBucketCount(bucketCount)
+            .setOpenDurationMs(openDurationMs)
+            .setHalfOpenProbes(halfOpenProbes));
+        handler.setBulkheadConfig(bulkheadMaxConcurrentCalls, bulkheadMaxWaitMs);
+        handler.setResilienceListener(new AdapterExceptionHandler.ResilienceListener() {
+            @Override
+            public void onRegistered(String adapterKey, AdapterCircuitBreaker breaker, AdapterBulkhead bulkhead) {
+                bindMetrics(adapterKey, breaker, bulkhead, meterRegistry);
+            }
+            
+            @Override
+            public void onStateTransition(String adapterKey, AdapterCircuitBreaker.State from,
+                                          AdapterCircuitBreaker.State to) {
+                Counter.builder("adapter.circuit.transitions")
+                    .description("Circuit breaker state transitions")
+                    .tag("adapter", adapterKey)
+                    .tag("from", from.name())
+                    .tag("to", to.name())
+                    .register(meterRegistry)
+                    .increment();
+            }
+            
+            @Override
+            public void onUnregistered(String adapterKey) {
+                meterRegistry.getMeters().stream()
+                    .filter(meter -> adapterKey.equals(meter.getId().getTag("adapter")))
+                    .forEach(meterRegistry::remove);
+            }
+        });
+        return handler;
+    }
+    
+    private void bindMetrics(String adapterKey, AdapterCircuitBreaker breaker, AdapterBulkhead bulkhead,
+                             MeterRegistry registry) {
+        Gauge.builder("adapter.circuit.state", breaker, AdapterCircuitBreaker::getStateValue)
+            .description("Circuit breaker state (0 = closed, 1 = half-open, 2 = open)")
+            .tag("adapter", adapterKey)
+            .register(registry);
+        FunctionCounter.builder("adapter.circuit.rejected", breaker, AdapterCircuitBreaker::getRejectedCallCount)
+            .description("Calls rejected by an open circuit breaker")
+            .tag("adapter", adapterKey)
+            .register(registry);
+        if (bulkhead != null) {
+            Gauge.builder("adapter.bulkhead.in_use", bulkhead, AdapterBulkhead::getInUse)
+                .description("Concurrent calls currently inside the adapter")
+                .tag("adapter", adapterKey)
+                .register(registry);
+            FunctionCounter.builder("adapter.bulkhead.rejected", bulkhead, AdapterBulkhead::getRejectedCallCount)
+                .description("Calls rejected because the adapter bulkhead was full")
+                .tag("adapter", adapterKey)
+                .register(registry);
+        }
+    }
+}
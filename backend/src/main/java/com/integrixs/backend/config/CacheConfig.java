@@ -86,6 +86,10 @@ public class CacheConfig {
     
     /**
      * Default Caffeine configuration with memory-aware settings.
+     *
+     * <p>Bounded by estimated weight only. Weak keys would compare cache keys by
+     * identity, so lookups with an equal but new key never hit, and soft values leave
+     * eviction to the collector, which clears them all at once under pressure.
      */
     private Caffeine<Object, Object> defaultCaffeineConfig() {
         return Caffeine.newBuilder()
@@ -93,8 +97,6 @@ public class CacheConfig {
                 .weigher((key, value) -> estimateSize(value))
                 .expireAfterWrite(30, TimeUnit.MINUTES)
                 .expireAfterAccess(10, TimeUnit.MINUTES)
-                .weakKeys() // Allow keys to be garbage collected
-                .softValues() // Allow values to be garbage collected under memory pressure
                 .recordStats()
                 .removalListener(new LoggingRemovalListener());
     }
@@ -1,12 +1,15 @@
 package com.integrixs.backend.config;
 
+import com.integrixs.adapters.core.AdapterExecutors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ApplicationEventMulticaster;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -28,13 +31,29 @@ import java.util.concurrent.ThreadPoolExecutor;
 @EnableAsync
 public class EventDrivenConfig implements AsyncConfigurer {
     
+    @Value("${execution.mode:platform}")
+    private String executionMode;
+    
+    @Value("${execution.max-concurrent-events:200}")
+    private int maxConcurrentEvents;
+    
     /**
      * Creates the event executor for async event processing.
+     * In virtual execution mode each event runs on its own virtual thread,
+     * limited to a maximum number of concurrent handlers.
      * 
-     * @return configured thread pool executor
+     * @return configured executor
      */
     @Bean(name = "eventExecutor")
     public TaskExecutor eventExecutor() {
+        if (ExecutionModeConfig.parseMode(executionMode) == AdapterExecutors.Mode.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("event-handler-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxConcurrentEvents);
+            executor.setTaskTerminationTimeout(60000);
+            return executor;
+        }
+        
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(10);
@@ -0,0 +1,174 @@
+package com.integrixs.backend.config;
+
+import com.integrixs.adapters.core.AdapterExecutors;
+import com.integrixs.adapters.core.SemaphoreBoundedExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration of the threads that run flow executions and adapter I/O.
+ *
+ * <p>In {@code platform} mode flows run on a fixed pool and each sender adapter on its
+ * own cached pool. In {@code virtual} mode both run on virtual threads, and concurrency
+ * is capped by semaphores instead of pool sizes: flow executions and adapter calls spend
+ * most of their time blocked on JDBC, SFTP, JMS or HTTP, which costs a virtual thread
+ * almost nothing.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+public class ExecutionModeConfig {
+
+    /** Size of the pool the message processing engine owned before the shared flow executor */
+    private static final int DEFAULT_ENGINE_POOL_SIZE = 10;
+
+    @Value("${execution.mode:platform}")
+    private String mode;
+
+    @Value("${execution.platform-pool-size:0}")
+    private int platformPoolSize;
+
+    @Value("${execution.max-concurrent-flows:1000}")
+    private int maxConcurrentFlows;
+
+    @Value("${execution.max-concurrent-adapter-calls:500}")
+    private int maxConcurrentAdapterCalls;
+
+    @Value("${execution.fan-out.pool-size:16}")
+    private int fanOutPoolSize;
+
+    @Value("${execution.fan-out.queue-capacity:500}")
+    private int fanOutQueueCapacity;
+
+    @Value("${execution.split.pool-size:0}")
+    private int splitPoolSize;
+
+    /**
+     * Applies the execution mode to the adapter layer.
+     *
+     * @return the configured adapter executors
+     */
+    @Bean
+    public AdapterExecutors adapterExecutors(MeterRegistry meterRegistry) {
+        AdapterExecutors executors = AdapterExecutors.getInstance();
+        executors.configure(parseMode(mode), maxConcurrentAdapterCalls);
+        Gauge.builder("adapter.executor.active", executors, AdapterExecutors::getActiveCalls)
+            .description("Adapter calls running on virtual threads")
+            .register(meterRegistry);
+        return executors;
+    }
+
+    /**
+     * Executor for asynchronous flow executions. It replaces the fixed pool of 10 threads
+     * the message processing engine used to own and the common fork-join pool the other
+     * flow services ran on, so the default platform size keeps their combined capacity.
+     *
+     * @return a fixed platform pool, or semaphore-bounded virtual threads
+     */
+    @Bean(name = "flowExecutor", destroyMethod = "shutdown")
+    public ExecutorService flowExecutor(AdapterExecutors adapterExecutors, MeterRegistry meterRegistry) {
+        if (adapterExecutors.isVirtual()) {
+            SemaphoreBoundedExecutor executor = new SemaphoreBoundedExecutor("flow-exec", maxConcurrentFlows);
+            Gauge.builder("flow.executor.active", executor, SemaphoreBoundedExecutor::getInUse)
+                .description("Flow executions running")
+                .register(meterRegistry);
+            Gauge.builder("flow.executor.waiting", executor, SemaphoreBoundedExecutor::getWaitingTasks)
+                .description("Flow executions waiting for a concurrency permit")
+                .register(meterRegistry);
+            log.info("Flow executions run on virtual threads, max {} concurrent", maxConcurrentFlows);
+            return executor;
+        }
+
+        int poolSize = platformPoolSize > 0
+            ? platformPoolSize
+            : DEFAULT_ENGINE_POOL_SIZE + ForkJoinPool.getCommonPoolParallelism();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "flow-exec-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("flow.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Flow executions running")
+            .register(meterRegistry);
+        Gauge.builder("flow.executor.waiting", executor, e -> e.getQueue().size())
+            .description("Flow executions waiting for a thread")
+            .register(meterRegistry);
+        log.info("Flow executions run on a pool of {} platform threads", poolSize);
+        return executor;
+    }
+
+    /**
+     * Executor for deliveries to the individual targets of a multi-target flow. Bounded
+     * in both modes: a full queue rejects the delivery instead of blocking the flow.
+     *
+     * @return a bounded platform pool, or virtual threads within the adapter call limit
+     */
+    @Bean(name = "fanOutExecutor", destroyMethod = "shutdown")
+    public ExecutorService fanOutExecutor(AdapterExecutors adapterExecutors, MeterRegistry meterRegistry) {
+        if (adapterExecutors.isVirtual()) {
+            log.info("Fan-out deliveries run on virtual threads within the adapter call limit");
+            return adapterExecutors.newAdapterExecutor("fan-out");
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            Math.max(1, fanOutPoolSize), Math.max(1, fanOutPoolSize), 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, fanOutQueueCapacity)),
+            r -> {
+                Thread thread = new Thread(r, "fan-out-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        Gauge.builder("orchestration.fanout.queue", executor, e -> e.getQueue().size())
+            .description("Fan-out deliveries waiting for a thread")
+            .register(meterRegistry);
+        log.info("Fan-out deliveries run on a pool of {} platform threads", fanOutPoolSize);
+        return executor;
+    }
+
+    /**
+     * Executor that maps the records of split messages. Record mapping is CPU-bound, so
+     * this is a platform pool sized to the cores in both modes; each message bounds its
+     * own records in flight.
+     *
+     * @return a fixed platform pool
+     */
+    @Bean(name = "recordExecutor", destroyMethod = "shutdown")
+    public ExecutorService recordExecutor() {
+        int size = splitPoolSize > 0 ? splitPoolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        log.info("Split records are mapped on a pool of {} threads", size);
+        return Executors.newFixedThreadPool(size, r -> {
+            Thread thread = new Thread(r, "split-record-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    static AdapterExecutors.Mode parseMode(String value) {
+        try {
+            return AdapterExecutors.Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown execution mode '{}', using platform threads", value);
+            return AdapterExecutors.Mode.PLATFORM;
+        }
+    }
+}
@@ -16,8 +16,9 @@ import java.util.List;
 /**
  * Configuration for JVM garbage collection optimization and monitoring.
  * 
- * <p>Provides automatic memory management, monitoring, and optimization
- * to prevent memory leaks and ensure optimal performance.
+ * <p>Logs the JVM memory settings on startup. Heap and GC monitoring, and
+ * load shedding under memory pressure, are done by {@link GcHeapMonitor};
+ * garbage collection is never requested explicitly.
  * 
  * @author Integration Team
  * @since 1.0.0
@@ -67,52 +68,6 @@ public class GarbageCollectionConfig {
         };
     }
     
-    /**
-     * Periodic memory monitoring and alerting.
-     * Runs every 5 minutes.
-     */
-    @Scheduled(fixedDelay = 300000, initialDelay = 60000)
-    public void monitorMemory() {
-        MemoryUsage heapUsage = memoryMXBean.getHeapMemoryUsage();
-        long usedHeap = heapUsage.getUsed();
-        long maxHeap = heapUsage.getMax();
-        double heapUtilization = (double) usedHeap / maxHeap * 100;
-        
-        if (heapUtilization > 90) {
-            log.error("CRITICAL: Heap memory usage is at {:.2f}% ({}/{}MB)", 
-                     heapUtilization, usedHeap / (1024 * 1024), maxHeap / (1024 * 1024));
-            // Trigger defensive GC if critical
-            suggestGarbageCollection();
-        } else if (heapUtilization > 75) {
-            log.warn("WARNING: Heap memory usage is at {:.2f}% ({}/{}MB)", 
-                    heapUtilization, usedHeap / (1024 * 1024), maxHeap / (1024 * 1024));
-        } else {
-            log.debug("Heap memory usage: {:.2f}% ({}/{}MB)", 
-                     heapUtilization, usedHeap / (1024 * 1024), maxHeap / (1024 * 1024));
-        }
-        
-        // Log GC statistics
-        for (GarbageCollectorMXBean gcBean : gcBeans) {
-            if (gcBean.getCollectionCount() > 0) {
-                log.debug("GC {}: {} collections, {} ms total time", 
-                         gcBean.getName(), 
-                         gcBean.getCollectionCount(), 
-                         gcBean.getCollectionTime());
-            }
-        }
-    }
-    
-    /**
-     * Suggest garbage collection when memory is critical.
-     * Note: This is a suggestion only, JVM decides when to actually run GC.
-     */
-    private void suggestGarbageCollection() {
-        log.info("Suggesting garbage collection due to high memory usage");
-        // We use Runtime.gc() instead of System.gc() as it's more appropriate
-        // Note: This is still just a suggestion to the JVM
-        Runtime.getRuntime().gc();
-    }
-    
     /**
      * Clean up expired cache entries and temporary data.
      * Runs every hour.
@@ -0,0 +1,247 @@
+package com.integrixs.backend.config;
+
+import com.integrixs.adapters.core.MemoryPressure;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap and GC telemetry driven by collector notifications instead of polling.
+ *
+ * <p>Every completed collection reports its pause time and how much the young
+ * generation grew since the previous collection (the allocation rate). The old
+ * generation occupancy after the collection feeds {@link MemoryPressure}, which
+ * pauses pollers, shrinks batches and rejects large payloads while memory is
+ * tight. Collections are never requested explicitly.
+ *
+ * <p>Between collections a scheduled re-check reads the current pool usage. Usage
+ * only grows between collections, so a reading below the last measurement proves
+ * memory recovered; it relaxes the level when no collection arrives to do so, e.g.
+ * after polling was paused and allocation stopped.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class GcHeapMonitor implements NotificationListener {
+
+    private static final Set<String> OLD_GEN_POOLS = Set.of(
+        "G1 Old Gen", "PS Old Gen", "Tenured Gen", "CMS Old Gen", "ZGC Old Generation", "Shenandoah");
+
+    private static final Set<String> YOUNG_GEN_POOLS = Set.of(
+        "G1 Eden Space", "PS Eden Space", "Eden Space", "Par Eden Space", "ZGC Young Generation");
+
+    private final MeterRegistry meterRegistry;
+    private final MemoryPressure memoryPressure = MemoryPressure.getInstance();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    @Value("${memory.pressure.high-threshold:0.75}")
+    private double highThreshold;
+
+    @Value("${memory.pressure.critical-threshold:0.90}")
+    private double criticalThreshold;
+
+    @Value("${memory.pressure.recovery-threshold:0.65}")
+    private double recoveryThreshold;
+
+    @Value("${memory.pressure.large-payload-bytes:5242880}")
+    private long largePayloadBytes;
+
+    private MemoryPoolMXBean oldGenPool;
+    private long lastYoungUsedAfterGc;
+    private long lastGcEndMillis = -1;
+    private volatile double allocationRateBytesPerSecond;
+
+    private Timer pauseTimer;
+    private DistributionSummary promotedBytes;
+
+    public GcHeapMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        memoryPressure.configure(highThreshold, criticalThreshold, recoveryThreshold, largePayloadBytes);
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && OLD_GEN_POOLS.contains(pool.getName())) {
+                oldGenPool = pool;
+            }
+        }
+        if (oldGenPool == null) {
+            log.warn("No old generation pool recognised; memory pressure uses whole-heap occupancy");
+        }
+
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gcBean instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+
+        registerMeters();
+        log.info("GC heap monitor listening to {} collectors, old gen pool: {}, pressure thresholds {}/{} (recover at {})",
+                 emitters.size(), oldGenPool != null ? oldGenPool.getName() : "n/a",
+                 highThreshold, criticalThreshold, recoveryThreshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // Already removed
+            }
+        }
+        emitters.clear();
+    }
+
+    private void registerMeters() {
+        pauseTimer = Timer.builder("jvm.gc.observed.pause")
+            .description("GC pause time reported by collector notifications")
+            .register(meterRegistry);
+        promotedBytes = DistributionSummary.builder("jvm.gc.observed.old.growth")
+            .description("Old generation growth per collection")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("jvm.gc.observed.allocation.rate", this, GcHeapMonitor::getAllocationRateBytesPerSecond)
+            .description("Young generation allocation rate between collections")
+            .baseUnit("bytes/s")
+            .register(meterRegistry);
+        FunctionCounter.builder("jvm.gc.observed.allocated", allocatedBytes, AtomicLong::get)
+            .description("Bytes allocated in the young generation")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("memory.pressure.old.occupancy", memoryPressure, MemoryPressure::getOccupancy)
+            .description("Old generation occupancy after the last collection")
+            .register(meterRegistry);
+        Gauge.builder("memory.pressure.level", memoryPressure, p -> p.getLevel().ordinal())
+            .description("Memory pressure level: 0 = normal, 1 = high, 2 = critical")
+            .register(meterRegistry);
+        FunctionCounter.builder("memory.pressure.skipped.polls", memoryPressure, MemoryPressure::getSkippedPolls)
+            .description("Polls skipped under memory pressure")
+            .register(meterRegistry);
+        FunctionCounter.builder("memory.pressure.rejected.payloads", memoryPressure, MemoryPressure::getRejectedPayloads)
+            .description("Large payloads rejected under memory pressure")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        try {
+            onCollection(info);
+        } catch (Exception e) {
+            log.warn("Failed to process GC notification", e);
+        }
+    }
+
+    private synchronized void onCollection(GarbageCollectionNotificationInfo info) {
+        pauseTimer.record(info.getGcInfo().getDuration(), TimeUnit.MILLISECONDS);
+
+        Map<String, MemoryUsage> before = info.getGcInfo().getMemoryUsageBeforeGc();
+        Map<String, MemoryUsage> after = info.getGcInfo().getMemoryUsageAfterGc();
+
+        // Allocation: young generation growth since the end of the previous collection
+        long youngBefore = sumUsed(before, YOUNG_GEN_POOLS);
+        long youngAfter = sumUsed(after, YOUNG_GEN_POOLS);
+        long gcEndMillis = info.getGcInfo().getEndTime();
+        if (lastGcEndMillis >= 0 && youngBefore >= lastYoungUsedAfterGc) {
+            long allocated = youngBefore - lastYoungUsedAfterGc;
+            allocatedBytes.addAndGet(allocated);
+            long intervalMillis = info.getGcInfo().getStartTime() - lastGcEndMillis;
+            if (intervalMillis > 0) {
+                allocationRateBytesPerSecond = allocated * 1000.0 / intervalMillis;
+            }
+        }
+        lastYoungUsedAfterGc = youngAfter;
+        lastGcEndMillis = gcEndMillis;
+
+        MemoryUsage oldAfter = oldGenPool != null ? after.get(oldGenPool.getName()) : null;
+        if (oldGenPool != null && oldAfter != null) {
+            MemoryUsage oldBefore = before.get(oldGenPool.getName());
+            if (oldBefore != null && oldAfter.getUsed() > oldBefore.getUsed()) {
+                promotedBytes.record(oldAfter.getUsed() - oldBefore.getUsed());
+            }
+            long max = oldAfter.getMax() > 0 ? oldAfter.getMax() : oldGenPool.getUsage().getMax();
+            if (max > 0) {
+                memoryPressure.update((double) oldAfter.getUsed() / max);
+            }
+        } else {
+            MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            if (heap.getMax() > 0) {
+                memoryPressure.update((double) heap.getUsed() / heap.getMax());
+            }
+        }
+
+        log.debug("GC {} ({}): {} ms, cause {}", info.getGcName(), info.getGcAction(),
+                  info.getGcInfo().getDuration(), info.getGcCause());
+    }
+
+    /**
+     * Re-check the current pool usage between collections. Only ever lowers the
+     * measured occupancy: current usage includes uncollected garbage, so a higher
+     * reading says nothing about live data.
+     */
+    @Scheduled(fixedDelayString = "${memory.pressure.recheck-interval-ms:5000}",
+               initialDelayString = "${memory.pressure.recheck-interval-ms:5000}")
+    public synchronized void recheck() {
+        MemoryUsage usage = oldGenPool != null
+            ? oldGenPool.getUsage()
+            : ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        if (usage == null || usage.getMax() <= 0) {
+            return;
+        }
+        double occupancy = (double) usage.getUsed() / usage.getMax();
+        if (occupancy < memoryPressure.getOccupancy()) {
+            memoryPressure.update(occupancy);
+        }
+    }
+
+    private static long sumUsed(Map<String, MemoryUsage> usage, Set<String> pools) {
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> entry : usage.entrySet()) {
+            if (pools.contains(entry.getKey())) {
+                used += entry.getValue().getUsed();
+            }
+        }
+        return used;
+    }
+
+    public double getAllocationRateBytesPerSecond() {
+        return allocationRateBytesPerSecond;
+    }
+}
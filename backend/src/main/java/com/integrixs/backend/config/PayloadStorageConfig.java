@@ -0,0 +1,75 @@
+package com.integrixs.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Storage and capture of adapter payload bodies.
+ * Small bodies are kept inline, larger ones compressed, and the largest in a
+ * content-addressed blob directory. Capture can be sampled and truncated per flow.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "payloads")
+@Getter
+@Setter
+public class PayloadStorageConfig {
+
+    /**
+     * Bodies below this size (bytes) are stored as plain text
+     */
+    private int compressMinBytes = 1024;
+
+    /**
+     * Bodies from this size (bytes) are stored as blob files instead of in the database
+     */
+    private int blobMinBytes = 262144;
+
+    /**
+     * Directory of the blob files
+     */
+    private String blobDirectory = "./data/payload-blobs";
+
+    /**
+     * Bodies up to this size (bytes) are returned with the payload list; larger ones are
+     * fetched one at a time as a stream
+     */
+    private int listInlineMaxBytes = 65536;
+
+    /**
+     * Capture policy of flows without their own
+     */
+    private Capture capture = new Capture();
+
+    /**
+     * Capture policy per flow ID
+     */
+    private Map<String, Capture> flows = new LinkedHashMap<>();
+
+    /**
+     * Capture policy of a flow
+     */
+    public Capture captureFor(String flowId) {
+        return flowId != null ? flows.getOrDefault(flowId, capture) : capture;
+    }
+
+    @Getter
+    @Setter
+    public static class Capture {
+
+        /**
+         * Share of messages whose bodies are captured, 0.0 to 1.0; decided per correlation ID,
+         * so a message's payloads are captured together or not at all
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Characters captured per body; 0 for no limit
+         */
+        private int maxChars = 0;
+    }
+}
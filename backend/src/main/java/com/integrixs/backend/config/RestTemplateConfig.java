@@ -1,23 +1,99 @@
 package com.integrixs.backend.config;
 
+import com.integrixs.adapters.core.SharedHttpClient;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Configuration for RestTemplate bean
+ * Configuration for RestTemplate bean.
+ *
+ * <p>The RestTemplate runs on the {@link SharedHttpClient} used by the HTTP and REST
+ * adapters, so all outbound HTTP shares one connection pool, HTTP/2 support and the
+ * same per-route limits. Route metrics are published under {@code http.client.route.*}.
  */
 @Configuration
 public class RestTemplateConfig {
     
+    @Value("${http.client.max-concurrent-per-route:50}")
+    private int maxConcurrentPerRoute;
+    
+    @Value("${http.client.max-pending-per-route:1000}")
+    private int maxPendingPerRoute;
+    
+    @Value("${http.client.connect-timeout-ms:30000}")
+    private long connectTimeoutMs;
+    
+    @Value("${http.client.read-timeout-ms:60000}")
+    private long readTimeoutMs;
+    
+    @Value("${http.client.acquire-timeout-ms:30000}")
+    private long acquireTimeoutMs;
+    
+    @Value("${http.client.http2-enabled:true}")
+    private boolean http2Enabled;
+    
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public SharedHttpClient sharedHttpClient(MeterRegistry meterRegistry) {
+        SharedHttpClient sharedHttpClient = SharedHttpClient.getInstance();
+        sharedHttpClient.configure(new SharedHttpClient.Settings()
+            .setMaxConcurrentPerRoute(maxConcurrentPerRoute)
+            .setMaxPendingPerRoute(maxPendingPerRoute)
+            .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .setAcquireTimeout(Duration.ofMillis(acquireTimeoutMs))
+            .setHttp2Enabled(http2Enabled));
+        sharedHttpClient.setRouteListener(route -> bindRouteMetrics(route, meterRegistry));
+        return sharedHttpClient;
+    }
+    
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, SharedHttpClient sharedHttpClient) {
+        Duration readTimeout = Duration.ofMillis(readTimeoutMs);
         return builder
-            .setConnectTimeout(Duration.ofSeconds(30))
-            .setReadTimeout(Duration.ofSeconds(60))
+            .requestFactory(() -> sharedHttpClient.requestFactory(readTimeout))
+            .additionalInterceptors(sharedHttpClient.routeInterceptor())
             .build();
     }
-}
\ No newline at end of file
+    
+    private void bindRouteMetrics(SharedHttpClient.RouteStats route, MeterRegistry registry) {
+        Gauge.builder("http.client.route.in_flight", route, SharedHttpClient.RouteStats::getInFlight)
+            .description("Outbound requests currently in flight")
+            .tag("route", route.getRoute())
+            .register(registry);
+        Gauge.builder("http.client.route.pending", route, SharedHttpClient.RouteStats::getPending)
+            .description("Outbound requests waiting for a route permit")
+            .tag("route", route.getRoute())
+            .register(registry);
+        Gauge.builder("http.client.route.max_concurrent", route, SharedHttpClient.RouteStats::getMaxConcurrent)
+            .tag("route", route.getRoute())
+            .register(registry);
+        FunctionCounter.builder("http.client.route.failures", route, SharedHttpClient.RouteStats::getFailureCount)
+            .description("Outbound requests that failed or returned 5xx")
+            .tag("route", route.getRoute())
+            .register(registry);
+        FunctionCounter.builder("http.client.route.rejected", route, SharedHttpClient.RouteStats::getRejectedCount)
+            .description("Outbound requests rejected because the route was saturated")
+            .tag("route", route.getRoute())
+            .register(registry);
+        FunctionTimer.builder("http.client.route.latency", route,
+                SharedHttpClient.RouteStats::getRequestCount,
+                SharedHttpClient.RouteStats::getTotalLatencyMillis,
+                TimeUnit.MILLISECONDS)
+            .description("Outbound request latency per route")
+            .tag("route", route.getRoute())
+            .register(registry);
+        Gauge.builder("http.client.route.latency.max", route, SharedHttpClient.RouteStats::getMaxLatencyMillis)
+            .baseUnit("milliseconds")
+            .tag("route", route.getRoute())
+            .register(registry);
+    }
+}
@@ -0,0 +1,96 @@
+package com.integrixs.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Retention of the time-partitioned log tables.
+ * Read by the partition manager, which creates partitions ahead and removes expired ones.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "retention")
+@Getter
+@Setter
+public class RetentionConfig {
+
+    /**
+     * Whether this node runs partition maintenance; nodes coordinate through an advisory lock
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maintenance interval in milliseconds
+     */
+    private long intervalMs = 3600000;
+
+    /**
+     * Rows deleted per statement when purging categories with a shorter retention
+     */
+    private int purgeBatchSize = 5000;
+
+    private Table systemLogs = new Table();
+
+    private Table adapterPayloads = new Table();
+
+    /**
+     * Partitioning and retention of one table
+     */
+    @Getter
+    @Setter
+    public static class Table {
+
+        /**
+         * Partition width
+         */
+        private PartitionInterval interval = PartitionInterval.DAY;
+
+        /**
+         * Days ahead for which partitions are kept created
+         */
+        private int daysAhead = 7;
+
+        /**
+         * Retention of rows without a category-specific retention
+         */
+        private int retentionDays = 30;
+
+        /**
+         * Retention per log category; partitions are removed once past the longest retention,
+         * categories with shorter retention are deleted from older partitions before that
+         */
+        private Map<String, Integer> categoryRetentionDays = new LinkedHashMap<>();
+
+        /**
+         * What happens to expired partitions
+         */
+        private ExpiryMode mode = ExpiryMode.DROP;
+
+        /**
+         * Days after which whole partitions are removed
+         */
+        public int getPartitionRetentionDays() {
+            int days = retentionDays;
+            for (Integer categoryDays : categoryRetentionDays.values()) {
+                days = Math.max(days, categoryDays);
+            }
+            return days;
+        }
+    }
+
+    public enum PartitionInterval {
+        DAY,
+        WEEK
+    }
+
+    public enum ExpiryMode {
+        /** Drop expired partitions */
+        DROP,
+        /** Detach expired partitions and keep them as standalone tables, e.g. for archiving */
+        DETACH
+    }
+}
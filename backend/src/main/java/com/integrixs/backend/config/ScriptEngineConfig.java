@@ -0,0 +1,46 @@
+package com.integrixs.backend.config;
+
+import com.integrixs.engine.transformation.ScriptExecutionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the shared GraalJS script execution used by field mappings,
+ * filter transformations and custom JavaScript functions.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Configuration
+public class ScriptEngineConfig {
+    
+    @Value("${script.engine.pool-size:0}")
+    private int poolSize;
+    
+    @Value("${script.engine.timeout-ms:5000}")
+    private long timeoutMs;
+    
+    @Value("${script.engine.compiled-cache-size:500}")
+    private int compiledCacheSize;
+    
+    @Bean
+    public ScriptExecutionService scriptExecutionService(MeterRegistry meterRegistry) {
+        ScriptExecutionService service = ScriptExecutionService.getInstance();
+        int engines = poolSize > 0 ? poolSize : Math.max(2, Runtime.getRuntime().availableProcessors());
+        service.configure(engines, timeoutMs, compiledCacheSize);
+        
+        FunctionCounter.builder("script.engine.evaluations", service, ScriptExecutionService::getEvaluationCount)
+            .description("Script evaluations")
+            .register(meterRegistry);
+        FunctionCounter.builder("script.engine.timeouts", service, ScriptExecutionService::getTimeoutCount)
+            .description("Script evaluations aborted by timeout")
+            .register(meterRegistry);
+        FunctionCounter.builder("script.engine.compilations", service, ScriptExecutionService::getCompilationCount)
+            .description("Scripts parsed (script cache misses)")
+            .register(meterRegistry);
+        return service;
+    }
+}
@@ -0,0 +1,113 @@
+package com.integrixs.backend.controller;
+
+import com.integrixs.backend.exception.ResourceNotFoundException;
+import com.integrixs.backend.queue.DeadLetterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Dead-letter inspection and bulk reprocessing
+ */
+@RestController
+@RequestMapping("/api/dead-letters")
+@CrossOrigin(origins = "*")
+public class DeadLetterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterController.class);
+
+    @Autowired
+    private DeadLetterService deadLetterService;
+
+    /**
+     * Get dead letters with optional filtering, newest first
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'VIEWER')")
+    public ResponseEntity<List<DeadLetterService.DeadLetter>> getDeadLetters(
+            @RequestParam(required = false) UUID flowId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String errorClass,
+            @RequestParam(required = false) String stage,
+            @RequestParam(defaultValue = "false") boolean includeReprocessed,
+            @RequestParam(defaultValue = "100") int limit) {
+        DeadLetterService.DeadLetterFilter filter = new DeadLetterService.DeadLetterFilter(flowId, from, to, errorClass, stage);
+        return ResponseEntity.ok(deadLetterService.find(filter, includeReprocessed, limit));
+    }
+
+    /**
+     * Get dead letter counts by flow, stage and error class
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'VIEWER')")
+    public ResponseEntity<List<Map<String, Object>>> getSummary() {
+        return ResponseEntity.ok(deadLetterService.summarize());
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'VIEWER')")
+    public ResponseEntity<DeadLetterService.DeadLetter> getDeadLetter(@PathVariable UUID id) {
+        return ResponseEntity.ok(deadLetterService.get(id));
+    }
+
+    /**
+     * Start reprocessing the dead letters matching the request's filter
+     */
+    @PostMapping("/reprocess")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'INTEGRATOR')")
+    public ResponseEntity<DeadLetterService.ReprocessJob> reprocess(@RequestBody ReprocessRequest request) {
+        logger.info("Starting dead-letter reprocessing: {}", request);
+        DeadLetterService.DeadLetterFilter filter = new DeadLetterService.DeadLetterFilter(
+                request.flowId(), request.from(), request.to(), request.errorClass(), request.stage());
+        DeadLetterService.ReprocessJob job = deadLetterService.startReprocess(
+                filter, request.ratePerSecond(), request.maxConcurrency());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/reprocess")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'VIEWER')")
+    public ResponseEntity<List<DeadLetterService.ReprocessJob>> getReprocessJobs() {
+        return ResponseEntity.ok(deadLetterService.getJobs());
+    }
+
+    /**
+     * Get the progress of a reprocessing job
+     */
+    @GetMapping("/reprocess/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'VIEWER')")
+    public ResponseEntity<DeadLetterService.ReprocessJob> getReprocessJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(deadLetterService.getJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reprocess job not found: " + jobId)));
+    }
+
+    /**
+     * Stop a reprocessing job; replays already running complete
+     */
+    @DeleteMapping("/reprocess/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'INTEGRATOR')")
+    public ResponseEntity<Void> cancelReprocessJob(@PathVariable String jobId) {
+        if (!deadLetterService.cancelJob(jobId)) {
+            throw new ResourceNotFoundException("No running reprocess job: " + jobId);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Which dead letters to replay and how fast; unset fields match everything or use the
+     * configured defaults
+     */
+    public record ReprocessRequest(UUID flowId, LocalDateTime from, LocalDateTime to, String errorClass,
+                                   String stage, Double ratePerSecond, Integer maxConcurrency) {
+    }
+}
@@ -29,6 +29,10 @@ public class IntegrationEndpointController {
     
     private static final Logger logger = LoggerFactory.getLogger(IntegrationEndpointController.class);
     
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String CORRELATION_ID = "X-Correlation-ID";
+    
     @Autowired
     private IntegrationEndpointService endpointService;
     
@@ -59,6 +63,13 @@ public class IntegrationEndpointController {
         logger.info("Received SOAP request for flow: {}", flowPath);
         
         try {
+            if (respondAsync(request)) {
+                String correlationId = endpointService.acceptRequest(flowPath, soapRequest, "SOAP");
+                return ResponseEntity.accepted()
+                        .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                        .header(CORRELATION_ID, correlationId)
+                        .build();
+            }
             String response = endpointService.processSoapRequest(flowPath, soapRequest, headers);
             
             // Determine response content type based on request
@@ -130,6 +141,13 @@ public class IntegrationEndpointController {
         logger.info("Received {} request for flow: {}", request.getMethod(), flowPath);
         
         try {
+            if (respondAsync(request)) {
+                String correlationId = endpointService.acceptRequest(flowPath, requestBody, "REST");
+                return ResponseEntity.accepted()
+                        .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                        .header(CORRELATION_ID, correlationId)
+                        .body(Map.of("correlationId", correlationId, "status", "ACCEPTED"));
+            }
             Map<String, Object> response = endpointService.processRestRequest(
                 flowPath, 
                 request.getMethod(), 
@@ -148,6 +166,15 @@ public class IntegrationEndpointController {
         }
     }
     
+    /**
+     * A client sending {@code Prefer: respond-async} (RFC 7240) does not wait for the flow's
+     * response; its request is queued durably and acknowledged with 202 Accepted.
+     */
+    private static boolean respondAsync(HttpServletRequest request) {
+        String prefer = request.getHeader("Prefer");
+        return prefer != null && prefer.toLowerCase().contains(RESPOND_ASYNC);
+    }
+    
     private String generateSoapFault(String message) {
         return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
                "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">\n" +
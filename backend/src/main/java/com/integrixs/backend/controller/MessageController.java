@@ -1,5 +1,6 @@
 package com.integrixs.backend.controller;
 
+import com.integrixs.shared.dto.AdapterPayloadDTO;
 import com.integrixs.shared.dto.RecentMessageDTO;
 import com.integrixs.shared.dto.MessageDTO;
 import com.integrixs.shared.dto.MessageStatsDTO;
@@ -8,14 +9,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/messages")
@@ -37,7 +43,8 @@ public class MessageController {
     }
     
     /**
-     * Get messages with optional filtering
+     * Get messages with optional filtering, newest first. Pass the returned nextCursor as
+     * cursor to get the following page.
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'VIEWER')")
@@ -49,6 +56,9 @@ public class MessageController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTo,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String flowId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean exactTotal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
@@ -62,8 +72,11 @@ public class MessageController {
         if (dateFrom != null) filters.put("dateFrom", dateFrom);
         if (dateTo != null) filters.put("dateTo", dateTo);
         if (search != null) filters.put("search", search);
+        if (flowId != null) filters.put("flowId", flowId);
+        if (cursor != null) filters.put("cursor", cursor);
+        if (exactTotal) filters.put("exactTotal", true);
         
-        Map<String, Object> result = messageService.getMessages(filters, page, size);
+        Map<String, Object> result = messageService.getMessages(filters, page, Math.max(1, Math.min(size, 200)));
         return ResponseEntity.ok(result);
     }
     
@@ -117,14 +130,36 @@ public class MessageController {
     }
     
     /**
-     * Get adapter payloads by correlation ID
+     * Get adapter payloads by correlation ID. Large bodies are left out (contentDeferred)
+     * and read from the content endpoint.
      */
     @GetMapping("/payloads/{correlationId}")
     @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'VIEWER')")
-    public ResponseEntity<List<?>> getAdapterPayloads(@PathVariable String correlationId) {
+    public ResponseEntity<List<AdapterPayloadDTO>> getAdapterPayloads(@PathVariable String correlationId) {
         logger.info("Getting adapter payloads for correlation ID: {}", correlationId);
         var payloads = messageService.getAdapterPayloads(correlationId);
         logger.info("Found {} payloads for correlation ID: {}", payloads.size(), correlationId);
         return ResponseEntity.ok(payloads);
     }
+    
+    /**
+     * Stream the body of one adapter payload
+     */
+    @GetMapping("/payloads/{correlationId}/{payloadId}/content")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'DEVELOPER', 'VIEWER')")
+    public ResponseEntity<StreamingResponseBody> getAdapterPayloadContent(@PathVariable String correlationId,
+                                                                          @PathVariable UUID payloadId) {
+        InputStream content = messageService.openAdapterPayload(correlationId, payloadId);
+        if (content == null) {
+            return ResponseEntity.noContent().build();
+        }
+        StreamingResponseBody body = out -> {
+            try (InputStream in = content) {
+                in.transferTo(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(body);
+    }
 }
\ No newline at end of file
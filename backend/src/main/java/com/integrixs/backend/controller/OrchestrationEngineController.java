@@ -1,5 +1,6 @@
 package com.integrixs.backend.controller;
 
+import com.integrixs.backend.service.MessageProcessingEngine;
 import com.integrixs.backend.service.OrchestrationEngineService;
 import com.integrixs.backend.service.OrchestrationEngineService.*;
 
@@ -8,7 +9,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/orchestration")
@@ -17,6 +17,9 @@ public class OrchestrationEngineController {
     @Autowired
     private OrchestrationEngineService orchestrationService;
 
+    @Autowired
+    private MessageProcessingEngine messageProcessingEngine;
+
     /**
      * Execute an orchestration flow synchronously
      */
@@ -25,7 +28,7 @@ public class OrchestrationEngineController {
             @PathVariable String flowId,
             @RequestBody Object inputData) {
         try {
-            OrchestrationResult result = orchestrationService.executeOrchestrationFlow(flowId, inputData);
+            OrchestrationResult result = orchestrationService.executeOrchestrationRequest(flowId, inputData);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             OrchestrationResult errorResult = OrchestrationResult.error("Execution failed: " + e.getMessage());
@@ -34,19 +37,20 @@ public class OrchestrationEngineController {
     }
 
     /**
-     * Execute an orchestration flow asynchronously
+     * Accept an orchestration for asynchronous execution. The input is stored in the flow
+     * execution queue before the response is sent; the execution ID is its correlation ID
+     * and can be used with the status, cancel and logs endpoints.
      */
     @PostMapping("/{flowId}/execute-async")
     public ResponseEntity<AsyncExecutionResponse> executeOrchestrationFlowAsync(
             @PathVariable String flowId,
             @RequestBody Object inputData) {
         try {
-            CompletableFuture<OrchestrationResult> futureResult = 
-                orchestrationService.executeOrchestrationFlowAsync(flowId, inputData);
+            String executionId = orchestrationService.submitOrchestration(flowId, inputData);
             
             AsyncExecutionResponse response = new AsyncExecutionResponse();
-            response.setExecutionId("async-" + System.currentTimeMillis());
-            response.setMessage("Orchestration flow execution started asynchronously");
+            response.setExecutionId(executionId);
+            response.setMessage("Orchestration accepted for asynchronous execution");
             response.setFlowId(flowId);
             
             return ResponseEntity.accepted().body(response);
@@ -57,6 +61,25 @@ public class OrchestrationEngineController {
         }
     }
 
+    /**
+     * Accept several messages for asynchronous execution in one transaction
+     */
+    @PostMapping("/{flowId}/execute-async/batch")
+    public ResponseEntity<BatchSubmissionResponse> submitMessages(
+            @PathVariable String flowId,
+            @RequestBody List<Object> messages) {
+        BatchSubmissionResponse response = new BatchSubmissionResponse();
+        response.setFlowId(flowId);
+        try {
+            response.setCorrelationIds(messageProcessingEngine.submitMessages(flowId, messages));
+            response.setMessage(messages.size() + " messages accepted for asynchronous execution");
+            return ResponseEntity.accepted().body(response);
+        } catch (Exception e) {
+            response.setError("Failed to accept messages: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     /**
      * Get execution status for a running orchestration
      */
@@ -230,6 +253,22 @@ public class OrchestrationEngineController {
         public void setError(String error) { this.error = error; }
     }
 
+    public static class BatchSubmissionResponse {
+        private String flowId;
+        private List<String> correlationIds;
+        private String message;
+        private String error;
+
+        public String getFlowId() { return flowId; }
+        public void setFlowId(String flowId) { this.flowId = flowId; }
+        public List<String> getCorrelationIds() { return correlationIds; }
+        public void setCorrelationIds(List<String> correlationIds) { this.correlationIds = correlationIds; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+
     public static class CancelExecutionResponse {
         private String executionId;
         private boolean cancelled;
@@ -1,5 +1,6 @@
 package com.integrixs.backend.controller;
 
+import com.integrixs.backend.service.LogSearchService;
 import com.integrixs.data.model.SystemLog;
 import com.integrixs.data.repository.SystemLogRepository;
 import com.integrixs.data.specification.SystemLogSpecifications;
@@ -14,7 +15,9 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,9 +26,11 @@ import java.util.stream.Collectors;
 public class SystemLogController {
 
     private final SystemLogRepository systemLogRepository;
+    private final LogSearchService logSearchService;
 
-    public SystemLogController(SystemLogRepository systemLogRepository) {
+    public SystemLogController(SystemLogRepository systemLogRepository, LogSearchService logSearchService) {
         this.systemLogRepository = systemLogRepository;
+        this.logSearchService = logSearchService;
     }
 
     @PostMapping("/logs")
@@ -88,6 +93,37 @@ public class SystemLogController {
         return ResponseEntity.ok(dtos);
     }
     
+    /**
+     * Search logs by full-text terms or correlation ID (q), message substring (contains) and
+     * details key/value pairs (detail=key:value), newest first within a time window. Pass the
+     * returned nextCursor as cursor to get the following page.
+     */
+    @GetMapping("/logs/search")
+    public ResponseEntity<LogSearchService.LogSearchPage> searchLogs(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String contains,
+            @RequestParam(required = false) List<String> detail,
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        Map<String, String> detailKeys = new LinkedHashMap<>();
+        if (detail != null) {
+            for (String pair : detail) {
+                int separator = pair.indexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Detail filters must be key:value, got: " + pair);
+                }
+                detailKeys.put(pair.substring(0, separator), pair.substring(separator + 1));
+            }
+        }
+        return ResponseEntity.ok(logSearchService.search(new LogSearchService.LogSearchRequest(
+            q, contains, detailKeys, level, source, category, from, to, cursor, size)));
+    }
+
     @GetMapping("/system-logs")
     public ResponseEntity<List<SystemLog>> getSystemLogsByCorrelation(
             @RequestParam(required = false) String correlationId,
@@ -86,10 +86,9 @@ public class UserController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable String id) {
-        if (!userRepository.existsById(UUID.fromString(id))) {
+        if (!userService.deleteById(id)) {
             return ResponseEntity.notFound().build();
         }
-        userRepository.deleteById(UUID.fromString(id));
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,98 @@
+package com.integrixs.backend.events;
+
+import com.integrixs.data.model.CommunicationAdapter;
+import com.integrixs.data.model.FlowStructure;
+import com.integrixs.data.model.IntegrationFlow;
+import com.integrixs.data.model.MessageStructure;
+import com.integrixs.shared.events.entity.EntityChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Publishes an {@link EntityChangedEvent} once a transaction that updated or deleted
+ * a flow, adapter or structure has committed, whichever service made the change.
+ *
+ * <p>Events are raised from Hibernate's post-commit callbacks and go straight to the
+ * application event bus, since the originating transaction has already completed.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityChangeEventBridge implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Set<Class<?>> TRACKED_ENTITIES = Set.of(
+        IntegrationFlow.class, CommunicationAdapter.class, MessageStructure.class, FlowStructure.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister().getMappedClass(), event.getId(), EntityChangedEvent.ChangeType.UPDATED);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister().getMappedClass(), event.getId(), EntityChangedEvent.ChangeType.DELETED);
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing changed
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing changed
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return TRACKED_ENTITIES.contains(persister.getMappedClass());
+    }
+
+    private void publish(Class<?> entityClass, Object id, EntityChangedEvent.ChangeType changeType) {
+        if (id == null || !TRACKED_ENTITIES.contains(entityClass)) {
+            return;
+        }
+        try {
+            applicationEventPublisher.publishEvent(new EntityChangedEvent(
+                entityClass.getSimpleName(), id.toString(), changeType, currentUser()));
+        } catch (Exception e) {
+            log.error("Failed to publish change of {} {}", entityClass.getSimpleName(), id, e);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "system";
+    }
+}
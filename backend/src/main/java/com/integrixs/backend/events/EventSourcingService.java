@@ -1,26 +1,54 @@
 package com.integrixs.backend.events;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.data.model.AggregateSnapshot;
 import com.integrixs.data.model.EventStore;
+import com.integrixs.data.repository.AggregateSnapshotRepository;
 import com.integrixs.data.repository.EventStoreRepository;
 import com.integrixs.shared.events.DomainEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Service for event sourcing - stores all domain events.
  * 
+ * <p>Events are appended asynchronously in JDBC batches by a single writer thread.
+ * Aggregate versions are assigned when a batch is written, in queue order, while the
+ * batch's transaction holds an advisory lock per aggregate; writers on other nodes wait
+ * for the lock and continue after the versions committed before them, so the events of an
+ * aggregate never interleave and no version is ever reassigned. Events still queued in
+ * memory when the process crashes are lost; a regular shutdown writes them first.
+ * Aggregates are rebuilt from their latest snapshot plus the events recorded after it.
+ * 
  * @author Integration Team
  * @since 1.0.0
  */
@@ -29,18 +57,80 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EventSourcingService {
     
+    private static final String INSERT_EVENT_SQL =
+        "INSERT INTO event_store (event_id, aggregate_type, aggregate_id, aggregate_version, event_type, " +
+        "event_data, event_metadata, occurred_at, triggered_by, stored_at, correlation_id, causation_id) " +
+        "VALUES (?, ?, ?, ?, ?, CAST(? AS json), CAST(? AS json), ?, ?, ?, ?, ?)";
+    
+    private static final String LOCK_AGGREGATES_SQL =
+        "SELECT pg_advisory_xact_lock(k) FROM unnest(?) AS k";
+    
+    private static final String LATEST_VERSIONS_SQL =
+        "SELECT aggregate_id, MAX(aggregate_version) FROM event_store WHERE aggregate_id = ANY(?) GROUP BY aggregate_id";
+    
     private final EventStoreRepository eventStoreRepository;
+    private final AggregateSnapshotRepository snapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
     private final ObjectMapper objectMapper;
     
+    @Value("${event-store.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${event-store.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${event-store.flush-interval-ms:200}")
+    private long flushIntervalMs;
+    
+    @Value("${event-store.snapshot-threshold:50}")
+    private int snapshotThreshold;
+    
     private static final ThreadLocal<String> correlationId = new ThreadLocal<>();
     
+    private BlockingQueue<EventStore> pendingEvents;
+    private TransactionTemplate batchTransaction;
+    private Thread writerThread;
+    private volatile boolean running;
+    
+    @PostConstruct
+    public void init() {
+        pendingEvents = new LinkedBlockingQueue<>(queueCapacity);
+        batchTransaction = new TransactionTemplate(transactionManager);
+        
+        running = true;
+        writerThread = new Thread(this::runWriter, "event-store-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        
+        log.info("Event store writer started (batch size: {}, queue capacity: {}, snapshot threshold: {})",
+                batchSize, queueCapacity, snapshotThreshold);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        log.info("Event store writer stopped");
+    }
+    
     /**
      * Stores a domain event.
      * 
+     * <p>The event is queued for the batch writer, which assigns its version. When the
+     * queue is full the event is written on the calling thread.
+     * 
      * @param event the domain event
      */
     @EventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void storeEvent(DomainEvent event) {
         try {
             // Get or create correlation ID
@@ -49,27 +139,28 @@ public class EventSourcingService {
                 corrId = UUID.randomUUID().toString();
             }
             
-            // Get latest version for aggregate
-            Long latestVersion = eventStoreRepository.getLatestVersionForAggregate(UUID.fromString(event.getAggregateId()));
+            UUID aggregateId = UUID.fromString(event.getAggregateId());
             
             // Create event store entry
             EventStore eventStore = EventStore.builder()
                 .eventId(UUID.fromString(event.getEventId()))
                 .aggregateType(getAggregateType(event))
-                .aggregateId(UUID.fromString(event.getAggregateId()))
-                .aggregateVersion(latestVersion + 1)
+                .aggregateId(aggregateId)
                 .eventType(event.getEventType())
                 .eventData(serializeEvent(event))
                 .eventMetadata(createMetadata(event))
                 .occurredAt(event.getOccurredAt())
                 .triggeredBy(event.getTriggeredBy() != null ? UUID.fromString(event.getTriggeredBy()) : null)
+                .storedAt(LocalDateTime.now())
                 .correlationId(UUID.fromString(corrId))
                 .build();
             
-            eventStoreRepository.save(eventStore);
+            if (!pendingEvents.offer(eventStore)) {
+                log.debug("Event store queue full, writing event {} synchronously", eventStore.getEventId());
+                writeBatch(List.of(eventStore));
+            }
             
-            log.debug("Stored event: {} for aggregate: {} version: {}", 
-                     event.getEventType(), event.getAggregateId(), eventStore.getAggregateVersion());
+            log.debug("Queued event: {} for aggregate: {}", event.getEventType(), event.getAggregateId());
             
         } catch (Exception e) {
             log.error("Failed to store event: {} for aggregate: {}", 
@@ -78,6 +169,131 @@ public class EventSourcingService {
         }
     }
     
+    /**
+     * Writes all queued events on the calling thread.
+     */
+    public void flush() {
+        List<EventStore> batch = new ArrayList<>(batchSize);
+        while (pendingEvents.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+    
+    /**
+     * Gets the number of events waiting to be written.
+     * 
+     * @return pending event count
+     */
+    public int getPendingEventCount() {
+        return pendingEvents.size();
+    }
+    
+    private void runWriter() {
+        List<EventStore> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                EventStore first = pendingEvents.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pendingEvents.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Event store writer failed to write {} events", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Writes a batch in one transaction, falling back to one transaction per event when
+     * the batch is rejected (typically an event that was already stored).
+     */
+    private void writeBatch(List<EventStore> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            batchTransaction.executeWithoutResult(status -> append(batch));
+        } catch (DataAccessException e) {
+            log.debug("Event batch of {} rejected, retrying individually: {}", batch.size(), e.getMessage());
+            for (EventStore eventStore : batch) {
+                writeSingle(eventStore);
+            }
+        }
+    }
+    
+    private void writeSingle(EventStore eventStore) {
+        try {
+            batchTransaction.executeWithoutResult(status -> append(List.of(eventStore)));
+        } catch (DuplicateKeyException e) {
+            log.debug("Event {} already stored, skipping", eventStore.getEventId());
+        } catch (DataAccessException e) {
+            log.error("Failed to store event: {} for aggregate: {}",
+                    eventStore.getEventType(), eventStore.getAggregateId(), e);
+        }
+    }
+    
+    /**
+     * Lock the batch's aggregates, continue their versions from the store and insert.
+     * Must run in a transaction, which holds the locks until it ends.
+     */
+    private void append(List<EventStore> batch) {
+        Map<UUID, Long> versions = lockAggregates(batch.stream()
+            .map(EventStore::getAggregateId)
+            .collect(Collectors.toCollection(TreeSet::new)));
+        for (EventStore eventStore : batch) {
+            eventStore.setAggregateVersion(versions.merge(eventStore.getAggregateId(), 1L, Long::sum));
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, batch, batch.size(), this::bindEvent);
+    }
+    
+    private Map<UUID, Long> lockAggregates(Collection<UUID> aggregateIds) {
+        Long[] lockKeys = aggregateIds.stream()
+            .map(id -> id.getMostSignificantBits() ^ id.getLeastSignificantBits())
+            .distinct()
+            .sorted()
+            .toArray(Long[]::new);
+        return jdbcTemplate.execute((Connection connection) -> {
+            // Locks are taken in key order so writers never deadlock on each other
+            try (PreparedStatement lock = connection.prepareStatement(LOCK_AGGREGATES_SQL)) {
+                lock.setArray(1, connection.createArrayOf("bigint", lockKeys));
+                lock.executeQuery().close();
+            }
+            Map<UUID, Long> versions = new HashMap<>();
+            try (PreparedStatement latest = connection.prepareStatement(LATEST_VERSIONS_SQL)) {
+                latest.setArray(1, connection.createArrayOf("uuid", aggregateIds.toArray()));
+                try (ResultSet rs = latest.executeQuery()) {
+                    while (rs.next()) {
+                        versions.put(rs.getObject(1, UUID.class), rs.getLong(2));
+                    }
+                }
+            }
+            return versions;
+        });
+    }
+    
+    private void bindEvent(PreparedStatement ps, EventStore eventStore) throws SQLException {
+        ps.setObject(1, eventStore.getEventId());
+        ps.setString(2, eventStore.getAggregateType());
+        ps.setObject(3, eventStore.getAggregateId());
+        ps.setLong(4, eventStore.getAggregateVersion());
+        ps.setString(5, eventStore.getEventType());
+        ps.setString(6, eventStore.getEventData());
+        ps.setString(7, eventStore.getEventMetadata());
+        ps.setTimestamp(8, Timestamp.valueOf(eventStore.getOccurredAt()));
+        ps.setObject(9, eventStore.getTriggeredBy());
+        ps.setTimestamp(10, Timestamp.valueOf(eventStore.getStoredAt()));
+        ps.setObject(11, eventStore.getCorrelationId());
+        ps.setObject(12, eventStore.getCausationId());
+    }
+    
     /**
      * Gets event history for an aggregate.
      * 
@@ -101,7 +317,8 @@ public class EventSourcingService {
     }
     
     /**
-     * Rebuilds aggregate state from events.
+     * Rebuilds aggregate state from its latest snapshot and the events after it.
+     * A new snapshot is taken once enough events had to be replayed.
      * 
      * @param aggregateId the aggregate ID
      * @param aggregateType the aggregate type
@@ -110,17 +327,39 @@ public class EventSourcingService {
      */
     @SuppressWarnings("unchecked")
     public <T> T rebuildAggregate(String aggregateId, Class<T> aggregateType) {
-        List<EventStore> events = getEventHistory(aggregateId, aggregateType.getSimpleName());
+        UUID id = UUID.fromString(aggregateId);
+        String typeName = aggregateType.getSimpleName();
         
-        if (events.isEmpty()) {
-            return null;
-        }
-        
-        log.info("Rebuilding aggregate {} from {} events", aggregateId, events.size());
+        // Make sure queued events are visible before replaying
+        flush();
         
         try {
-            // Create a new instance of the aggregate
-            T aggregate = aggregateType.getDeclaredConstructor().newInstance();
+            Optional<AggregateSnapshot> snapshot = snapshotRepository.findByAggregateIdAndAggregateType(id, typeName);
+            
+            T aggregate = null;
+            long baseVersion = 0;
+            if (snapshot.isPresent()) {
+                try {
+                    aggregate = objectMapper.readValue(snapshot.get().getSnapshotData(), aggregateType);
+                    baseVersion = snapshot.get().getAggregateVersion();
+                } catch (Exception e) {
+                    log.warn("Ignoring unreadable snapshot for aggregate {}: {}", aggregateId, e.getMessage());
+                }
+            }
+            
+            List<EventStore> events = eventStoreRepository
+                .findByAggregateIdAndAggregateTypeAndAggregateVersionGreaterThanOrderByAggregateVersionAsc(
+                    id, typeName, baseVersion);
+            
+            if (aggregate == null) {
+                if (events.isEmpty()) {
+                    return null;
+                }
+                // Create a new instance of the aggregate
+                aggregate = aggregateType.getDeclaredConstructor().newInstance();
+            }
+            
+            log.info("Rebuilding aggregate {} from version {} with {} events", aggregateId, baseVersion, events.size());
             
             // Apply each event to rebuild the state
             for (EventStore eventStore : events) {
@@ -149,6 +388,11 @@ public class EventSourcingService {
                 }
             }
             
+            if (events.size() >= snapshotThreshold) {
+                saveSnapshot(snapshot.orElse(null), id, typeName,
+                        events.get(events.size() - 1).getAggregateVersion(), aggregate);
+            }
+            
             return aggregate;
             
         } catch (Exception e) {
@@ -157,6 +401,24 @@ public class EventSourcingService {
         }
     }
     
+    private void saveSnapshot(AggregateSnapshot existing, UUID aggregateId, String aggregateType,
+                              long version, Object aggregate) {
+        try {
+            AggregateSnapshot snapshot = existing != null ? existing : AggregateSnapshot.builder()
+                .aggregateId(aggregateId)
+                .aggregateType(aggregateType)
+                .build();
+            snapshot.setAggregateVersion(version);
+            snapshot.setSnapshotData(objectMapper.writeValueAsString(aggregate));
+            snapshot.setCreatedAt(LocalDateTime.now());
+            snapshotRepository.save(snapshot);
+            log.debug("Saved snapshot of aggregate {} at version {}", aggregateId, version);
+        } catch (Exception e) {
+            // Snapshots are an optimisation only
+            log.warn("Failed to snapshot aggregate {}: {}", aggregateId, e.getMessage());
+        }
+    }
+    
     /**
      * Applies an event to an aggregate to rebuild its state.
      * This uses reflection to find and invoke the appropriate handler method.
@@ -0,0 +1,31 @@
+package com.integrixs.backend.exception;
+
+/**
+ * Exception thrown when a flow execution fails, naming the pipeline stage that failed
+ */
+public class FlowExecutionException extends RuntimeException {
+
+    public static final String VALIDATION = "VALIDATION";
+    public static final String SOURCE = "SOURCE";
+    public static final String CONVERSION = "CONVERSION";
+    public static final String TRANSFORMATION = "TRANSFORMATION";
+    public static final String TARGET = "TARGET";
+    public static final String DIRECT_TRANSFER = "DIRECT_TRANSFER";
+    public static final String PROCESSING = "PROCESSING";
+
+    private final String stage;
+
+    public FlowExecutionException(String stage, String message) {
+        super(message);
+        this.stage = stage;
+    }
+
+    public FlowExecutionException(String stage, String message, Throwable cause) {
+        super(message, cause);
+        this.stage = stage;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+}
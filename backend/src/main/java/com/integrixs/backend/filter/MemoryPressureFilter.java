@@ -0,0 +1,49 @@
+package com.integrixs.backend.filter;
+
+import com.integrixs.adapters.core.MemoryPressure;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects large request bodies with 503 while the JVM is under memory pressure,
+ * before they are read into memory. Clients are asked to retry later.
+ *
+ * <p>A chunked body has no declared length and is treated as large: under pressure
+ * there is no way to tell it is small without reading it, which is the allocation
+ * this filter exists to avoid.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class MemoryPressureFilter extends OncePerRequestFilter {
+    
+    private static final String RETRY_AFTER_SECONDS = "30";
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        MemoryPressure pressure = MemoryPressure.getInstance();
+        long contentLength = request.getContentLengthLong();
+        boolean unknownLength = contentLength < 0 && request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+        if (!pressure.acceptsPayload(unknownLength ? Long.MAX_VALUE : contentLength)) {
+            log.warn("Rejected {} {} with {} under memory pressure ({})",
+                     request.getMethod(), request.getRequestURI(),
+                     unknownLength ? "a body of unknown length" : contentLength + " bytes", pressure.getLevel());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                               "Server is under memory pressure, retry later");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
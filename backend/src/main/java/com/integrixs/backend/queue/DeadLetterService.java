@@ -0,0 +1,606 @@
+package com.integrixs.backend.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.backend.exception.FlowExecutionException;
+import com.integrixs.backend.exception.ResourceNotFoundException;
+import com.integrixs.backend.service.FlowExecutionAsyncService;
+import com.integrixs.backend.service.MessageProcessingEngine;
+import com.integrixs.backend.service.MessageService;
+import com.integrixs.backend.service.OrchestrationEngineService;
+import com.integrixs.backend.service.PayloadStore;
+import com.integrixs.backend.service.RuntimeEntityCache;
+import com.integrixs.data.model.IntegrationFlow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dead-letter store for queued work that used up its attempts, with throttled bulk replay.
+ *
+ * <p>A dead letter records the failing stage, the root error class and a reference to the
+ * original payload: the FAILED queue entry for a queued message, or the inbound adapter
+ * payload for a flow execution, so a replay processes the data that failed instead of
+ * polling the source again. Messages that fail outside the queue, such as synchronous
+ * endpoint requests, are captured with a FAILED queue entry holding their payload.
+ *
+ * <p>Bulk reprocessing selects dead letters by flow, time window, error class or stage and
+ * replays them oldest first at a fixed rate with a bound on concurrent replays. Each job
+ * claims pages of dead letters with {@code FOR UPDATE SKIP LOCKED}, so concurrent jobs, also
+ * on other nodes, never replay the same message. A dead letter that fails again stays dead
+ * with its latest error. Job progress is kept in memory on the node running the job.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class DeadLetterService {
+
+    private static final String COLUMNS =
+        "id, flow_id, correlation_id, work_type, queue_entry_id, payload_id, failed_stage, error_class, " +
+        "error_message, attempts, failed_at, status, reprocess_attempts, reprocessed_at, reprocess_correlation_id";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO dead_letter_messages (flow_id, correlation_id, work_type, queue_entry_id, payload_id, " +
+        "failed_stage, error_class, error_message, attempts) VALUES (?, ?, ?, ?, " +
+        "(SELECT id FROM adapter_payloads WHERE correlation_id = ? AND direction = 'INBOUND' " +
+        " ORDER BY created_at LIMIT 1), ?, ?, ?, ?)";
+
+    private static final String REPROCESSED_SQL =
+        "WITH done AS (UPDATE dead_letter_messages SET status = 'REPROCESSED', reprocessed_at = now(), " +
+        "              reprocess_attempts = reprocess_attempts + 1, reprocess_correlation_id = ? " +
+        "              WHERE id = ? RETURNING queue_entry_id) " +
+        "DELETE FROM flow_execution_queue WHERE id IN (SELECT queue_entry_id FROM done) AND status = 'FAILED'";
+
+    private static final String STILL_DEAD_SQL =
+        "UPDATE dead_letter_messages SET status = 'DEAD', reprocess_attempts = reprocess_attempts + 1, " +
+        "failed_stage = ?, error_class = ?, error_message = ? WHERE id = ?";
+
+    private static final String RETURN_SQL =
+        "UPDATE dead_letter_messages SET status = 'DEAD' WHERE id = ? AND status = 'REPROCESSING'";
+
+    private static final String RELEASE_STALE_SQL =
+        "UPDATE dead_letter_messages SET status = 'DEAD' " +
+        "WHERE status = 'REPROCESSING' AND reprocess_started_at < now() - ? * interval '1 minute'";
+
+    private static final RowMapper<DeadLetter> DEAD_LETTER_MAPPER = (rs, rowNum) -> new DeadLetter(
+        rs.getObject("id", UUID.class),
+        rs.getObject("flow_id", UUID.class),
+        rs.getString("correlation_id"),
+        FlowExecutionQueue.WorkType.valueOf(rs.getString("work_type")),
+        rs.getObject("queue_entry_id", UUID.class),
+        rs.getObject("payload_id", UUID.class),
+        rs.getString("failed_stage"),
+        rs.getString("error_class"),
+        rs.getString("error_message"),
+        rs.getInt("attempts"),
+        toLocalDateTime(rs.getTimestamp("failed_at")),
+        rs.getString("status"),
+        rs.getInt("reprocess_attempts"),
+        toLocalDateTime(rs.getTimestamp("reprocessed_at")),
+        rs.getString("reprocess_correlation_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FlowExecutionQueue queue;
+    private final FlowExecutionAsyncService flowExecutionAsyncService;
+    private final MessageProcessingEngine messageProcessingEngine;
+    private final OrchestrationEngineService orchestrationEngineService;
+    private final MessageService messageService;
+    private final PayloadStore payloadStore;
+    private final RuntimeEntityCache runtimeEntityCache;
+    private final ExecutorService flowExecutor;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ReprocessJob> jobs = new ConcurrentHashMap<>();
+    private final Counter capturedCounter;
+    private final Counter reprocessedCounter;
+    private final Counter stillDeadCounter;
+
+    @Value("${execution.dead-letter.reprocess-rate:50}")
+    private double defaultRate;
+
+    @Value("${execution.dead-letter.reprocess-concurrency:8}")
+    private int defaultConcurrency;
+
+    @Value("${execution.dead-letter.max-concurrency:64}")
+    private int maxConcurrency;
+
+    @Value("${execution.dead-letter.page-size:200}")
+    private int pageSize;
+
+    @Value("${execution.dead-letter.stale-minutes:30}")
+    private int staleMinutes;
+
+    @Value("${execution.dead-letter.retained-jobs:50}")
+    private int retainedJobs;
+
+    public DeadLetterService(JdbcTemplate jdbcTemplate,
+                             FlowExecutionQueue queue,
+                             FlowExecutionAsyncService flowExecutionAsyncService,
+                             MessageProcessingEngine messageProcessingEngine,
+                             OrchestrationEngineService orchestrationEngineService,
+                             MessageService messageService,
+                             PayloadStore payloadStore,
+                             RuntimeEntityCache runtimeEntityCache,
+                             @Qualifier("flowExecutor") ExecutorService flowExecutor,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = queue;
+        this.flowExecutionAsyncService = flowExecutionAsyncService;
+        this.messageProcessingEngine = messageProcessingEngine;
+        this.orchestrationEngineService = orchestrationEngineService;
+        this.messageService = messageService;
+        this.payloadStore = payloadStore;
+        this.runtimeEntityCache = runtimeEntityCache;
+        this.flowExecutor = flowExecutor;
+        this.objectMapper = objectMapper;
+        this.capturedCounter = Counter.builder("flow.dead_letter.captured")
+            .description("Messages moved to the dead-letter store")
+            .register(meterRegistry);
+        this.reprocessedCounter = Counter.builder("flow.dead_letter.reprocessed")
+            .description("Dead letters replayed")
+            .tag("outcome", "succeeded")
+            .register(meterRegistry);
+        this.stillDeadCounter = Counter.builder("flow.dead_letter.reprocessed")
+            .description("Dead letters replayed")
+            .tag("outcome", "failed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Record a failed attempt of queued work. Work with attempts left is scheduled for a
+     * retry; otherwise the queue entry is marked failed and a dead letter is captured in the
+     * same transaction.
+     *
+     * @return true if the work will be retried
+     */
+    @Transactional
+    public boolean recordFailure(FlowExecutionQueue.QueuedWork work, String owner, Throwable error, long backoffMillis) {
+        if (work.attempts() < work.maxAttempts()) {
+            return queue.fail(work, owner, error.getMessage(), backoffMillis);
+        }
+        if (!queue.markFailed(work, owner, error.getMessage())) {
+            // Lease lost: the entry was re-claimed and its new owner decides
+            return false;
+        }
+        jdbcTemplate.update(INSERT_SQL, work.flowId(), work.correlationId(), work.type().name(), work.id(),
+            work.correlationId(), stageOf(work.type(), error), errorClassOf(error), error.getMessage(), work.attempts());
+        capturedCounter.increment();
+        return false;
+    }
+
+    /**
+     * Capture a dead letter for a message that failed outside the queue, where the failure
+     * is terminal because nothing retries it.
+     *
+     * @param flowId the flow
+     * @param correlationId correlation ID of the message
+     * @param type how a replay processes the payload
+     * @param payload the message as received
+     * @param error the failure
+     */
+    @Transactional
+    public void recordFailure(UUID flowId, String correlationId, FlowExecutionQueue.WorkType type,
+                              String payload, Throwable error) {
+        UUID entryId = queue.insertFailed(flowId, type, correlationId, payload, error.getMessage());
+        jdbcTemplate.update(INSERT_SQL, flowId, correlationId, type.name(), entryId,
+            correlationId, stageOf(type, error), errorClassOf(error), error.getMessage(), 1);
+        capturedCounter.increment();
+    }
+
+    /**
+     * Capture dead letters for queued work whose lease expired on its last attempt, which
+     * happens when the node running it died or stalled every time.
+     *
+     * @return number of dead letters captured
+     */
+    @Transactional
+    public int captureExpiredLeases(int limit) {
+        List<FlowExecutionQueue.QueuedWork> expired = queue.failExpiredLeases(limit);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(expired.size());
+        for (FlowExecutionQueue.QueuedWork work : expired) {
+            TimeoutException error = new TimeoutException("Lease expired after " + work.attempts() + " attempts");
+            rows.add(new Object[] {work.flowId(), work.correlationId(), work.type().name(), work.id(),
+                work.correlationId(), stageOf(work.type(), error), errorClassOf(error), error.getMessage(), work.attempts()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        capturedCounter.increment(expired.size());
+        return expired.size();
+    }
+
+    /**
+     * Dead letters matching a filter, newest first.
+     */
+    public List<DeadLetter> find(DeadLetterFilter filter, boolean includeReprocessed, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM dead_letter_messages WHERE ");
+        sql.append(includeReprocessed ? "TRUE" : "status <> 'REPROCESSED'");
+        appendFilter(sql, args, filter);
+        sql.append(" ORDER BY failed_at DESC, id DESC LIMIT ?");
+        args.add(Math.max(1, Math.min(limit, 1000)));
+        return jdbcTemplate.query(sql.toString(), DEAD_LETTER_MAPPER, args.toArray());
+    }
+
+    public DeadLetter get(UUID id) {
+        List<DeadLetter> letters = jdbcTemplate.query(
+            "SELECT " + COLUMNS + " FROM dead_letter_messages WHERE id = ?", DEAD_LETTER_MAPPER, id);
+        if (letters.isEmpty()) {
+            throw new ResourceNotFoundException("Dead letter not found: " + id);
+        }
+        return letters.get(0);
+    }
+
+    /**
+     * Counts of dead letters by flow, failing stage and error class, largest first.
+     */
+    public List<Map<String, Object>> summarize() {
+        return jdbcTemplate.queryForList(
+            "SELECT flow_id AS \"flowId\", failed_stage AS \"stage\", error_class AS \"errorClass\", " +
+            "count(*) AS \"count\", min(failed_at) AS \"firstFailedAt\", max(failed_at) AS \"lastFailedAt\" " +
+            "FROM dead_letter_messages WHERE status = 'DEAD' " +
+            "GROUP BY flow_id, failed_stage, error_class ORDER BY count(*) DESC");
+    }
+
+    /**
+     * Start replaying the dead letters matching a filter in the background.
+     *
+     * @param filter which dead letters to replay
+     * @param ratePerSecond replays started per second; the configured default if null, no limit if 0
+     * @param concurrency replays running at once; the configured default if null
+     * @return the running job
+     */
+    public ReprocessJob startReprocess(DeadLetterFilter filter, Double ratePerSecond, Integer concurrency) {
+        double rate = ratePerSecond != null ? Math.max(0, ratePerSecond) : defaultRate;
+        int limit = Math.max(1, Math.min(concurrency != null ? concurrency : defaultConcurrency, maxConcurrency));
+
+        int released = jdbcTemplate.update(RELEASE_STALE_SQL, staleMinutes);
+        if (released > 0) {
+            log.warn("Returned {} dead letters stuck in reprocessing for over {} minutes", released, staleMinutes);
+        }
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder countSql = new StringBuilder("SELECT count(*) FROM dead_letter_messages WHERE status = 'DEAD'");
+        appendFilter(countSql, args, filter);
+        Integer total = jdbcTemplate.queryForObject(countSql.toString(), Integer.class, args.toArray());
+
+        ReprocessJob job = new ReprocessJob(UUID.randomUUID().toString(), filter, rate, limit, total != null ? total : 0);
+        pruneJobs();
+        jobs.put(job.getId(), job);
+        Thread runner = new Thread(() -> runJob(job), "dead-letter-reprocess-" + job.getId().substring(0, 8));
+        runner.setDaemon(true);
+        runner.start();
+        log.info("Started dead-letter reprocess job {} for {} messages ({} per second, {} concurrent)",
+                 job.getId(), job.getTotal(), rate, limit);
+        return job;
+    }
+
+    public Optional<ReprocessJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public List<ReprocessJob> getJobs() {
+        List<ReprocessJob> list = new ArrayList<>(jobs.values());
+        list.sort(Comparator.comparing(ReprocessJob::getStartedAt).reversed());
+        return list;
+    }
+
+    /**
+     * Stop a job from starting further replays; replays already running complete.
+     */
+    public boolean cancelJob(String jobId) {
+        ReprocessJob job = jobs.get(jobId);
+        if (job == null || job.getState() != JobState.RUNNING) {
+            return false;
+        }
+        job.cancelled = true;
+        return true;
+    }
+
+    private void runJob(ReprocessJob job) {
+        Semaphore slots = new Semaphore(job.getConcurrency());
+        long intervalNanos = job.getRatePerSecond() > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / job.getRatePerSecond()) : 0;
+        long nextStart = System.nanoTime();
+        Cursor cursor = null;
+        try {
+            while (!job.cancelled) {
+                List<DeadLetter> page = claimPage(job.getFilter(), cursor);
+                if (page.isEmpty()) {
+                    break;
+                }
+                DeadLetter last = page.get(page.size() - 1);
+                cursor = new Cursor(last.failedAt(), last.id());
+
+                Iterator<DeadLetter> letters = page.iterator();
+                while (letters.hasNext()) {
+                    if (job.cancelled) {
+                        letters.forEachRemaining(letter -> jdbcTemplate.update(RETURN_SQL, letter.id()));
+                        break;
+                    }
+                    DeadLetter letter = letters.next();
+                    if (intervalNanos > 0) {
+                        long wait = nextStart - System.nanoTime();
+                        if (wait > 0) {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        }
+                        nextStart = Math.max(nextStart, System.nanoTime()) + intervalNanos;
+                    }
+                    slots.acquire();
+                    job.claimed.incrementAndGet();
+                    try {
+                        flowExecutor.execute(() -> {
+                            try {
+                                replay(job, letter);
+                            } finally {
+                                slots.release();
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        slots.release();
+                        job.claimed.decrementAndGet();
+                        jdbcTemplate.update(RETURN_SQL, letter.id());
+                        // Executor saturated: hold back before the next replay
+                        TimeUnit.MILLISECONDS.sleep(500);
+                    }
+                }
+            }
+            slots.acquire(job.getConcurrency());
+            job.finish(job.cancelled ? JobState.CANCELLED : JobState.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(JobState.FAILED, "Interrupted");
+        } catch (Exception e) {
+            log.error("Dead-letter reprocess job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.finish(JobState.FAILED, e.getMessage());
+        }
+        log.info("Dead-letter reprocess job {} {}: {} replayed, {} succeeded, {} failed",
+                 job.getId(), job.getState(), job.claimed.get(), job.succeeded.get(), job.failed.get());
+    }
+
+    private List<DeadLetter> claimPage(DeadLetterFilter filter, Cursor cursor) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder select = new StringBuilder("SELECT id FROM dead_letter_messages WHERE status = 'DEAD'");
+        appendFilter(select, args, filter);
+        if (cursor != null) {
+            // Keyset: dead letters that fail again must not be picked up twice by one job
+            select.append(" AND (failed_at, id) > (?, ?)");
+            args.add(Timestamp.valueOf(cursor.failedAt()));
+            args.add(cursor.id());
+        }
+        select.append(" ORDER BY failed_at, id LIMIT ? FOR UPDATE SKIP LOCKED");
+        args.add(pageSize);
+
+        List<DeadLetter> page = new ArrayList<>(jdbcTemplate.query(
+            "UPDATE dead_letter_messages SET status = 'REPROCESSING', reprocess_started_at = now() " +
+            "WHERE id IN (" + select + ") RETURNING " + COLUMNS, DEAD_LETTER_MAPPER, args.toArray()));
+        page.sort(Comparator.comparing(DeadLetter::failedAt).thenComparing(DeadLetter::id));
+        return page;
+    }
+
+    private void replay(ReprocessJob job, DeadLetter letter) {
+        try {
+            String correlationId = execute(letter);
+            jdbcTemplate.update(REPROCESSED_SQL, correlationId, letter.id());
+            job.succeeded.incrementAndGet();
+            reprocessedCounter.increment();
+        } catch (Exception e) {
+            log.warn("Replay of dead letter {} ({}) failed: {}", letter.id(), letter.correlationId(), e.getMessage());
+            try {
+                jdbcTemplate.update(STILL_DEAD_SQL, stageOf(letter.workType(), e), errorClassOf(e), e.getMessage(), letter.id());
+            } catch (Exception updateFailure) {
+                log.error("Failed to update dead letter {}: {}", letter.id(), updateFailure.getMessage());
+            }
+            job.failed.incrementAndGet();
+            job.lastError = e.getMessage();
+            stillDeadCounter.increment();
+        }
+    }
+
+    private String execute(DeadLetter letter) throws Exception {
+        IntegrationFlow flow = runtimeEntityCache.findFlow(letter.flowId())
+            .orElseThrow(() -> new FlowExecutionException(FlowExecutionException.VALIDATION,
+                "Flow not found: " + letter.flowId()));
+
+        if (letter.workType() == FlowExecutionQueue.WorkType.ORCHESTRATION) {
+            String executionId = UUID.randomUUID().toString();
+            orchestrationEngineService.executeQueuedOrchestration(flow.getId(), queuedPayload(letter), executionId);
+            return executionId;
+        }
+
+        if (letter.workType() == FlowExecutionQueue.WorkType.MESSAGE) {
+            String payload = queuedPayload(letter);
+            Object message = payload != null ? objectMapper.readValue(payload, Object.class) : null;
+            MessageProcessingEngine.ProcessingResult result =
+                messageProcessingEngine.processMessage(flow.getId().toString(), message);
+            if (!result.isSuccess()) {
+                throw new FlowExecutionException(FlowExecutionException.PROCESSING, result.getMessage());
+            }
+            return result.getExecutionId();
+        }
+
+        // Replay the payload the failed execution received, else the one held on its queue entry;
+        // without either the flow polls its source again.
+        // The payload was logged before the failure, which bounds its partition.
+        String payload = letter.payloadId() == null ? null : jdbcTemplate.query(
+            "SELECT payload_encoding, payload, payload_compressed, payload_ref FROM adapter_payloads " +
+            "WHERE id = ? AND created_at <= ?",
+            rs -> rs.next() ? payloadStore.read(rs.getString(1), rs.getString(2), rs.getBytes(3), rs.getString(4)) : null,
+            letter.payloadId(), Timestamp.valueOf(letter.failedAt()));
+        if (payload == null) {
+            payload = queuedPayload(letter);
+        }
+        String correlationId = messageService.createMessage(flow,
+            "Reprocessing dead letter " + letter.correlationId(), "REPROCESS");
+        flowExecutionAsyncService.executeFlow(flow.getId().toString(), correlationId, payload);
+        return correlationId;
+    }
+
+    private String queuedPayload(DeadLetter letter) {
+        return letter.queueEntryId() == null ? null : jdbcTemplate.query(
+            "SELECT payload FROM flow_execution_queue WHERE id = ?",
+            rs -> rs.next() ? rs.getString(1) : null, letter.queueEntryId());
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, DeadLetterFilter filter) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.flowId() != null) {
+            sql.append(" AND flow_id = ?");
+            args.add(filter.flowId());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND failed_at >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND failed_at < ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        if (filter.errorClass() != null && !filter.errorClass().isBlank()) {
+            sql.append(" AND error_class = ?");
+            args.add(filter.errorClass());
+        }
+        if (filter.stage() != null && !filter.stage().isBlank()) {
+            sql.append(" AND failed_stage = ?");
+            args.add(filter.stage());
+        }
+    }
+
+    private void pruneJobs() {
+        List<ReprocessJob> finished = new ArrayList<>();
+        for (ReprocessJob job : jobs.values()) {
+            if (job.getState() != JobState.RUNNING) {
+                finished.add(job);
+            }
+        }
+        finished.sort(Comparator.comparing(ReprocessJob::getStartedAt));
+        for (int i = 0; i < finished.size() - retainedJobs; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+
+    static String stageOf(FlowExecutionQueue.WorkType type, Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof FlowExecutionException flowExecutionException && flowExecutionException.getStage() != null) {
+                return flowExecutionException.getStage();
+            }
+        }
+        return type == FlowExecutionQueue.WorkType.FLOW_EXECUTION ? "UNKNOWN" : FlowExecutionException.PROCESSING;
+    }
+
+    /**
+     * Class of the innermost cause, which identifies the failure better than its wrappers.
+     */
+    static String errorClassOf(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getClass().getName();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record Cursor(LocalDateTime failedAt, UUID id) {
+    }
+
+    /**
+     * Selects dead letters; null fields match everything.
+     */
+    public record DeadLetterFilter(UUID flowId, LocalDateTime from, LocalDateTime to, String errorClass, String stage) {
+    }
+
+    public record DeadLetter(UUID id, UUID flowId, String correlationId, FlowExecutionQueue.WorkType workType,
+                             UUID queueEntryId, UUID payloadId, String failedStage, String errorClass,
+                             String errorMessage, int attempts, LocalDateTime failedAt, String status,
+                             int reprocessAttempts, LocalDateTime reprocessedAt, String reprocessCorrelationId) {
+    }
+
+    public enum JobState {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    /**
+     * Progress of a bulk reprocess job.
+     */
+    public static final class ReprocessJob {
+        private final String id;
+        private final DeadLetterFilter filter;
+        private final double ratePerSecond;
+        private final int concurrency;
+        private final int total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger claimed = new AtomicInteger();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile JobState state = JobState.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String lastError;
+        private volatile boolean cancelled;
+
+        ReprocessJob(String id, DeadLetterFilter filter, double ratePerSecond, int concurrency, int total) {
+            this.id = id;
+            this.filter = filter;
+            this.ratePerSecond = ratePerSecond;
+            this.concurrency = concurrency;
+            this.total = total;
+        }
+
+        private void finish(JobState finalState, String error) {
+            if (error != null) {
+                lastError = error;
+            }
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        public String getId() { return id; }
+        public DeadLetterFilter getFilter() { return filter; }
+        public double getRatePerSecond() { return ratePerSecond; }
+        public int getConcurrency() { return concurrency; }
+        public int getTotal() { return total; }
+        public int getStarted() { return claimed.get(); }
+        public int getSucceeded() { return succeeded.get(); }
+        public int getFailed() { return failed.get(); }
+        public int getRunning() { return claimed.get() - succeeded.get() - failed.get(); }
+        public JobState getState() { return state; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+        public String getLastError() { return lastError; }
+
+        /**
+         * @return fraction of the dead letters counted at start that have been replayed
+         */
+        public double getProgress() {
+            return total == 0 ? 1.0 : Math.min(1.0, (succeeded.get() + failed.get()) / (double) total);
+        }
+    }
+}
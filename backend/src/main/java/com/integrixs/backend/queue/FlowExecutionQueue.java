@@ -0,0 +1,280 @@
+package com.integrixs.backend.queue;
+
+import com.integrixs.backend.service.MessageService;
+import com.integrixs.data.model.IntegrationFlow;
+import com.integrixs.data.model.SystemLog;
+import com.integrixs.data.repository.SystemLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * PostgreSQL-backed queue of accepted asynchronous flow work.
+ *
+ * <p>Work is inserted in the same transaction as the message log entry that reports it,
+ * so a message is either accepted durably or not at all. Workers claim batches with
+ * {@code FOR UPDATE SKIP LOCKED} under a lease; concurrent claimers never block on or
+ * receive the same rows. Work whose lease expires, because its node died or stalled, is
+ * made claimable again, which gives at-least-once execution. Completed work is deleted
+ * by its lease owner only, so a worker that lost its lease cannot remove a re-claimed row.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlowExecutionQueue {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO flow_execution_queue (id, work_type, flow_id, correlation_id, payload, max_attempts) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_FAILED_SQL =
+        "INSERT INTO flow_execution_queue (id, work_type, flow_id, correlation_id, payload, status, attempts, " +
+        "max_attempts, last_error) VALUES (?, ?, ?, ?, ?, 'FAILED', 1, 1, ?)";
+
+    private static final String CLAIM_SQL =
+        "UPDATE flow_execution_queue SET status = 'CLAIMED', lease_owner = ?, " +
+        "lease_expires_at = now() + ? * interval '1 millisecond', attempts = attempts + 1 " +
+        "WHERE id IN (SELECT id FROM flow_execution_queue " +
+        "             WHERE status = 'PENDING' AND available_at <= now() " +
+        "             ORDER BY available_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id, work_type, flow_id, correlation_id, payload, attempts, max_attempts";
+
+    private static final String COMPLETE_SQL =
+        "DELETE FROM flow_execution_queue WHERE id = ? AND lease_owner = ?";
+
+    private static final String RETRY_SQL =
+        "UPDATE flow_execution_queue SET status = 'PENDING', lease_owner = NULL, lease_expires_at = NULL, " +
+        "available_at = now() + ? * interval '1 millisecond', last_error = ? " +
+        "WHERE id = ? AND lease_owner = ?";
+
+    private static final String FAIL_SQL =
+        "UPDATE flow_execution_queue SET status = 'FAILED', lease_owner = NULL, lease_expires_at = NULL, " +
+        "last_error = ? WHERE id = ? AND lease_owner = ?";
+
+    private static final String RENEW_SQL =
+        "UPDATE flow_execution_queue SET lease_expires_at = now() + ? * interval '1 millisecond' " +
+        "WHERE lease_owner = ? AND id = ANY(?)";
+
+    private static final String RELEASE_EXPIRED_SQL =
+        "UPDATE flow_execution_queue SET status = 'PENDING', lease_owner = NULL, lease_expires_at = NULL, " +
+        "last_error = 'Lease expired' " +
+        "WHERE id IN (SELECT id FROM flow_execution_queue " +
+        "             WHERE status = 'CLAIMED' AND lease_expires_at < now() AND attempts < max_attempts " +
+        "             LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final String FAIL_EXPIRED_SQL =
+        "UPDATE flow_execution_queue SET status = 'FAILED', lease_owner = NULL, lease_expires_at = NULL, " +
+        "last_error = 'Lease expired' " +
+        "WHERE id IN (SELECT id FROM flow_execution_queue " +
+        "             WHERE status = 'CLAIMED' AND lease_expires_at < now() AND attempts >= max_attempts " +
+        "             LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id, work_type, flow_id, correlation_id, payload, attempts, max_attempts";
+
+    private static final String FIND_STATUS_SQL =
+        "SELECT flow_id, status, attempts, last_error, created_at FROM flow_execution_queue " +
+        "WHERE correlation_id = ? AND work_type = ? ORDER BY created_at DESC LIMIT 1";
+
+    private static final String CANCEL_PENDING_SQL =
+        "DELETE FROM flow_execution_queue WHERE correlation_id = ? AND work_type = ? AND status = 'PENDING'";
+
+    private static final RowMapper<QueuedWork> WORK_MAPPER = (rs, rowNum) -> new QueuedWork(
+        rs.getObject("id", UUID.class),
+        WorkType.valueOf(rs.getString("work_type")),
+        rs.getObject("flow_id", UUID.class),
+        rs.getString("correlation_id"),
+        rs.getString("payload"),
+        rs.getInt("attempts"),
+        rs.getInt("max_attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SystemLogRepository logRepository;
+    private final MessageService messageService;
+
+    @Value("${execution.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    public enum WorkType {
+        /** Run a flow: pull from its source adapter, or take the payload an endpoint received, and deliver to its target */
+        FLOW_EXECUTION,
+        /** Process a given message payload through a flow */
+        MESSAGE,
+        /** Run an orchestration flow on a given input; the correlation ID is its execution ID */
+        ORCHESTRATION
+    }
+
+    public record QueuedWork(UUID id, WorkType type, UUID flowId, String correlationId, String payload,
+                             int attempts, int maxAttempts) {
+    }
+
+    /**
+     * State of an entry still in the queue: PENDING, CLAIMED or FAILED
+     */
+    public record EntryStatus(UUID flowId, String status, int attempts, String lastError, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Accept work for a flow together with its message log entry.
+     *
+     * @param flow the flow
+     * @param type kind of work
+     * @param payload message payload, or null for a flow execution
+     * @param protocol source recorded on the message log entry
+     * @param correlationId correlation ID to use, or null for a new one
+     * @return the correlation ID of the accepted message
+     */
+    @Transactional
+    public String enqueue(IntegrationFlow flow, WorkType type, String payload, String protocol, String correlationId) {
+        String id = correlationId != null ? correlationId : UUID.randomUUID().toString();
+        logRepository.save(messageService.newMessageLog(flow, payload != null ? payload : "", protocol, id));
+        jdbcTemplate.update(INSERT_SQL, UUID.randomUUID(), type.name(), flow.getId(), id, payload, maxAttempts);
+        return id;
+    }
+
+    /**
+     * Accept several messages for a flow in one transaction and one JDBC batch.
+     *
+     * @return correlation IDs in payload order
+     */
+    @Transactional
+    public List<String> enqueueBatch(IntegrationFlow flow, List<String> payloads, String protocol) {
+        List<String> correlationIds = new ArrayList<>(payloads.size());
+        List<SystemLog> logs = new ArrayList<>(payloads.size());
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        for (String payload : payloads) {
+            String correlationId = UUID.randomUUID().toString();
+            correlationIds.add(correlationId);
+            logs.add(messageService.newMessageLog(flow, payload, protocol, correlationId));
+            rows.add(new Object[] {UUID.randomUUID(), WorkType.MESSAGE.name(), flow.getId(), correlationId, payload, maxAttempts});
+        }
+        logRepository.saveAll(logs);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return correlationIds;
+    }
+
+    /**
+     * Store the payload of a message that failed outside the queue as a failed entry, to
+     * be referenced by its dead letter.
+     *
+     * @return id of the entry
+     */
+    public UUID insertFailed(UUID flowId, WorkType type, String correlationId, String payload, String error) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(INSERT_FAILED_SQL, id, type.name(), flowId, correlationId, payload, error);
+        return id;
+    }
+
+    /**
+     * State of the latest entry with the correlation ID. Completed entries are deleted, so
+     * nothing is found for them.
+     */
+    public Optional<EntryStatus> findStatus(String correlationId, WorkType type) {
+        List<EntryStatus> found = jdbcTemplate.query(FIND_STATUS_SQL, (rs, rowNum) -> new EntryStatus(
+            rs.getObject("flow_id", UUID.class),
+            rs.getString("status"),
+            rs.getInt("attempts"),
+            rs.getString("last_error"),
+            rs.getTimestamp("created_at").toLocalDateTime()), correlationId, type.name());
+        return found.stream().findFirst();
+    }
+
+    /**
+     * Remove the entries with the correlation ID that no worker has claimed yet.
+     *
+     * @return whether an entry was removed
+     */
+    public boolean cancelPending(String correlationId, WorkType type) {
+        return jdbcTemplate.update(CANCEL_PENDING_SQL, correlationId, type.name()) > 0;
+    }
+
+    /**
+     * Claim up to {@code limit} pending entries, oldest first.
+     */
+    public List<QueuedWork> claim(String owner, int limit, long leaseMillis) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(CLAIM_SQL, WORK_MAPPER, owner, leaseMillis, limit);
+    }
+
+    /**
+     * Remove completed work.
+     *
+     * @return false if the lease was lost and the entry belongs to another worker now
+     */
+    public boolean complete(QueuedWork work, String owner) {
+        return jdbcTemplate.update(COMPLETE_SQL, work.id(), owner) > 0;
+    }
+
+    /**
+     * Record a failed attempt: the entry becomes claimable again after the backoff, or
+     * is marked failed once its attempts are used up.
+     *
+     * @return true if the entry will be retried
+     */
+    public boolean fail(QueuedWork work, String owner, String error, long backoffMillis) {
+        if (work.attempts() >= work.maxAttempts()) {
+            markFailed(work, owner, error);
+            return false;
+        }
+        jdbcTemplate.update(RETRY_SQL, backoffMillis, error, work.id(), owner);
+        return true;
+    }
+
+    /**
+     * Mark an entry failed for good; it stays in the queue as the payload of its dead letter.
+     *
+     * @return false if the lease was lost
+     */
+    public boolean markFailed(QueuedWork work, String owner, String error) {
+        return jdbcTemplate.update(FAIL_SQL, error, work.id(), owner) > 0;
+    }
+
+    /**
+     * Extend the leases of entries still being worked on.
+     */
+    public int renewLeases(String owner, Collection<UUID> ids, long leaseMillis) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(RENEW_SQL)) {
+                statement.setLong(1, leaseMillis);
+                statement.setString(2, owner);
+                statement.setArray(3, connection.createArrayOf("uuid", ids.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Make entries whose lease expired claimable again, if they have attempts left.
+     */
+    public int releaseExpiredLeases(int limit) {
+        return jdbcTemplate.update(RELEASE_EXPIRED_SQL, limit);
+    }
+
+    /**
+     * Mark entries failed whose lease expired on their last attempt.
+     *
+     * @return the failed entries
+     */
+    public List<QueuedWork> failExpiredLeases(int limit) {
+        return jdbcTemplate.query(FAIL_EXPIRED_SQL, WORK_MAPPER, limit);
+    }
+}
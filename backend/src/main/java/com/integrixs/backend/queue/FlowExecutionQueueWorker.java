@@ -0,0 +1,272 @@
+package com.integrixs.backend.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.backend.exception.FlowExecutionException;
+import com.integrixs.backend.service.FlowExecutionAsyncService;
+import com.integrixs.backend.service.MessageProcessingEngine;
+import com.integrixs.backend.service.OrchestrationEngineService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claims work from the {@link FlowExecutionQueue} and runs it on the flow executor.
+ *
+ * <p>A single poller thread claims as many entries as there are free execution slots,
+ * renews the leases of running entries every third of the lease time and releases
+ * expired leases of other nodes; an entry whose lease expired on its last attempt is
+ * moved to the dead letters instead. Failed entries are retried with exponential backoff
+ * until their attempts are used up, then moved to the {@link DeadLetterService}. On shutdown running entries are not completed;
+ * their leases expire and another node runs them again.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class FlowExecutionQueueWorker {
+
+    private final FlowExecutionQueue queue;
+    private final DeadLetterService deadLetterService;
+    private final FlowExecutionAsyncService flowExecutionAsyncService;
+    private final MessageProcessingEngine messageProcessingEngine;
+    private final OrchestrationEngineService orchestrationEngineService;
+    private final ExecutorService flowExecutor;
+    private final ObjectMapper objectMapper;
+    private final String owner;
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    @Value("${execution.queue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${execution.queue.batch-size:50}")
+    private int batchSize;
+
+    @Value("${execution.queue.max-in-flight:100}")
+    private int maxInFlight;
+
+    @Value("${execution.queue.lease-ms:300000}")
+    private long leaseMillis;
+
+    @Value("${execution.queue.poll-interval-ms:500}")
+    private long pollIntervalMillis;
+
+    @Value("${execution.queue.retry-backoff-ms:5000}")
+    private long retryBackoffMillis;
+
+    private Semaphore slots;
+    private Thread poller;
+    private volatile boolean active;
+
+    private final Counter completed;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter claimed;
+
+    public FlowExecutionQueueWorker(FlowExecutionQueue queue,
+                                    DeadLetterService deadLetterService,
+                                    FlowExecutionAsyncService flowExecutionAsyncService,
+                                    MessageProcessingEngine messageProcessingEngine,
+                                    OrchestrationEngineService orchestrationEngineService,
+                                    @Qualifier("flowExecutor") ExecutorService flowExecutor,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.deadLetterService = deadLetterService;
+        this.flowExecutionAsyncService = flowExecutionAsyncService;
+        this.messageProcessingEngine = messageProcessingEngine;
+        this.orchestrationEngineService = orchestrationEngineService;
+        this.flowExecutor = flowExecutor;
+        this.objectMapper = objectMapper;
+        this.owner = nodeName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.claimed = counter(meterRegistry, "claimed");
+        this.completed = counter(meterRegistry, "completed");
+        this.retried = counter(meterRegistry, "retried");
+        this.failed = counter(meterRegistry, "failed");
+        Gauge.builder("flow.queue.running", running, Set::size)
+            .description("Queued flow work running on this node")
+            .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("flow.queue.work")
+            .description("Queued flow work by outcome")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Flow execution queue worker disabled");
+            return;
+        }
+        slots = new Semaphore(Math.max(1, maxInFlight));
+        active = true;
+        poller = new Thread(this::poll, "flow-queue-poller");
+        poller.setDaemon(true);
+        poller.start();
+        log.info("Flow execution queue worker {} started (batch {}, max {} in flight, lease {} ms)",
+                 owner, batchSize, maxInFlight, leaseMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        active = false;
+        if (poller != null) {
+            poller.interrupt();
+            try {
+                poller.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!running.isEmpty()) {
+            log.info("{} queued executions still running; their leases will expire and be re-claimed", running.size());
+        }
+    }
+
+    private void poll() {
+        long leaseCheckInterval = Math.max(1000, leaseMillis / 3);
+        long nextLeaseCheck = System.currentTimeMillis() + leaseCheckInterval;
+        while (active) {
+            try {
+                if (System.currentTimeMillis() >= nextLeaseCheck) {
+                    maintainLeases();
+                    nextLeaseCheck = System.currentTimeMillis() + leaseCheckInterval;
+                }
+
+                int free = Math.min(batchSize, slots.availablePermits());
+                if (free == 0 || !slots.tryAcquire(free)) {
+                    Thread.sleep(Math.min(pollIntervalMillis, 50));
+                    continue;
+                }
+                List<FlowExecutionQueue.QueuedWork> batch;
+                try {
+                    batch = queue.claim(owner, free, leaseMillis);
+                } catch (RuntimeException e) {
+                    slots.release(free);
+                    throw e;
+                }
+                slots.release(free - batch.size());
+                claimed.increment(batch.size());
+                for (FlowExecutionQueue.QueuedWork work : batch) {
+                    dispatch(work);
+                }
+                if (batch.size() < free) {
+                    // Queue drained; a full batch means more work is probably waiting
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Flow execution queue poll failed: {}", e.getMessage());
+                sleepQuietly(pollIntervalMillis * 4);
+            }
+        }
+    }
+
+    private void dispatch(FlowExecutionQueue.QueuedWork work) {
+        running.add(work.id());
+        try {
+            flowExecutor.execute(() -> execute(work));
+        } catch (RejectedExecutionException e) {
+            running.remove(work.id());
+            slots.release();
+            queue.fail(work, owner, "Flow executor rejected the work", retryBackoffMillis);
+        }
+    }
+
+    private void execute(FlowExecutionQueue.QueuedWork work) {
+        try {
+            switch (work.type()) {
+                case FLOW_EXECUTION:
+                    // The payload is set when an endpoint accepted the message; otherwise the source is polled
+                    flowExecutionAsyncService.executeFlow(work.flowId().toString(), work.correlationId(), work.payload());
+                    break;
+                case MESSAGE:
+                    Object message = work.payload() != null ? objectMapper.readValue(work.payload(), Object.class) : null;
+                    MessageProcessingEngine.ProcessingResult result =
+                        messageProcessingEngine.processMessage(work.flowId().toString(), message);
+                    if (!result.isSuccess()) {
+                        throw new FlowExecutionException(FlowExecutionException.PROCESSING, result.getMessage());
+                    }
+                    break;
+                case ORCHESTRATION:
+                    orchestrationEngineService.executeQueuedOrchestration(work.flowId(), work.payload(), work.correlationId());
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown work type: " + work.type());
+            }
+            if (queue.complete(work, owner)) {
+                completed.increment();
+            } else {
+                log.warn("Lease on queued work {} ({}) was lost before completion", work.id(), work.correlationId());
+            }
+        } catch (Exception e) {
+            long backoff = retryBackoffMillis << Math.min(10, Math.max(0, work.attempts() - 1));
+            try {
+                if (deadLetterService.recordFailure(work, owner, e, backoff)) {
+                    retried.increment();
+                    log.warn("Queued work {} ({}) failed on attempt {}, retrying in {} ms: {}",
+                             work.id(), work.correlationId(), work.attempts(), backoff, e.getMessage());
+                } else {
+                    failed.increment();
+                    log.error("Queued work {} ({}) failed after {} attempts, moved to dead letters: {}",
+                              work.id(), work.correlationId(), work.attempts(), e.getMessage());
+                }
+            } catch (Exception recordFailure) {
+                log.error("Failed to record failure of queued work {}: {}", work.id(), recordFailure.getMessage());
+            }
+        } finally {
+            running.remove(work.id());
+            slots.release();
+        }
+    }
+
+    private void maintainLeases() {
+        int renewed = queue.renewLeases(owner, Set.copyOf(running), leaseMillis);
+        int released = queue.releaseExpiredLeases(Math.max(batchSize, 100));
+        if (released > 0) {
+            log.warn("Released {} queued executions with expired leases", released);
+        }
+        int dead = deadLetterService.captureExpiredLeases(Math.max(batchSize, 100));
+        if (dead > 0) {
+            log.error("Moved {} queued executions to dead letters after their last lease expired", dead);
+        }
+        log.debug("Renewed {} leases", renewed);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.integrixs.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.integrixs.data.model.User;
+import com.integrixs.data.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of authenticated principals keyed by access token.
+ * 
+ * <p>Each entry holds the parsed token claims and the resolved {@link User}, so a
+ * request carrying a known token needs neither signature verification nor a user
+ * lookup. Entries expire together with their token and are evicted when the user's
+ * role or status changes.
+ * 
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class AuthenticatedPrincipalCache {
+    
+    /**
+     * Request attribute under which the resolved principal is shared between filters.
+     */
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedPrincipalCache.class.getName() + ".PRINCIPAL";
+    
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+    private final Cache<String, ResolvedPrincipal> principals;
+    
+    public AuthenticatedPrincipalCache(JwtUtil jwtUtil,
+                                       UserRepository userRepository,
+                                       @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry())
+            .build();
+    }
+    
+    /**
+     * Resolves the principal for a bearer token.
+     * 
+     * @param token the raw JWT
+     * @return the resolved principal, or null if the token is invalid or expired
+     */
+    public ResolvedPrincipal resolve(String token) {
+        ResolvedPrincipal cached = principals.getIfPresent(token);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        
+        String username = claims.getSubject();
+        User user = username != null ? userRepository.findByUsername(username) : null;
+        long expiresAt = claims.getExpiration() != null
+            ? claims.getExpiration().getTime()
+            : System.currentTimeMillis() + jwtUtil.getExpirationMillis();
+        
+        ResolvedPrincipal principal = new ResolvedPrincipal(username, claims.get("role", String.class), user, expiresAt);
+        principals.put(token, principal);
+        return principal;
+    }
+    
+    /**
+     * Evicts all cached principals of a user, e.g. after a role or status change.
+     * 
+     * @param username the username
+     */
+    public void invalidateUser(String username) {
+        if (username == null) {
+            return;
+        }
+        principals.asMap().values().removeIf(p -> username.equals(p.username()));
+        log.debug("Invalidated cached principals for user: {}", username);
+    }
+    
+    /**
+     * Evicts all cached principals.
+     */
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+    
+    public long size() {
+        return principals.estimatedSize();
+    }
+    
+    /**
+     * Parsed token claims and the user they resolve to.
+     * 
+     * @param username the token subject
+     * @param role the role claim, null for tokens issued without one
+     * @param user the user entity, null if the user no longer exists
+     * @param expiresAtMillis token expiry as epoch milliseconds
+     */
+    public record ResolvedPrincipal(String username, String role, User user, long expiresAtMillis) {
+        
+        public boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+    }
+    
+    /**
+     * Expires each entry at the expiry time of its token.
+     */
+    private static class TokenExpiry implements Expiry<String, ResolvedPrincipal> {
+        
+        @Override
+        public long expireAfterCreate(String key, ResolvedPrincipal value, long currentTime) {
+            long remaining = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, ResolvedPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, ResolvedPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -17,14 +17,16 @@ import java.util.Collections;
 import java.util.List;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
-import com.integrixs.data.repository.UserRepository;
+import com.integrixs.backend.security.AuthenticatedPrincipalCache.ResolvedPrincipal;
 import com.integrixs.data.model.User;
+import lombok.extern.slf4j.Slf4j;
 
 
+@Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private UserRepository userRepository;
+    private AuthenticatedPrincipalCache principalCache;
 
     @Autowired
     public JwtAuthFilter(JwtUtil jwtUtil) {
@@ -32,8 +34,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     }
     
     @Autowired
-    public void setUserRepository(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public void setPrincipalCache(AuthenticatedPrincipalCache principalCache) {
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -47,25 +49,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
+            // Claims and user are resolved once per token and shared via the request
+            ResolvedPrincipal principal = resolve(token);
+
+            if (principal != null) {
+                String username = principal.username();
+                String role = principal.role();
                 
-                System.out.println("JWT Auth - Username: " + username + ", Role: " + role);
+                log.debug("JWT Auth - Username: {}, Role: {}", username, role);
                 
                 if (role == null) {
                     // For old tokens without role, invalidate them
-                    System.out.println("JWT Auth - Token missing role information, rejecting");
+                    log.debug("JWT Auth - Token missing role information, rejecting");
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     response.getWriter().write("{\"message\":\"Token missing required role information. Please login again.\"}");
                     return;
                 }
                 
-                // Load the User entity from the database
-                User user = null;
-                if (userRepository != null) {
-                    user = userRepository.findByUsername(username);
-                }
+                User user = principal.user();
                 
                 // Create authorities list with ROLE_ prefix for Spring Security
                 // Convert role to uppercase to match Spring Security expectations
@@ -73,8 +74,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())
                 );
                 
-                System.out.println("JWT Auth - Authorities: " + authorities);
-                
                 // Set either the User entity or username as principal
                 var auth = new UsernamePasswordAuthenticationToken(
                         user != null ? user : username,
@@ -83,16 +82,29 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 );
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
+                request.setAttribute(AuthenticatedPrincipalCache.REQUEST_ATTRIBUTE, principal);
                 
-                System.out.println("JWT Auth - Authentication set for: " + request.getRequestURI() + " with principal: " + (user != null ? "User entity" : "username"));
+                log.debug("JWT Auth - Authentication set for: {} with principal: {}", 
+                        request.getRequestURI(), user != null ? "User entity" : "username");
             } else {
-                System.out.println("JWT Auth - Invalid token for: " + request.getRequestURI());
+                log.debug("JWT Auth - Invalid token for: {}", request.getRequestURI());
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private ResolvedPrincipal resolve(String token) {
+        if (principalCache != null) {
+            return principalCache.resolve(token);
+        }
+        if (!jwtUtil.validateToken(token)) {
+            return null;
+        }
+        return new ResolvedPrincipal(jwtUtil.extractUsername(token), jwtUtil.extractRole(token), null,
+                System.currentTimeMillis() + jwtUtil.getExpirationMillis());
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
@@ -64,6 +64,15 @@ public class JwtUtil {
         return role;
     }
     
+    /**
+     * Verifies the token and returns its claims in a single parse.
+     *
+     * @throws JwtException if the token is invalid or expired
+     */
+    public Claims parseClaims(String token) {
+        return extractClaims(token);
+    }
+
     private Claims extractClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(signingKey)
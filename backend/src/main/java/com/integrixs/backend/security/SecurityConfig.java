@@ -40,9 +40,9 @@ public class SecurityConfig {
     private String[] allowedOrigins;
 
     @Bean
-    public JwtAuthFilter jwtAuthFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthFilter jwtAuthFilter(JwtUtil jwtUtil, AuthenticatedPrincipalCache principalCache) {
         JwtAuthFilter filter = new JwtAuthFilter(jwtUtil);
-        filter.setUserRepository(userRepository);
+        filter.setPrincipalCache(principalCache);
         return filter;
     }
 
@@ -43,9 +43,9 @@ public class UserContextFilter extends OncePerRequestFilter {
                 
                 String username = authentication.getName();
                 
-                // Try to get user from database
+                // Reuse the user resolved by JwtAuthFilter, falling back to the database
                 try {
-                    User user = userRepository.findByUsername(username);
+                    User user = resolveUser(request, authentication);
                     if (user != null) {
                         // Set user context for audit
                         UserContext.setCurrentUser(user.getId(), user.getEmail());
@@ -64,4 +64,16 @@ public class UserContextFilter extends OncePerRequestFilter {
             UserContext.clear();
         }
     }
+    
+    private User resolveUser(HttpServletRequest request, Authentication authentication) {
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        Object resolved = request.getAttribute(AuthenticatedPrincipalCache.REQUEST_ATTRIBUTE);
+        if (resolved instanceof AuthenticatedPrincipalCache.ResolvedPrincipal principal
+                && authentication.getName().equals(principal.username())) {
+            return principal.user();
+        }
+        return userRepository.findByUsername(authentication.getName());
+    }
 }
\ No newline at end of file
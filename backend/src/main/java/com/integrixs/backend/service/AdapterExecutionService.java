@@ -46,29 +46,44 @@ public class AdapterExecutionService {
     @Autowired
     private IntegrationFlowRepository flowRepository;
     
+    @Autowired
+    private NotificationService notificationService;
+    
     /**
      * Execute an adapter with the given message
      */
     public String executeAdapter(CommunicationAdapter adapter, String message, Map<String, Object> context) throws Exception {
         logger.info("Executing adapter: {} ({})", adapter.getName(), adapter.getType());
         
-        switch (adapter.getType()) {
-            case SOAP:
-                return executeSoapAdapter(adapter, message, context);
-                
-            case REST:
-            case HTTP:
-                return executeHttpAdapter(adapter, message, context);
-                
-            case FILE:
-                return executeFileAdapter(adapter, message, context);
-                
-            case FTP:
-            case SFTP:
-                return executeFtpAdapter(adapter, message, context);
-                
-            default:
-                throw new UnsupportedOperationException("Adapter type not supported: " + adapter.getType());
+        try {
+            switch (adapter.getType()) {
+                case SOAP:
+                    return executeSoapAdapter(adapter, message, context);
+                    
+                case REST:
+                case HTTP:
+                    return executeHttpAdapter(adapter, message, context);
+                    
+                case FILE:
+                    return executeFileAdapter(adapter, message, context);
+                    
+                case FTP:
+                case SFTP:
+                    return executeFtpAdapter(adapter, message, context);
+                    
+                default:
+                    throw new UnsupportedOperationException("Adapter type not supported: " + adapter.getType());
+            }
+        } catch (Exception e) {
+            // Aggregated per flow, adapter and error class, so a failing target yields one digest per window
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            notificationService.sendSystemAlert(
+                (String) context.get("flowId"),
+                adapter.getId() != null ? adapter.getId().toString() : adapter.getName(),
+                cause.getClass().getName(),
+                "Adapter " + adapter.getName() + " failed",
+                e.getMessage());
+            throw e;
         }
     }
     
@@ -85,7 +100,7 @@ public class AdapterExecutionService {
         
         // Log the incoming payload (what the adapter receives)
         if (correlationId != null) {
-            messageService.logAdapterPayload(correlationId, adapter, "REQUEST", message, "OUTBOUND");
+            messageService.logAdapterPayload(correlationId, flowId, adapter, "REQUEST", message, "OUTBOUND");
         }
         
         // Log adapter execution start
@@ -217,7 +232,7 @@ public class AdapterExecutionService {
             // Check if this is a SOAP endpoint flow (where IntegrationEndpointService will log the final response)
             boolean isEndpointFlow = context.get("isEndpointFlow") != null && (boolean) context.get("isEndpointFlow");
             if (correlationId != null && !isEndpointFlow) {
-                messageService.logAdapterPayload(correlationId, adapter, "RESPONSE", response.getBody(), "OUTBOUND");
+                messageService.logAdapterPayload(correlationId, flowId, adapter, "RESPONSE", response.getBody(), "OUTBOUND");
             }
             
             // Log successful response
@@ -286,7 +301,7 @@ public class AdapterExecutionService {
         
         // Log the incoming payload (what the adapter receives)
         if (correlationId != null) {
-            messageService.logAdapterPayload(correlationId, adapter, "REQUEST", message, "OUTBOUND");
+            messageService.logAdapterPayload(correlationId, (String) context.get("flowId"), adapter, "REQUEST", message, "OUTBOUND");
         }
         
         HttpHeaders headers = new HttpHeaders();
@@ -315,7 +330,7 @@ public class AdapterExecutionService {
             // Check if this is a SOAP endpoint flow (where IntegrationEndpointService will log the final response)
             boolean isEndpointFlow = context.get("isEndpointFlow") != null && (boolean) context.get("isEndpointFlow");
             if (correlationId != null && !isEndpointFlow) {
-                messageService.logAdapterPayload(correlationId, adapter, "RESPONSE", response.getBody(), "OUTBOUND");
+                messageService.logAdapterPayload(correlationId, (String) context.get("flowId"), adapter, "RESPONSE", response.getBody(), "OUTBOUND");
             }
             
             return response.getBody();
@@ -399,6 +414,8 @@ public class AdapterExecutionService {
                 config
             );
             
+            // Adapters created per message share the breaker and retry budget of their configuration
+            receiverAdapter.setAdapterId(String.valueOf(adapter.getId()));
             receiverAdapter.initialize();
             try {
                 com.integrixs.adapters.core.AdapterResult result = receiverAdapter.receive(message);
@@ -448,6 +465,7 @@ public class AdapterExecutionService {
                 config
             );
             
+            senderAdapter.setAdapterId(String.valueOf(adapter.getId()));
             senderAdapter.initialize();
             try {
                 com.integrixs.adapters.core.AdapterResult result = senderAdapter.send(null, context);
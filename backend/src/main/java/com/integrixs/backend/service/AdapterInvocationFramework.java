@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import javax.sql.DataSource;
 import java.net.URL;
@@ -20,14 +21,21 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 @Service
 public class AdapterInvocationFramework {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final RestTemplate restTemplate = new RestTemplate();
     private final Map<String, AdapterConnection> activeConnections = new ConcurrentHashMap<>();
     
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("flowExecutor")
+    private ExecutorService flowExecutor;
+    
     @Autowired(required = false)
     private DataSource dataSource;
 
@@ -63,7 +71,7 @@ public class AdapterInvocationFramework {
      * Invoke adapter asynchronously
      */
     public CompletableFuture<AdapterInvocationResult> invokeAdapterAsync(AdapterInvocationRequest request) {
-        return CompletableFuture.supplyAsync(() -> invokeAdapter(request));
+        return CompletableFuture.supplyAsync(() -> invokeAdapter(request), flowExecutor);
     }
 
     /**
@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.UUID;
@@ -28,6 +29,11 @@ public class AdapterMonitoringService {
     
     // In-memory status tracking (in production, this would be in a cache or database)
     private final ConcurrentHashMap<String, AdapterStatusDTO> adapterStatuses = new ConcurrentHashMap<>();
+
+    // Adapter statistics are computed over recent logs only, at most the newest
+    // ACTIVITY_SAMPLE_LIMIT entries (the limit of the repository query)
+    private static final int ACTIVITY_WINDOW_HOURS = 24;
+    private static final int ACTIVITY_SAMPLE_LIMIT = 500;
     
     @Transactional(readOnly = true)
     public List<AdapterStatusDTO> getAdapterStatuses(String businessComponentId) {
@@ -131,8 +137,9 @@ public class AdapterMonitoringService {
         try {
             // Count flow executions for this adapter
             String searchPattern = String.format("adapter: %s", adapter.getName());
-            List<SystemLog> adapterLogs = systemLogRepository.findByMessageContainingAndSourceOrderByTimestampDesc(
-                searchPattern, "FlowExecutionAsyncService"
+            LocalDateTime windowStart = LocalDateTime.now().minusHours(ACTIVITY_WINDOW_HOURS);
+            List<SystemLog> adapterLogs = systemLogRepository.findTop500ByMessageContainingAndSourceAndTimestampAfterOrderByTimestampDesc(
+                searchPattern, "FlowExecutionAsyncService", windowStart
             );
             
             // Count successful messages
@@ -147,6 +154,8 @@ public class AdapterMonitoringService {
             
             status.setMessagesProcessed(successCount);
             status.setErrorsCount(errorCount);
+            status.setActivityWindowHours(ACTIVITY_WINDOW_HOURS);
+            status.setActivityCountsTruncated(adapterLogs.size() >= ACTIVITY_SAMPLE_LIMIT);
             
             // Get last activity time and check for recent errors
             LocalDateTime lastActivity = null;
@@ -163,11 +172,11 @@ public class AdapterMonitoringService {
                 }
             } else {
                 // Try to find any log mentioning this adapter
-                List<SystemLog> anyAdapterLogs = systemLogRepository.findByMessageContainingOrderByTimestampDesc(
-                    adapter.getName()
+                Optional<SystemLog> anyAdapterLog = systemLogRepository.findFirstByMessageContainingAndTimestampAfterOrderByTimestampDesc(
+                    adapter.getName(), windowStart
                 );
-                if (!anyAdapterLogs.isEmpty()) {
-                    SystemLog mostRecentLog = anyAdapterLogs.get(0);
+                if (anyAdapterLog.isPresent()) {
+                    SystemLog mostRecentLog = anyAdapterLog.get();
                     lastActivity = mostRecentLog.getTimestamp();
                     status.setLastActivity(lastActivity);
                     
@@ -3,164 +3,446 @@ package com.integrixs.backend.service;
 import com.integrixs.data.model.AuditTrail;
 import com.integrixs.data.model.User;
 import com.integrixs.data.repository.AuditTrailRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for managing audit trail entries.
- * 
+ *
  * <p>Provides methods to log and retrieve audit information for all CRUD operations.
- * 
+ * Entries are built on the calling thread, where the user and request are known, and
+ * queued for a single writer thread that inserts them in JDBC batches. Updates are
+ * recorded as the changed fields only, and several updates of the same entity by the
+ * same user within one batch are merged into a single entry. When the queue is full,
+ * {@code audit.trail.overflow-policy} decides whether the entry is written on the
+ * calling thread or dropped. A batch that cannot get a transaction, because the database
+ * is unreachable, is queued again and the writer backs off; entries that no longer fit
+ * are counted as dropped.
+ *
  * @author Integration Team
  * @since 1.0.0
  */
 @Service
-@Transactional
 public class AuditTrailService {
-    
+
     private static final Logger log = LoggerFactory.getLogger(AuditTrailService.class);
-    
+
+    private static final String INSERT_AUDIT_SQL =
+        "INSERT INTO audit_trail (id, entity_type, entity_id, action, changes, user_id, user_ip, user_agent, created_at) " +
+        "VALUES (?, ?, ?, ?, CAST(? AS json), ?, ?, ?, ?)";
+
     @Autowired
     private AuditTrailRepository auditTrailRepository;
-    
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
-    private UserService userService;
-    
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    
+    private ObjectMapper objectMapper;
+
+    @Value("${audit.trail.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.trail.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.trail.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${audit.trail.overflow-policy:WRITE_THROUGH}")
+    private OverflowPolicy overflowPolicy;
+
+    private BlockingQueue<PendingAudit> pendingEntries;
+    private TransactionTemplate batchTransaction;
+    private Thread writerThread;
+    private volatile boolean running;
+    private final AtomicLong droppedEntries = new AtomicLong();
+
+    /**
+     * What happens to an entry when the queue is full
+     */
+    public enum OverflowPolicy {
+        /** Write the entry on the calling thread */
+        WRITE_THROUGH,
+        /** Discard the entry; discarded entries are counted and reported */
+        DROP
+    }
+
+    @PostConstruct
+    public void init() {
+        pendingEntries = new LinkedBlockingQueue<>(queueCapacity);
+        batchTransaction = new TransactionTemplate(transactionManager);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-trail-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        log.info("Audit trail writer started (batch size: {}, queue capacity: {}, overflow policy: {})",
+                batchSize, queueCapacity, overflowPolicy);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        log.info("Audit trail writer stopped");
+    }
+
     /**
      * Log a CREATE operation
      */
-    @Async
     public void logCreate(String entityType, String entityId, Object newEntity) {
         try {
-            AuditTrail audit = buildAuditEntry(entityType, entityId, AuditTrail.AuditAction.CREATE);
-            
             // Store the new entity state
             ObjectNode changes = objectMapper.createObjectNode();
             changes.set("new", objectMapper.valueToTree(newEntity));
-            audit.setChanges(changes.toString());
-            
-            auditTrailRepository.save(audit);
-            log.debug("Created audit entry for CREATE operation on {} with ID {}", entityType, entityId);
+            enqueue(buildAuditEntry(entityType, entityId, AuditTrail.AuditAction.CREATE, changes));
         } catch (Exception e) {
             log.error("Failed to create audit entry for CREATE operation", e);
         }
     }
-    
+
     /**
-     * Log an UPDATE operation
+     * Log an UPDATE operation. Only the fields that differ between the two states are
+     * recorded; an update that changes nothing is not recorded.
      */
-    @Async
     public void logUpdate(String entityType, String entityId, Object oldEntity, Object newEntity) {
         try {
-            AuditTrail audit = buildAuditEntry(entityType, entityId, AuditTrail.AuditAction.UPDATE);
-            
-            // Store both old and new states
+            JsonNode newState = objectMapper.valueToTree(newEntity);
             ObjectNode changes = objectMapper.createObjectNode();
-            changes.set("old", objectMapper.valueToTree(oldEntity));
-            changes.set("new", objectMapper.valueToTree(newEntity));
-            audit.setChanges(changes.toString());
-            
-            auditTrailRepository.save(audit);
-            log.debug("Created audit entry for UPDATE operation on {} with ID {}", entityType, entityId);
+            if (oldEntity == null) {
+                // Previous state unknown, record the new state as a whole
+                changes.set("new", newState);
+            } else {
+                ObjectNode changed = objectMapper.createObjectNode();
+                diff(null, objectMapper.valueToTree(oldEntity), newState, changed);
+                if (changed.isEmpty()) {
+                    log.debug("Skipped audit entry for unchanged {} with ID {}", entityType, entityId);
+                    return;
+                }
+                changes.set("changed", changed);
+            }
+            enqueue(buildAuditEntry(entityType, entityId, AuditTrail.AuditAction.UPDATE, changes));
         } catch (Exception e) {
             log.error("Failed to create audit entry for UPDATE operation", e);
         }
     }
-    
+
     /**
      * Log a DELETE operation
      */
-    @Async
     public void logDelete(String entityType, String entityId, Object oldEntity) {
         try {
-            AuditTrail audit = buildAuditEntry(entityType, entityId, AuditTrail.AuditAction.DELETE);
-            
             // Store the deleted entity state
             ObjectNode changes = objectMapper.createObjectNode();
             changes.set("old", objectMapper.valueToTree(oldEntity));
-            audit.setChanges(changes.toString());
-            
-            auditTrailRepository.save(audit);
-            log.debug("Created audit entry for DELETE operation on {} with ID {}", entityType, entityId);
+            enqueue(buildAuditEntry(entityType, entityId, AuditTrail.AuditAction.DELETE, changes));
         } catch (Exception e) {
             log.error("Failed to create audit entry for DELETE operation", e);
         }
     }
-    
+
     /**
      * Log a custom action
      */
-    @Async
     public void logAction(String entityType, String entityId, AuditTrail.AuditAction action, Map<String, Object> details) {
         try {
-            AuditTrail audit = buildAuditEntry(entityType, entityId, action);
-            
-            if (details != null && !details.isEmpty()) {
-                audit.setChanges(objectMapper.writeValueAsString(details));
-            }
-            
-            auditTrailRepository.save(audit);
-            log.debug("Created audit entry for {} operation on {} with ID {}", action, entityType, entityId);
+            ObjectNode changes = details != null && !details.isEmpty() ? objectMapper.valueToTree(details) : null;
+            enqueue(buildAuditEntry(entityType, entityId, action, changes));
         } catch (Exception e) {
             log.error("Failed to create audit entry for {} operation", action, e);
         }
     }
-    
+
     /**
-     * Build a basic audit entry with common fields
+     * Writes all queued entries on the calling thread. Stops early, leaving the entries
+     * queued, if the database cannot be reached.
      */
-    private AuditTrail buildAuditEntry(String entityType, String entityId, AuditTrail.AuditAction action) {
-        AuditTrail audit = new AuditTrail();
-        audit.setEntityType(entityType);
-        audit.setEntityId(entityId);
-        audit.setAction(action);
-        
+    public void flush() {
+        List<PendingAudit> batch = new ArrayList<>(batchSize);
+        while (pendingEntries.drainTo(batch, batchSize) > 0) {
+            boolean written = writeBatch(batch);
+            batch.clear();
+            if (!written) {
+                log.warn("Audit trail flush stopped, {} entries still queued", pendingEntries.size());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of entries waiting to be written.
+     */
+    public int getPendingEntryCount() {
+        return pendingEntries.size();
+    }
+
+    /**
+     * Gets the number of entries dropped because the queue was full.
+     */
+    public long getDroppedEntryCount() {
+        return droppedEntries.get();
+    }
+
+    private void enqueue(PendingAudit entry) {
+        if (pendingEntries.offer(entry)) {
+            log.debug("Queued audit entry for {} operation on {} with ID {}", entry.action, entry.entityType, entry.entityId);
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            droppedEntries.incrementAndGet();
+            return;
+        }
+        log.debug("Audit queue full, writing entry for {} with ID {} synchronously", entry.entityType, entry.entityId);
+        insertEntry(entry);
+    }
+
+    /**
+     * Build an audit entry with common fields. Runs on the calling thread, where the
+     * security context and request are available.
+     */
+    private PendingAudit buildAuditEntry(String entityType, String entityId, AuditTrail.AuditAction action,
+                                         ObjectNode changes) {
+        PendingAudit audit = new PendingAudit();
+        audit.id = UUID.randomUUID();
+        audit.entityType = entityType;
+        audit.entityId = entityId;
+        audit.action = action;
+        audit.changes = changes;
+        audit.createdAt = LocalDateTime.now();
+
         // Get current user
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null && auth.isAuthenticated()) {
-            try {
-                // TODO: Implement user lookup by username
-                // User user = userService.findByUsername(auth.getName());
-                // if (user != null) {
-                //     audit.setUser(user);
-                // }
-            } catch (Exception e) {
-                log.warn("Could not retrieve user for audit entry", e);
-            }
+        if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof User user) {
+            audit.userId = user.getId();
         }
-        
+
         // Get request details
-        ServletRequestAttributes attr = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
-        if (attr != null) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes attr) {
             HttpServletRequest request = attr.getRequest();
-            audit.setUserIp(getClientIpAddress(request));
-            audit.setUserAgent(request.getHeader("User-Agent"));
+            audit.userIp = getClientIpAddress(request);
+            audit.userAgent = request.getHeader("User-Agent");
         }
-        
+
         return audit;
     }
-    
+
+    /**
+     * Collect the fields that differ between two states. Nested objects are compared field
+     * by field under dotted paths; arrays and values are compared as a whole.
+     */
+    private void diff(String path, JsonNode oldNode, JsonNode newNode, ObjectNode changed) {
+        if (oldNode != null && newNode != null && oldNode.isObject() && newNode.isObject()) {
+            Iterator<String> oldFields = oldNode.fieldNames();
+            while (oldFields.hasNext()) {
+                String field = oldFields.next();
+                diff(childPath(path, field), oldNode.get(field), newNode.get(field), changed);
+            }
+            Iterator<String> newFields = newNode.fieldNames();
+            while (newFields.hasNext()) {
+                String field = newFields.next();
+                if (!oldNode.has(field)) {
+                    diff(childPath(path, field), null, newNode.get(field), changed);
+                }
+            }
+            return;
+        }
+        if (!Objects.equals(oldNode, newNode)) {
+            ObjectNode change = changed.putObject(path != null ? path : "value");
+            change.set("old", oldNode);
+            change.set("new", newNode);
+        }
+    }
+
+    private static String childPath(String path, String field) {
+        return path != null ? path + "." + field : field;
+    }
+
+    private void runWriter() {
+        List<PendingAudit> batch = new ArrayList<>(batchSize);
+        long lastDropReport = 0;
+        while (running) {
+            try {
+                PendingAudit first = pendingEntries.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                long dropped = droppedEntries.get();
+                if (dropped > lastDropReport) {
+                    log.warn("Audit queue full, dropped {} entries ({} in total)", dropped - lastDropReport, dropped);
+                    lastDropReport = dropped;
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pendingEntries.drainTo(batch, batchSize - 1);
+                if (!writeBatch(batch)) {
+                    // Requeued; give the database time to come back
+                    Thread.sleep(flushIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Audit trail writer failed to write {} entries", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch in one transaction after merging repeated updates, falling back to
+     * individual inserts when the batch is rejected (e.g. a user deleted meanwhile). A
+     * batch that cannot get a transaction is queued again, since individual inserts would
+     * fail the same way.
+     *
+     * @return false if the batch was queued again
+     */
+    private boolean writeBatch(List<PendingAudit> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        List<PendingAudit> entries = coalesce(batch);
+        try {
+            batchTransaction.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_AUDIT_SQL, entries, entries.size(), this::bindEntry));
+        } catch (DataAccessException e) {
+            log.debug("Audit batch of {} rejected, retrying individually: {}", entries.size(), e.getMessage());
+            for (PendingAudit entry : entries) {
+                insertEntry(entry);
+            }
+        } catch (TransactionException e) {
+            int requeued = 0;
+            for (PendingAudit entry : entries) {
+                if (pendingEntries.offer(entry)) {
+                    requeued++;
+                } else {
+                    droppedEntries.incrementAndGet();
+                }
+            }
+            log.warn("Audit batch of {} could not be written, requeued {}: {}", entries.size(), requeued, e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Merge updates of the same entity by the same user into the first of them: each field
+     * keeps its oldest old value and its latest new value, and fields that end up unchanged
+     * are removed.
+     */
+    private List<PendingAudit> coalesce(List<PendingAudit> batch) {
+        List<PendingAudit> entries = new ArrayList<>(batch.size());
+        Map<String, PendingAudit> updates = new LinkedHashMap<>();
+        for (PendingAudit entry : batch) {
+            JsonNode changed = entry.changes != null ? entry.changes.get("changed") : null;
+            if (entry.action != AuditTrail.AuditAction.UPDATE || changed == null) {
+                entries.add(entry);
+                continue;
+            }
+            String key = entry.entityType + '/' + entry.entityId + '/' + entry.userId;
+            PendingAudit merged = updates.get(key);
+            if (merged == null) {
+                updates.put(key, entry);
+                entries.add(entry);
+                continue;
+            }
+            ObjectNode mergedChanged = (ObjectNode) merged.changes.get("changed");
+            Iterator<Map.Entry<String, JsonNode>> fields = changed.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode previous = mergedChanged.get(field.getKey());
+                if (previous == null) {
+                    mergedChanged.set(field.getKey(), field.getValue());
+                } else if (Objects.equals(previous.get("old"), field.getValue().get("new"))) {
+                    mergedChanged.remove(field.getKey());
+                } else {
+                    ((ObjectNode) previous).set("new", field.getValue().get("new"));
+                }
+            }
+            merged.changes.put("coalesced", merged.changes.path("coalesced").asInt(1) + 1);
+            merged.createdAt = entry.createdAt;
+            merged.userIp = entry.userIp;
+            merged.userAgent = entry.userAgent;
+        }
+        // Updates that cancelled each other out
+        entries.removeIf(entry -> entry.action == AuditTrail.AuditAction.UPDATE && entry.changes != null
+                && entry.changes.has("changed") && entry.changes.get("changed").isEmpty());
+        return entries;
+    }
+
+    private void insertEntry(PendingAudit entry) {
+        try {
+            jdbcTemplate.update(INSERT_AUDIT_SQL, ps -> bindEntry(ps, entry));
+        } catch (DataAccessException e) {
+            log.error("Failed to write audit entry for {} operation on {} with ID {}",
+                    entry.action, entry.entityType, entry.entityId, e);
+        }
+    }
+
+    private void bindEntry(PreparedStatement ps, PendingAudit entry) throws SQLException {
+        ps.setObject(1, entry.id);
+        ps.setString(2, entry.entityType);
+        ps.setString(3, entry.entityId);
+        ps.setString(4, entry.action.name());
+        ps.setString(5, entry.changes != null ? entry.changes.toString() : null);
+        ps.setObject(6, entry.userId);
+        ps.setString(7, entry.userIp);
+        ps.setString(8, entry.userAgent);
+        ps.setTimestamp(9, Timestamp.valueOf(entry.createdAt));
+    }
+
     /**
      * Get client IP address from request
      */
@@ -178,7 +460,7 @@ public class AuditTrailService {
             "HTTP_VIA",
             "REMOTE_ADDR"
         };
-        
+
         for (String header : headerNames) {
             String ip = request.getHeader(header);
             if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
@@ -189,13 +471,14 @@ public class AuditTrailService {
                 return ip;
             }
         }
-        
+
         return request.getRemoteAddr();
     }
-    
+
     /**
      * Retrieve audit history for an entity
      */
+    @Transactional(readOnly = true)
     public Page<AuditTrail> getEntityAuditHistory(String entityType, String entityId, Pageable pageable) {
         // Convert list to page
         List<AuditTrail> audits = auditTrailRepository.findByEntityTypeAndEntityIdOrderByCreatedAtDesc(entityType, entityId);
@@ -203,20 +486,37 @@ public class AuditTrailService {
         int end = Math.min((start + pageable.getPageSize()), audits.size());
         return new PageImpl<>(audits.subList(start, end), pageable, audits.size());
     }
-    
+
     /**
      * Retrieve audit history by user
      */
+    @Transactional(readOnly = true)
     public Page<AuditTrail> getUserAuditHistory(String userId, Pageable pageable) {
         return auditTrailRepository.findByUserIdOrderByCreatedAtDesc(UUID.fromString(userId), pageable);
     }
-    
+
     /**
      * Search audit trail with filters
      */
-    public Page<AuditTrail> searchAuditTrail(String entityType, AuditTrail.AuditAction action, 
-                                            String userId, LocalDateTime startDate, 
+    @Transactional(readOnly = true)
+    public Page<AuditTrail> searchAuditTrail(String entityType, AuditTrail.AuditAction action,
+                                            String userId, LocalDateTime startDate,
                                             LocalDateTime endDate, Pageable pageable) {
         return auditTrailRepository.searchAuditTrail(entityType, action, userId != null ? UUID.fromString(userId) : null, startDate, endDate, pageable);
     }
-}
\ No newline at end of file
+
+    /**
+     * An audit entry waiting to be written
+     */
+    private static final class PendingAudit {
+        private UUID id;
+        private String entityType;
+        private String entityId;
+        private AuditTrail.AuditAction action;
+        private ObjectNode changes;
+        private UUID userId;
+        private String userIp;
+        private String userAgent;
+        private LocalDateTime createdAt;
+    }
+}
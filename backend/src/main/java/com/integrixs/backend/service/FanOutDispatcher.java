@@ -0,0 +1,283 @@
+package com.integrixs.backend.service;
+
+import com.integrixs.data.model.CommunicationAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers one message to several receiver adapters concurrently.
+ *
+ * <p>Each target runs on the bounded fan-out executor with its own timeout; a target
+ * that times out is interrupted and recorded without holding up the others. The
+ * dispatch returns as soon as its {@link Completion} is decided: every target finished
+ * ({@code ALL}), one target succeeded ({@code ANY}) or enough targets succeeded
+ * ({@code QUORUM}). Once an {@code ANY} fan-out succeeded, targets still running are
+ * interrupted and reported as {@link TargetStatus#CANCELLED}; otherwise they complete in
+ * the background and are reported as {@link TargetStatus#PENDING}. The latency of the
+ * slowest target is recorded once all targets have finished.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class FanOutDispatcher {
+
+    private final ExecutorService fanOutExecutor;
+    private final AdapterExecutionService adapterExecutionService;
+    private final MeterRegistry meterRegistry;
+    private final Timer slowestTargetTimer;
+    private final Timer dispatchTimer;
+
+    public FanOutDispatcher(@Qualifier("fanOutExecutor") ExecutorService fanOutExecutor,
+                            AdapterExecutionService adapterExecutionService,
+                            MeterRegistry meterRegistry) {
+        this.fanOutExecutor = fanOutExecutor;
+        this.adapterExecutionService = adapterExecutionService;
+        this.meterRegistry = meterRegistry;
+        this.slowestTargetTimer = Timer.builder("orchestration.fanout.slowest.target")
+            .description("Latency of the slowest target of a fan-out")
+            .register(meterRegistry);
+        this.dispatchTimer = Timer.builder("orchestration.fanout.dispatch")
+            .description("Time until a fan-out's completion condition was decided")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Deliver a message to all targets.
+     *
+     * @param message the transformed message
+     * @param targets receiver adapters
+     * @param context execution context passed to each adapter; copied per target
+     * @param policy completion semantics and per-target timeout
+     * @return the outcome of each target and whether the completion condition was met
+     */
+    public FanOutResult dispatch(String message, List<CommunicationAdapter> targets,
+                                 Map<String, Object> context, FanOutPolicy policy) {
+        long start = System.nanoTime();
+        int required = policy.requiredSuccesses(targets.size());
+        Tracker tracker = new Tracker(targets.size(), required);
+
+        List<CompletableFuture<TargetOutcome>> deliveries = new ArrayList<>(targets.size());
+        List<CompletableFuture<TargetOutcome>> outcomes = new ArrayList<>(targets.size());
+        for (CommunicationAdapter target : targets) {
+            CompletableFuture<TargetOutcome> delivery = new CompletableFuture<>();
+            deliveries.add(delivery);
+            CompletableFuture<TargetOutcome> outcome = submit(target, message, context, policy.targetTimeoutMillis(), delivery);
+            outcome.thenAccept(tracker::record);
+            outcomes.add(outcome);
+        }
+
+        CompletableFuture.allOf(outcomes.toArray(new CompletableFuture[0]))
+            .thenRun(() -> recordSlowest(outcomes));
+
+        // Every target completes within its own timeout, so this wait is bounded
+        tracker.decided.join();
+        if (policy.completion() == Completion.ANY && tracker.successes() >= required) {
+            for (int i = 0; i < targets.size(); i++) {
+                deliveries.get(i).complete(TargetOutcome.of(targets.get(i), TargetStatus.CANCELLED, elapsedSince(start),
+                                                            null, "Cancelled after another target succeeded"));
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        dispatchTimer.record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+        List<TargetOutcome> snapshot = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            CommunicationAdapter target = targets.get(i);
+            snapshot.add(outcomes.get(i).getNow(TargetOutcome.pending(target)));
+        }
+        boolean satisfied = tracker.successes() >= required;
+        return new FanOutResult(policy.completion(), required, satisfied, snapshot, elapsedMillis);
+    }
+
+    /**
+     * @param outcome completed by the delivery, its timeout or its cancellation, whichever is first
+     * @return the outcome once counted; a timed out or cancelled delivery is interrupted
+     */
+    private CompletableFuture<TargetOutcome> submit(CommunicationAdapter target, String message,
+                                                    Map<String, Object> context, long timeoutMillis,
+                                                    CompletableFuture<TargetOutcome> outcome) {
+        long submitted = System.nanoTime();
+        Future<?> task;
+        try {
+            task = fanOutExecutor.submit(() -> {
+                try {
+                    String response = adapterExecutionService.executeAdapter(target, message, new HashMap<>(context));
+                    outcome.complete(TargetOutcome.of(target, TargetStatus.SUCCEEDED, elapsedSince(submitted), response, null));
+                } catch (Exception e) {
+                    if (outcome.isDone()) {
+                        return; // Timed out or cancelled and interrupted; already recorded
+                    }
+                    log.warn("Fan-out delivery to adapter {} failed: {}", target.getName(), e.getMessage());
+                    outcome.complete(TargetOutcome.of(target, TargetStatus.FAILED, elapsedSince(submitted), null, e.getMessage()));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Fan-out executor saturated, delivery to adapter {} rejected", target.getName());
+            outcome.complete(TargetOutcome.of(target, TargetStatus.REJECTED, 0, null, "Fan-out executor saturated"));
+            return outcome.thenApply(this::count);
+        }
+
+        outcome.completeOnTimeout(
+            TargetOutcome.of(target, TargetStatus.TIMED_OUT, timeoutMillis, null,
+                             "No response within " + timeoutMillis + " ms"),
+            timeoutMillis, TimeUnit.MILLISECONDS);
+        return outcome.thenApply(result -> {
+            if (result.status() == TargetStatus.TIMED_OUT || result.status() == TargetStatus.CANCELLED) {
+                task.cancel(true);
+            }
+            return count(result);
+        });
+    }
+
+    private TargetOutcome count(TargetOutcome outcome) {
+        Counter.builder("orchestration.fanout.targets")
+            .description("Fan-out deliveries by outcome")
+            .tag("status", outcome.status().name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry)
+            .increment();
+        return outcome;
+    }
+
+    private void recordSlowest(List<CompletableFuture<TargetOutcome>> outcomes) {
+        long slowest = 0;
+        for (CompletableFuture<TargetOutcome> outcome : outcomes) {
+            slowest = Math.max(slowest, outcome.join().latencyMillis());
+        }
+        slowestTargetTimer.record(slowest, TimeUnit.MILLISECONDS);
+    }
+
+    private static long elapsedSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Decides the completion condition as outcomes arrive.
+     */
+    private static final class Tracker {
+        private final int total;
+        private final int required;
+        private final CompletableFuture<Void> decided = new CompletableFuture<>();
+        private int succeeded;
+        private int finished;
+
+        Tracker(int total, int required) {
+            this.total = total;
+            this.required = required;
+            if (total == 0) {
+                decided.complete(null);
+            }
+        }
+
+        synchronized void record(TargetOutcome outcome) {
+            finished++;
+            if (outcome.status() == TargetStatus.SUCCEEDED) {
+                succeeded++;
+            }
+            // ALL reports every target; ANY and QUORUM decide as soon as the outcome is certain
+            boolean reached = succeeded >= required;
+            boolean unreachable = succeeded + (total - finished) < required;
+            if (finished == total || (required < total && (reached || unreachable))) {
+                decided.complete(null);
+            }
+        }
+
+        synchronized int successes() {
+            return succeeded;
+        }
+    }
+
+    /**
+     * When a fan-out counts as delivered.
+     */
+    public enum Completion {
+        /** Every target must succeed; waits for all of them */
+        ALL,
+        /** One successful target is enough */
+        ANY,
+        /** A configured number of targets must succeed */
+        QUORUM;
+
+        public static Completion parse(String value) {
+            if (value == null || value.isBlank()) {
+                return ALL;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                log.warn("Unknown fan-out completion '{}', waiting for all targets", value);
+                return ALL;
+            }
+        }
+    }
+
+    public enum TargetStatus {
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT,
+        REJECTED,
+        CANCELLED,
+        PENDING
+    }
+
+    /**
+     * @param completion completion semantics
+     * @param quorum successes required for {@link Completion#QUORUM}; a majority if not positive
+     * @param targetTimeoutMillis timeout of each individual target
+     */
+    public record FanOutPolicy(Completion completion, int quorum, long targetTimeoutMillis) {
+
+        int requiredSuccesses(int targets) {
+            switch (completion) {
+                case ANY:
+                    return Math.min(1, targets);
+                case QUORUM:
+                    return Math.min(targets, quorum > 0 ? quorum : targets / 2 + 1);
+                default:
+                    return targets;
+            }
+        }
+    }
+
+    public record TargetOutcome(String adapterId, String adapterName, TargetStatus status,
+                                long latencyMillis, String response, String error) {
+
+        static TargetOutcome of(CommunicationAdapter adapter, TargetStatus status, long latencyMillis,
+                                String response, String error) {
+            return new TargetOutcome(String.valueOf(adapter.getId()), adapter.getName(), status,
+                                     latencyMillis, response, error);
+        }
+
+        static TargetOutcome pending(CommunicationAdapter adapter) {
+            return of(adapter, TargetStatus.PENDING, 0, null, null);
+        }
+    }
+
+    public record FanOutResult(Completion completion, int requiredSuccesses, boolean satisfied,
+                               List<TargetOutcome> targets, long elapsedMillis) {
+
+        public long count(TargetStatus status) {
+            return targets.stream().filter(t -> t.status() == status).count();
+        }
+
+        public long slowestLatencyMillis() {
+            return targets.stream().mapToLong(TargetOutcome::latencyMillis).max().orElse(0);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.integrixs.backend.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.backend.cluster.PollingLeaseService;
+import com.integrixs.backend.service.transformation.rule.RuleCompiler;
 import com.integrixs.data.model.CommunicationAdapter;
 import com.integrixs.data.model.FlowStatus;
+import com.integrixs.data.model.FlowTransformation;
 import com.integrixs.data.model.IntegrationFlow;
 import com.integrixs.data.repository.CommunicationAdapterRepository;
 import com.integrixs.data.repository.IntegrationFlowRepository;
@@ -36,6 +39,12 @@ public class FlowDeploymentService {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private RuleCompiler ruleCompiler;
+    
+    @Autowired
+    private PollingLeaseService pollingLeaseService;
+    
     @Value("${server.host:localhost}")
     private String serverHost;
     
@@ -74,6 +83,9 @@ public class FlowDeploymentService {
             // Initialize adapters
             initializeAdapters(flow, sourceAdapter);
             
+            // Compile filter/validation/enrichment rules once, ahead of the first message
+            precompileRules(flow);
+            
             // Only update flow status after successful deployment
             flow.setStatus(FlowStatus.DEPLOYED_ACTIVE);
             flow.setDeployedAt(LocalDateTime.now());
@@ -111,6 +123,19 @@ public class FlowDeploymentService {
         }
     }
     
+    /**
+     * Compile the rule expressions of the flow's transformations
+     */
+    private void precompileRules(IntegrationFlow flow) {
+        int compiled = 0;
+        for (FlowTransformation transformation : flow.getTransformations()) {
+            if (transformation.isActive()) {
+                compiled += ruleCompiler.precompile(transformation);
+            }
+        }
+        logger.info("Precompiled {} rule(s) for flow: {}", compiled, flow.getId());
+    }
+    
     /**
      * Undeploy an integration flow
      */
@@ -139,6 +164,9 @@ public class FlowDeploymentService {
         
         flowRepository.save(flow);
         
+        // Stop polling the source adapter on whichever node holds it
+        pollingLeaseService.unregister(flow.getId());
+        
         logger.info("Flow undeployed successfully: {}", flowId);
     }
     
@@ -314,9 +342,8 @@ public class FlowDeploymentService {
     private void initializeAdapters(IntegrationFlow flow, CommunicationAdapter sourceAdapter) {
         logger.info("Initializing adapters for flow: {}", flow.getName());
         
-        // Initialize source adapter if needed
-        if (sourceAdapter.getMode() == com.integrixs.adapters.core.AdapterMode.RECEIVER) {
-            // Receiver adapters may need polling setup
+        // Initialize source adapter if needed; polling depends on the adapter type, not its mode
+        if (PollingLeaseService.POLLING_TYPES.contains(sourceAdapter.getType())) {
             setupPollingAdapter(flow, sourceAdapter);
         }
         
@@ -347,7 +374,8 @@ public class FlowDeploymentService {
     }
     
     private void setupPollingAdapter(IntegrationFlow flow, CommunicationAdapter adapter) {
-        // TODO: Implement polling mechanism for receiver adapters
-        logger.info("Polling setup would be configured here for adapter: {}", adapter.getName());
+        // Exactly one node of the cluster polls the adapter; it is assigned on the next heartbeat
+        pollingLeaseService.register(flow.getId(), adapter.getId());
+        logger.info("Registered polling lease for adapter: {} of flow: {}", adapter.getName(), flow.getName());
     }
 }
\ No newline at end of file
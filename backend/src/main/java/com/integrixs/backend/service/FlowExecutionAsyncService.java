@@ -1,7 +1,9 @@
 package com.integrixs.backend.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.backend.exception.FlowExecutionException;
 import com.integrixs.engine.AdapterExecutor;
 import com.integrixs.data.model.FieldMapping;
 import com.integrixs.data.model.FlowTransformation;
@@ -10,7 +12,6 @@ import com.integrixs.data.model.MappingMode;
 import com.integrixs.data.model.TransformationCustomFunction;
 import com.integrixs.data.repository.FieldMappingRepository;
 import com.integrixs.data.repository.FlowTransformationRepository;
-import com.integrixs.data.repository.IntegrationFlowRepository;
 import com.integrixs.backend.service.transformation.FilterTransformationService;
 import com.integrixs.backend.service.transformation.EnrichmentTransformationService;
 import com.integrixs.backend.service.transformation.ValidationTransformationService;
@@ -21,13 +22,15 @@ import com.integrixs.shared.dto.transformation.ValidationTransformationConfigDTO
 import com.integrixs.backend.util.FieldMapper;
 import com.integrixs.backend.util.JavaFunctionRunner;
 import com.integrixs.data.model.CommunicationAdapter;
-import com.integrixs.data.repository.CommunicationAdapterRepository;
+import com.integrixs.engine.mapper.HierarchicalXmlFieldMapper;
 import com.integrixs.engine.service.FormatConversionService;
 import com.integrixs.engine.xml.XmlConversionException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,10 +47,9 @@ public class FlowExecutionAsyncService {
     
     private static final Logger logger = LoggerFactory.getLogger(FlowExecutionAsyncService.class);
 
-    private final IntegrationFlowRepository flowRepository;
+    private final RuntimeEntityCache runtimeEntityCache;
     private final FlowTransformationRepository transformationRepository;
     private final FieldMappingRepository fieldMappingRepository;
-    private final CommunicationAdapterRepository adapterRepository;
     private final AdapterExecutor adapterExecutor;
     private final LogService logService;
     private final FilterTransformationService filterTransformationService;
@@ -57,13 +59,16 @@ public class FlowExecutionAsyncService {
     private final FormatConversionService formatConversionService;
     private final DirectFileTransferService directFileTransferService;
     private final MessageService messageService;
+    private final HierarchicalXmlFieldMapper xmlFieldMapper;
+    private final SplitAggregateService splitAggregateService;
+    private final int splitMaxInFlight;
+    private final int splitStreamBatchSize;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public FlowExecutionAsyncService(
-            IntegrationFlowRepository flowRepository,
+            RuntimeEntityCache runtimeEntityCache,
             FlowTransformationRepository transformationRepository,
             FieldMappingRepository fieldMappingRepository,
-            CommunicationAdapterRepository adapterRepository,
             AdapterExecutor adapterExecutor,
             LogService logService,
             FilterTransformationService filterTransformationService,
@@ -72,12 +77,15 @@ public class FlowExecutionAsyncService {
             DevelopmentFunctionService developmentFunctionService,
             FormatConversionService formatConversionService,
             DirectFileTransferService directFileTransferService,
-            MessageService messageService
+            MessageService messageService,
+            HierarchicalXmlFieldMapper xmlFieldMapper,
+            SplitAggregateService splitAggregateService,
+            @Value("${execution.split.max-in-flight:64}") int splitMaxInFlight,
+            @Value("${execution.split.stream-batch-size:500}") int splitStreamBatchSize
     ) {
-        this.flowRepository = flowRepository;
+        this.runtimeEntityCache = runtimeEntityCache;
         this.transformationRepository = transformationRepository;
         this.fieldMappingRepository = fieldMappingRepository;
-        this.adapterRepository = adapterRepository;
         this.adapterExecutor = adapterExecutor;
         this.logService = logService;
         this.filterTransformationService = filterTransformationService;
@@ -87,21 +95,52 @@ public class FlowExecutionAsyncService {
         this.formatConversionService = formatConversionService;
         this.directFileTransferService = directFileTransferService;
         this.messageService = messageService;
+        this.xmlFieldMapper = xmlFieldMapper;
+        this.splitAggregateService = splitAggregateService;
+        this.splitMaxInFlight = splitMaxInFlight;
+        this.splitStreamBatchSize = splitStreamBatchSize;
     }
 
     public void executeFlow(String flowId) {
-        IntegrationFlow flow = flowRepository.findById(UUID.fromString(flowId))
+        executeFlow(flowId, null);
+    }
+
+    /**
+     * Execute a flow for a message that was already accepted.
+     *
+     * @param flowId the flow
+     * @param acceptedCorrelationId correlation ID of the existing message log entry, or
+     *        null to create one
+     */
+    public void executeFlow(String flowId, String acceptedCorrelationId) {
+        executeFlow(flowId, acceptedCorrelationId, null);
+    }
+
+    /**
+     * Execute a flow, optionally replaying a previously received source payload instead of
+     * fetching from the source adapter. Direct-transfer flows always read from the source.
+     *
+     * @param flowId the flow
+     * @param acceptedCorrelationId correlation ID of the existing message log entry, or
+     *        null to create one
+     * @param replayData source payload to process, or null to fetch it
+     * @throws FlowExecutionException naming the stage that failed
+     */
+    public void executeFlow(String flowId, String acceptedCorrelationId, Object replayData) {
+        IntegrationFlow flow = runtimeEntityCache.findFlow(UUID.fromString(flowId))
                 .orElseThrow(() -> new RuntimeException("Flow not found"));
 
         // Create correlation ID for this flow execution
-        String correlationId = messageService.createMessage(flow, "Flow execution started", "ASYNC_FLOW");
+        String correlationId = acceptedCorrelationId != null ? acceptedCorrelationId
+                : messageService.createMessage(flow, "Flow execution started", "ASYNC_FLOW");
         logger.info("Starting flow execution with correlation ID: {}", correlationId);
 
+        String stage = FlowExecutionException.VALIDATION;
         try {
             // Get adapters
-            CommunicationAdapter sourceAdapter = adapterRepository.findById(flow.getSourceAdapterId())
+            CommunicationAdapter sourceAdapter = runtimeEntityCache.findAdapter(flow.getSourceAdapterId())
                     .orElseThrow(() -> new RuntimeException("Source adapter not found"));
-            CommunicationAdapter targetAdapter = adapterRepository.findById(flow.getTargetAdapterId())
+            CommunicationAdapter targetAdapter = runtimeEntityCache.findAdapter(flow.getTargetAdapterId())
                     .orElseThrow(() -> new RuntimeException("Target adapter not found"));
 
             // Validate adapters are active
@@ -116,6 +155,7 @@ public class FlowExecutionAsyncService {
 
             // Check if we should skip XML conversion (direct passthrough)
             if (flow.isSkipXmlConversion()) {
+                stage = FlowExecutionException.DIRECT_TRANSFER;
                 logger.info("Executing direct transfer (skip XML conversion) for flow: {}", flow.getName());
                 try {
                     directFileTransferService.executeDirectTransfer(flow, sourceAdapter, targetAdapter);
@@ -126,16 +166,24 @@ public class FlowExecutionAsyncService {
             }
 
             // Step 1: Fetch source data
-            Object rawData = adapterExecutor.fetchDataAsObject(flow.getSourceAdapterId().toString());
-            logger.info("Fetched data from source adapter: {}", sourceAdapter.getName());
+            stage = FlowExecutionException.SOURCE;
+            Object rawData;
+            if (replayData != null) {
+                rawData = replayData;
+                logger.info("Replaying stored source payload for flow: {}", flow.getName());
+            } else {
+                rawData = adapterExecutor.fetchDataAsObject(flow.getSourceAdapterId().toString());
+                logger.info("Fetched data from source adapter: {}", sourceAdapter.getName());
+            }
             
             // Log source adapter payload (what the adapter received FROM external system)
             String rawDataStr = rawData instanceof byte[] ? 
                 new String((byte[]) rawData) : rawData.toString();
-            messageService.logAdapterPayload(correlationId, sourceAdapter, "REQUEST", rawDataStr, "INBOUND");
+            messageService.logAdapterPayload(correlationId, flow.getId().toString(), sourceAdapter, "REQUEST", rawDataStr, "INBOUND");
 
             // Check if the data is binary and should skip XML conversion
             if (directFileTransferService.isBinaryFile(rawData)) {
+                stage = FlowExecutionException.DIRECT_TRANSFER;
                 logger.info("Binary file detected, using direct transfer for flow: {}", flow.getName());
                 try {
                     directFileTransferService.executeDirectTransfer(flow, sourceAdapter, targetAdapter);
@@ -154,14 +202,44 @@ public class FlowExecutionAsyncService {
                 logger.info("Mapping required for flow: {}", flow.getName());
                 
                 // Step 2a: Convert source data to XML
+                stage = FlowExecutionException.CONVERSION;
                 String xmlData = formatConversionService.convertToXml(rawData, sourceAdapter);
                 logger.debug("Converted source data to XML");
                 
-                // Step 2b: Apply transformations (including field mappings)
-                String transformedXml = applyTransformations(flow, xmlData);
+                // Step 2b: Apply transformations (including field mappings), record by record
+                // in parallel if the flow has a split stage
+                stage = FlowExecutionException.TRANSFORMATION;
+                List<FlowTransformation> transformations = transformationRepository.findByFlowId(flow.getId());
+                FlowTransformation splitStage = findSplitStage(transformations);
+                String transformedXml;
+                if (splitStage == null) {
+                    transformedXml = applyTransformations(flow, xmlData);
+                } else {
+                    JsonNode splitSettings = objectMapper.readTree(splitStage.getConfiguration());
+                    SplitAggregateService.SplitConfig splitConfig = parseSplitConfig(splitSettings);
+                    SplitAggregateService.RecordMapper recordMapper =
+                        recordMapper(transformations, parseNamespaces(splitSettings));
+
+                    if (splitConfig.aggregation() == SplitAggregateService.Aggregation.STREAM) {
+                        // Mapped records go to the target in ordered batches; nothing is reassembled
+                        Map<String, Object> conversionConfig = getConversionConfig(flow, targetAdapter);
+                        SplitAggregateService.SplitResult result = splitAggregateService.process(
+                            correlationId, xmlData, splitConfig, recordMapper,
+                            (messageId, firstSequence, recordCount, batch) -> sendRecordBatch(
+                                flow, targetAdapter, messageId, firstSequence, batch, conversionConfig));
+                        logger.info("Streamed {} records of flow {} to target adapter: {}",
+                                    result.records(), flow.getName(), targetAdapter.getName());
+                        logService.logFlowExecutionSuccess(flow, rawDataStr,
+                            result.records() + " records streamed in " + result.elapsedMillis() + " ms");
+                        return;
+                    }
+                    transformedXml = splitAggregateService.process(
+                        correlationId, xmlData, splitConfig, recordMapper, null).aggregated();
+                }
                 logger.debug("Applied transformations to XML data");
                 
                 // Step 2c: Convert XML back to target format
+                stage = FlowExecutionException.CONVERSION;
                 Object targetData = formatConversionService.convertFromXml(
                     transformedXml, 
                     targetAdapter, 
@@ -177,6 +255,7 @@ public class FlowExecutionAsyncService {
             }
 
             // Step 3: Send to target adapter
+            stage = FlowExecutionException.TARGET;
             Map<String, Object> context = new HashMap<>();
             context.put("correlationId", correlationId);
             context.put("flowId", flow.getId().toString());
@@ -185,7 +264,7 @@ public class FlowExecutionAsyncService {
             logger.info("Sent data to target adapter: {}", targetAdapter.getName());
             
             // Log target adapter payload (what the adapter will send TO external system)
-            messageService.logAdapterPayload(correlationId, targetAdapter, "REQUEST", processedData, "OUTBOUND");
+            messageService.logAdapterPayload(correlationId, flow.getId().toString(), targetAdapter, "REQUEST", processedData, "OUTBOUND");
 
             // Step 4: Log success
             logService.logFlowExecutionSuccess(flow, rawDataStr, processedData);
@@ -193,11 +272,11 @@ public class FlowExecutionAsyncService {
         } catch (XmlConversionException e) {
             logger.error("XML conversion error executing flow: {}", flow.getName(), e);
             logService.logFlowExecutionError(flow, e);
-            throw new RuntimeException("XML conversion failed: " + e.getMessage(), e);
+            throw new FlowExecutionException(stage, "XML conversion failed: " + e.getMessage(), e);
         } catch (Exception e) {
             logger.error("Error executing flow: {}", flow.getName(), e);
             logService.logFlowExecutionError(flow, e);
-            throw e;
+            throw new FlowExecutionException(stage, e.getMessage(), e);
         }
     }
 
@@ -315,12 +394,85 @@ public class FlowExecutionAsyncService {
                 case VALIDATION -> {
                     currentData = applyValidationTransformation(t, currentData);
                 }
+                case ROUTING, AGGREGATION -> {
+                    // Routing targets are read by the orchestration engine, split stages by executeFlow
+                }
                 default -> throw new UnsupportedOperationException("Transformation type not supported: " + t.getType());
             }
         }
         return currentData;
     }
 
+    private static FlowTransformation findSplitStage(List<FlowTransformation> transformations) {
+        for (FlowTransformation t : transformations) {
+            if (t.isActive() && t.getType() == FlowTransformation.TransformationType.AGGREGATION) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    private SplitAggregateService.SplitConfig parseSplitConfig(JsonNode settings) {
+        return new SplitAggregateService.SplitConfig(
+            settings.path("recordPath").asText(null),
+            settings.path("maxInFlight").asInt(splitMaxInFlight),
+            SplitAggregateService.Aggregation.parse(settings.path("aggregation").asText(null)),
+            settings.path("aggregateRoot").asText(null),
+            settings.path("streamBatchSize").asInt(splitStreamBatchSize));
+    }
+
+    private static Map<String, String> parseNamespaces(JsonNode settings) {
+        Map<String, String> namespaces = new HashMap<>();
+        settings.path("namespaces").fields()
+            .forEachRemaining(entry -> namespaces.put(entry.getKey(), entry.getValue().asText()));
+        return namespaces;
+    }
+
+    /**
+     * Pipeline applied to each record of a split message. Field mappings are loaded once
+     * per message and applied with the XML field mapper, since records are XML fragments.
+     */
+    private SplitAggregateService.RecordMapper recordMapper(List<FlowTransformation> transformations,
+                                                            Map<String, String> namespaces) {
+        List<FlowTransformation> steps = new ArrayList<>();
+        Map<UUID, List<FieldMapping>> mappings = new HashMap<>();
+        for (FlowTransformation t : transformations) {
+            if (!t.isActive() || t.getType() == FlowTransformation.TransformationType.ROUTING
+                    || t.getType() == FlowTransformation.TransformationType.AGGREGATION) {
+                continue;
+            }
+            steps.add(t);
+            if (t.getType() == FlowTransformation.TransformationType.FIELD_MAPPING) {
+                mappings.put(t.getId(), fieldMappingRepository.findByTransformationId(t.getId()));
+            }
+        }
+        return record -> {
+            String current = record;
+            for (FlowTransformation t : steps) {
+                current = switch (t.getType()) {
+                    case FIELD_MAPPING -> xmlFieldMapper.mapXmlFields(current, null, mappings.get(t.getId()), namespaces);
+                    case CUSTOM_FUNCTION -> applyCustomFunctionTransformation(t, current);
+                    case FILTER -> applyFilterTransformation(t, current);
+                    case ENRICHMENT -> applyEnrichmentTransformation(t, current);
+                    case VALIDATION -> applyValidationTransformation(t, current);
+                    default -> current;
+                };
+            }
+            return current;
+        };
+    }
+
+    private void sendRecordBatch(IntegrationFlow flow, CommunicationAdapter targetAdapter, String correlationId,
+                                 int firstSequence, String batch, Map<String, Object> conversionConfig) throws Exception {
+        String payload = formatConversionService.convertFromXml(batch, targetAdapter, conversionConfig).toString();
+        Map<String, Object> context = new HashMap<>();
+        context.put("correlationId", correlationId);
+        context.put("flowId", flow.getId().toString());
+        context.put("recordSequence", firstSequence);
+        adapterExecutor.sendData(flow.getTargetAdapterId().toString(), payload, context);
+        messageService.logAdapterPayload(correlationId, flow.getId().toString(), targetAdapter, "REQUEST", payload, "OUTBOUND");
+    }
+
     private String applyCustomFunctionTransformation(FlowTransformation t, String currentData) {
         try {
             if (t.getConfiguration() == null || t.getConfiguration().isBlank()) {
@@ -1,38 +1,90 @@
 package com.integrixs.backend.service;
 
 import com.integrixs.backend.websocket.FlowExecutionWebSocketHandler;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * In-memory tracking of flow executions.
+ *
+ * <p>Memory stays flat regardless of throughput: active executions are indexed by start
+ * time and expire after {@code monitoring.execution.active-ttl-minutes} or once more than
+ * {@code max-active} are tracked, finished executions are kept in fixed-size ring buffers,
+ * and statistics are counters and latency histograms updated as executions finish, so
+ * queries never scan all traces.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
 @Service
 public class FlowExecutionMonitoringService {
 
     @Autowired
     private FlowExecutionWebSocketHandler webSocketHandler;
-    
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(5);
-    private final Map<String, FlowExecutionTrace> executionTraces = new ConcurrentHashMap<>();
-    private final Map<String, List<FlowExecutionEvent>> executionHistory = new ConcurrentHashMap<>();
-    private final Map<String, FlowPerformanceMetrics> flowMetrics = new ConcurrentHashMap<>();
 
-    public FlowExecutionMonitoringService() {
-        // Start periodic cleanup of old execution traces
-        scheduler.scheduleAtFixedRate(this::cleanupOldTraces, 1, 1, TimeUnit.HOURS);
-        
-        // Start periodic metrics calculation
-        scheduler.scheduleAtFixedRate(this::calculatePerformanceMetrics, 30, 30, TimeUnit.SECONDS);
+    @Value("${monitoring.execution.max-active:10000}")
+    private int maxActive;
+
+    @Value("${monitoring.execution.active-ttl-minutes:1440}")
+    private long activeTtlMinutes;
+
+    @Value("${monitoring.execution.events-per-trace:100}")
+    private int eventsPerTrace;
+
+    @Value("${monitoring.execution.history-per-flow:1000}")
+    private int historyPerFlow;
+
+    @Value("${monitoring.execution.recent-finished:1000}")
+    private int recentFinishedCapacity;
+
+    @Value("${monitoring.execution.recent-failures:200}")
+    private int recentFailuresCapacity;
+
+    @Value("${monitoring.execution.long-running-minutes:30}")
+    private long longRunningMinutes;
+
+    @Value("${monitoring.execution.failure-alert-minutes:60}")
+    private long failureAlertMinutes;
+
+    // Active executions by ID, and the same executions ordered by start time
+    private final Map<String, Active> activeExecutions = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<ActiveKey, FlowExecutionTrace> activeByStart = new ConcurrentSkipListMap<>();
+    private final AtomicLong activeSequence = new AtomicLong();
+    private final AtomicInteger runningExecutions = new AtomicInteger();
+    private final AtomicInteger activeFlows = new AtomicInteger();
+
+    private final Map<String, FlowStats> flowStats = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder completedExecutions = new LongAdder();
+    private final LongAdder failedExecutions = new LongAdder();
+    private final LongAdder cancelledExecutions = new LongAdder();
+    private final LongAdder expiredExecutions = new LongAdder();
+
+    private Ring<FlowExecutionTrace> recentFinished;
+    private Ring<FlowExecutionTrace> recentFailures;
+
+    @PostConstruct
+    void init() {
+        recentFinished = new Ring<>(recentFinishedCapacity);
+        recentFailures = new Ring<>(recentFailuresCapacity);
     }
 
     /**
@@ -45,13 +97,31 @@ public class FlowExecutionMonitoringService {
         trace.setFlowType(flowType);
         trace.setStatus(ExecutionStatus.STARTED);
         trace.setStartTime(LocalDateTime.now());
+        trace.setMaxEvents(eventsPerTrace);
         trace.addEvent("EXECUTION_STARTED", "Flow execution monitoring started");
-        
-        executionTraces.put(executionId, trace);
-        
+
+        if (statsFor(flowId).active.incrementAndGet() == 1) {
+            activeFlows.incrementAndGet();
+        }
+        Active active = new Active(new ActiveKey(trace.getStartTime(), activeSequence.incrementAndGet()), trace);
+        activeByStart.put(active.key(), trace);
+        Active replaced = activeExecutions.put(executionId, active);
+        if (replaced != null) {
+            // Same execution started again; the earlier trace is dropped
+            activeByStart.remove(replaced.key());
+            release(replaced.trace());
+        }
+        while (activeExecutions.size() > maxActive) {
+            Map.Entry<ActiveKey, FlowExecutionTrace> oldest = activeByStart.firstEntry();
+            if (oldest == null) {
+                break;
+            }
+            expire(oldest.getValue().getExecutionId(), oldest.getKey());
+        }
+
         // Notify WebSocket clients
         webSocketHandler.broadcastFlowExecutionStarted(flowId, executionId);
-        
+
         return executionId;
     }
 
@@ -59,17 +129,25 @@ public class FlowExecutionMonitoringService {
      * Update execution progress
      */
     public void updateExecutionProgress(String executionId, String currentStep, String stepMessage) {
-        FlowExecutionTrace trace = executionTraces.get(executionId);
-        if (trace != null) {
-            trace.setCurrentStep(currentStep);
-            trace.setLastUpdate(LocalDateTime.now());
+        Active active = activeExecutions.get(executionId);
+        if (active != null) {
+            FlowExecutionTrace trace = active.trace();
+            synchronized (trace) {
+                // Checked under the lock so an execution finished or expired meanwhile is not counted
+                if (trace.getStatus() == ExecutionStatus.STARTED && activeExecutions.get(executionId) == active) {
+                    trace.setStatus(ExecutionStatus.RUNNING);
+                    runningExecutions.incrementAndGet();
+                }
+                trace.setCurrentStep(currentStep);
+                trace.setLastUpdate(LocalDateTime.now());
+            }
             trace.addEvent("STEP_PROGRESS", currentStep + ": " + stepMessage);
-            
+
             // Notify WebSocket clients
             webSocketHandler.broadcastFlowExecutionProgress(
-                trace.getFlowId(), 
-                executionId, 
-                currentStep, 
+                trace.getFlowId(),
+                executionId,
+                currentStep,
                 stepMessage
             );
         }
@@ -79,25 +157,16 @@ public class FlowExecutionMonitoringService {
      * Record execution completion
      */
     public void completeExecution(String executionId, boolean success, String message) {
-        FlowExecutionTrace trace = executionTraces.get(executionId);
-        if (trace != null) {
-            trace.setStatus(success ? ExecutionStatus.COMPLETED : ExecutionStatus.FAILED);
-            trace.setEndTime(LocalDateTime.now());
+        Active active = claim(executionId);
+        if (active != null) {
+            FlowExecutionTrace trace = active.trace();
             trace.setCompletionMessage(message);
+            finish(trace, success ? ExecutionStatus.COMPLETED : ExecutionStatus.FAILED);
             trace.addEvent("EXECUTION_COMPLETED", message);
-            
-            // Calculate execution duration
-            if (trace.getStartTime() != null) {
-                Duration duration = Duration.between(trace.getStartTime(), trace.getEndTime());
-                trace.setExecutionDurationMs(duration.toMillis());
-            }
-            
-            // Move to execution history
+
+            // Move to execution history and update flow performance metrics
             moveToHistory(trace);
-            
-            // Update flow performance metrics
-            updateFlowMetrics(trace.getFlowId(), trace);
-            
+
             // Notify WebSocket clients
             webSocketHandler.broadcastFlowExecutionCompleted(trace.getFlowId(), executionId, success);
         }
@@ -107,22 +176,19 @@ public class FlowExecutionMonitoringService {
      * Record execution error
      */
     public void recordExecutionError(String executionId, String errorMessage, Throwable exception) {
-        FlowExecutionTrace trace = executionTraces.get(executionId);
-        if (trace != null) {
-            trace.setStatus(ExecutionStatus.ERROR);
-            trace.setEndTime(LocalDateTime.now());
+        Active active = claim(executionId);
+        if (active != null) {
+            FlowExecutionTrace trace = active.trace();
             trace.setErrorMessage(errorMessage);
             if (exception != null) {
                 trace.setExceptionDetails(getStackTrace(exception));
             }
+            finish(trace, ExecutionStatus.ERROR);
             trace.addEvent("EXECUTION_ERROR", errorMessage);
-            
-            // Move to execution history
+
+            // Move to execution history and update flow performance metrics
             moveToHistory(trace);
-            
-            // Update flow performance metrics
-            updateFlowMetrics(trace.getFlowId(), trace);
-            
+
             // Notify WebSocket clients
             webSocketHandler.broadcastFlowExecutionError(trace.getFlowId(), executionId, errorMessage);
         }
@@ -132,132 +198,229 @@ public class FlowExecutionMonitoringService {
      * Cancel execution monitoring
      */
     public boolean cancelExecution(String executionId) {
-        FlowExecutionTrace trace = executionTraces.get(executionId);
-        if (trace != null && trace.getStatus() == ExecutionStatus.RUNNING) {
-            trace.setStatus(ExecutionStatus.CANCELLED);
-            trace.setEndTime(LocalDateTime.now());
-            trace.addEvent("EXECUTION_CANCELLED", "Execution cancelled by user");
-            
-            // Move to execution history
-            moveToHistory(trace);
-            
-            return true;
+        Active active = activeExecutions.get(executionId);
+        if (active == null || active.trace().getStatus() != ExecutionStatus.RUNNING
+                || !activeExecutions.remove(executionId, active)) {
+            return false;
         }
-        return false;
+        activeByStart.remove(active.key());
+        FlowExecutionTrace trace = active.trace();
+        finish(trace, ExecutionStatus.CANCELLED);
+        trace.addEvent("EXECUTION_CANCELLED", "Execution cancelled by user");
+
+        // Move to execution history
+        moveToHistory(trace);
+
+        return true;
     }
 
     /**
      * Get current execution status
      */
     public Optional<FlowExecutionTrace> getExecutionTrace(String executionId) {
-        return Optional.ofNullable(executionTraces.get(executionId));
+        Active active = activeExecutions.get(executionId);
+        return Optional.ofNullable(active != null ? active.trace() : null);
     }
 
     /**
-     * Get execution history for a flow
+     * Get execution history for a flow, newest first
      */
     public List<FlowExecutionEvent> getExecutionHistory(String flowId, int limit) {
-        return executionHistory.getOrDefault(flowId, new ArrayList<>())
-                .stream()
-                .sorted((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        FlowStats stats = flowStats.get(flowId);
+        return stats != null ? stats.history.newest(limit, event -> true) : new ArrayList<>();
     }
 
     /**
      * Get flow performance metrics
      */
     public Optional<FlowPerformanceMetrics> getFlowMetrics(String flowId) {
-        return Optional.ofNullable(flowMetrics.get(flowId));
+        FlowStats stats = flowStats.get(flowId);
+        if (stats == null || stats.total.sum() == 0) {
+            return Optional.empty();
+        }
+        FlowPerformanceMetrics metrics = new FlowPerformanceMetrics();
+        metrics.setFlowId(flowId);
+        metrics.setTotalExecutions(stats.total.sum());
+        metrics.setSuccessfulExecutions(stats.successful.sum());
+        metrics.setFailedExecutions(stats.failed.sum());
+        metrics.setAverageExecutionTimeMs(stats.latency.mean());
+        metrics.setMinExecutionTimeMs(stats.latency.min());
+        metrics.setMaxExecutionTimeMs(stats.latency.max());
+        metrics.setP50ExecutionTimeMs(stats.latency.percentile(0.50));
+        metrics.setP95ExecutionTimeMs(stats.latency.percentile(0.95));
+        metrics.setP99ExecutionTimeMs(stats.latency.percentile(0.99));
+        metrics.setLastUpdate(stats.lastUpdate);
+        return Optional.of(metrics);
     }
 
     /**
-     * Get all active executions
+     * Get all active executions, oldest first
      */
     public List<FlowExecutionTrace> getActiveExecutions() {
-        return new ArrayList<>(executionTraces.values());
+        return new ArrayList<>(activeByStart.values());
     }
 
     /**
-     * Get execution statistics
+     * Get execution statistics. Finished counts and execution times cover all executions since
+     * startup; active counts are current.
      */
     public ExecutionStatistics getExecutionStatistics() {
         ExecutionStatistics stats = new ExecutionStatistics();
-        
-        // Count active executions by status
-        Map<ExecutionStatus, Long> statusCounts = executionTraces.values().stream()
-                .collect(Collectors.groupingBy(FlowExecutionTrace::getStatus, Collectors.counting()));
-        
-        stats.setActiveExecutions(executionTraces.size());
-        stats.setRunningExecutions(statusCounts.getOrDefault(ExecutionStatus.RUNNING, 0L).intValue());
-        stats.setCompletedExecutions(statusCounts.getOrDefault(ExecutionStatus.COMPLETED, 0L).intValue());
-        stats.setFailedExecutions(statusCounts.getOrDefault(ExecutionStatus.FAILED, 0L).intValue());
-        
-        // Calculate average execution time from completed executions
-        OptionalDouble avgTime = executionTraces.values().stream()
-                .filter(trace -> trace.getExecutionDurationMs() > 0)
-                .mapToLong(FlowExecutionTrace::getExecutionDurationMs)
-                .average();
-        stats.setAverageExecutionTimeMs(avgTime.orElse(0.0));
-        
-        // Count total flows being monitored
-        long uniqueFlows = executionTraces.values().stream()
-                .map(FlowExecutionTrace::getFlowId)
-                .distinct()
-                .count();
-        stats.setUniqueFlowsMonitored((int) uniqueFlows);
-        
+        stats.setActiveExecutions(activeExecutions.size());
+        stats.setRunningExecutions(runningExecutions.get());
+        stats.setCompletedExecutions(completedExecutions.sum());
+        stats.setFailedExecutions(failedExecutions.sum());
+        stats.setCancelledExecutions(cancelledExecutions.sum());
+        stats.setExpiredExecutions(expiredExecutions.sum());
+        stats.setAverageExecutionTimeMs(latency.mean());
+        stats.setP50ExecutionTimeMs(latency.percentile(0.50));
+        stats.setP95ExecutionTimeMs(latency.percentile(0.95));
+        stats.setP99ExecutionTimeMs(latency.percentile(0.99));
+        stats.setUniqueFlowsMonitored(activeFlows.get());
         return stats;
     }
 
     /**
-     * Search executions by criteria
+     * Search active and recently finished executions, newest first. Active executions are
+     * read from the start-time index within the requested range; finished ones from the
+     * recent (or, for failed statuses, recent failures) buffer.
      */
     public List<FlowExecutionTrace> searchExecutions(ExecutionSearchCriteria criteria) {
-        return executionTraces.values().stream()
-                .filter(trace -> matchesCriteria(trace, criteria))
-                .sorted((a, b) -> b.getStartTime().compareTo(a.getStartTime()))
-                .limit(criteria.getLimit())
-                .collect(Collectors.toList());
+        int limit = criteria.getLimit();
+        ExecutionStatus status = criteria.getStatus();
+        List<FlowExecutionTrace> results = new ArrayList<>();
+
+        if (status == null || status == ExecutionStatus.STARTED || status == ExecutionStatus.RUNNING) {
+            ConcurrentNavigableMap<ActiveKey, FlowExecutionTrace> range = activeByStart;
+            if (criteria.getStartTimeAfter() != null) {
+                range = range.tailMap(new ActiveKey(criteria.getStartTimeAfter(), Long.MIN_VALUE), true);
+            }
+            if (criteria.getStartTimeBefore() != null) {
+                range = range.headMap(new ActiveKey(criteria.getStartTimeBefore(), Long.MAX_VALUE), true);
+            }
+            for (FlowExecutionTrace trace : range.descendingMap().values()) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                if (matchesCriteria(trace, criteria)) {
+                    results.add(trace);
+                }
+            }
+        }
+
+        if (status != ExecutionStatus.STARTED && status != ExecutionStatus.RUNNING) {
+            Ring<FlowExecutionTrace> finished = status == ExecutionStatus.FAILED || status == ExecutionStatus.ERROR
+                    ? recentFailures : recentFinished;
+            results.addAll(finished.newest(limit, trace -> matchesCriteria(trace, criteria)));
+            results.sort((a, b) -> b.getStartTime().compareTo(a.getStartTime()));
+            if (results.size() > limit) {
+                results = new ArrayList<>(results.subList(0, limit));
+            }
+        }
+        return results;
     }
 
     /**
-     * Get execution alerts (long-running, failed, etc.)
+     * Get execution alerts: running executions past {@code long-running-minutes}, read from
+     * the oldest end of the start-time index, and failures within {@code failure-alert-minutes}
      */
     public List<ExecutionAlert> getExecutionAlerts() {
         List<ExecutionAlert> alerts = new ArrayList<>();
         LocalDateTime now = LocalDateTime.now();
-        
-        for (FlowExecutionTrace trace : executionTraces.values()) {
-            // Check for long-running executions (>30 minutes)
-            if (trace.getStatus() == ExecutionStatus.RUNNING && 
-                trace.getStartTime() != null &&
-                Duration.between(trace.getStartTime(), now).toMinutes() > 30) {
-                
+
+        LocalDateTime longRunningCutoff = now.minusMinutes(longRunningMinutes);
+        for (FlowExecutionTrace trace : activeByStart.headMap(new ActiveKey(longRunningCutoff, Long.MIN_VALUE)).values()) {
+            if (trace.getStatus() == ExecutionStatus.RUNNING) {
                 ExecutionAlert alert = new ExecutionAlert();
                 alert.setType(AlertType.LONG_RUNNING);
                 alert.setExecutionId(trace.getExecutionId());
                 alert.setFlowId(trace.getFlowId());
-                alert.setMessage("Execution has been running for over 30 minutes");
+                alert.setMessage("Execution has been running for over " + longRunningMinutes + " minutes");
                 alert.setTimestamp(now);
                 alerts.add(alert);
             }
-            
-            // Check for failed executions
-            if (trace.getStatus() == ExecutionStatus.FAILED || trace.getStatus() == ExecutionStatus.ERROR) {
-                ExecutionAlert alert = new ExecutionAlert();
-                alert.setType(AlertType.EXECUTION_FAILED);
-                alert.setExecutionId(trace.getExecutionId());
-                alert.setFlowId(trace.getFlowId());
-                alert.setMessage("Execution failed: " + trace.getErrorMessage());
-                alert.setTimestamp(trace.getEndTime());
-                alerts.add(alert);
-            }
         }
-        
+
+        LocalDateTime failureCutoff = now.minusMinutes(failureAlertMinutes);
+        for (FlowExecutionTrace trace : recentFailures.newest(Integer.MAX_VALUE,
+                trace -> trace.getEndTime() != null && trace.getEndTime().isAfter(failureCutoff))) {
+            ExecutionAlert alert = new ExecutionAlert();
+            alert.setType(AlertType.EXECUTION_FAILED);
+            alert.setExecutionId(trace.getExecutionId());
+            alert.setFlowId(trace.getFlowId());
+            alert.setMessage("Execution failed: " + (trace.getErrorMessage() != null
+                    ? trace.getErrorMessage() : trace.getCompletionMessage()));
+            alert.setTimestamp(trace.getEndTime());
+            alerts.add(alert);
+        }
+
         return alerts;
     }
 
+    /**
+     * Drop active executions that have not finished within {@code active-ttl-minutes}, e.g.
+     * because their completion was never reported
+     */
+    @Scheduled(fixedDelayString = "${monitoring.execution.sweep-interval-ms:60000}", initialDelayString = "${monitoring.execution.sweep-interval-ms:60000}")
+    public void expireStaleExecutions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(activeTtlMinutes);
+        int expired = 0;
+        Map.Entry<ActiveKey, FlowExecutionTrace> oldest;
+        while ((oldest = activeByStart.firstEntry()) != null && oldest.getKey().startTime().isBefore(cutoff)) {
+            expire(oldest.getValue().getExecutionId(), oldest.getKey());
+            expired++;
+        }
+        if (expired > 0) {
+            log.info("Expired {} flow executions without completion after {} minutes", expired, activeTtlMinutes);
+        }
+    }
+
+    /**
+     * Remove an execution from the active set; null if it is no longer active
+     */
+    private Active claim(String executionId) {
+        Active active = activeExecutions.remove(executionId);
+        if (active != null) {
+            activeByStart.remove(active.key());
+        }
+        return active;
+    }
+
+    private void expire(String executionId, ActiveKey key) {
+        activeByStart.remove(key);
+        Active active = activeExecutions.get(executionId);
+        if (active != null && active.key().equals(key) && activeExecutions.remove(executionId, active)) {
+            release(active.trace());
+            expiredExecutions.increment();
+        }
+    }
+
+    /**
+     * Update the active counters for an execution leaving the active set
+     */
+    private void release(FlowExecutionTrace trace) {
+        synchronized (trace) {
+            if (trace.getStatus() == ExecutionStatus.RUNNING) {
+                runningExecutions.decrementAndGet();
+            }
+        }
+        FlowStats stats = flowStats.get(trace.getFlowId());
+        if (stats != null && stats.active.decrementAndGet() == 0) {
+            activeFlows.decrementAndGet();
+        }
+    }
+
+    private void finish(FlowExecutionTrace trace, ExecutionStatus status) {
+        release(trace);
+        synchronized (trace) {
+            trace.setStatus(status);
+            trace.setEndTime(LocalDateTime.now());
+            if (trace.getStartTime() != null) {
+                trace.setExecutionDurationMs(Duration.between(trace.getStartTime(), trace.getEndTime()).toMillis());
+            }
+        }
+    }
+
     private void moveToHistory(FlowExecutionTrace trace) {
         // Convert trace to history events
         FlowExecutionEvent completionEvent = new FlowExecutionEvent();
@@ -268,40 +431,40 @@ public class FlowExecutionMonitoringService {
         completionEvent.setMessage(trace.getCompletionMessage());
         completionEvent.setTimestamp(trace.getEndTime());
         completionEvent.setExecutionDurationMs(trace.getExecutionDurationMs());
-        
-        executionHistory.computeIfAbsent(trace.getFlowId(), k -> new ArrayList<>()).add(completionEvent);
-        
-        // Remove from active traces
-        executionTraces.remove(trace.getExecutionId());
-    }
 
-    private void updateFlowMetrics(String flowId, FlowExecutionTrace trace) {
-        FlowPerformanceMetrics metrics = flowMetrics.computeIfAbsent(flowId, k -> new FlowPerformanceMetrics());
-        metrics.setFlowId(flowId);
-        metrics.setLastUpdate(LocalDateTime.now());
-        
-        // Update execution counts
-        metrics.setTotalExecutions(metrics.getTotalExecutions() + 1);
-        
+        FlowStats stats = statsFor(trace.getFlowId());
+        stats.history.add(completionEvent);
+        recentFinished.add(trace);
+
+        switch (trace.getStatus()) {
+            case COMPLETED -> completedExecutions.increment();
+            case FAILED, ERROR -> {
+                failedExecutions.increment();
+                recentFailures.add(trace);
+            }
+            case CANCELLED -> cancelledExecutions.increment();
+            default -> { }
+        }
+        if (trace.getStatus() == ExecutionStatus.CANCELLED) {
+            return;
+        }
+
+        // Update flow performance metrics
+        stats.total.increment();
         if (trace.getStatus() == ExecutionStatus.COMPLETED) {
-            metrics.setSuccessfulExecutions(metrics.getSuccessfulExecutions() + 1);
+            stats.successful.increment();
         } else {
-            metrics.setFailedExecutions(metrics.getFailedExecutions() + 1);
+            stats.failed.increment();
         }
-        
-        // Update timing metrics
-        if (trace.getExecutionDurationMs() > 0) {
-            if (metrics.getMinExecutionTimeMs() == 0 || trace.getExecutionDurationMs() < metrics.getMinExecutionTimeMs()) {
-                metrics.setMinExecutionTimeMs(trace.getExecutionDurationMs());
-            }
-            if (trace.getExecutionDurationMs() > metrics.getMaxExecutionTimeMs()) {
-                metrics.setMaxExecutionTimeMs(trace.getExecutionDurationMs());
-            }
-            
-            // Calculate average execution time
-            double totalTime = metrics.getAverageExecutionTimeMs() * (metrics.getTotalExecutions() - 1) + trace.getExecutionDurationMs();
-            metrics.setAverageExecutionTimeMs(totalTime / metrics.getTotalExecutions());
+        if (trace.getStartTime() != null) {
+            stats.latency.record(trace.getExecutionDurationMs());
+            latency.record(trace.getExecutionDurationMs());
         }
+        stats.lastUpdate = LocalDateTime.now();
+    }
+
+    private FlowStats statsFor(String flowId) {
+        return flowStats.computeIfAbsent(flowId, k -> new FlowStats(historyPerFlow));
     }
 
     private boolean matchesCriteria(FlowExecutionTrace trace, ExecutionSearchCriteria criteria) {
@@ -320,26 +483,6 @@ public class FlowExecutionMonitoringService {
         return true;
     }
 
-    private void cleanupOldTraces() {
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-        executionTraces.entrySet().removeIf(entry -> 
-            entry.getValue().getStartTime().isBefore(cutoff)
-        );
-        
-        // Also cleanup old history entries (keep last 1000 per flow)
-        executionHistory.values().forEach(events -> {
-            if (events.size() > 1000) {
-                events.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
-                events.subList(1000, events.size()).clear();
-            }
-        });
-    }
-
-    private void calculatePerformanceMetrics() {
-        // This could include more sophisticated performance calculations
-        // For now, the metrics are updated in updateFlowMetrics method
-    }
-
     private String getStackTrace(Throwable exception) {
         java.io.StringWriter sw = new java.io.StringWriter();
         java.io.PrintWriter pw = new java.io.PrintWriter(sw);
@@ -347,6 +490,136 @@ public class FlowExecutionMonitoringService {
         return sw.toString();
     }
 
+    // Tracking structures
+
+    private record Active(ActiveKey key, FlowExecutionTrace trace) {
+    }
+
+    /**
+     * Position in the start-time index; the sequence separates executions started at the same time
+     */
+    private record ActiveKey(LocalDateTime startTime, long sequence) implements Comparable<ActiveKey> {
+        @Override
+        public int compareTo(ActiveKey other) {
+            int byTime = startTime.compareTo(other.startTime);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Counters, latency histogram and history ring of one flow
+     */
+    private static final class FlowStats {
+        private final AtomicInteger active = new AtomicInteger();
+        private final LongAdder total = new LongAdder();
+        private final LongAdder successful = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Ring<FlowExecutionEvent> history;
+        private volatile LocalDateTime lastUpdate;
+
+        FlowStats(int historyCapacity) {
+            this.history = new Ring<>(historyCapacity);
+        }
+    }
+
+    /**
+     * Fixed-capacity buffer overwriting its oldest entry
+     */
+    static final class Ring<T> {
+        private final Object[] items;
+        private int next;
+        private int size;
+
+        Ring(int capacity) {
+            this.items = new Object[Math.max(1, capacity)];
+        }
+
+        synchronized void add(T item) {
+            items[next] = item;
+            next = (next + 1) % items.length;
+            if (size < items.length) {
+                size++;
+            }
+        }
+
+        /**
+         * Up to {@code limit} matching entries, newest first
+         */
+        @SuppressWarnings("unchecked")
+        synchronized List<T> newest(int limit, Predicate<T> filter) {
+            List<T> result = new ArrayList<>(Math.min(Math.max(limit, 0), size));
+            for (int i = 1; i <= size && result.size() < limit; i++) {
+                T item = (T) items[Math.floorMod(next - i, items.length)];
+                if (filter.test(item)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Execution times in fixed, roughly logarithmic buckets; percentiles are reported as the
+     * upper bound of their bucket, capped at the longest execution seen
+     */
+    static final class LatencyHistogram {
+        private static final long[] BUCKET_BOUNDS_MS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000,
+            300_000, 900_000, 1_800_000, 3_600_000
+        };
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long durationMs) {
+            int index = Arrays.binarySearch(BUCKET_BOUNDS_MS, durationMs);
+            buckets.incrementAndGet(index >= 0 ? index : -index - 1);
+            count.increment();
+            sum.add(durationMs);
+            min.accumulateAndGet(durationMs, Math::min);
+            max.accumulateAndGet(durationMs, Math::max);
+        }
+
+        double mean() {
+            long n = count.sum();
+            return n > 0 ? (double) sum.sum() / n : 0.0;
+        }
+
+        long min() {
+            long value = min.get();
+            return value == Long.MAX_VALUE ? 0 : value;
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        long percentile(double quantile) {
+            long[] counts = new long[buckets.length()];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i < BUCKET_BOUNDS_MS.length ? Math.min(BUCKET_BOUNDS_MS[i], max()) : max();
+                }
+            }
+            return max();
+        }
+    }
+
     // Data classes
 
     public enum ExecutionStatus {
@@ -371,15 +644,27 @@ public class FlowExecutionMonitoringService {
         private String errorMessage;
         private String exceptionDetails;
         private List<TraceEvent> events = new ArrayList<>();
-
-        public void addEvent(String eventType, String message) {
+        private int droppedEvents;
+        private int maxEvents;
+
+        /**
+         * Append an event. With a maximum set, the oldest events after the first are dropped
+         * to make room.
+         */
+        public synchronized void addEvent(String eventType, String message) {
             TraceEvent event = new TraceEvent();
             event.setEventType(eventType);
             event.setMessage(message);
             event.setTimestamp(LocalDateTime.now());
+            if (maxEvents > 1 && events.size() >= maxEvents) {
+                events.remove(1);
+                droppedEvents++;
+            }
             events.add(event);
         }
 
+        void setMaxEvents(int maxEvents) { this.maxEvents = maxEvents; }
+
         // Getters and setters
         public String getExecutionId() { return executionId; }
         public void setExecutionId(String executionId) { this.executionId = executionId; }
@@ -405,8 +690,9 @@ public class FlowExecutionMonitoringService {
         public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
         public String getExceptionDetails() { return exceptionDetails; }
         public void setExceptionDetails(String exceptionDetails) { this.exceptionDetails = exceptionDetails; }
-        public List<TraceEvent> getEvents() { return events; }
-        public void setEvents(List<TraceEvent> events) { this.events = events; }
+        public synchronized List<TraceEvent> getEvents() { return new ArrayList<>(events); }
+        public synchronized void setEvents(List<TraceEvent> events) { this.events = new ArrayList<>(events); }
+        public synchronized int getDroppedEvents() { return droppedEvents; }
     }
 
     public static class TraceEvent {
@@ -451,29 +737,38 @@ public class FlowExecutionMonitoringService {
 
     public static class FlowPerformanceMetrics {
         private String flowId;
-        private int totalExecutions;
-        private int successfulExecutions;
-        private int failedExecutions;
+        private long totalExecutions;
+        private long successfulExecutions;
+        private long failedExecutions;
         private double averageExecutionTimeMs;
         private long minExecutionTimeMs;
         private long maxExecutionTimeMs;
+        private long p50ExecutionTimeMs;
+        private long p95ExecutionTimeMs;
+        private long p99ExecutionTimeMs;
         private LocalDateTime lastUpdate;
 
         // Getters and setters
         public String getFlowId() { return flowId; }
         public void setFlowId(String flowId) { this.flowId = flowId; }
-        public int getTotalExecutions() { return totalExecutions; }
-        public void setTotalExecutions(int totalExecutions) { this.totalExecutions = totalExecutions; }
-        public int getSuccessfulExecutions() { return successfulExecutions; }
-        public void setSuccessfulExecutions(int successfulExecutions) { this.successfulExecutions = successfulExecutions; }
-        public int getFailedExecutions() { return failedExecutions; }
-        public void setFailedExecutions(int failedExecutions) { this.failedExecutions = failedExecutions; }
+        public long getTotalExecutions() { return totalExecutions; }
+        public void setTotalExecutions(long totalExecutions) { this.totalExecutions = totalExecutions; }
+        public long getSuccessfulExecutions() { return successfulExecutions; }
+        public void setSuccessfulExecutions(long successfulExecutions) { this.successfulExecutions = successfulExecutions; }
+        public long getFailedExecutions() { return failedExecutions; }
+        public void setFailedExecutions(long failedExecutions) { this.failedExecutions = failedExecutions; }
         public double getAverageExecutionTimeMs() { return averageExecutionTimeMs; }
         public void setAverageExecutionTimeMs(double averageExecutionTimeMs) { this.averageExecutionTimeMs = averageExecutionTimeMs; }
         public long getMinExecutionTimeMs() { return minExecutionTimeMs; }
         public void setMinExecutionTimeMs(long minExecutionTimeMs) { this.minExecutionTimeMs = minExecutionTimeMs; }
         public long getMaxExecutionTimeMs() { return maxExecutionTimeMs; }
         public void setMaxExecutionTimeMs(long maxExecutionTimeMs) { this.maxExecutionTimeMs = maxExecutionTimeMs; }
+        public long getP50ExecutionTimeMs() { return p50ExecutionTimeMs; }
+        public void setP50ExecutionTimeMs(long p50ExecutionTimeMs) { this.p50ExecutionTimeMs = p50ExecutionTimeMs; }
+        public long getP95ExecutionTimeMs() { return p95ExecutionTimeMs; }
+        public void setP95ExecutionTimeMs(long p95ExecutionTimeMs) { this.p95ExecutionTimeMs = p95ExecutionTimeMs; }
+        public long getP99ExecutionTimeMs() { return p99ExecutionTimeMs; }
+        public void setP99ExecutionTimeMs(long p99ExecutionTimeMs) { this.p99ExecutionTimeMs = p99ExecutionTimeMs; }
         public LocalDateTime getLastUpdate() { return lastUpdate; }
         public void setLastUpdate(LocalDateTime lastUpdate) { this.lastUpdate = lastUpdate; }
     }
@@ -481,9 +776,14 @@ public class FlowExecutionMonitoringService {
     public static class ExecutionStatistics {
         private int activeExecutions;
         private int runningExecutions;
-        private int completedExecutions;
-        private int failedExecutions;
+        private long completedExecutions;
+        private long failedExecutions;
+        private long cancelledExecutions;
+        private long expiredExecutions;
         private double averageExecutionTimeMs;
+        private long p50ExecutionTimeMs;
+        private long p95ExecutionTimeMs;
+        private long p99ExecutionTimeMs;
         private int uniqueFlowsMonitored;
 
         // Getters and setters
@@ -491,12 +791,22 @@ public class FlowExecutionMonitoringService {
         public void setActiveExecutions(int activeExecutions) { this.activeExecutions = activeExecutions; }
         public int getRunningExecutions() { return runningExecutions; }
         public void setRunningExecutions(int runningExecutions) { this.runningExecutions = runningExecutions; }
-        public int getCompletedExecutions() { return completedExecutions; }
-        public void setCompletedExecutions(int completedExecutions) { this.completedExecutions = completedExecutions; }
-        public int getFailedExecutions() { return failedExecutions; }
-        public void setFailedExecutions(int failedExecutions) { this.failedExecutions = failedExecutions; }
+        public long getCompletedExecutions() { return completedExecutions; }
+        public void setCompletedExecutions(long completedExecutions) { this.completedExecutions = completedExecutions; }
+        public long getFailedExecutions() { return failedExecutions; }
+        public void setFailedExecutions(long failedExecutions) { this.failedExecutions = failedExecutions; }
+        public long getCancelledExecutions() { return cancelledExecutions; }
+        public void setCancelledExecutions(long cancelledExecutions) { this.cancelledExecutions = cancelledExecutions; }
+        public long getExpiredExecutions() { return expiredExecutions; }
+        public void setExpiredExecutions(long expiredExecutions) { this.expiredExecutions = expiredExecutions; }
         public double getAverageExecutionTimeMs() { return averageExecutionTimeMs; }
         public void setAverageExecutionTimeMs(double averageExecutionTimeMs) { this.averageExecutionTimeMs = averageExecutionTimeMs; }
+        public long getP50ExecutionTimeMs() { return p50ExecutionTimeMs; }
+        public void setP50ExecutionTimeMs(long p50ExecutionTimeMs) { this.p50ExecutionTimeMs = p50ExecutionTimeMs; }
+        public long getP95ExecutionTimeMs() { return p95ExecutionTimeMs; }
+        public void setP95ExecutionTimeMs(long p95ExecutionTimeMs) { this.p95ExecutionTimeMs = p95ExecutionTimeMs; }
+        public long getP99ExecutionTimeMs() { return p99ExecutionTimeMs; }
+        public void setP99ExecutionTimeMs(long p99ExecutionTimeMs) { this.p99ExecutionTimeMs = p99ExecutionTimeMs; }
         public int getUniqueFlowsMonitored() { return uniqueFlowsMonitored; }
         public void setUniqueFlowsMonitored(int uniqueFlowsMonitored) { this.uniqueFlowsMonitored = uniqueFlowsMonitored; }
     }
@@ -540,4 +850,4 @@ public class FlowExecutionMonitoringService {
         public LocalDateTime getTimestamp() { return timestamp; }
         public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,14 @@
 package com.integrixs.backend.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.backend.queue.DeadLetterService;
+import com.integrixs.backend.queue.FlowExecutionQueue;
 import com.integrixs.data.model.CommunicationAdapter;
 import com.integrixs.data.model.IntegrationFlow;
 import com.integrixs.data.model.FieldMapping;
 import com.integrixs.data.model.FlowStructure;
 import com.integrixs.data.model.FlowTransformation;
-import com.integrixs.data.repository.CommunicationAdapterRepository;
 import com.integrixs.data.repository.FieldMappingRepository;
-import com.integrixs.data.repository.FlowStructureRepository;
 import com.integrixs.engine.mapper.HierarchicalXmlFieldMapper;
 import com.integrixs.backend.utils.WsdlNamespaceExtractor;
 import org.slf4j.Logger;
@@ -32,7 +32,7 @@ public class FlowExecutionSyncService {
     private static final Logger logger = LoggerFactory.getLogger(FlowExecutionSyncService.class);
     
     @Autowired
-    private CommunicationAdapterRepository adapterRepository;
+    private RuntimeEntityCache runtimeEntityCache;
     
     @Autowired
     private TransformationExecutionService transformationService;
@@ -53,7 +53,7 @@ public class FlowExecutionSyncService {
     private HierarchicalXmlFieldMapper xmlFieldMapper;
     
     @Autowired
-    private FlowStructureRepository flowStructureRepository;
+    private DeadLetterService deadLetterService;
     
     /**
      * Process a message through an integration flow
@@ -63,12 +63,12 @@ public class FlowExecutionSyncService {
         
         // Get source and target adapters
         logger.info("Loading source adapter: {}", flow.getSourceAdapterId());
-        CommunicationAdapter sourceAdapter = adapterRepository.findById(flow.getSourceAdapterId())
+        CommunicationAdapter sourceAdapter = runtimeEntityCache.findAdapter(flow.getSourceAdapterId())
             .orElseThrow(() -> new IllegalArgumentException("Source adapter not found"));
         logger.info("Source adapter: {} (Type: {}, Mode: {})", sourceAdapter.getName(), sourceAdapter.getType(), sourceAdapter.getMode());
         
         logger.info("Loading target adapter: {}", flow.getTargetAdapterId());
-        CommunicationAdapter targetAdapter = adapterRepository.findById(flow.getTargetAdapterId())
+        CommunicationAdapter targetAdapter = runtimeEntityCache.findAdapter(flow.getTargetAdapterId())
             .orElseThrow(() -> new IllegalArgumentException("Target adapter not found"));
         logger.info("Target adapter: {} (Type: {}, Mode: {})", targetAdapter.getName(), targetAdapter.getType(), targetAdapter.getMode());
         
@@ -118,7 +118,7 @@ public class FlowExecutionSyncService {
                 
             String validatedMessage = message;
             if (flow.getSourceFlowStructureId() != null) {
-                FlowStructure sourceFlowStructure = flowStructureRepository.findById(flow.getSourceFlowStructureId())
+                FlowStructure sourceFlowStructure = runtimeEntityCache.findFlowStructure(flow.getSourceFlowStructureId())
                     .orElse(null);
                 if (sourceFlowStructure != null) {
                     // TODO: Implement validateMessage for FlowStructure
@@ -175,7 +175,7 @@ public class FlowExecutionSyncService {
                             
                             // Extract namespaces from source flow structure
                             if (flow.getSourceFlowStructureId() != null) {
-                                FlowStructure sourceFlowStructure = flowStructureRepository.findById(flow.getSourceFlowStructureId()).orElse(null);
+                                FlowStructure sourceFlowStructure = runtimeEntityCache.findFlowStructure(flow.getSourceFlowStructureId()).orElse(null);
                                 if (sourceFlowStructure != null && sourceFlowStructure.getWsdlContent() != null) {
                                     logger.info("Extracting namespaces from source flow structure: {}", sourceFlowStructure.getName());
                                     Map<String, String> sourceNamespaces = WsdlNamespaceExtractor.extractNamespaces(sourceFlowStructure.getWsdlContent());
@@ -186,7 +186,7 @@ public class FlowExecutionSyncService {
                             // Extract namespaces from target flow structure
                             if (flow.getTargetFlowStructureId() != null) {
                                 logger.info("Target flow structure ID: {}", flow.getTargetFlowStructureId());
-                                FlowStructure targetFlowStructure = flowStructureRepository.findById(flow.getTargetFlowStructureId()).orElse(null);
+                                FlowStructure targetFlowStructure = runtimeEntityCache.findFlowStructure(flow.getTargetFlowStructureId()).orElse(null);
                                 if (targetFlowStructure != null) {
                                     logger.info("Target flow structure found: {}", targetFlowStructure.getName());
                                     if (targetFlowStructure.getWsdlContent() != null) {
@@ -306,7 +306,7 @@ public class FlowExecutionSyncService {
             // Only log here if not coming from IntegrationEndpointService (check protocol type)
             if (!"SOAP".equals(protocol) && !"REST".equals(protocol)) {
                 // Log source payload for non-SOAP/REST flows (e.g., direct adapter tests)
-                messageService.logAdapterPayload(correlationId, sourceAdapter, "REQUEST", validatedMessage, "INBOUND");
+                messageService.logAdapterPayload(correlationId, flow.getId().toString(), sourceAdapter, "REQUEST", validatedMessage, "INBOUND");
             }
                 
             String response = adapterExecutionService.executeAdapter(targetAdapter, transformedMessage, context);
@@ -314,7 +314,7 @@ public class FlowExecutionSyncService {
             // Note: Target adapter response logging is handled by IntegrationEndpointService for SOAP/REST flows
             if (response != null && !"SOAP".equals(protocol) && !"REST".equals(protocol)) {
                 // Log target response for non-SOAP/REST flows (e.g., direct adapter tests)
-                messageService.logAdapterPayload(correlationId, targetAdapter, "RESPONSE", response, "OUTBOUND");
+                messageService.logAdapterPayload(correlationId, flow.getId().toString(), targetAdapter, "RESPONSE", response, "OUTBOUND");
             }
             
             try {
@@ -377,6 +377,14 @@ public class FlowExecutionSyncService {
                 logger.warn("Failed to update message status to failed: {}", logEx.getMessage());
             }
             
+            // Nothing retries a synchronous request; keep it for replay
+            try {
+                deadLetterService.recordFailure(flow.getId(), correlationId,
+                    FlowExecutionQueue.WorkType.FLOW_EXECUTION, message, e);
+            } catch (Exception deadLetterEx) {
+                logger.error("Failed to capture dead letter for message {}: {}", correlationId, deadLetterEx.getMessage());
+            }
+            
             throw new RuntimeException("Flow processing failed: " + e.getMessage(), e);
         }
     }
@@ -1,13 +1,12 @@
 package com.integrixs.backend.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.backend.queue.FlowExecutionQueue;
 import com.integrixs.data.model.CommunicationAdapter;
 import com.integrixs.data.model.FlowStatus;
 import com.integrixs.data.model.FlowStructure;
 import com.integrixs.data.model.FlowTransformation;
 import com.integrixs.data.model.IntegrationFlow;
-import com.integrixs.data.repository.CommunicationAdapterRepository;
-import com.integrixs.data.repository.FlowStructureRepository;
 import com.integrixs.data.repository.FlowTransformationRepository;
 import com.integrixs.data.repository.IntegrationFlowRepository;
 import org.springframework.transaction.annotation.Transactional;
@@ -48,10 +47,7 @@ public class IntegrationEndpointService {
     private FlowTransformationRepository transformationRepository;
     
     @Autowired
-    private CommunicationAdapterRepository adapterRepository;
-    
-    @Autowired
-    private FlowStructureRepository flowStructureRepository;
+    private RuntimeEntityCache runtimeEntityCache;
     
     @Autowired
     private FlowExecutionSyncService flowExecutionSyncService;
@@ -62,6 +58,25 @@ public class IntegrationEndpointService {
     @Autowired
     private MessageService messageService;
     
+    @Autowired
+    private FlowExecutionQueue flowExecutionQueue;
+    
+    /**
+     * Accept a request for asynchronous processing. The payload, the SOAP body for SOAP
+     * requests, is stored in the flow execution queue together with its message log entry
+     * before this returns; a queue worker then runs the flow on it.
+     *
+     * @return correlation ID of the accepted message
+     */
+    public String acceptRequest(String flowPath, String payload, String protocol) throws Exception {
+        IntegrationFlow flow = findDeployedFlow(flowPath);
+        String message = "SOAP".equals(protocol) ? extractSoapBody(payload) : payload;
+        String correlationId = flowExecutionQueue.enqueue(flow, FlowExecutionQueue.WorkType.FLOW_EXECUTION,
+            message != null ? message : "", protocol, null);
+        logger.info("Accepted {} request for flow {} with correlation ID {}", protocol, flow.getName(), correlationId);
+        return correlationId;
+    }
+    
     /**
      * Process a SOAP request
      */
@@ -78,7 +93,7 @@ public class IntegrationEndpointService {
         String correlationId = UUID.randomUUID().toString();
         
         // Get source adapter for logging
-        CommunicationAdapter sourceAdapter = adapterRepository.findById(flow.getSourceAdapterId())
+        CommunicationAdapter sourceAdapter = runtimeEntityCache.findAdapter(flow.getSourceAdapterId())
             .orElseThrow(() -> new IllegalArgumentException("Source adapter not found"));
             
         // Log incoming SOAP request to source adapter with correlation ID
@@ -102,14 +117,14 @@ public class IntegrationEndpointService {
             clonedAdapter.setType(sourceAdapter.getType());
             clonedAdapter.setMode(sourceAdapter.getMode());
             
-            messageService.logAdapterPayload(correlationId, clonedAdapter, "REQUEST", soapRequest, "INBOUND");
+            messageService.logAdapterPayload(correlationId, flow.getId().toString(), clonedAdapter, "REQUEST", soapRequest, "INBOUND");
             logger.info("DEBUG: Finished logging source adapter payload");
         } catch (Exception e) {
             logger.error("DEBUG: Exception caught when logging source adapter payload: ", e);
         }
         
         // Check if target adapter is also SOAP
-        CommunicationAdapter targetAdapter = adapterRepository.findById(flow.getTargetAdapterId())
+        CommunicationAdapter targetAdapter = runtimeEntityCache.findAdapter(flow.getTargetAdapterId())
             .orElseThrow(() -> new IllegalArgumentException("Target adapter not found"));
         
         String messageToProcess;
@@ -149,7 +164,7 @@ public class IntegrationEndpointService {
         clonedSourceAdapter.setMode(sourceAdapter.getMode());
         
         try {
-            messageService.logAdapterPayload(correlationId, clonedSourceAdapter, "RESPONSE", soapResponse, "INBOUND");
+            messageService.logAdapterPayload(correlationId, flow.getId().toString(), clonedSourceAdapter, "RESPONSE", soapResponse, "INBOUND");
         } catch (Exception e) {
             logger.warn("Failed to log response payload: {}", e.getMessage());
         }
@@ -189,12 +204,12 @@ public class IntegrationEndpointService {
         }
         
         // Get source adapter
-        CommunicationAdapter sourceAdapter = adapterRepository.findById(flow.getSourceAdapterId())
+        CommunicationAdapter sourceAdapter = runtimeEntityCache.findAdapter(flow.getSourceAdapterId())
             .orElseThrow(() -> new IllegalArgumentException("Source adapter not found"));
         
         // First check if flow has a source flow structure with WSDL
         if (flow.getSourceFlowStructureId() != null) {
-            FlowStructure sourceFlowStructure = flowStructureRepository.findById(flow.getSourceFlowStructureId())
+            FlowStructure sourceFlowStructure = runtimeEntityCache.findFlowStructure(flow.getSourceFlowStructureId())
                 .orElse(null);
             
             if (sourceFlowStructure != null && sourceFlowStructure.getWsdlContent() != null) {
@@ -0,0 +1,261 @@
+package com.integrixs.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Indexed search over the {@code system_logs} table, which holds both system log entries
+ * and the message log entries of flow executions (category {@code FLOW_EXECUTION}).
+ * Adapter payloads are not searched.
+ *
+ * <p>Terms are matched with full-text search over the log message and its details; a
+ * correlation ID matches the correlation ID column as well. {@code contains} matches a
+ * substring of the message through a trigram index, and {@code detailKeys} matches details
+ * JSON that contains the given key/value pairs, such as business keys. Every search is
+ * bounded by a time window and a statement timeout, and is read newest first in pages
+ * that seek on {@code (timestamp, id)}. Matched terms are highlighted in the returned page.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class LogSearchService {
+
+    private static final String TSV = "to_tsvector('simple', message || ' ' || COALESCE(details, ''))";
+    private static final String HIGHLIGHT_OPTIONS =
+        "StartSel=<mark>, StopSel=</mark>, MaxFragments=3, MaxWords=20, MinWords=5";
+    private static final Pattern UUID_PATTERN =
+        Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private static final RowMapper<LogSearchHit> HIT_MAPPER = (rs, rowNum) -> new LogSearchHit(
+        rs.getObject("id", UUID.class),
+        rs.getTimestamp("timestamp").toLocalDateTime(),
+        rs.getString("level"),
+        rs.getString("category"),
+        rs.getString("source"),
+        rs.getString("source_name"),
+        rs.getString("correlation_id"),
+        rs.getString("message"),
+        rs.getString("message_highlight"),
+        rs.getString("details_highlight"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration defaultWindow;
+    private final Duration maxWindow;
+    private final int maxPageSize;
+
+    public LogSearchService(DataSource dataSource,
+                            @Value("${logs.search.default-window-hours:24}") long defaultWindowHours,
+                            @Value("${logs.search.max-window-days:31}") long maxWindowDays,
+                            @Value("${logs.search.max-page-size:200}") int maxPageSize,
+                            @Value("${logs.search.timeout-seconds:10}") int timeoutSeconds) {
+        // Own template so the statement timeout applies to searches only
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout(timeoutSeconds);
+        this.defaultWindow = Duration.ofHours(defaultWindowHours);
+        this.maxWindow = Duration.ofDays(maxWindowDays);
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Search logs, newest first.
+     *
+     * @throws IllegalArgumentException if the time window exceeds the maximum or nothing is searched for
+     */
+    public LogSearchPage search(LogSearchRequest request) {
+        boolean hasTerms = request.query() != null && !request.query().isBlank();
+        boolean hasContains = request.contains() != null && !request.contains().isBlank();
+        boolean hasDetailKeys = request.detailKeys() != null && !request.detailKeys().isEmpty();
+        if (!hasTerms && !hasContains && !hasDetailKeys) {
+            throw new IllegalArgumentException("A query, contains text or detail keys are required");
+        }
+
+        LocalDateTime to = request.to() != null ? request.to() : LocalDateTime.now();
+        LocalDateTime from = request.from() != null ? request.from() : to.minus(defaultWindow);
+        if (Duration.between(from, to).compareTo(maxWindow) > 0) {
+            throw new IllegalArgumentException("Search window is limited to " + maxWindow.toDays() + " days");
+        }
+        int size = Math.max(1, Math.min(request.size(), maxPageSize));
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder(" WHERE timestamp >= ? AND timestamp < ?");
+        args.add(Timestamp.valueOf(from));
+        args.add(Timestamp.valueOf(to));
+
+        String query = hasTerms ? request.query().trim() : null;
+        if (hasTerms) {
+            if (UUID_PATTERN.matcher(query).matches()) {
+                where.append(" AND (correlation_id = ? OR ").append(TSV).append(" @@ phraseto_tsquery('simple', ?))");
+                args.add(query);
+            } else {
+                where.append(" AND ").append(TSV).append(" @@ websearch_to_tsquery('simple', ?)");
+            }
+            args.add(query);
+        }
+        if (hasContains) {
+            where.append(" AND message ILIKE ?");
+            args.add("%" + escapeLike(request.contains()) + "%");
+        }
+        if (hasDetailKeys) {
+            where.append(" AND message_summary_details(details) @> ?::jsonb");
+            args.add(toJson(request.detailKeys()));
+        }
+        if (request.level() != null) {
+            where.append(" AND level = ?");
+            args.add(request.level());
+        }
+        if (request.source() != null) {
+            where.append(" AND source = ?");
+            args.add(request.source());
+        }
+        if (request.category() != null) {
+            where.append(" AND category = ?");
+            args.add(request.category());
+        }
+        Cursor after = decodeCursor(request.cursor());
+        if (after != null) {
+            where.append(" AND (timestamp, id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.timestamp()));
+            args.add(after.id());
+        }
+
+        // Highlights are computed in the outer query, only for the rows of the page
+        String tsQuery = query == null ? null
+            : UUID_PATTERN.matcher(query).matches() ? "phraseto_tsquery('simple', ?)" : "websearch_to_tsquery('simple', ?)";
+        StringBuilder sql = new StringBuilder("SELECT page.id, page.timestamp, page.level, page.category, page.source, ")
+            .append("page.source_name, page.correlation_id, page.message, ");
+        List<Object> selectArgs = new ArrayList<>();
+        if (tsQuery != null) {
+            sql.append("ts_headline('simple', ").append(escapeHtml("page.message")).append(", ").append(tsQuery)
+               .append(", '").append(HIGHLIGHT_OPTIONS).append("') AS message_highlight, ")
+               .append("CASE WHEN page.details IS NULL THEN NULL ELSE ts_headline('simple', ")
+               .append(escapeHtml("page.details")).append(", ").append(tsQuery).append(", '").append(HIGHLIGHT_OPTIONS)
+               .append("') END AS details_highlight");
+            selectArgs.add(query);
+            selectArgs.add(query);
+        } else {
+            sql.append("NULL AS message_highlight, NULL AS details_highlight");
+        }
+        sql.append(" FROM (SELECT id, timestamp, level, category, source, source_name, correlation_id, message, details")
+           .append(" FROM system_logs").append(where)
+           .append(" ORDER BY timestamp DESC, id DESC LIMIT ?) page ORDER BY page.timestamp DESC, page.id DESC");
+        selectArgs.addAll(args);
+        selectArgs.add(size + 1);
+
+        long start = System.nanoTime();
+        List<LogSearchHit> hits = jdbcTemplate.query(sql.toString(), HIT_MAPPER, selectArgs.toArray());
+        boolean hasMore = hits.size() > size;
+        if (hasMore) {
+            hits = hits.subList(0, size);
+        }
+        if (hasContains && query == null) {
+            hits = hits.stream().map(hit -> hit.withMessageHighlight(highlightSubstring(hit.message(), request.contains()))).toList();
+        }
+        log.debug("Log search returned {} hits in {} ms", hits.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return new LogSearchPage(hits, hasMore ? encodeCursor(hits.get(hits.size() - 1)) : null, from, to);
+    }
+
+    private String toJson(Map<String, String> detailKeys) {
+        try {
+            return objectMapper.writeValueAsString(detailKeys);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid detail keys", e);
+        }
+    }
+
+    /**
+     * SQL expression escaping a column for HTML, so only the highlight tags are markup
+     */
+    private static String escapeHtml(String column) {
+        return "replace(replace(replace(" + column + ", '&', '&amp;'), '<', '&lt;'), '>', '&gt;')";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String highlightSubstring(String message, String text) {
+        if (message == null) {
+            return null;
+        }
+        String escaped = message.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+        String needle = text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+        return Pattern.compile(Pattern.quote(needle), Pattern.CASE_INSENSITIVE).matcher(escaped)
+            .replaceAll(match -> "<mark>" + Matcher.quoteReplacement(match.group()) + "</mark>");
+    }
+
+    private static String encodeCursor(LogSearchHit last) {
+        String value = last.timestamp() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new Cursor(LocalDateTime.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+    }
+
+    private record Cursor(LocalDateTime timestamp, UUID id) {
+    }
+
+    /**
+     * @param query full-text terms (web search syntax: quotes, OR, -) or a correlation ID
+     * @param contains substring of the message
+     * @param detailKeys key/value pairs the details JSON must contain
+     * @param from window start; the default window before {@code to} if null
+     * @param to window end; now if null
+     * @param cursor cursor of the previous page, or null
+     */
+    public record LogSearchRequest(String query, String contains, Map<String, String> detailKeys, String level,
+                                   String source, String category, LocalDateTime from, LocalDateTime to,
+                                   String cursor, int size) {
+    }
+
+    /**
+     * @param messageHighlight message with matched terms in {@code <mark>} tags
+     * @param detailsHighlight fragments of the details around matched terms
+     */
+    public record LogSearchHit(UUID id, LocalDateTime timestamp, String level, String category, String source,
+                               String sourceName, String correlationId, String message, String messageHighlight,
+                               String detailsHighlight) {
+
+        LogSearchHit withMessageHighlight(String highlight) {
+            return new LogSearchHit(id, timestamp, level, category, source, sourceName, correlationId, message,
+                                    highlight, detailsHighlight);
+        }
+    }
+
+    /**
+     * @param nextCursor cursor for the following page; null on the last page
+     * @param from effective window start
+     * @param to effective window end
+     */
+    public record LogSearchPage(List<LogSearchHit> hits, String nextCursor, LocalDateTime from, LocalDateTime to) {
+    }
+}
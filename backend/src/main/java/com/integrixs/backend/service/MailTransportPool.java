@@ -0,0 +1,139 @@
+package com.integrixs.backend.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Keeps SMTP connections of a {@link JavaMailSenderImpl} open between sends.
+ *
+ * <p>{@code JavaMailSenderImpl.send} connects, authenticates and disconnects on every call.
+ * This pool hands out connected transports instead and takes them back after use; a
+ * transport that the server has closed meanwhile is replaced, and a send that fails on a
+ * reused connection is retried once on a new one.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class MailTransportPool implements AutoCloseable {
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<Transport> idle;
+
+    public MailTransportPool(JavaMailSenderImpl mailSender, int size) {
+        this.mailSender = mailSender;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, size));
+    }
+
+    /**
+     * Send the messages over one pooled connection.
+     */
+    public void send(List<MimeMessage> messages) throws MessagingException {
+        for (MimeMessage message : messages) {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+        }
+        Transport transport = borrow();
+        boolean reused = transport.isConnected();
+        int sent = 0;
+        try {
+            if (!reused) {
+                connect(transport);
+            }
+            for (MimeMessage message : messages) {
+                transport.sendMessage(message, message.getAllRecipients());
+                sent++;
+            }
+        } catch (MessagingException e) {
+            closeQuietly(transport);
+            if (!reused) {
+                throw e;
+            }
+            // The server may have dropped the connection since its last use
+            log.debug("Pooled SMTP connection failed, retrying on a new one: {}", e.getMessage());
+            transport = newTransport();
+            connect(transport);
+            try {
+                for (MimeMessage message : messages.subList(sent, messages.size())) {
+                    transport.sendMessage(message, message.getAllRecipients());
+                }
+            } catch (MessagingException retryFailure) {
+                closeQuietly(transport);
+                throw retryFailure;
+            }
+        }
+        release(transport);
+    }
+
+    /**
+     * Number of open connections waiting to be reused.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    private Transport borrow() throws MessagingException {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            if (transport.isConnected()) {
+                return transport;
+            }
+            closeQuietly(transport);
+        }
+        return newTransport();
+    }
+
+    private Transport newTransport() throws MessagingException {
+        // As JavaMailSenderImpl does: without a protocol, the session's default, else SMTP
+        String protocol = mailSender.getProtocol();
+        if (protocol == null) {
+            protocol = mailSender.getSession().getProperty("mail.transport.protocol");
+        }
+        return mailSender.getSession().getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+    }
+
+    private void release(Transport transport) {
+        if (!idle.offer(transport)) {
+            closeQuietly(transport);
+        }
+    }
+
+    private void connect(Transport transport) throws MessagingException {
+        // As JavaMailSenderImpl does: empty credentials mean none
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) {
+                password = null;
+            }
+        }
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+    }
+
+    private void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.integrixs.backend.service;
 
+import com.integrixs.backend.queue.FlowExecutionQueue;
 import com.integrixs.data.model.IntegrationFlow;
 import com.integrixs.data.repository.IntegrationFlowRepository;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -7,6 +8,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -14,7 +16,6 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @Service("backendMessageProcessingEngine")
 public class MessageProcessingEngine {
@@ -28,8 +29,14 @@ public class MessageProcessingEngine {
     @Autowired
     private OrchestrationEngineService orchestrationEngine;
     
+    @Autowired
+    private FlowExecutionQueue flowExecutionQueue;
+    
+    @Autowired
+    @Qualifier("flowExecutor")
+    private ExecutorService executorService;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
     private final Map<String, ProcessingExecution> activeExecutions = new ConcurrentHashMap<>();
 
     /**
@@ -53,7 +60,45 @@ public class MessageProcessingEngine {
     }
 
     /**
-     * Process message asynchronously
+     * Accept a message for asynchronous processing. The message is stored in the flow
+     * execution queue before this returns and survives a restart; a queue worker processes it.
+     *
+     * @return correlation ID of the accepted message
+     */
+    public String submitMessage(String flowId, Object messageData) {
+        IntegrationFlow flow = integrationFlowRepository.findById(UUID.fromString(flowId))
+            .orElseThrow(() -> new IllegalArgumentException("Integration flow not found: " + flowId));
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(messageData);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Message cannot be serialized: " + e.getMessage(), e);
+        }
+        return flowExecutionQueue.enqueue(flow, FlowExecutionQueue.WorkType.MESSAGE, payload, "API", null);
+    }
+
+    /**
+     * Accept several messages for asynchronous processing in one transaction.
+     *
+     * @return correlation IDs of the accepted messages, in order
+     */
+    public List<String> submitMessages(String flowId, List<Object> messages) {
+        IntegrationFlow flow = integrationFlowRepository.findById(UUID.fromString(flowId))
+            .orElseThrow(() -> new IllegalArgumentException("Integration flow not found: " + flowId));
+        List<String> payloads = new ArrayList<>(messages.size());
+        for (Object message : messages) {
+            try {
+                payloads.add(objectMapper.writeValueAsString(message));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Message cannot be serialized: " + e.getMessage(), e);
+            }
+        }
+        return flowExecutionQueue.enqueueBatch(flow, payloads, "API");
+    }
+
+    /**
+     * Process message asynchronously. The message is held in memory only and is lost if
+     * the node stops; use {@link #submitMessage} for durable acceptance.
      */
     public CompletableFuture<ProcessingResult> processMessageAsync(String flowId, Object messageData) {
         return CompletableFuture.supplyAsync(() -> processMessage(flowId, messageData), executorService);
@@ -1,5 +1,6 @@
 package com.integrixs.backend.service;
 
+import com.integrixs.shared.dto.AdapterPayloadDTO;
 import com.integrixs.shared.dto.RecentMessageDTO;
 import com.integrixs.shared.dto.MessageDTO;
 import com.integrixs.shared.dto.MessageStatsDTO;
@@ -8,27 +9,31 @@ import com.integrixs.data.model.AdapterPayload;
 import com.integrixs.data.repository.SystemLogRepository;
 import com.integrixs.data.repository.AdapterPayloadRepository;
 import com.integrixs.backend.exception.ResourceNotFoundException;
+import com.integrixs.backend.queue.FlowExecutionQueue;
 import com.integrixs.data.model.CommunicationAdapter;
 import com.integrixs.data.model.IntegrationFlow;
 import com.integrixs.data.model.SystemLog.LogLevel;
 import com.integrixs.data.repository.IntegrationFlowRepository;
+import com.integrixs.backend.config.PayloadStorageConfig;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.persistence.criteria.Predicate;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -58,16 +63,49 @@ public class MessageService {
     
     @Autowired
     private SystemConfigurationService systemConfigurationService;
+    
+    @Autowired
+    private MessageSummaryService messageSummaryService;
+    
+    @Autowired
+    private PayloadStore payloadStore;
+    
+    @Autowired
+    private PayloadStorageConfig payloadStorageConfig;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Payload rows commit on their own, after the body has been compressed or offloaded
+    private TransactionTemplate payloadTransaction;
 
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+    
+    @PostConstruct
+    void initPayloadTransaction() {
+        payloadTransaction = new TransactionTemplate(transactionManager);
+        payloadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    // Adapter logs and payloads of a message may be written shortly before its main log entry
+    private static final long MESSAGE_LOG_MARGIN_MINUTES = 5;
+    
+    // Log and payload tables are partitioned by time; every lookup below is bounded by it
+    @Value("${messages.recent-window-days:7}")
+    private int recentWindowDays;
+    
+    @Value("${retention.adapter-payloads.retention-days:30}")
+    private int payloadRetentionDays;
 
     @Transactional(readOnly = true)
     public List<RecentMessageDTO> getRecentMessages(String businessComponentId, int limit) {
         PageRequest pageRequest = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "timestamp"));
         
+        LocalDateTime since = LocalDateTime.now().minusDays(recentWindowDays);
+        
         List<SystemLog> logs = businessComponentId != null
-            ? logRepository.findByComponentId(businessComponentId, pageRequest)
-            : logRepository.findAll(pageRequest).getContent();
+            ? logRepository.findByComponentIdAndTimestampAfter(businessComponentId, since, pageRequest)
+            : logRepository.findByTimestampAfter(since, pageRequest);
 
         return logs.stream()
                 .map(this::convertToRecentMessageDTO)
@@ -75,45 +113,60 @@ public class MessageService {
     }
     
     /**
-     * Get messages with filtering and pagination
+     * Get messages with filtering and pagination. Pages are read from the message summary
+     * table; pass the returned {@code nextCursor} as the {@code cursor} filter to seek to the
+     * following page, which stays cheap at any depth. Without a cursor, {@code page} is used
+     * as an offset. {@code total} is exact unless {@code totalEstimated} is set.
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getMessages(Map<String, Object> filters, int page, int size) {
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
-        Specification<SystemLog> spec = buildSpecification(filters);
-        
-        // Get all logs matching the filters
-        Page<SystemLog> logPage = logRepository.findAll(spec, pageRequest);
-        
-        // Group by correlation ID to find main flow messages and their adapter activities
-        Map<String, List<SystemLog>> logsByCorrelation = new HashMap<>();
-        List<SystemLog> mainFlowLogs = new ArrayList<>();
-        
-        for (SystemLog log : logPage.getContent()) {
-            if (log.getCorrelationId() != null) {
-                // Group by correlation ID
-                logsByCorrelation.computeIfAbsent(log.getCorrelationId(), k -> new ArrayList<>()).add(log);
-                
-                // Identify main flow execution logs
-                if ("FLOW_EXECUTION".equals(log.getCategory()) || 
-                    "IntegrationFlow".equals(log.getDomainType())) {
-                    mainFlowLogs.add(log);
-                }
-            } else if ("FLOW_EXECUTION".equals(log.getCategory()) || 
-                       "IntegrationFlow".equals(log.getDomainType())) {
-                // Flow logs without correlation ID
-                mainFlowLogs.add(log);
-            }
+        MessageSummaryService.SummaryPage summaryPage = messageSummaryService.findPage(
+                toSummaryFilter(filters), (String) filters.get("cursor"), page, size,
+                Boolean.TRUE.equals(filters.get("exactTotal")));
+        
+        // Load the page's message logs and their adapter activity in two queries, bounded by
+        // the page's time range
+        List<UUID> ids = summaryPage.messages().stream()
+                .map(MessageSummaryService.MessageSummary::id)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return pageResult(List.of(), summaryPage);
         }
-        
-        // Convert main flow logs to DTOs and include related adapter logs
-        List<MessageDTO> messages = mainFlowLogs.stream()
+        LocalDateTime oldest = summaryPage.messages().stream()
+                .map(MessageSummaryService.MessageSummary::startedAt)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime newest = summaryPage.messages().stream()
+                .map(MessageSummaryService.MessageSummary::startedAt)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        Map<UUID, SystemLog> mainLogs = new HashMap<>();
+        for (SystemLog log : logRepository.findByIdInAndTimestampBetween(ids, oldest, newest)) {
+            mainLogs.put(log.getId(), log);
+        }
+        Set<String> correlationIds = summaryPage.messages().stream()
+                .map(MessageSummaryService.MessageSummary::correlationId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, List<SystemLog>> logsByCorrelation = correlationIds.isEmpty() ? Map.of()
+                : logRepository.findByCorrelationIdInAndTimestampGreaterThanEqual(
+                        correlationIds, oldest.minusMinutes(MESSAGE_LOG_MARGIN_MINUTES)).stream()
+                        .collect(Collectors.groupingBy(SystemLog::getCorrelationId));
+        
+        List<MessageDTO> messages = ids.stream()
+                .map(mainLogs::get)
+                .filter(Objects::nonNull)
                 .map(log -> convertToMessageDTOWithAdapterLogs(log, logsByCorrelation))
                 .collect(Collectors.toList());
         
+        return pageResult(messages, summaryPage);
+    }
+    
+    private Map<String, Object> pageResult(List<MessageDTO> messages, MessageSummaryService.SummaryPage summaryPage) {
         Map<String, Object> result = new HashMap<>();
         result.put("messages", messages);
-        result.put("total", mainFlowLogs.size());
+        result.put("total", summaryPage.total());
+        result.put("totalEstimated", summaryPage.totalEstimated());
+        result.put("nextCursor", summaryPage.nextCursor());
+        result.put("hasMore", summaryPage.nextCursor() != null);
         
         return result;
     }
@@ -123,73 +176,41 @@ public class MessageService {
      */
     @Transactional(readOnly = true)
     public MessageDTO getMessageById(String id) {
-        SystemLog log = logRepository.findById(UUID.fromString(id))
+        SystemLog log = findMessageLog(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Message not found with id: " + id));
         return convertToMessageDTO(log);
     }
     
+    /**
+     * Main log entry of a message, read from its partition through the message summary
+     */
+    private Optional<SystemLog> findMessageLog(String id) {
+        return messageSummaryService.findKey(UUID.fromString(id))
+                .flatMap(key -> logRepository.findByIdAndTimestamp(key.id(), key.startedAt()));
+    }
+    
+    /**
+     * Main log entry of the message with the given correlation ID
+     */
+    private Optional<SystemLog> findMessageLogByCorrelationId(String correlationId) {
+        return messageSummaryService.findKeyByCorrelationId(correlationId)
+                .flatMap(key -> logRepository.findByIdAndTimestamp(key.id(), key.startedAt()));
+    }
+    
     /**
      * Get message statistics
      */
     @Transactional(readOnly = true)
     public MessageStatsDTO getMessageStats(Map<String, Object> filters) {
         logger.debug("Getting message stats with filters: {}", filters);
-        Specification<SystemLog> spec = buildSpecification(filters);
-        List<SystemLog> logs = logRepository.findAll(spec);
-        
-        // Filter to only count unique flow executions (not adapter logs)
-        Set<String> countedFlows = new HashSet<>();
-        long total = 0;
-        long successful = 0;
-        long failed = 0;
-        
-        for (SystemLog log : logs) {
-            // Only count main flow execution logs for statistics
-            if ("FLOW_EXECUTION".equals(log.getCategory()) || 
-                "IntegrationFlow".equals(log.getDomainType())) {
-                
-                // Avoid counting the same flow multiple times
-                String flowKey = log.getCorrelationId() != null ? log.getCorrelationId() : log.getId().toString();
-                if (!countedFlows.contains(flowKey)) {
-                    countedFlows.add(flowKey);
-                    total++;
-                    
-                    if ("SUCCESS".equals(log.getLevel().name()) || "INFO".equals(log.getLevel().name())) {
-                        successful++;
-                    } else if ("ERROR".equals(log.getLevel().name()) || "FATAL".equals(log.getLevel().name())) {
-                        failed++;
-                    }
-                }
-            }
-        }
+        MessageSummaryService.SummaryStats stats = messageSummaryService.stats(toSummaryFilter(filters));
         
+        long total = stats.total();
+        long successful = stats.successful();
+        long failed = stats.failed();
         long processing = total - successful - failed;
         double successRate = total > 0 ? (double) successful / total * 100 : 0;
-        
-        // Calculate average processing time from flow execution details
-        double avgProcessingTime = 250.0; // Default
-        List<Long> processingTimes = new ArrayList<>();
-        
-        for (SystemLog log : logs) {
-            if (("FLOW_EXECUTION".equals(log.getCategory()) || "IntegrationFlow".equals(log.getDomainType())) 
-                && log.getDetails() != null) {
-                try {
-                    JsonNode details = objectMapper.readTree(log.getDetails());
-                    if (details.has("durationMs")) {
-                        processingTimes.add(details.get("durationMs").asLong());
-                    }
-                } catch (Exception e) {
-                    // Ignore parsing errors
-                }
-            }
-        }
-        
-        if (!processingTimes.isEmpty()) {
-            avgProcessingTime = processingTimes.stream()
-                .mapToLong(Long::longValue)
-                .average()
-                .orElse(250.0);
-        }
+        double avgProcessingTime = stats.avgDurationMs() != null ? stats.avgDurationMs() : 250.0; // Default
         
         logger.debug("Message stats - total: {}, successful: {}, failed: {}, processing: {}", 
                     total, successful, failed, processing);
@@ -209,7 +230,7 @@ public class MessageService {
      */
     @Transactional
     public MessageDTO reprocessMessage(String id) {
-        SystemLog log = logRepository.findById(UUID.fromString(id))
+        SystemLog log = findMessageLog(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Message not found with id: " + id));
         
         // Only reprocess messages that are flow executions
@@ -240,11 +261,12 @@ public class MessageService {
         
         // If no payload in details, check adapter payloads
         if (originalPayload == null && log.getCorrelationId() != null) {
-            List<AdapterPayload> payloads = payloadRepository.findByCorrelationIdOrderByCreatedAtAsc(log.getCorrelationId());
+            List<AdapterPayload> payloads = payloadRepository.findByCorrelationIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                    log.getCorrelationId(), log.getTimestamp().minusMinutes(MESSAGE_LOG_MARGIN_MINUTES));
             // Find the first source adapter request payload
             for (AdapterPayload payload : payloads) {
                 if ("request".equalsIgnoreCase(payload.getPayloadType()) && "source".equalsIgnoreCase(payload.getDirection())) {
-                    originalPayload = payload.getPayload();
+                    originalPayload = payloadStore.read(payload);
                     break;
                 }
             }
@@ -257,22 +279,14 @@ public class MessageService {
         logger.info("Reprocessing message {} (flow: {}) with new correlation ID: {}", id, flowId, newCorrelationId);
         
         try {
-            // Get the flow execution service instance
-            FlowExecutionAsyncService flowExecutionService = applicationContext.getBean(FlowExecutionAsyncService.class);
-            
-            // Create a new message for the reprocessing
             IntegrationFlow flow = flowRepository.findById(UUID.fromString(flowId))
                     .orElseThrow(() -> new ResourceNotFoundException("Flow not found: " + flowId));
             
-            String reprocessCorrelationId = createMessage(flow, 
-                    "Reprocessing message from " + log.getCorrelationId(), 
-                    "REPROCESS", 
-                    newCorrelationId);
-            
-            // Execute the flow
+            // Queue the execution with its message in this transaction; a queue worker runs it
             // Note: The flow will pull fresh data from the source adapter
             // TODO: In the future, we could enhance to support replaying with original payload
-            flowExecutionService.executeFlow(flowId);
+            applicationContext.getBean(FlowExecutionQueue.class).enqueue(flow,
+                    FlowExecutionQueue.WorkType.FLOW_EXECUTION, null, "REPROCESS", newCorrelationId);
             
             // Update the original message to indicate it was reprocessed
             log.setDetails(updateDetailsWithReprocessInfo(log.getDetails(), newCorrelationId));
@@ -334,13 +348,24 @@ public class MessageService {
     /**
      * Log adapter payload (request or response) to dedicated payload table
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW, noRollbackFor = Exception.class)
     public void logAdapterPayload(String correlationId, CommunicationAdapter adapter, 
                                   String payloadType, String payload, String direction) {
-        logger.info("DEBUG: logAdapterPayload called - correlationId: {}, adapter: {}, direction: {}, payloadType: {}", 
+        logAdapterPayload(correlationId, null, adapter, payloadType, payload, direction);
+    }
+    
+    /**
+     * Log adapter payload (request or response) to dedicated payload table, captured per the
+     * flow's payload capture policy. The body is compressed or written to the blob store
+     * before the row is saved in its own transaction.
+     *
+     * @param flowId flow of the message, or null for the default capture policy
+     */
+    public void logAdapterPayload(String correlationId, String flowId, CommunicationAdapter adapter, 
+                                  String payloadType, String payload, String direction) {
+        logger.debug("Logging adapter payload - correlationId: {}, adapter: {}, direction: {}, payloadType: {}", 
             correlationId, adapter.getName(), direction, payloadType);
         try {
-            // Use the new AdapterPayload entity
+            PayloadStore.StoredBody body = payloadStore.store(flowId, correlationId, payload);
             AdapterPayload adapterPayload = AdapterPayload.builder()
                 .correlationId(correlationId)
                 .adapterId(adapter.getId())
@@ -348,36 +373,41 @@ public class MessageService {
                 .adapterType(adapter.getType() != null ? adapter.getType().name() : "UNKNOWN")
                 .direction(direction)
                 .payloadType(payloadType)
-                .payload(payload)
-                .payloadSize(payload != null ? payload.length() : 0)
+                .payload(body.text())
+                .payloadCompressed(body.compressed())
+                .payloadRef(body.ref())
+                .payloadEncoding(body.encoding())
+                .payloadSize(body.originalSize())
+                .storedSize(body.storedSize())
+                .truncated(body.truncated())
                 .build();
             
-            logger.info("DEBUG: About to save AdapterPayload to database");
-            AdapterPayload saved = payloadRepository.save(adapterPayload);
-            logger.info("DEBUG: Successfully saved adapter payload with ID: {}", saved.getId());
-            
-            logger.info("DEBUG: Saved payload to database");
-            
-            // Also log a simple entry to system_logs for tracking
-            try {
-                SystemLog log = new SystemLog();
-                log.setTimestamp(LocalDateTime.now());
-                log.setCreatedAt(LocalDateTime.now());
-                log.setLevel(SystemLog.LogLevel.INFO);
-                log.setMessage(String.format("Adapter %s payload logged - %s", direction, payloadType));
-                log.setCategory("ADAPTER_PAYLOAD");
-                log.setDomainType("CommunicationAdapter");
-                log.setDomainReferenceId(adapter.getId().toString());
-                log.setCorrelationId(correlationId);
-                log.setSourceName(adapter.getName());
-                log.setSource(adapter.getType() != null ? adapter.getType().name() : "UNKNOWN");
-                ObjectNode logDetails = objectMapper.createObjectNode();
-                logDetails.put("message", String.format("Payload stored in adapter_payloads table with ID: %s", saved.getId()));
-                log.setDetails(logDetails.toString());
-                logRepository.save(log);
-            } catch (Exception ex) {
-                logger.warn("Failed to create system log entry for payload: ", ex);
-            }
+            payloadTransaction.executeWithoutResult(status -> {
+                AdapterPayload saved = payloadRepository.save(adapterPayload);
+                logger.debug("Saved adapter payload with ID: {} ({}, {} of {} bytes stored)", 
+                    saved.getId(), body.encoding(), body.storedSize(), body.originalSize());
+                
+                // Also log a simple entry to system_logs for tracking
+                try {
+                    SystemLog log = new SystemLog();
+                    log.setTimestamp(LocalDateTime.now());
+                    log.setCreatedAt(LocalDateTime.now());
+                    log.setLevel(SystemLog.LogLevel.INFO);
+                    log.setMessage(String.format("Adapter %s payload logged - %s", direction, payloadType));
+                    log.setCategory("ADAPTER_PAYLOAD");
+                    log.setDomainType("CommunicationAdapter");
+                    log.setDomainReferenceId(adapter.getId().toString());
+                    log.setCorrelationId(correlationId);
+                    log.setSourceName(adapter.getName());
+                    log.setSource(adapter.getType() != null ? adapter.getType().name() : "UNKNOWN");
+                    ObjectNode logDetails = objectMapper.createObjectNode();
+                    logDetails.put("message", String.format("Payload stored in adapter_payloads table with ID: %s", saved.getId()));
+                    log.setDetails(logDetails.toString());
+                    logRepository.save(log);
+                } catch (Exception ex) {
+                    logger.warn("Failed to create system log entry for payload: ", ex);
+                }
+            });
             
         } catch (Exception e) {
             logger.error("Error logging adapter payload for adapter: {} - Error: {}", adapter.getName(), e.getMessage());
@@ -388,109 +418,77 @@ public class MessageService {
     /**
      * Get adapter payloads by correlation ID
      */
-    public List<AdapterPayload> getAdapterPayloads(String correlationId) {
-        return payloadRepository.findByCorrelationIdOrderByCreatedAtAsc(correlationId);
+    public List<AdapterPayloadDTO> getAdapterPayloads(String correlationId) {
+        int inlineMaxBytes = payloadStorageConfig.getListInlineMaxBytes();
+        return payloadRepository.findListing(correlationId, payloadsSince(correlationId), inlineMaxBytes).stream()
+                .map(listing -> {
+                    boolean captured = !PayloadStore.OMITTED.equals(listing.getPayloadEncoding());
+                    boolean deferred = captured && (PayloadStore.BLOB.equals(listing.getPayloadEncoding())
+                            || listing.getPayloadSize() == null || listing.getPayloadSize() > inlineMaxBytes);
+                    return AdapterPayloadDTO.builder()
+                            .id(listing.getId().toString())
+                            .correlationId(listing.getCorrelationId())
+                            .adapterId(listing.getAdapterId() != null ? listing.getAdapterId().toString() : null)
+                            .adapterName(listing.getAdapterName())
+                            .adapterType(listing.getAdapterType())
+                            .direction(listing.getDirection())
+                            .payloadType(listing.getPayloadType())
+                            .payload(captured && !deferred ? payloadStore.read(listing.getPayloadEncoding(),
+                                    listing.getPayload(), listing.getPayloadCompressed(), listing.getPayloadRef()) : null)
+                            .payloadSize(listing.getPayloadSize())
+                            .storedSize(listing.getStoredSize())
+                            .encoding(listing.getPayloadEncoding() != null ? listing.getPayloadEncoding() : PayloadStore.PLAIN)
+                            .truncated(listing.isTruncated())
+                            .captured(captured)
+                            .contentDeferred(deferred)
+                            .createdAt(listing.getCreatedAt())
+                            .build();
+                })
+                .collect(Collectors.toList());
     }
     
-    private Specification<SystemLog> buildSpecification(Map<String, Object> filters) {
-        return (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            
-            // Filter to show messages from integration flows AND adapter activity
-            // Include both flow execution logs and adapter activity logs (linked by correlation ID)
-            predicates.add(cb.or(
-                cb.equal(root.get("domainType"), "IntegrationFlow"),
-                cb.equal(root.get("domainType"), "CommunicationAdapter"),
-                cb.equal(root.get("category"), "FLOW_EXECUTION"),
-                cb.equal(root.get("category"), "ADAPTER_ACTIVITY"),
-                cb.equal(root.get("category"), "ADAPTER_PAYLOAD"),
-                cb.equal(root.get("category"), "DIRECT_FLOW"),
-                cb.equal(root.get("category"), "ORCHESTRATION_FLOW"),
-                cb.like(root.get("category"), "FLOW_%"),
-                cb.isNotNull(root.get("correlationId")) // Include any log with a correlation ID
-            ));
-            
-            if (filters.containsKey("status")) {
-                List<String> statuses = (List<String>) filters.get("status");
-                List<Predicate> statusPredicates = new ArrayList<>();
-                for (String status : statuses) {
-                    if ("success".equals(status)) {
-                        statusPredicates.add(cb.or(
-                                cb.equal(root.get("level"), "SUCCESS"),
-                                cb.equal(root.get("level"), "INFO")
-                        ));
-                    } else if ("failed".equals(status)) {
-                        statusPredicates.add(cb.or(
-                                cb.equal(root.get("level"), "ERROR"),
-                                cb.equal(root.get("level"), "FATAL")
-                        ));
-                    } else if ("processing".equals(status)) {
-                        statusPredicates.add(cb.and(
-                                cb.notEqual(root.get("level"), "SUCCESS"),
-                                cb.notEqual(root.get("level"), "INFO"),
-                                cb.notEqual(root.get("level"), "ERROR"),
-                                cb.notEqual(root.get("level"), "FATAL")
-                        ));
-                    }
-                }
-                if (!statusPredicates.isEmpty()) {
-                    predicates.add(cb.or(statusPredicates.toArray(new Predicate[0])));
-                }
-            }
-            
-            if (filters.containsKey("source")) {
-                predicates.add(cb.equal(root.get("source"), filters.get("source")));
-            }
-            
-            if (filters.containsKey("target")) {
-                predicates.add(cb.equal(root.get("sourceName"), filters.get("target")));
-            }
-            
-            if (filters.containsKey("type")) {
-                predicates.add(cb.equal(root.get("category"), filters.get("type")));
-            }
-            
-            if (filters.containsKey("dateFrom")) {
-                LocalDateTime dateFrom = (LocalDateTime) filters.get("dateFrom");
-                // Convert from UTC to system timezone
-                String systemTimezone = systemConfigurationService.getSystemTimezone();
-                ZoneId systemZone = ZoneId.of(systemTimezone);
-                ZoneId utcZone = ZoneId.of("UTC");
-                
-                // Assume incoming dateFrom is in UTC, convert to system timezone
-                ZonedDateTime utcDateTime = dateFrom.atZone(utcZone);
-                LocalDateTime localDateTime = utcDateTime.withZoneSameInstant(systemZone).toLocalDateTime();
-                
-                logger.debug("Filtering from date - UTC: {}, Local ({}): {}", dateFrom, systemTimezone, localDateTime);
-                predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), localDateTime));
-            }
-            
-            if (filters.containsKey("dateTo")) {
-                LocalDateTime dateTo = (LocalDateTime) filters.get("dateTo");
-                // Convert from UTC to system timezone
-                String systemTimezone = systemConfigurationService.getSystemTimezone();
-                ZoneId systemZone = ZoneId.of(systemTimezone);
-                ZoneId utcZone = ZoneId.of("UTC");
-                
-                // Assume incoming dateTo is in UTC, convert to system timezone
-                ZonedDateTime utcDateTime = dateTo.atZone(utcZone);
-                LocalDateTime localDateTime = utcDateTime.withZoneSameInstant(systemZone).toLocalDateTime();
-                
-                logger.debug("Filtering to date - UTC: {}, Local ({}): {}", dateTo, systemTimezone, localDateTime);
-                predicates.add(cb.lessThanOrEqualTo(root.get("timestamp"), localDateTime));
-            }
-            
-            if (filters.containsKey("search")) {
-                String search = "%" + filters.get("search") + "%";
-                predicates.add(cb.or(
-                        cb.like(root.get("message"), search),
-                        cb.like(root.get("source"), search),
-                        cb.like(root.get("sourceName"), search)
-                ));
-            }
-            
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
+    /**
+     * Stream of one adapter payload's body; null if the body was not captured.
+     *
+     * @throws ResourceNotFoundException if the message has no such payload
+     */
+    public InputStream openAdapterPayload(String correlationId, UUID payloadId) {
+        AdapterPayload payload = payloadRepository.findByIdAndCorrelationIdAndCreatedAtGreaterThanEqual(
+                        payloadId, correlationId, payloadsSince(correlationId))
+                .orElseThrow(() -> new ResourceNotFoundException("Payload not found with id: " + payloadId));
+        return payloadStore.open(payload);
+    }
+    
+    private LocalDateTime payloadsSince(String correlationId) {
+        // Without a message, search the whole retention period
+        return messageSummaryService.findKeyByCorrelationId(correlationId)
+                .map(key -> key.startedAt().minusMinutes(MESSAGE_LOG_MARGIN_MINUTES))
+                .orElseGet(() -> LocalDateTime.now().minusDays(payloadRetentionDays));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private MessageSummaryService.SummaryFilter toSummaryFilter(Map<String, Object> filters) {
+        return new MessageSummaryService.SummaryFilter(
+                (List<String>) filters.get("status"),
+                (String) filters.get("source"),
+                (String) filters.get("target"),
+                (String) filters.get("type"),
+                (String) filters.get("flowId"),
+                (String) filters.get("businessComponentId"),
+                toSystemTime((LocalDateTime) filters.get("dateFrom")),
+                toSystemTime((LocalDateTime) filters.get("dateTo")),
+                (String) filters.get("search"));
+    }
+    
+    /**
+     * Convert a filter date from UTC to the system timezone that log timestamps are stored in
+     */
+    private LocalDateTime toSystemTime(LocalDateTime utcDateTime) {
+        if (utcDateTime == null) {
+            return null;
+        }
+        ZoneId systemZone = ZoneId.of(systemConfigurationService.getSystemTimezone());
+        return utcDateTime.atZone(ZoneId.of("UTC")).withZoneSameInstant(systemZone).toLocalDateTime();
     }
     
     private MessageDTO convertToMessageDTOWithAdapterLogs(SystemLog log, Map<String, List<SystemLog>> logsByCorrelation) {
@@ -753,28 +751,7 @@ public class MessageService {
         
         try {
             // Create initial message received entry with empty processing steps
-            SystemLog log = new SystemLog();
-            log.setTimestamp(LocalDateTime.now());
-            log.setCategory("FLOW_EXECUTION");
-            log.setLevel(LogLevel.INFO);
-            log.setMessage("Flow execution: " + flow.getName());
-            log.setDomainType("IntegrationFlow");
-            log.setDomainReferenceId(flow.getId().toString());
-            log.setComponentId(flow.getBusinessComponent() != null ? flow.getBusinessComponent().getId().toString() : null); // Set business component ID from flow
-            log.setSource(protocol);
-            log.setSourceId(flow.getId().toString());
-            log.setSourceName(flow.getName());
-            log.setCorrelationId(correlationId);
-            
-            // Initialize details with processing steps array
-            ObjectNode details = objectMapper.createObjectNode();
-            details.put("protocol", protocol);
-            details.put("messageSize", messageContent.length());
-            details.put("startTime", LocalDateTime.now().toString());
-            details.set("processingSteps", objectMapper.createArrayNode());
-            
-            log.setDetails(details.toString());
-            
+            SystemLog log = newMessageLog(flow, messageContent, protocol, correlationId);
             logRepository.save(log);
             logger.info("Successfully created message log with correlation ID: {} and ID: {}", correlationId, log.getId());
         } catch (Exception e) {
@@ -785,6 +762,35 @@ public class MessageService {
         return correlationId; // Return correlation ID regardless
     }
     
+    /**
+     * Build the message log entry for a flow message without saving it, so callers can
+     * save it in their own transaction
+     */
+    public SystemLog newMessageLog(IntegrationFlow flow, String messageContent, String protocol, String correlationId) {
+        SystemLog log = new SystemLog();
+        log.setTimestamp(LocalDateTime.now());
+        log.setCategory("FLOW_EXECUTION");
+        log.setLevel(LogLevel.INFO);
+        log.setMessage("Flow execution: " + flow.getName());
+        log.setDomainType("IntegrationFlow");
+        log.setDomainReferenceId(flow.getId().toString());
+        log.setComponentId(flow.getBusinessComponent() != null ? flow.getBusinessComponent().getId().toString() : null); // Set business component ID from flow
+        log.setSource(protocol);
+        log.setSourceId(flow.getId().toString());
+        log.setSourceName(flow.getName());
+        log.setCorrelationId(correlationId);
+        
+        // Initialize details with processing steps array
+        ObjectNode details = objectMapper.createObjectNode();
+        details.put("protocol", protocol);
+        details.put("messageSize", messageContent.length());
+        details.put("startTime", LocalDateTime.now().toString());
+        details.set("processingSteps", objectMapper.createArrayNode());
+        
+        log.setDetails(details.toString());
+        return log;
+    }
+    
     /**
      * Log a processing step - adds to existing message log
      */
@@ -794,14 +800,13 @@ public class MessageService {
             logger.debug("Adding processing step for correlation ID: {} - Step: {}", correlationId, step);
             
             // Find the main message log by correlation ID
-            List<SystemLog> logs = logRepository.findByCorrelationId(correlationId);
-            if (logs.isEmpty()) {
+            Optional<SystemLog> found = findMessageLogByCorrelationId(correlationId);
+            if (found.isEmpty()) {
                 logger.warn("No message log found for correlation ID: {}", correlationId);
                 return;
             }
             
-            logger.debug("Found {} logs for correlation ID: {}", logs.size(), correlationId);
-            SystemLog mainLog = logs.get(0); // Get the main log entry
+            SystemLog mainLog = found.get();
             
             // Parse existing details
             ObjectNode details = (ObjectNode) objectMapper.readTree(
@@ -853,13 +858,13 @@ public class MessageService {
     public void updateMessageStatus(String correlationId, String status, String statusDetails) {
         try {
             // Find the main message log by correlation ID
-            List<SystemLog> logs = logRepository.findByCorrelationId(correlationId);
-            if (logs.isEmpty()) {
+            Optional<SystemLog> found = findMessageLogByCorrelationId(correlationId);
+            if (found.isEmpty()) {
                 logger.warn("No message log found for correlation ID: {}", correlationId);
                 return;
             }
             
-            SystemLog mainLog = logs.get(0);
+            SystemLog mainLog = found.get();
             
             // Parse existing details
             ObjectNode details = (ObjectNode) objectMapper.readTree(
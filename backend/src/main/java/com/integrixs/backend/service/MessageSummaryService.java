@@ -0,0 +1,268 @@
+package com.integrixs.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Queries the {@code message_summaries} table, which holds one row per message and is
+ * kept up to date by triggers on the log and adapter payload tables.
+ *
+ * <p>Pages are read newest first with a seek on {@code (started_at, id)}: a page continues
+ * after the last row of the previous one through an opaque cursor, so the cost of a page
+ * does not grow with its depth. Totals are counted exactly when the planner expects few
+ * matching rows and are otherwise taken from the planner's estimate.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageSummaryService {
+
+    private static final String COLUMNS =
+        "id, correlation_id, flow_id, business_component_id, category, source, target, status, level, " +
+        "started_at, completed_at, duration_ms, message_size, inbound_bytes, outbound_bytes";
+
+    private static final RowMapper<MessageKey> KEY_MAPPER = (rs, rowNum) -> new MessageKey(
+        rs.getObject("id", UUID.class), rs.getTimestamp("started_at").toLocalDateTime());
+
+    private static final RowMapper<MessageSummary> SUMMARY_MAPPER = (rs, rowNum) -> new MessageSummary(
+        rs.getObject("id", UUID.class),
+        rs.getString("correlation_id"),
+        rs.getString("flow_id"),
+        rs.getString("business_component_id"),
+        rs.getString("category"),
+        rs.getString("source"),
+        rs.getString("target"),
+        rs.getString("status"),
+        rs.getString("level"),
+        rs.getTimestamp("started_at").toLocalDateTime(),
+        rs.getTimestamp("completed_at") != null ? rs.getTimestamp("completed_at").toLocalDateTime() : null,
+        (Long) rs.getObject("duration_ms", Long.class),
+        (Long) rs.getObject("message_size", Long.class),
+        rs.getLong("inbound_bytes"),
+        rs.getLong("outbound_bytes"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${messages.summary.exact-count-threshold:10000}")
+    private long exactCountThreshold;
+
+    /**
+     * Read one page of messages, newest first.
+     *
+     * @param filter message filter; timestamps in system time
+     * @param cursor cursor returned with the previous page, or null
+     * @param page page number, used only without a cursor
+     * @param size page size
+     * @param exactTotal count the total even if many messages match
+     */
+    public SummaryPage findPage(SummaryFilter filter, String cursor, int page, int size, boolean exactTotal) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder(" WHERE TRUE");
+        appendFilter(where, args, filter);
+
+        List<Object> pageArgs = new ArrayList<>(args);
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM message_summaries").append(where);
+        Cursor after = decodeCursor(cursor);
+        if (after != null) {
+            sql.append(" AND (started_at, id) < (?, ?)");
+            pageArgs.add(Timestamp.valueOf(after.startedAt()));
+            pageArgs.add(after.id());
+        }
+        sql.append(" ORDER BY started_at DESC, id DESC LIMIT ?");
+        // One extra row tells whether another page follows
+        pageArgs.add(size + 1);
+        if (after == null && page > 0) {
+            sql.append(" OFFSET ?");
+            pageArgs.add((long) page * size);
+        }
+
+        List<MessageSummary> rows = jdbcTemplate.query(sql.toString(), SUMMARY_MAPPER, pageArgs.toArray());
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = hasMore ? encodeCursor(rows.get(rows.size() - 1)) : null;
+
+        String countFrom = " FROM message_summaries" + where;
+        long total;
+        boolean estimated = false;
+        if (exactTotal) {
+            total = count(countFrom, args);
+        } else {
+            long estimate = estimate(countFrom, args);
+            if (estimate < exactCountThreshold) {
+                total = count(countFrom, args);
+            } else {
+                total = estimate;
+                estimated = true;
+            }
+        }
+        return new SummaryPage(rows, total, estimated, nextCursor);
+    }
+
+    /**
+     * Message counts by status and average duration of completed messages.
+     */
+    public SummaryStats stats(SummaryFilter filter) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder(" WHERE TRUE");
+        appendFilter(where, args, filter);
+        return jdbcTemplate.queryForObject(
+            "SELECT count(*) AS total, " +
+            "count(*) FILTER (WHERE status = 'success') AS successful, " +
+            "count(*) FILTER (WHERE status = 'failed') AS failed, " +
+            "avg(duration_ms) AS avg_duration FROM message_summaries" + where,
+            (rs, rowNum) -> new SummaryStats(rs.getLong("total"), rs.getLong("successful"), rs.getLong("failed"),
+                                             (Double) rs.getObject("avg_duration", Double.class)),
+            args.toArray());
+    }
+
+    /**
+     * Key of a message's main log entry, for reading it from the partitioned log table.
+     */
+    public Optional<MessageKey> findKey(UUID id) {
+        return jdbcTemplate.query("SELECT id, started_at FROM message_summaries WHERE id = ?", KEY_MAPPER, id)
+            .stream().findFirst();
+    }
+
+    /**
+     * Key of the main log entry of the message with the given correlation ID; the latest
+     * one if a correlation ID was reused.
+     */
+    public Optional<MessageKey> findKeyByCorrelationId(String correlationId) {
+        return jdbcTemplate.query(
+            "SELECT id, started_at FROM message_summaries WHERE correlation_id = ? ORDER BY started_at DESC LIMIT 1",
+            KEY_MAPPER, correlationId).stream().findFirst();
+    }
+
+    private long count(String from, List<Object> args) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*)" + from, Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    private long estimate(String from, List<Object> args) {
+        try {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) SELECT 1" + from, String.class, args.toArray());
+            JsonNode root = objectMapper.readTree(plan);
+            return root.get(0).get("Plan").get("Plan Rows").asLong();
+        } catch (Exception e) {
+            log.debug("Row estimate failed, counting instead: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, SummaryFilter filter) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            sql.append(" AND status IN (").append(String.join(", ", filter.statuses().stream().map(s -> "?").toList())).append(")");
+            args.addAll(filter.statuses());
+        }
+        if (filter.source() != null) {
+            sql.append(" AND source = ?");
+            args.add(filter.source());
+        }
+        if (filter.target() != null) {
+            sql.append(" AND target = ?");
+            args.add(filter.target());
+        }
+        if (filter.type() != null) {
+            sql.append(" AND category = ?");
+            args.add(filter.type());
+        }
+        if (filter.flowId() != null) {
+            sql.append(" AND flow_id = ?");
+            args.add(filter.flowId());
+        }
+        if (filter.businessComponentId() != null) {
+            sql.append(" AND business_component_id = ?");
+            args.add(filter.businessComponentId());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND started_at >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND started_at <= ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        if (filter.search() != null && !filter.search().isBlank()) {
+            String pattern = "%" + filter.search() + "%";
+            sql.append(" AND (message LIKE ? OR source LIKE ? OR target LIKE ?)");
+            args.add(pattern);
+            args.add(pattern);
+            args.add(pattern);
+        }
+    }
+
+    private static String encodeCursor(MessageSummary last) {
+        String value = last.startedAt() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new Cursor(LocalDateTime.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid message cursor", e);
+        }
+    }
+
+    private record Cursor(LocalDateTime startedAt, UUID id) {
+    }
+
+    /**
+     * Message filter; null fields match everything.
+     *
+     * @param statuses success, failed or processing
+     */
+    public record SummaryFilter(List<String> statuses, String source, String target, String type, String flowId,
+                                String businessComponentId, LocalDateTime from, LocalDateTime to, String search) {
+    }
+
+    /**
+     * @param startedAt timestamp of the main log entry, its partition key
+     */
+    public record MessageKey(UUID id, LocalDateTime startedAt) {
+    }
+
+    public record MessageSummary(UUID id, String correlationId, String flowId, String businessComponentId,
+                                 String category, String source, String target, String status, String level,
+                                 LocalDateTime startedAt, LocalDateTime completedAt, Long durationMs,
+                                 Long messageSize, long inboundBytes, long outboundBytes) {
+    }
+
+    /**
+     * @param nextCursor cursor for the following page; null on the last page
+     */
+    public record SummaryPage(List<MessageSummary> messages, long total, boolean totalEstimated, String nextCursor) {
+    }
+
+    public record SummaryStats(long total, long successful, long failed, Double avgDurationMs) {
+    }
+}
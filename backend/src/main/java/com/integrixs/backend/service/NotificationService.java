@@ -1,23 +1,62 @@
 package com.integrixs.backend.service;
 
+import com.integrixs.data.model.User;
+import com.integrixs.data.repository.UserRepository;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Service for handling notifications and alerts.
+ *
+ * <p>Alerts are not sent as they are raised. They are collected per recipient and
+ * fingerprint (flow, adapter and error class, or the subject when none is given) and sent
+ * every {@code notifications.alerts.window-ms} as one notification per recipient: the alert
+ * itself when it occurred once, otherwise a digest with the number of occurrences of each
+ * fingerprint. Admin and user notifications are rate limited per channel; notifications
+ * over the limit stay collected for the next window, as do notifications that could not
+ * be sent. Mail is sent over pooled SMTP connections.
  */
 @Slf4j
 @Service
 public class NotificationService {
 
+    private static final String ADMIN_RECIPIENT = "admin";
+    private static final String USER_RECIPIENT_PREFIX = "user:";
+    private static final int DIGEST_MESSAGE_MAX_CHARS = 500;
+    private static final DateTimeFormatter DIGEST_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter DIGEST_TIME = DateTimeFormatter.ofPattern("HH:mm");
+
     @Autowired(required = false)
     private JavaMailSender mailSender;
 
+    @Autowired(required = false)
+    private UserRepository userRepository;
+
     @Value("${notifications.email.enabled:false}")
     private boolean emailEnabled;
 
@@ -27,32 +66,67 @@ public class NotificationService {
     @Value("${notifications.email.admin:admin@integrix.com}")
     private String adminEmail;
 
+    @Value("${notifications.email.pool-size:2}")
+    private int mailPoolSize;
+
+    @Value("${notifications.alerts.max-fingerprints:1000}")
+    private int maxFingerprints;
+
+    @Value("${notifications.alerts.digest-max-entries:50}")
+    private int digestMaxEntries;
+
+    @Value("${notifications.alerts.admin-per-hour:30}")
+    private int adminPerHour;
+
+    @Value("${notifications.alerts.user-per-hour:60}")
+    private int userPerHour;
+
+    private final Map<String, AlertAggregate> pending = new ConcurrentHashMap<>();
+    private final LongAdder overflowedAlerts = new LongAdder();
+    private Bucket adminChannel;
+    private Bucket userChannel;
+    private MailTransportPool transportPool;
+
+    @PostConstruct
+    public void init() {
+        adminChannel = hourlyBucket(adminPerHour);
+        userChannel = hourlyBucket(userPerHour);
+        if (mailSender instanceof JavaMailSenderImpl senderImpl) {
+            transportPool = new MailTransportPool(senderImpl, mailPoolSize);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        if (transportPool != null) {
+            transportPool.close();
+        }
+    }
+
     /**
-     * Send a system alert notification.
+     * Send a system alert notification. Alerts with the same subject within a window are
+     * sent as one digest.
      *
      * @param subject The alert subject
      * @param message The alert message
      */
-    @Async
     public void sendSystemAlert(String subject, String message) {
-        try {
-            if (!emailEnabled || mailSender == null) {
-                log.info("Email notifications disabled or mail sender not configured. Alert: {} - {}", subject, message);
-                return;
-            }
-
-            SimpleMailMessage email = new SimpleMailMessage();
-            email.setFrom(fromEmail);
-            email.setTo(adminEmail);
-            email.setSubject("[Integrix Alert] " + subject);
-            email.setText(message);
-
-            mailSender.send(email);
-            log.info("System alert sent: {}", subject);
+        sendSystemAlert(null, null, null, subject, message);
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to send system alert: {}", e.getMessage(), e);
-        }
+    /**
+     * Send a system alert notification about a failure. Alerts with the same flow, adapter
+     * and error class within a window are sent as one digest.
+     *
+     * @param flowId The flow concerned, or null
+     * @param adapterId The adapter concerned, or null
+     * @param errorClass The error class, or null
+     * @param subject The alert subject
+     * @param message The alert message
+     */
+    public void sendSystemAlert(String flowId, String adapterId, String errorClass, String subject, String message) {
+        raise(ADMIN_RECIPIENT, flowId, adapterId, errorClass, subject, message);
     }
 
     /**
@@ -62,9 +136,255 @@ public class NotificationService {
      * @param subject The notification subject
      * @param message The notification message
      */
-    @Async
     public void sendUserNotification(String userId, String subject, String message) {
-        // Implementation would lookup user email and send notification
-        log.info("User notification for {}: {} - {}", userId, subject, message);
+        raise(USER_RECIPIENT_PREFIX + userId, null, null, null, subject, message);
+    }
+
+    /**
+     * Sends the alerts collected so far.
+     */
+    @Scheduled(fixedDelayString = "${notifications.alerts.window-ms:60000}", initialDelayString = "${notifications.alerts.window-ms:60000}")
+    public synchronized void flush() {
+        long overflowed = overflowedAlerts.sumThenReset();
+        if (pending.isEmpty() && overflowed == 0) {
+            return;
+        }
+
+        // Removing each key atomically hands over its aggregate; alerts raised meanwhile start a new one
+        Map<String, List<AlertAggregate>> byRecipient = new LinkedHashMap<>();
+        for (String key : new ArrayList<>(pending.keySet())) {
+            AlertAggregate aggregate = pending.remove(key);
+            if (aggregate != null) {
+                byRecipient.computeIfAbsent(aggregate.recipient, r -> new ArrayList<>()).add(aggregate);
+            }
+        }
+        if (overflowed > 0) {
+            log.warn("Alert buffer full, {} alerts were counted only", overflowed);
+        }
+
+        List<Notification> notifications = new ArrayList<>();
+        for (Map.Entry<String, List<AlertAggregate>> entry : byRecipient.entrySet()) {
+            String recipient = entry.getKey();
+            List<AlertAggregate> aggregates = entry.getValue();
+            Bucket channel = ADMIN_RECIPIENT.equals(recipient) ? adminChannel : userChannel;
+            if (!channel.tryConsume(1)) {
+                // Over the channel's rate, keep them for the next window
+                requeue(aggregates);
+                log.debug("Notification rate limit reached for {}, {} alerts deferred", recipient, aggregates.size());
+                continue;
+            }
+            SimpleMailMessage email = buildNotification(recipient, aggregates,
+                    ADMIN_RECIPIENT.equals(recipient) ? overflowed : 0);
+            if (email != null) {
+                notifications.add(new Notification(email, channel, aggregates));
+            }
+        }
+        deliver(notifications);
+    }
+
+    /**
+     * Number of distinct alerts waiting for the next window.
+     */
+    public int getPendingAlertCount() {
+        return pending.size();
+    }
+
+    private void raise(String recipient, String flowId, String adapterId, String errorClass, String subject, String message) {
+        String fingerprint = flowId != null || adapterId != null || errorClass != null
+                ? flowId + "|" + adapterId + "|" + errorClass
+                : subject;
+        String key = recipient + "#" + fingerprint;
+        LocalDateTime now = LocalDateTime.now();
+        if (!pending.containsKey(key) && pending.size() >= maxFingerprints) {
+            overflowedAlerts.increment();
+            return;
+        }
+        pending.compute(key, (k, aggregate) -> {
+            if (aggregate == null) {
+                aggregate = new AlertAggregate(recipient, fingerprint, flowId, adapterId, errorClass, subject, now);
+            }
+            aggregate.add(message, now);
+            return aggregate;
+        });
+    }
+
+    private SimpleMailMessage buildNotification(String recipient, List<AlertAggregate> aggregates, long overflowed) {
+        String to = resolveEmail(recipient);
+        String prefix = ADMIN_RECIPIENT.equals(recipient) ? "[Integrix Alert] " : "";
+        long total = aggregates.stream().mapToLong(a -> a.count).sum();
+
+        String subject;
+        StringBuilder text = new StringBuilder();
+        if (aggregates.size() == 1 && total == 1 && overflowed == 0) {
+            AlertAggregate single = aggregates.get(0);
+            subject = prefix + single.subject;
+            text.append(single.lastMessage);
+        } else {
+            subject = prefix + total + " alerts (" + aggregates.size() + " distinct) " + span(aggregates);
+            aggregates.sort(Comparator.comparingLong((AlertAggregate a) -> a.count).reversed());
+            for (AlertAggregate aggregate : aggregates.subList(0, Math.min(digestMaxEntries, aggregates.size()))) {
+                text.append(aggregate.count).append(" x ").append(aggregate.subject).append('\n');
+                if (aggregate.flowId != null) {
+                    text.append("  Flow: ").append(aggregate.flowId).append('\n');
+                }
+                if (aggregate.adapterId != null) {
+                    text.append("  Adapter: ").append(aggregate.adapterId).append('\n');
+                }
+                if (aggregate.errorClass != null) {
+                    text.append("  Error: ").append(aggregate.errorClass).append('\n');
+                }
+                text.append("  First: ").append(aggregate.firstSeen).append(", last: ").append(aggregate.lastSeen).append('\n');
+                text.append("  ").append(abbreviate(aggregate.lastMessage)).append("\n\n");
+            }
+            if (aggregates.size() > digestMaxEntries) {
+                text.append("... and ").append(aggregates.size() - digestMaxEntries).append(" more\n");
+            }
+            if (overflowed > 0) {
+                text.append(overflowed).append(" further alerts were not aggregated because the alert buffer was full\n");
+            }
+        }
+
+        if (!emailEnabled || mailSender == null || to == null) {
+            log.info("Email notifications disabled or mail sender not configured. Notification for {}: {} - {}",
+                    recipient, subject, text);
+            return null;
+        }
+        SimpleMailMessage email = new SimpleMailMessage();
+        email.setFrom(fromEmail);
+        email.setTo(to);
+        email.setSubject(subject);
+        email.setText(text.toString());
+        return email;
+    }
+
+    private String resolveEmail(String recipient) {
+        if (ADMIN_RECIPIENT.equals(recipient)) {
+            return adminEmail;
+        }
+        if (userRepository == null) {
+            return null;
+        }
+        try {
+            UUID userId = UUID.fromString(recipient.substring(USER_RECIPIENT_PREFIX.length()));
+            return userRepository.findById(userId).map(User::getEmail).orElse(null);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sends the notifications one by one. When a send fails the server is assumed to be
+     * unreachable: that notification and the ones after it are kept for the next window and
+     * their rate limit tokens are returned.
+     */
+    private void deliver(List<Notification> notifications) {
+        int sent = 0;
+        try {
+            for (Notification notification : notifications) {
+                if (transportPool != null) {
+                    MimeMessage message = ((JavaMailSenderImpl) mailSender).createMimeMessage();
+                    notification.email.copyTo(new MimeMailMessage(message));
+                    transportPool.send(List.of(message));
+                } else {
+                    mailSender.send(notification.email);
+                }
+                sent++;
+            }
+        } catch (Exception e) {
+            List<Notification> unsent = notifications.subList(sent, notifications.size());
+            for (Notification notification : unsent) {
+                requeue(notification.aggregates);
+                notification.channel.addTokens(1);
+            }
+            log.error("Failed to send {} notifications, kept for the next window: {}", unsent.size(), e.getMessage(), e);
+        }
+        if (sent > 0) {
+            log.info("Sent {} notifications", sent);
+        }
+    }
+
+    private void requeue(List<AlertAggregate> aggregates) {
+        for (AlertAggregate aggregate : aggregates) {
+            pending.merge(aggregate.key(), aggregate, AlertAggregate::merge);
+        }
+    }
+
+    /**
+     * When the alerts of a digest occurred, e.g. "2024-05-02 10:15 - 10:17"
+     */
+    private static String span(List<AlertAggregate> aggregates) {
+        LocalDateTime first = aggregates.stream().map(a -> a.firstSeen).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime last = aggregates.stream().map(a -> a.lastSeen).max(Comparator.naturalOrder()).orElseThrow();
+        DateTimeFormatter lastFormat = first.toLocalDate().equals(last.toLocalDate()) ? DIGEST_TIME : DIGEST_DATE_TIME;
+        return first.format(DIGEST_DATE_TIME) + " - " + last.format(lastFormat);
+    }
+
+    private static Bucket hourlyBucket(int perHour) {
+        int capacity = Math.max(1, perHour);
+        return Bucket.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.greedy(capacity, Duration.ofHours(1))))
+                .build();
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null || message.length() <= DIGEST_MESSAGE_MAX_CHARS) {
+            return message;
+        }
+        return message.substring(0, DIGEST_MESSAGE_MAX_CHARS) + "...";
+    }
+
+    /**
+     * Occurrences of one alert fingerprint for one recipient within a window. Only changed
+     * inside {@code pending.compute}/{@code merge}, so a removed aggregate is complete.
+     */
+    private static final class AlertAggregate {
+        private final String recipient;
+        private final String fingerprint;
+        private final String flowId;
+        private final String adapterId;
+        private final String errorClass;
+        private final String subject;
+        private final LocalDateTime firstSeen;
+        private LocalDateTime lastSeen;
+        private String lastMessage;
+        private long count;
+
+        AlertAggregate(String recipient, String fingerprint, String flowId, String adapterId, String errorClass,
+                       String subject, LocalDateTime firstSeen) {
+            this.recipient = recipient;
+            this.fingerprint = fingerprint;
+            this.flowId = flowId;
+            this.adapterId = adapterId;
+            this.errorClass = errorClass;
+            this.subject = subject;
+            this.firstSeen = firstSeen;
+            this.lastSeen = firstSeen;
+        }
+
+        String key() {
+            return recipient + "#" + fingerprint;
+        }
+
+        void add(String message, LocalDateTime at) {
+            count++;
+            lastSeen = at;
+            lastMessage = message;
+        }
+
+        /**
+         * Fold a newer aggregate into this older one
+         */
+        static AlertAggregate merge(AlertAggregate newer, AlertAggregate older) {
+            older.count += newer.count;
+            older.lastSeen = newer.lastSeen;
+            older.lastMessage = newer.lastMessage;
+            return older;
+        }
+    }
+
+    /**
+     * A notification ready to send, with what it was built from
+     */
+    private record Notification(SimpleMailMessage email, Bucket channel, List<AlertAggregate> aggregates) {
     }
-}
\ No newline at end of file
+}
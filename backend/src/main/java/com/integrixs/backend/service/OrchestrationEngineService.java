@@ -1,22 +1,34 @@
 package com.integrixs.backend.service;
 
+import com.integrixs.backend.exception.FlowExecutionException;
+import com.integrixs.backend.queue.DeadLetterService;
+import com.integrixs.backend.queue.FlowExecutionQueue;
+import com.integrixs.data.model.CommunicationAdapter;
+import com.integrixs.data.model.FlowTransformation;
 import com.integrixs.data.model.IntegrationFlow;
+import com.integrixs.data.repository.FlowTransformationRepository;
 import com.integrixs.data.repository.IntegrationFlowRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class OrchestrationEngineService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrchestrationEngineService.class);
+
     @Autowired
     private IntegrationFlowRepository integrationFlowRepository;
     
@@ -28,7 +40,32 @@ public class OrchestrationEngineService {
     
     @Autowired
     private BusinessComponentService businessComponentService;
-    
+
+    @Autowired
+    private RuntimeEntityCache runtimeEntityCache;
+
+    @Autowired
+    private FlowTransformationRepository transformationRepository;
+
+    @Autowired
+    private FanOutDispatcher fanOutDispatcher;
+
+    @Autowired
+    private FlowExecutionQueue flowExecutionQueue;
+
+    // Looked up lazily: the dead letter service replays through the message processing engine, which uses this
+    @Autowired
+    private ObjectProvider<DeadLetterService> deadLetterService;
+
+    @Value("${execution.fan-out.completion:ALL}")
+    private String fanOutCompletion;
+
+    @Value("${execution.fan-out.quorum:0}")
+    private int fanOutQuorum;
+
+    @Value("${execution.fan-out.target-timeout-ms:30000}")
+    private long fanOutTargetTimeoutMs;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final Map<String, OrchestrationExecution> activeExecutions = new ConcurrentHashMap<>();
 
@@ -36,6 +73,13 @@ public class OrchestrationEngineService {
      * Execute a complete orchestrated flow
      */
     public OrchestrationResult executeOrchestrationFlow(String flowId, Object inputData) {
+        return executeOrchestrationFlow(flowId, inputData, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Execute a complete orchestrated flow under the given execution ID
+     */
+    public OrchestrationResult executeOrchestrationFlow(String flowId, Object inputData, String executionId) {
         try {
             Optional<IntegrationFlow> flowOpt = integrationFlowRepository.findById(UUID.fromString(flowId));
             if (!flowOpt.isPresent()) {
@@ -43,33 +87,95 @@ public class OrchestrationEngineService {
             }
 
             IntegrationFlow flow = flowOpt.get();
-            OrchestrationExecution execution = createExecution(flow, inputData);
-            activeExecutions.put(execution.getExecutionId(), execution);
+            OrchestrationExecution execution = createExecution(flow, inputData, executionId);
+            activeExecutions.put(executionId, execution);
 
-            return executeWorkflow(execution);
+            OrchestrationResult result = executeWorkflow(execution);
+            result.setExecutionId(executionId);
+            return result;
         } catch (Exception e) {
             return OrchestrationResult.error("Orchestration execution failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute orchestration steps asynchronously
+     * Accept an orchestration for asynchronous execution. It is stored in the flow execution
+     * queue before this returns and run by a queue worker on any node.
+     *
+     * @return the execution ID, which is the correlation ID of the queued work
      */
-    public CompletableFuture<OrchestrationResult> executeOrchestrationFlowAsync(String flowId, Object inputData) {
-        return CompletableFuture.supplyAsync(() -> executeOrchestrationFlow(flowId, inputData));
+    public String submitOrchestration(String flowId, Object inputData) {
+        IntegrationFlow flow = integrationFlowRepository.findById(UUID.fromString(flowId))
+            .orElseThrow(() -> new IllegalArgumentException("Flow not found: " + flowId));
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(inputData);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Input cannot be serialized: " + e.getMessage(), e);
+        }
+        return flowExecutionQueue.enqueue(flow, FlowExecutionQueue.WorkType.ORCHESTRATION, payload, "API", null);
     }
 
     /**
-     * Get current execution status
+     * Execute orchestration work taken from the queue or replayed from a dead letter.
+     *
+     * @throws FlowExecutionException if the orchestration fails, so that the work is retried
+     */
+    public OrchestrationResult executeQueuedOrchestration(UUID flowId, String payload, String executionId) throws Exception {
+        Object inputData = payload != null ? objectMapper.readValue(payload, Object.class) : null;
+        OrchestrationResult result = executeOrchestrationFlow(flowId.toString(), inputData, executionId);
+        if (!result.isSuccess()) {
+            throw new FlowExecutionException(FlowExecutionException.PROCESSING, result.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Execute an orchestrated flow for a synchronous caller. Nothing retries such a request,
+     * so a failure is captured as a dead letter with its input; queued executions are
+     * captured by the queue worker instead.
+     */
+    public OrchestrationResult executeOrchestrationRequest(String flowId, Object inputData) {
+        OrchestrationResult result = executeOrchestrationFlow(flowId, inputData);
+        if (!result.isSuccess()) {
+            try {
+                UUID id = UUID.fromString(flowId);
+                if (runtimeEntityCache.findFlow(id).isPresent()) {
+                    String correlationId = result.getExecutionId() != null
+                        ? result.getExecutionId() : UUID.randomUUID().toString();
+                    deadLetterService.getObject().recordFailure(id, correlationId, FlowExecutionQueue.WorkType.ORCHESTRATION,
+                        objectMapper.writeValueAsString(inputData),
+                        new FlowExecutionException(FlowExecutionException.PROCESSING, result.getMessage()));
+                }
+            } catch (Exception e) {
+                logger.error("Failed to capture dead letter for orchestration flow {}: {}", flowId, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get current execution status. Executions not run on this node are looked up in the
+     * flow execution queue, which knows them until they complete.
      */
     public Optional<OrchestrationExecution> getExecutionStatus(String executionId) {
-        return Optional.ofNullable(activeExecutions.get(executionId));
+        OrchestrationExecution execution = activeExecutions.get(executionId);
+        if (execution != null) {
+            return Optional.of(execution);
+        }
+        return flowExecutionQueue.findStatus(executionId, FlowExecutionQueue.WorkType.ORCHESTRATION)
+            .map(entry -> queuedExecution(executionId, entry));
     }
 
     /**
-     * Cancel an active orchestration execution
+     * Cancel an orchestration execution: a queued one is removed from the queue, a running
+     * one on this node is marked cancelled
      */
     public boolean cancelExecution(String executionId) {
+        if (flowExecutionQueue.cancelPending(executionId, FlowExecutionQueue.WorkType.ORCHESTRATION)) {
+            logger.info("Queued orchestration {} cancelled before it started", executionId);
+            return true;
+        }
         OrchestrationExecution execution = activeExecutions.get(executionId);
         if (execution != null) {
             execution.setStatus(ExecutionStatus.CANCELLED);
@@ -113,9 +219,27 @@ public class OrchestrationEngineService {
                 .collect(ArrayList::new, (list, item) -> list.add(item), (list1, list2) -> list1.addAll(list2));
     }
 
-    private OrchestrationExecution createExecution(IntegrationFlow flow, Object inputData) {
+    private OrchestrationExecution queuedExecution(String executionId, FlowExecutionQueue.EntryStatus entry) {
         OrchestrationExecution execution = new OrchestrationExecution();
-        execution.setExecutionId(UUID.randomUUID().toString());
+        execution.setExecutionId(executionId);
+        execution.setFlowId(entry.flowId().toString());
+        runtimeEntityCache.findFlow(entry.flowId()).ifPresent(flow -> execution.setFlowName(flow.getName()));
+        execution.setStartTime(entry.createdAt());
+        switch (entry.status()) {
+            case "PENDING" -> execution.setStatus(ExecutionStatus.QUEUED);
+            case "CLAIMED" -> execution.setStatus(ExecutionStatus.RUNNING);
+            default -> execution.setStatus(ExecutionStatus.FAILED);
+        }
+        execution.setCurrentStep("QUEUED");
+        if (entry.lastError() != null) {
+            execution.addLog("Attempt " + entry.attempts() + " failed: " + entry.lastError());
+        }
+        return execution;
+    }
+
+    private OrchestrationExecution createExecution(IntegrationFlow flow, Object inputData, String executionId) {
+        OrchestrationExecution execution = new OrchestrationExecution();
+        execution.setExecutionId(executionId);
         execution.setFlowId(flow.getId().toString());
         execution.setFlowName(flow.getName());
         execution.setStatus(ExecutionStatus.RUNNING);
@@ -242,15 +366,87 @@ public class OrchestrationEngineService {
         try {
             execution.addLog("Processing multiple target systems");
             execution.setCurrentStep("PROCESS_TARGETS");
-            
-            // This would handle routing to multiple target systems
-            // For now, simulating successful processing
+
+            UUID flowId = UUID.fromString(execution.getFlowId());
+            IntegrationFlow flow = runtimeEntityCache.findFlow(flowId)
+                .orElseThrow(() -> new IllegalStateException("Flow not found: " + flowId));
+
+            // Targets: the flow's target adapter plus those of its active routing steps
+            Set<UUID> targetIds = new LinkedHashSet<>();
+            if (flow.getTargetAdapterId() != null) {
+                targetIds.add(flow.getTargetAdapterId());
+            }
+            FanOutDispatcher.FanOutPolicy policy = defaultFanOutPolicy();
+            for (FlowTransformation routing : transformationRepository.findByFlowId(flowId)) {
+                if (routing.getType() != FlowTransformation.TransformationType.ROUTING || !routing.isActive()) {
+                    continue;
+                }
+                JsonNode config = objectMapper.readTree(routing.getConfiguration());
+                for (JsonNode id : config.path("targetAdapterIds")) {
+                    targetIds.add(UUID.fromString(id.asText()));
+                }
+                policy = new FanOutDispatcher.FanOutPolicy(
+                    FanOutDispatcher.Completion.parse(config.path("completion").asText(policy.completion().name())),
+                    config.path("quorum").asInt(policy.quorum()),
+                    config.path("targetTimeoutMs").asLong(policy.targetTimeoutMillis()));
+            }
+
+            List<CommunicationAdapter> targets = new ArrayList<>();
+            for (UUID targetId : targetIds) {
+                CommunicationAdapter adapter = runtimeEntityCache.findAdapter(targetId).orElse(null);
+                if (adapter == null) {
+                    execution.addLog("Target adapter not found, skipped: " + targetId);
+                } else if (!adapter.isActive()) {
+                    execution.addLog("Target adapter '" + adapter.getName() + "' is stopped, skipped");
+                } else {
+                    targets.add(adapter);
+                }
+            }
+            if (targets.isEmpty()) {
+                execution.addLog("No active target adapters to deliver to");
+                return false;
+            }
+
+            Object transformed = execution.getTransformedData();
+            String message = transformed instanceof String
+                ? (String) transformed : objectMapper.writeValueAsString(transformed);
+            Map<String, Object> context = new HashMap<>();
+            context.put("flowId", execution.getFlowId());
+            context.put("correlationId", execution.getExecutionId());
+            context.put("executionId", execution.getExecutionId());
+
+            execution.addLog("Delivering to " + targets.size() + " targets (" + policy.completion()
+                + ", " + policy.targetTimeoutMillis() + " ms per target)");
+            FanOutDispatcher.FanOutResult result = fanOutDispatcher.dispatch(message, targets, context, policy);
+
             ObjectNode outputData = objectMapper.createObjectNode();
-            outputData.set("transformedData", objectMapper.valueToTree(execution.getTransformedData()));
-            outputData.put("processedTargets", 1);
+            outputData.set("transformedData", objectMapper.valueToTree(transformed));
+            outputData.put("processedTargets", result.count(FanOutDispatcher.TargetStatus.SUCCEEDED));
+            outputData.put("completion", result.completion().name());
+            outputData.put("requiredSuccesses", result.requiredSuccesses());
+            outputData.put("satisfied", result.satisfied());
+            outputData.put("elapsedMs", result.elapsedMillis());
+            outputData.put("slowestTargetMs", result.slowestLatencyMillis());
+            ArrayNode targetNodes = outputData.putArray("targets");
+            for (FanOutDispatcher.TargetOutcome outcome : result.targets()) {
+                ObjectNode node = targetNodes.addObject();
+                node.put("adapterId", outcome.adapterId());
+                node.put("adapterName", outcome.adapterName());
+                node.put("status", outcome.status().name());
+                node.put("latencyMs", outcome.latencyMillis());
+                if (outcome.error() != null) {
+                    node.put("error", outcome.error());
+                    execution.addLog("Target '" + outcome.adapterName() + "' " + outcome.status() + ": " + outcome.error());
+                }
+            }
             outputData.put("timestamp", LocalDateTime.now().toString());
-            
             execution.setOutputData(outputData);
+
+            if (!result.satisfied()) {
+                execution.addLog("Only " + result.count(FanOutDispatcher.TargetStatus.SUCCEEDED) + " of "
+                    + result.requiredSuccesses() + " required targets succeeded");
+                return false;
+            }
             execution.addLog("Multiple targets processed successfully");
             return true;
         } catch (Exception e) {
@@ -259,6 +455,11 @@ public class OrchestrationEngineService {
         }
     }
 
+    private FanOutDispatcher.FanOutPolicy defaultFanOutPolicy() {
+        return new FanOutDispatcher.FanOutPolicy(
+            FanOutDispatcher.Completion.parse(fanOutCompletion), fanOutQuorum, fanOutTargetTimeoutMs);
+    }
+
     private void completeProcess(OrchestrationExecution execution) {
         execution.addLog("Completing orchestration process");
         execution.setCurrentStep("COMPLETE");
@@ -371,7 +572,7 @@ public class OrchestrationEngineService {
     }
 
     public enum ExecutionStatus {
-        RUNNING, COMPLETED, FAILED, CANCELLED
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
     }
 
     public static class ValidationResult {
@@ -0,0 +1,279 @@
+package com.integrixs.backend.service;
+
+import com.integrixs.backend.config.RetentionConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the time partitions of {@code system_logs} and {@code adapter_payloads}.
+ *
+ * <p>Each run creates the partitions for the configured days ahead and drops or detaches
+ * partitions that are entirely past retention, so expired data is removed without deleting
+ * rows from the tables being written. Log categories with a retention shorter than the
+ * table's longest one are deleted from the older partitions in small batches; those
+ * partitions no longer receive writes. Rows that landed in a default partition are moved
+ * into their partition when it is created.
+ *
+ * <p>Partition changes run under a transaction-scoped advisory lock, so with several nodes
+ * only one maintains the partitions at a time.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class PartitionManagerService {
+
+    private static final long LOCK_KEY = 0x696e74706172L;
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+
+    private static final PartitionedTable SYSTEM_LOGS = new PartitionedTable("system_logs", "timestamp", true);
+    private static final PartitionedTable ADAPTER_PAYLOADS = new PartitionedTable("adapter_payloads", "created_at", false);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionConfig config;
+
+    public PartitionManagerService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   RetentionConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = config;
+    }
+
+    @Scheduled(fixedDelayString = "${retention.interval-ms:3600000}", initialDelayString = "${retention.initial-delay-ms:60000}")
+    public void runMaintenance() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        maintain(SYSTEM_LOGS, config.getSystemLogs());
+        maintain(ADAPTER_PAYLOADS, config.getAdapterPayloads());
+    }
+
+    /**
+     * Create upcoming partitions and remove expired ones of one table, then purge categories
+     * with shorter retention.
+     */
+    void maintain(PartitionedTable table, RetentionConfig.Table settings) {
+        try {
+            Boolean maintained = transactionTemplate.execute(status -> {
+                Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    return false;
+                }
+                createUpcoming(table, settings);
+                removeExpired(table, settings);
+                return true;
+            });
+            if (Boolean.TRUE.equals(maintained)) {
+                purgeExpiredRows(table, settings);
+            } else {
+                log.debug("Partitions of {} are maintained by another node", table.name());
+            }
+        } catch (Exception e) {
+            log.error("Partition maintenance of {} failed: {}", table.name(), e.getMessage(), e);
+        }
+    }
+
+    private void createUpcoming(PartitionedTable table, RetentionConfig.Table settings) {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        LocalDateTime horizon = today.plusDays(settings.getDaysAhead() + 1L);
+        LocalDateTime next = listPartitions(table).stream()
+            .map(Partition::to)
+            .filter(Objects::nonNull)
+            .max(LocalDateTime::compareTo)
+            .orElse(today);
+        while (next.isBefore(horizon)) {
+            LocalDateTime end = periodEnd(next, settings.getInterval());
+            createPartition(table, next, end);
+            next = end;
+        }
+    }
+
+    private static LocalDateTime periodEnd(LocalDateTime start, RetentionConfig.PartitionInterval interval) {
+        LocalDate date = start.toLocalDate();
+        return switch (interval) {
+            case DAY -> date.plusDays(1).atStartOfDay();
+            // A partial first week aligns later partitions to Mondays
+            case WEEK -> date.with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay();
+        };
+    }
+
+    private void createPartition(PartitionedTable table, LocalDateTime from, LocalDateTime to) {
+        String name = table.name() + "_p" + NAME_FORMAT.format(from);
+        String bounds = "FOR VALUES FROM ('" + BOUND_FORMAT.format(from) + "') TO ('" + BOUND_FORMAT.format(to) + "')";
+        Boolean stray = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM " + table.defaultPartition() + " WHERE " + table.key() + " >= ? AND " +
+            table.key() + " < ?)", Boolean.class, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        if (!Boolean.TRUE.equals(stray)) {
+            jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF " + table.name() + " " + bounds);
+        } else {
+            // The new range may not overlap rows of the default partition: move them out while
+            // it is detached, so the move does not fire the parent's row triggers
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + table.defaultPartition());
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + table.name() +
+                                 " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int moved = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM " + table.defaultPartition() + " WHERE " + table.key() + " >= ? AND " +
+                table.key() + " < ? RETURNING *) INSERT INTO " + name + " SELECT * FROM moved",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " ATTACH PARTITION " + name + " " + bounds);
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " ATTACH PARTITION " + table.defaultPartition() + " DEFAULT");
+            log.warn("Moved {} rows of {} from the default partition", moved, name);
+        }
+        log.info("Created partition {}", name);
+    }
+
+    private void removeExpired(PartitionedTable table, RetentionConfig.Table settings) {
+        LocalDateTime cutoff = LocalDate.now().minusDays(settings.getPartitionRetentionDays()).atStartOfDay();
+        for (Partition partition : listPartitions(table)) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            if (settings.getMode() == RetentionConfig.ExpiryMode.DETACH) {
+                jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition.name());
+                log.info("Detached expired partition {}", partition.name());
+            } else {
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+                log.info("Dropped expired partition {}", partition.name());
+            }
+        }
+    }
+
+    /**
+     * Delete rows past their retention that are not in a removable partition: categories with
+     * a shorter retention, rows in the default partition, and summaries of messages whose
+     * log partitions were removed.
+     */
+    private void purgeExpiredRows(PartitionedTable table, RetentionConfig.Table settings) {
+        LocalDate today = LocalDate.now();
+        int partitionDays = settings.getPartitionRetentionDays();
+        LocalDateTime cutoff = today.minusDays(partitionDays).atStartOfDay();
+
+        purge(table.defaultPartition(), table.key(), table.key() + " < ?", cutoff);
+
+        if (table.categorized()) {
+            Map<String, Integer> categories = settings.getCategoryRetentionDays();
+            for (Map.Entry<String, Integer> category : categories.entrySet()) {
+                if (category.getValue() < partitionDays) {
+                    purge(table.name(), table.key(), "category = '" + category.getKey().replace("'", "''") + "' AND " + table.key() + " < ?",
+                          today.minusDays(category.getValue()).atStartOfDay());
+                }
+            }
+            if (settings.getRetentionDays() < partitionDays) {
+                StringBuilder other = new StringBuilder("(category IS NULL");
+                if (!categories.isEmpty()) {
+                    other.append(" OR category NOT IN (");
+                    other.append(String.join(", ", categories.keySet().stream()
+                        .map(c -> "'" + c.replace("'", "''") + "'").toList()));
+                    other.append(")");
+                }
+                other.append(") AND ").append(table.key()).append(" < ?");
+                purge(table.name(), table.key(), other.toString(), today.minusDays(settings.getRetentionDays()).atStartOfDay());
+            }
+
+            // Dropping partitions does not fire the summary delete trigger; summaries older than
+            // every remaining partition belong to removed logs
+            List<Partition> ranges = listPartitions(table).stream().filter(p -> !p.isDefault()).toList();
+            if (ranges.stream().noneMatch(p -> p.from() == null)) {
+                LocalDateTime oldestRetained = ranges.stream()
+                    .map(Partition::from)
+                    .min(LocalDateTime::compareTo)
+                    .orElse(cutoff);
+                purgeById("message_summaries", "started_at < ?", oldestRetained.isBefore(cutoff) ? oldestRetained : cutoff);
+            }
+        }
+    }
+
+    private void purge(String relation, String key, String condition, LocalDateTime before) {
+        String sql = "DELETE FROM " + relation + " WHERE (id, " + key + ") IN (SELECT id, " + key + " FROM " +
+                     relation + " WHERE " + condition + " LIMIT ?)";
+        deleteInBatches(relation, sql, before);
+    }
+
+    private void purgeById(String relation, String condition, LocalDateTime before) {
+        String sql = "DELETE FROM " + relation + " WHERE id IN (SELECT id FROM " + relation + " WHERE " +
+                     condition + " LIMIT ?)";
+        deleteInBatches(relation, sql, before);
+    }
+
+    private void deleteInBatches(String relation, String sql, LocalDateTime before) {
+        int batchSize = config.getPurgeBatchSize();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, Timestamp.valueOf(before), batchSize);
+            total += deleted;
+        } while (deleted >= batchSize);
+        if (total > 0) {
+            log.info("Purged {} expired rows from {} before {}", total, relation, before);
+        }
+    }
+
+    List<Partition> listPartitions(PartitionedTable table) {
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query(
+            "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass",
+            rs -> {
+                String bound = rs.getString("bound");
+                Matcher range = RANGE_BOUND.matcher(bound);
+                if (range.find()) {
+                    partitions.add(new Partition(rs.getString("relname"), parseBound(range.group(1)),
+                                                 parseBound(range.group(2)), false));
+                } else {
+                    partitions.add(new Partition(rs.getString("relname"), null, null, true));
+                }
+            },
+            table.name());
+        return partitions;
+    }
+
+    /**
+     * @return the bound's timestamp, or null for MINVALUE / MAXVALUE
+     */
+    private static LocalDateTime parseBound(String bound) {
+        if (!bound.startsWith("'")) {
+            return null;
+        }
+        String value = bound.substring(1, bound.length() - 1);
+        return Timestamp.valueOf(value).toLocalDateTime();
+    }
+
+    /**
+     * @param key partition key column
+     * @param categorized whether rows have a log category with its own retention
+     */
+    record PartitionedTable(String name, String key, boolean categorized) {
+
+        String defaultPartition() {
+            return name + "_default";
+        }
+    }
+
+    /**
+     * @param from lower bound, null for MINVALUE
+     * @param to upper bound (exclusive), null for MAXVALUE
+     */
+    record Partition(String name, LocalDateTime from, LocalDateTime to, boolean isDefault) {
+    }
+}
@@ -0,0 +1,314 @@
+package com.integrixs.backend.service;
+
+import com.integrixs.backend.config.PayloadStorageConfig;
+import com.integrixs.data.model.AdapterPayload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stores adapter payload bodies.
+ *
+ * <p>Bodies below {@code payloads.compress-min-bytes} are kept as plain text. Larger ones
+ * are deflate-compressed and kept inline, and from {@code payloads.blob-min-bytes} written
+ * to a blob directory under the SHA-256 of the body, so identical bodies (retries, replays,
+ * fixed responses) are stored once. Reading streams the decompressed body. A blob's
+ * modification time is renewed whenever it is referenced again, and blobs not renewed since
+ * before the oldest payload row still kept, including rows of detached partitions, are removed.
+ *
+ * <p>Which messages have their bodies captured, and how much of each, is set per flow:
+ * sampled-out bodies are recorded with their size only.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class PayloadStore {
+
+    public static final String PLAIN = "PLAIN";
+    public static final String DEFLATE = "DEFLATE";
+    public static final String BLOB = "BLOB";
+    public static final String OMITTED = "OMITTED";
+
+    /**
+     * Blobs are written before their row and clocks of the nodes may differ
+     */
+    private static final Duration SWEEP_MARGIN = Duration.ofDays(1);
+
+    private final PayloadStorageConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final Path blobDirectory;
+
+    public PayloadStore(PayloadStorageConfig config, JdbcTemplate jdbcTemplate) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.blobDirectory = Paths.get(config.getBlobDirectory()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Prepare a body for storage according to the flow's capture policy. Blob files are
+     * written here, before the row referencing them.
+     *
+     * @param flowId flow of the message, or null for the default policy
+     */
+    public StoredBody store(String flowId, String correlationId, String body) {
+        if (body == null) {
+            return new StoredBody(PLAIN, null, null, null, 0, 0, false);
+        }
+        PayloadStorageConfig.Capture capture = config.captureFor(flowId);
+        if (!sampled(correlationId, capture.getSampleRate())) {
+            return new StoredBody(OMITTED, null, null, null, utf8Length(body), 0, false);
+        }
+        boolean truncated = capture.getMaxChars() > 0 && body.length() > capture.getMaxChars();
+        int originalSize = truncated ? utf8Length(body) : -1;
+        String captured = truncated ? body.substring(0, capture.getMaxChars()) : body;
+        byte[] bytes = captured.getBytes(StandardCharsets.UTF_8);
+        if (originalSize < 0) {
+            originalSize = bytes.length;
+        }
+
+        if (bytes.length < config.getCompressMinBytes()) {
+            return new StoredBody(PLAIN, captured, null, null, originalSize, bytes.length, truncated);
+        }
+        byte[] compressed = deflate(bytes);
+        if (bytes.length >= config.getBlobMinBytes()) {
+            String ref = sha256(bytes);
+            writeBlob(ref, compressed);
+            return new StoredBody(BLOB, null, null, ref, originalSize, compressed.length, truncated);
+        }
+        if (compressed.length >= bytes.length) {
+            return new StoredBody(PLAIN, captured, null, null, originalSize, bytes.length, truncated);
+        }
+        return new StoredBody(DEFLATE, null, compressed, null, originalSize, compressed.length, truncated);
+    }
+
+    /**
+     * Stream of the stored body, or null if it was not captured.
+     */
+    public InputStream open(AdapterPayload payload) {
+        return open(payload.getPayloadEncoding(), payload.getPayload(), payload.getPayloadCompressed(),
+                    payload.getPayloadRef());
+    }
+
+    public InputStream open(String encoding, String text, byte[] compressed, String ref) {
+        if (encoding == null || PLAIN.equals(encoding)) {
+            return text != null ? new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)) : null;
+        }
+        try {
+            return switch (encoding) {
+                case DEFLATE -> new InflaterInputStream(new ByteArrayInputStream(compressed));
+                case BLOB -> new InflaterInputStream(Files.newInputStream(blobPath(ref)), new Inflater(), 65536);
+                default -> null;
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Payload blob " + ref + " is not readable", e);
+        }
+    }
+
+    /**
+     * Whole stored body as text, or null if it was not captured.
+     */
+    public String read(AdapterPayload payload) {
+        return read(payload.getPayloadEncoding(), payload.getPayload(), payload.getPayloadCompressed(),
+                    payload.getPayloadRef());
+    }
+
+    public String read(String encoding, String text, byte[] compressed, String ref) {
+        if (encoding == null || PLAIN.equals(encoding)) {
+            return text;
+        }
+        try (InputStream in = open(encoding, text, compressed, ref)) {
+            return in != null ? new String(in.readAllBytes(), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Payload body is not readable", e);
+        }
+    }
+
+    /**
+     * Remove blobs last referenced before the oldest payload row that is still kept. Every row
+     * referencing a blob was stored no later than the blob's modification time, so such blobs
+     * are referenced by no remaining row, whatever the partition width or expiry mode.
+     */
+    @Scheduled(fixedDelayString = "${payloads.blob-sweep-interval-ms:21600000}", initialDelayString = "${payloads.blob-sweep-initial-delay-ms:300000}")
+    public void removeExpiredBlobs() {
+        if (!Files.isDirectory(blobDirectory)) {
+            return;
+        }
+        Instant oldestRow;
+        try {
+            oldestRow = oldestPayloadRow();
+        } catch (Exception e) {
+            log.warn("Payload blob sweep skipped, oldest payload row unknown: {}", e.getMessage());
+            return;
+        }
+        FileTime cutoff = FileTime.from(oldestRow.minus(SWEEP_MARGIN));
+        AtomicLong removed = new AtomicLong();
+        try (Stream<Path> files = Files.walk(blobDirectory, 2)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0) {
+                        Files.deleteIfExists(file);
+                        removed.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not remove payload blob {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Payload blob sweep failed: {}", e.getMessage());
+        }
+        if (removed.get() > 0) {
+            log.info("Removed {} payload blobs last referenced before {}", removed.get(), cutoff);
+        }
+    }
+
+    /**
+     * Creation time of the oldest row in {@code adapter_payloads} or in one of its detached
+     * partitions, or now if there is none.
+     */
+    Instant oldestPayloadRow() {
+        Instant oldest = Instant.now();
+        List<String> relations = new ArrayList<>(List.of("adapter_payloads"));
+        relations.addAll(jdbcTemplate.queryForList(
+            "SELECT relname FROM pg_class WHERE relkind = 'r' AND NOT relispartition " +
+            "AND relname LIKE 'adapter\\_payloads\\_p%'", String.class));
+        for (String relation : relations) {
+            Timestamp created = jdbcTemplate.queryForObject(
+                "SELECT min(created_at) FROM " + relation, Timestamp.class);
+            if (created != null && created.toInstant().isBefore(oldest)) {
+                oldest = created.toInstant();
+            }
+        }
+        return oldest;
+    }
+
+    private void writeBlob(String ref, byte[] compressed) {
+        Path path = blobPath(ref);
+        try {
+            if (Files.exists(path)) {
+                // Already stored; renew it so the sweep keeps it as long as this row
+                Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+                return;
+            }
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), ref, ".tmp");
+            try {
+                Files.write(temp, compressed);
+                try {
+                    Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, path);
+                }
+            } catch (FileAlreadyExistsException e) {
+                // Written concurrently with the same content
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write payload blob " + ref, e);
+        }
+    }
+
+    private Path blobPath(String ref) {
+        if (ref == null || !ref.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid payload blob reference: " + ref);
+        }
+        return blobDirectory.resolve(ref.substring(0, 2)).resolve(ref + ".z");
+    }
+
+    static boolean sampled(String correlationId, double sampleRate) {
+        if (sampleRate >= 1.0) {
+            return true;
+        }
+        if (sampleRate <= 0.0 || correlationId == null) {
+            return false;
+        }
+        return Math.floorMod(correlationId.hashCode(), 10000) < sampleRate * 10000;
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int utf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * A body prepared for storage.
+     *
+     * @param encoding PLAIN, DEFLATE, BLOB or OMITTED
+     * @param text body for PLAIN
+     * @param compressed deflated body for DEFLATE
+     * @param ref blob reference for BLOB
+     * @param originalSize size of the whole body in bytes, including any truncated part
+     * @param storedSize bytes stored
+     */
+    public record StoredBody(String encoding, String text, byte[] compressed, String ref, int originalSize,
+                             int storedSize, boolean truncated) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.integrixs.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.integrixs.data.model.CommunicationAdapter;
+import com.integrixs.data.model.FlowStructure;
+import com.integrixs.data.model.IntegrationFlow;
+import com.integrixs.data.repository.CommunicationAdapterRepository;
+import com.integrixs.data.repository.FlowStructureRepository;
+import com.integrixs.data.repository.IntegrationFlowRepository;
+import com.integrixs.shared.events.entity.EntityChangedEvent;
+import com.integrixs.shared.events.flow.FlowStatusChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through caches for the flow, adapter and flow structure lookups on the message
+ * execution path. Message structures are only reached through their flow structures
+ * there, so they are not cached separately.
+ *
+ * <p>Each cache is bounded by an estimated memory budget rather than an entry count,
+ * since a structure with a large WSDL weighs far more than a flow. Entries are
+ * invalidated by {@link EntityChangedEvent} once a change has committed and by
+ * {@link FlowStatusChangedEvent}; the write TTL is only a safety net. Cached entities
+ * are detached and must be treated as read-only: services that modify an entity load
+ * it from its repository.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class RuntimeEntityCache {
+
+    private static final int ENTITY_OVERHEAD_BYTES = 512;
+
+    private final IntegrationFlowRepository flowRepository;
+    private final CommunicationAdapterRepository adapterRepository;
+    private final FlowStructureRepository flowStructureRepository;
+
+    private final Cache<UUID, IntegrationFlow> flows;
+    private final Cache<UUID, CommunicationAdapter> adapters;
+    private final Cache<UUID, FlowStructure> flowStructures;
+
+    public RuntimeEntityCache(IntegrationFlowRepository flowRepository,
+                              CommunicationAdapterRepository adapterRepository,
+                              FlowStructureRepository flowStructureRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${cache.runtime.flows-max-bytes:16777216}") long flowsMaxBytes,
+                              @Value("${cache.runtime.adapters-max-bytes:8388608}") long adaptersMaxBytes,
+                              @Value("${cache.runtime.structures-max-bytes:67108864}") long structuresMaxBytes,
+                              @Value("${cache.runtime.ttl-minutes:30}") long ttlMinutes) {
+        this.flowRepository = flowRepository;
+        this.adapterRepository = adapterRepository;
+        this.flowStructureRepository = flowStructureRepository;
+
+        this.flows = build(flowsMaxBytes, ttlMinutes, (id, flow) -> weigh(
+            flow.getName(), flow.getDescription(), flow.getDeploymentEndpoint(), flow.getDeploymentMetadata()));
+        this.adapters = build(adaptersMaxBytes, ttlMinutes, (id, adapter) -> weigh(
+            adapter.getName(), adapter.getDescription(), adapter.getConfiguration()));
+        this.flowStructures = build(structuresMaxBytes, ttlMinutes, (id, structure) -> weigh(
+            structure.getName(), structure.getDescription(), structure.getWsdlContent()));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, flows, "runtime.flows");
+        CaffeineCacheMetrics.monitor(meterRegistry, adapters, "runtime.adapters");
+        CaffeineCacheMetrics.monitor(meterRegistry, flowStructures, "runtime.flowStructures");
+    }
+
+    private static <V> Cache<UUID, V> build(long maxBytes, long ttlMinutes, Weigher<UUID, V> weigher) {
+        return Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher(weigher)
+            .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Estimated heap size of an entity: fixed overhead plus its text columns (UTF-16).
+     */
+    private static int weigh(String... texts) {
+        long bytes = ENTITY_OVERHEAD_BYTES;
+        for (String text : texts) {
+            if (text != null) {
+                bytes += text.length() * 2L;
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    public Optional<IntegrationFlow> findFlow(UUID id) {
+        return Optional.ofNullable(flows.get(id, key -> flowRepository.findById(key).orElse(null)));
+    }
+
+    public Optional<CommunicationAdapter> findAdapter(UUID id) {
+        return Optional.ofNullable(adapters.get(id, key -> adapterRepository.findById(key).orElse(null)));
+    }
+
+    public Optional<FlowStructure> findFlowStructure(UUID id) {
+        return Optional.ofNullable(flowStructures.get(id, key -> flowStructureRepository.findById(key).orElse(null)));
+    }
+
+    /**
+     * Evicts the changed entity. Invalidation waits for a load of the same key that is in
+     * progress, so a value read before the commit cannot outlive the event.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        UUID id = parse(event.getEntityId());
+        if (id == null) {
+            return;
+        }
+        if (event.isFor(IntegrationFlow.class)) {
+            flows.invalidate(id);
+        } else if (event.isFor(CommunicationAdapter.class)) {
+            adapters.invalidate(id);
+        } else if (event.isFor(FlowStructure.class)) {
+            flowStructures.invalidate(id);
+        }
+        log.debug("Evicted {} {} from runtime cache ({})", event.getEntityType(), id, event.getChangeType());
+    }
+
+    @EventListener
+    public void onFlowStatusChanged(FlowStatusChangedEvent event) {
+        UUID id = parse(event.getFlowId());
+        if (id != null) {
+            flows.invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        flows.invalidateAll();
+        adapters.invalidateAll();
+        flowStructures.invalidateAll();
+    }
+
+    private static UUID parse(String id) {
+        try {
+            return id != null ? UUID.fromString(id) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
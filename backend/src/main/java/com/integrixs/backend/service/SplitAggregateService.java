@@ -0,0 +1,348 @@
+package com.integrixs.backend.service;
+
+import com.integrixs.engine.xml.XmlConversionException;
+import com.integrixs.engine.xml.XmlRecordSplitter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splitter/aggregator stage: splits a multi-record XML message by a record path, maps
+ * the records in parallel and reassembles the results in record order.
+ *
+ * <p>At most {@code maxInFlight} records of a message are split but not yet aggregated,
+ * which bounds both the parallelism and the records waiting for a slower predecessor.
+ * The aggregator either rebuilds one document under the original root element, keeping
+ * its prefix, namespace declarations and attributes ({@link Aggregation#ORDERED}), or
+ * hands batches of mapped records to a sink as soon as they are next in order
+ * ({@link Aggregation#STREAM}). Streamed batches are delivered by the thread calling
+ * {@link #process}, between splitting records, so a slow sink holds back the splitter
+ * rather than the mapping threads. Progress is tracked per correlation ID while a
+ * message is being processed.
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class SplitAggregateService {
+
+    private final ExecutorService recordExecutor;
+    private final Map<String, Progress> activeMessages = new ConcurrentHashMap<>();
+    private final Counter recordCounter;
+    private final Timer messageTimer;
+
+    public SplitAggregateService(@Qualifier("recordExecutor") ExecutorService recordExecutor,
+                                 MeterRegistry meterRegistry) {
+        this.recordExecutor = recordExecutor;
+        this.recordCounter = Counter.builder("flow.split.records")
+            .description("Records mapped by the splitter stage")
+            .register(meterRegistry);
+        this.messageTimer = Timer.builder("flow.split.duration")
+            .description("Time to split, map and aggregate a message")
+            .register(meterRegistry);
+        Gauge.builder("flow.split.active", activeMessages, Map::size)
+            .description("Messages currently being split")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Split, map and aggregate a message.
+     *
+     * @param correlationId message correlation ID
+     * @param xml the message
+     * @param config split configuration
+     * @param mapper maps one record fragment; called concurrently
+     * @param sink receives mapped records in order when streaming; ignored otherwise
+     * @return record count and, unless streaming, the aggregated document
+     * @throws Exception if splitting, a record mapping or the sink fails
+     */
+    public SplitResult process(String correlationId, String xml, SplitConfig config,
+                               RecordMapper mapper, RecordSink sink) throws Exception {
+        long start = System.nanoTime();
+        XmlRecordSplitter splitter = new XmlRecordSplitter(xml, config.recordPath());
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        Aggregator aggregator = new Aggregator(correlationId, config, splitter, sink, inFlight);
+        Progress progress = new Progress();
+        activeMessages.put(correlationId, progress);
+
+        try {
+            int sequence = 0;
+            while (aggregator.failure() == null && splitter.hasNext()) {
+                String record = splitter.next();
+                inFlight.acquire();
+                int recordSequence = sequence++;
+                progress.split = sequence;
+                try {
+                    recordExecutor.execute(() -> {
+                        try {
+                            aggregator.complete(recordSequence, mapper.map(record));
+                        } catch (Exception e) {
+                            aggregator.fail(recordSequence, e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    aggregator.fail(recordSequence, e);
+                }
+                aggregator.deliver();
+            }
+
+            // All permits are back once every record has been aggregated or dropped
+            inFlight.acquire(config.maxInFlight());
+            inFlight.release(config.maxInFlight());
+
+            String aggregated = aggregator.failure() == null ? aggregator.finish() : null;
+            if (aggregator.failure() != null) {
+                throw new XmlConversionException("Record " + aggregator.failedSequence + " of message "
+                    + correlationId + " failed: " + aggregator.failure().getMessage(), aggregator.failure());
+            }
+            recordCounter.increment(sequence);
+            log.info("Split message {} into {} records ({}, max {} in flight)",
+                     correlationId, sequence, config.aggregation(), config.maxInFlight());
+            return new SplitResult(sequence, aggregated, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            activeMessages.remove(correlationId);
+            messageTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return records split and aggregated so far for a message being processed
+     */
+    public Optional<Map<String, Integer>> getProgress(String correlationId) {
+        Progress progress = activeMessages.get(correlationId);
+        if (progress == null) {
+            return Optional.empty();
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        counts.put("split", progress.split);
+        counts.put("aggregated", progress.aggregated);
+        return Optional.of(counts);
+    }
+
+
+    private static String stripDeclaration(String xml) {
+        String trimmed = xml.strip();
+        if (trimmed.startsWith("<?xml")) {
+            int end = trimmed.indexOf("?>");
+            return end > 0 ? trimmed.substring(end + 2).strip() : trimmed;
+        }
+        return trimmed;
+    }
+
+    /**
+     * Wrap records in the configured aggregate root, or else in the source root element
+     * as it was written
+     */
+    private static String wrap(SplitConfig config, XmlRecordSplitter splitter, List<String> records) {
+        String startTag;
+        String endTag;
+        if (config.aggregateRoot() != null && !config.aggregateRoot().isBlank()) {
+            startTag = "<" + config.aggregateRoot() + ">";
+            endTag = "</" + config.aggregateRoot() + ">";
+        } else if (splitter.getRootStartTag() != null) {
+            startTag = splitter.getRootStartTag();
+            endTag = splitter.getRootEndTag();
+        } else {
+            startTag = "<Records>";
+            endTag = "</Records>";
+        }
+        StringBuilder xml = new StringBuilder(startTag);
+        for (String record : records) {
+            xml.append(stripDeclaration(record));
+        }
+        return xml.append(endTag).toString();
+    }
+
+    /**
+     * Releases records in sequence order; a record's permit is returned once it has been
+     * aggregated, or dropped after a failure. Full stream batches are queued for
+     * {@link #deliver()} so the sink never runs under this monitor.
+     */
+    private final class Aggregator {
+        private final String correlationId;
+        private final SplitConfig config;
+        private final XmlRecordSplitter splitter;
+        private final RecordSink sink;
+        private final Semaphore inFlight;
+        private final Map<Integer, String> pending = new HashMap<>();
+        private final List<String> buffer = new ArrayList<>();
+        private final Deque<Batch> ready = new ArrayDeque<>();
+        private int nextSequence;
+        private int bufferStart;
+        private volatile Throwable failure;
+        private int failedSequence = -1;
+
+        Aggregator(String correlationId, SplitConfig config, XmlRecordSplitter splitter,
+                   RecordSink sink, Semaphore inFlight) {
+            this.correlationId = correlationId;
+            this.config = config;
+            this.splitter = splitter;
+            this.sink = sink;
+            this.inFlight = inFlight;
+        }
+
+        Throwable failure() {
+            return failure;
+        }
+
+        synchronized void complete(int sequence, String mapped) {
+            if (failure != null) {
+                inFlight.release();
+                return;
+            }
+            pending.put(sequence, mapped);
+            while (pending.containsKey(nextSequence)) {
+                buffer.add(pending.remove(nextSequence));
+                nextSequence++;
+                inFlight.release();
+                if (config.aggregation() == Aggregation.STREAM && buffer.size() >= config.streamBatchSize()) {
+                    handOff();
+                }
+            }
+            Progress progress = activeMessages.get(correlationId);
+            if (progress != null) {
+                progress.aggregated = nextSequence;
+            }
+        }
+
+        synchronized void fail(int sequence, Throwable cause) {
+            abort(sequence, cause);
+            inFlight.release();
+        }
+
+        private void abort(int sequence, Throwable cause) {
+            if (failure == null) {
+                failure = cause;
+                failedSequence = sequence;
+                inFlight.release(pending.size());
+                pending.clear();
+            }
+        }
+
+        /**
+         * Pass the queued batches to the sink, in order, on the calling thread. A sink
+         * failure fails the message at the first record of the batch.
+         */
+        void deliver() {
+            Batch batch;
+            while (failure == null && (batch = nextBatch()) != null) {
+                try {
+                    sink.accept(correlationId, batch.firstSequence(), batch.records().size(),
+                                wrap(config, splitter, batch.records()));
+                } catch (Exception e) {
+                    synchronized (this) {
+                        abort(batch.firstSequence(), e);
+                    }
+                }
+            }
+        }
+
+        String finish() {
+            if (config.aggregation() == Aggregation.STREAM) {
+                synchronized (this) {
+                    if (!buffer.isEmpty()) {
+                        handOff();
+                    }
+                }
+                deliver();
+                return null;
+            }
+            synchronized (this) {
+                return wrap(config, splitter, buffer);
+            }
+        }
+
+        private synchronized Batch nextBatch() {
+            return ready.poll();
+        }
+
+        private void handOff() {
+            ready.add(new Batch(bufferStart, new ArrayList<>(buffer)));
+            bufferStart += buffer.size();
+            buffer.clear();
+        }
+    }
+
+    private record Batch(int firstSequence, List<String> records) {
+    }
+
+    private static final class Progress {
+        private volatile int split;
+        private volatile int aggregated;
+    }
+
+    public enum Aggregation {
+        /** Reassemble all records into one document */
+        ORDERED,
+        /** Pass records to the receiver in batches, in order, as they are mapped */
+        STREAM;
+
+        public static Aggregation parse(String value) {
+            if (value == null || value.isBlank()) {
+                return ORDERED;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ORDERED;
+            }
+        }
+    }
+
+    /**
+     * @param recordPath path of the record elements, absolute or relative
+     * @param maxInFlight records split but not yet aggregated
+     * @param aggregation how mapped records are reassembled
+     * @param aggregateRoot root element of the aggregated document; the source root if blank
+     * @param streamBatchSize records per sink call when streaming
+     */
+    public record SplitConfig(String recordPath, int maxInFlight, Aggregation aggregation,
+                              String aggregateRoot, int streamBatchSize) {
+
+        public SplitConfig {
+            maxInFlight = Math.max(1, maxInFlight);
+            streamBatchSize = Math.max(1, streamBatchSize);
+        }
+    }
+
+    public record SplitResult(int records, String aggregated, long elapsedMillis) {
+    }
+
+    @FunctionalInterface
+    public interface RecordMapper {
+        String map(String record) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface RecordSink {
+        /**
+         * Called on the thread that calls {@link #process}, one batch at a time.
+         *
+
+         * @param correlationId message correlation ID
+         * @param firstSequence sequence number of the first record in the batch
+         * @param recordCount records in the batch
+         * @param batch the mapped records in order, under the aggregate root element
+         */
+        void accept(String correlationId, int firstSequence, int recordCount, String batch) throws Exception;
+    }
+}
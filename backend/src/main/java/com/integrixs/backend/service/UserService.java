@@ -2,6 +2,7 @@ package com.integrixs.backend.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.backend.security.AuthenticatedPrincipalCache;
 import com.integrixs.data.model.User;
 import com.integrixs.data.model.UserSession;
 import com.integrixs.data.repository.UserRepository;
@@ -35,6 +36,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     @Transactional
@@ -121,14 +125,18 @@ public class UserService {
             user.setRole(dto.getRole());
             user.setStatus(dto.getStatus());
             user.setUpdatedAt(LocalDateTime.now());
-            return mapToDTO(userRepository.save(user));
+            User saved = userRepository.save(user);
+            principalCache.invalidateUser(saved.getUsername());
+            return mapToDTO(saved);
         });
     }
 
     @CacheEvict(value = "users", key = "#id")
     public boolean deleteById(String id) {
-        if (userRepository.existsById(UUID.fromString(id))) {
+        Optional<User> user = userRepository.findById(UUID.fromString(id));
+        if (user.isPresent()) {
             userRepository.deleteById(UUID.fromString(id));
+            principalCache.invalidateUser(user.get().getUsername());
             return true;
         }
         return false;
@@ -141,7 +149,9 @@ public class UserService {
         user.setRole(dto.getRole());
         user.setStatus(dto.getStatus());
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        principalCache.invalidateUser(saved.getUsername());
+        return saved;
     }
 
 }
@@ -3,7 +3,7 @@ package com.integrixs.backend.service.transformation;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integrixs.shared.dto.transformation.EnrichmentTransformationConfigDTO;
-import com.integrixs.backend.util.JavaFunctionRunner;
+import com.integrixs.backend.service.transformation.rule.RuleCompiler;
 import org.springframework.stereotype.Service;
 
 import java.util.Iterator;
@@ -14,6 +14,12 @@ public class EnrichmentTransformationService {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final RuleCompiler ruleCompiler;
+
+    public EnrichmentTransformationService(RuleCompiler ruleCompiler) {
+        this.ruleCompiler = ruleCompiler;
+    }
+
     /**
      * Applies enrichment on the input JSON string.
      * It adds static enrichment fields and optionally executes a JavaScript enrichment function.
@@ -42,11 +48,7 @@ public class EnrichmentTransformationService {
             // Execute enrichment function if provided
             String enrichmentFunction = config.getEnrichmentFunction();
             if (enrichmentFunction != null && !enrichmentFunction.isBlank()) {
-                Object result = JavaFunctionRunner.run(
-                    enrichmentFunction,
-                    java.util.List.of("record"),
-                    Map.of("record", map)
-                );
+                Object result = ruleCompiler.compile(enrichmentFunction).evaluate(map);
 
                 if (result instanceof Map<?, ?>) {
                     @SuppressWarnings("unchecked")
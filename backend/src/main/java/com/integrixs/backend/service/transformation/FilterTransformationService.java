@@ -2,13 +2,16 @@ package com.integrixs.backend.service.transformation;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.backend.service.transformation.rule.CompiledRule;
+import com.integrixs.backend.service.transformation.rule.RuleCompiler;
+import com.integrixs.engine.transformation.ScriptExecutionService;
 import com.integrixs.shared.dto.transformation.FilterTransformationConfigDTO;
 
 import org.springframework.stereotype.Service;
 
-import javax.script.Invocable;
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -16,6 +19,14 @@ public class FilterTransformationService {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final ScriptExecutionService scriptExecutionService = ScriptExecutionService.getInstance();
+
+    private final RuleCompiler ruleCompiler;
+
+    public FilterTransformationService(RuleCompiler ruleCompiler) {
+        this.ruleCompiler = ruleCompiler;
+    }
+
     /**
      * Applies a filter transformation on input JSON array string.
      *
@@ -30,19 +41,36 @@ public class FilterTransformationService {
                 throw new IllegalArgumentException("Input JSON must be an array");
             }
 
-            ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
-            String script = "var filterFunc = " + config.getFilterExpression() + ";";
-            engine.eval(script);
-            Invocable invocable = (Invocable) engine;
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (JsonNode item : arrayNode) {
+                items.add(objectMapper.convertValue(item, Map.class));
+            }
 
             var filteredArray = objectMapper.createArrayNode();
-
-            for (JsonNode item : arrayNode) {
-                Map<String, Object> itemMap = objectMapper.convertValue(item, Map.class);
-                Object result = invocable.invokeFunction("filterFunc", itemMap);
-                if (result instanceof Boolean && (Boolean) result) {
-                    filteredArray.add(item);
+            CompiledRule rule = ruleCompiler.compile(config.getFilterExpression());
+            if (rule.isCompiled()) {
+                for (int i = 0; i < items.size(); i++) {
+                    if (Boolean.TRUE.equals(rule.evaluate(items.get(i)))) {
+                        filteredArray.add(arrayNode.get(i));
+                    }
                 }
+                return objectMapper.writeValueAsString(filteredArray);
+            }
+
+            // Run the filter over all items in one evaluation, collecting matching indexes
+            String script = "(function(filterFunc) {" +
+                    " for (var i = 0; i < __items.size(); i++) {" +
+                    " if (filterFunc(__items.get(i)) === true) { __matches.add(i); }" +
+                    " } })(" + config.getFilterExpression() + ");";
+            // Script numbers may arrive as Integer or Double depending on the engine
+            List<Object> matches = new ArrayList<>();
+            Map<String, Object> bindings = new HashMap<>();
+            bindings.put("__items", items);
+            bindings.put("__matches", matches);
+            scriptExecutionService.evaluate(script, bindings);
+
+            for (Object index : matches) {
+                filteredArray.add(arrayNode.get(((Number) index).intValue()));
             }
 
             return objectMapper.writeValueAsString(filteredArray);
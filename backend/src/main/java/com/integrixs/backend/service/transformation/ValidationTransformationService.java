@@ -3,7 +3,7 @@ package com.integrixs.backend.service.transformation;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integrixs.shared.dto.transformation.ValidationTransformationConfigDTO;
-import com.integrixs.backend.util.JavaFunctionRunner;
+import com.integrixs.backend.service.transformation.rule.RuleCompiler;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -15,6 +15,12 @@ public class ValidationTransformationService {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final RuleCompiler ruleCompiler;
+
+    public ValidationTransformationService(RuleCompiler ruleCompiler) {
+        this.ruleCompiler = ruleCompiler;
+    }
+
     /**
      * Applies validation rules on the input JSON string.
      * Returns input JSON unchanged if all validations pass.
@@ -28,7 +34,7 @@ public class ValidationTransformationService {
         try {
             JsonNode inputNode = objectMapper.readTree(inputJson);
 
-            // Convert to map for JavaFunctionRunner
+            // Convert to map for the rule functions
             Map<String, Object> record = objectMapper.convertValue(inputNode, Map.class);
 
             List<String> errors = new ArrayList<>();
@@ -44,8 +50,8 @@ public class ValidationTransformationService {
                 String rule = rules.get(i);
                 String errorMessage = (messages != null && i < messages.size()) ? messages.get(i) : "Validation failed";
 
-                // Run the JS validation rule; it should return boolean
-                Object result = JavaFunctionRunner.run(rule, List.of("record"), Map.of("record", record));
+                // Run the validation rule (compiled, or as script); it should return boolean
+                Object result = ruleCompiler.compile(rule).evaluate(record);
                 boolean valid;
                 if (result instanceof Boolean) {
                     valid = (Boolean) result;
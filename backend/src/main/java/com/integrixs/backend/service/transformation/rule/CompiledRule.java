@@ -0,0 +1,80 @@
+package com.integrixs.backend.service.transformation.rule;
+
+import com.integrixs.backend.util.JavaFunctionRunner;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A rule ready for execution: either compiled to a Java evaluator, or - when the
+ * rule uses syntax the compiler does not support - a script that runs on the
+ * pooled script engine.
+ */
+public final class CompiledRule {
+
+    /**
+     * Compiled form of a rule body.
+     */
+    @FunctionalInterface
+    interface Evaluator {
+        Object evaluate(Object[] args);
+    }
+
+    private final String source;
+    private final List<String> params;
+    private final Evaluator evaluator;
+    private final String fallbackReason;
+
+    private CompiledRule(String source, List<String> params, Evaluator evaluator, String fallbackReason) {
+        this.source = source;
+        this.params = params;
+        this.evaluator = evaluator;
+        this.fallbackReason = fallbackReason;
+    }
+
+    static CompiledRule compiled(String source, List<String> params, Evaluator evaluator) {
+        return new CompiledRule(source, params, evaluator, null);
+    }
+
+    static CompiledRule script(String source, String reason) {
+        return new CompiledRule(source, List.of("record"), null, reason);
+    }
+
+    /**
+     * Evaluate the rule. Values passed to compiled rules follow JavaScript semantics:
+     * numbers come back as Integer, Long or Double and objects as Maps.
+     *
+     * @param args the function arguments, in declaration order
+     * @return the rule result; {@link RuleCompiler#UNDEFINED} is returned as null
+     */
+    public Object evaluate(Object... args) {
+        if (evaluator != null) {
+            Object result = evaluator.evaluate(args);
+            return result == RuleCompiler.UNDEFINED ? null : result;
+        }
+        Map<String, Object> data = new HashMap<>();
+        for (int i = 0; i < args.length && i < params.size(); i++) {
+            data.put(params.get(i), args[i]);
+        }
+        return JavaFunctionRunner.run(source, params.subList(0, Math.min(args.length, params.size())), data);
+    }
+
+    /**
+     * @return true if the rule runs as Java, false if it falls back to the script engine
+     */
+    public boolean isCompiled() {
+        return evaluator != null;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return why the rule could not be compiled, or null for compiled rules
+     */
+    public String getFallbackReason() {
+        return fallbackReason;
+    }
+}
@@ -0,0 +1,500 @@
+package com.integrixs.backend.service.transformation.rule;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.integrixs.data.model.FlowTransformation;
+import com.integrixs.shared.dto.transformation.EnrichmentTransformationConfigDTO;
+import com.integrixs.shared.dto.transformation.FilterTransformationConfigDTO;
+import com.integrixs.shared.dto.transformation.ValidationTransformationConfigDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles filter, validation and enrichment rules to Java evaluators.
+ *
+ * <p>Rules are parsed once into a {@link RuleNode} tree and turned into a chain of
+ * lambdas, so evaluating a rule per message costs no parsing and no script engine
+ * round trip. Compiled rules are cached by their source text: a new transformation
+ * version with a changed rule gets a new entry, while unchanged rules are shared.
+ * Rules the parser does not understand are kept as scripts and run on the pooled
+ * script engine. Values follow JavaScript semantics closely enough for the usual
+ * comparisons, arithmetic and string checks, on Map/List payloads (JSON) as well as
+ * DOM elements (XML).
+ *
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class RuleCompiler {
+
+    /**
+     * The JavaScript {@code undefined} value, e.g. a missing property.
+     */
+    public static final Object UNDEFINED = new Object() {
+        @Override
+        public String toString() {
+            return "undefined";
+        }
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Cache<String, CompiledRule> rules;
+    private final AtomicLong compiledRules = new AtomicLong();
+    private final AtomicLong scriptRules = new AtomicLong();
+
+    public RuleCompiler(@Value("${rule.compiler.cache-size:2000}") long cacheSize) {
+        this.rules = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .build();
+    }
+
+    /**
+     * Returns the compiled form of a rule, compiling it on first use.
+     *
+     * @param source the rule source, e.g. {@code (record) => record.amount > 100}
+     * @return the compiled rule, possibly backed by the script engine
+     */
+    public CompiledRule compile(String source) {
+        return rules.get(source, this::doCompile);
+    }
+
+    /**
+     * Compiles the rules of a transformation ahead of execution, typically at deploy time.
+     * Transformations without rules are ignored.
+     *
+     * @param transformation the transformation
+     * @return number of rules that compiled to Java
+     */
+    public int precompile(FlowTransformation transformation) {
+        if (transformation.getType() == null || transformation.getConfiguration() == null
+                || transformation.getConfiguration().isBlank()) {
+            return 0;
+        }
+
+        List<String> sources = new ArrayList<>();
+        try {
+            switch (transformation.getType()) {
+                case FILTER -> sources.add(objectMapper.readValue(transformation.getConfiguration(),
+                        FilterTransformationConfigDTO.class).getFilterExpression());
+                case VALIDATION -> {
+                    List<String> validationRules = objectMapper.readValue(transformation.getConfiguration(),
+                            ValidationTransformationConfigDTO.class).getValidationRules();
+                    if (validationRules != null) {
+                        sources.addAll(validationRules);
+                    }
+                }
+                case ENRICHMENT -> sources.add(objectMapper.readValue(transformation.getConfiguration(),
+                        EnrichmentTransformationConfigDTO.class).getEnrichmentFunction());
+                default -> {
+                    return 0;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not read rules of transformation {}: {}", transformation.getId(), e.getMessage());
+            return 0;
+        }
+
+        int compiled = 0;
+        for (String source : sources) {
+            if (source != null && !source.isBlank() && compile(source).isCompiled()) {
+                compiled++;
+            }
+        }
+        log.debug("Precompiled {}/{} rules of transformation {}", compiled, sources.size(), transformation.getId());
+        return compiled;
+    }
+
+    public void clear() {
+        rules.invalidateAll();
+    }
+
+    public long getCompiledRuleCount() {
+        return compiledRules.get();
+    }
+
+    public long getScriptRuleCount() {
+        return scriptRules.get();
+    }
+
+    public long getCachedRuleCount() {
+        return rules.estimatedSize();
+    }
+
+    private CompiledRule doCompile(String source) {
+        try {
+            RuleNode.Lambda function = new RuleExpressionParser(source).parseFunction();
+            CompiledRule.Evaluator body = compileNode(function.body());
+            compiledRules.incrementAndGet();
+            return CompiledRule.compiled(source, function.params(), body);
+        } catch (RuleParseException e) {
+            scriptRules.incrementAndGet();
+            log.debug("Rule falls back to script evaluation ({}): {}", e.getMessage(), source);
+            return CompiledRule.script(source, e.getMessage());
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // AST to evaluator
+    // ---------------------------------------------------------------------
+
+    private CompiledRule.Evaluator compileNode(RuleNode node) {
+        if (node instanceof RuleNode.Literal literal) {
+            Object value = literal.value();
+            return args -> value;
+        }
+        if (node instanceof RuleNode.Parameter parameter) {
+            int index = parameter.index();
+            return args -> index < args.length ? args[index] : UNDEFINED;
+        }
+        if (node instanceof RuleNode.Property property) {
+            CompiledRule.Evaluator target = compileNode(property.target());
+            String name = property.name();
+            return args -> getProperty(target.evaluate(args), name);
+        }
+        if (node instanceof RuleNode.Index index) {
+            CompiledRule.Evaluator target = compileNode(index.target());
+            CompiledRule.Evaluator key = compileNode(index.index());
+            return args -> getIndexed(target.evaluate(args), key.evaluate(args));
+        }
+        if (node instanceof RuleNode.MethodCall call) {
+            return compileMethodCall(call);
+        }
+        if (node instanceof RuleNode.Unary unary) {
+            CompiledRule.Evaluator operand = compileNode(unary.operand());
+            if (unary.operator().equals("!")) {
+                return args -> !isTruthy(operand.evaluate(args));
+            }
+            return args -> normalize(-toNumber(operand.evaluate(args)));
+        }
+        if (node instanceof RuleNode.Binary binary) {
+            return compileBinary(binary);
+        }
+        if (node instanceof RuleNode.Conditional conditional) {
+            CompiledRule.Evaluator condition = compileNode(conditional.condition());
+            CompiledRule.Evaluator whenTrue = compileNode(conditional.whenTrue());
+            CompiledRule.Evaluator whenFalse = compileNode(conditional.whenFalse());
+            return args -> isTruthy(condition.evaluate(args)) ? whenTrue.evaluate(args) : whenFalse.evaluate(args);
+        }
+        if (node instanceof RuleNode.ObjectLiteral object) {
+            Map<String, CompiledRule.Evaluator> properties = new LinkedHashMap<>();
+            object.properties().forEach((key, value) -> properties.put(key, compileNode(value)));
+            return args -> {
+                Map<String, Object> result = new LinkedHashMap<>();
+                properties.forEach((key, value) -> {
+                    Object evaluated = value.evaluate(args);
+                    if (evaluated != UNDEFINED) {
+                        result.put(key, evaluated);
+                    }
+                });
+                return result;
+            };
+        }
+        throw new RuleParseException("Unsupported node " + node);
+    }
+
+    private CompiledRule.Evaluator compileBinary(RuleNode.Binary binary) {
+        CompiledRule.Evaluator left = compileNode(binary.left());
+        CompiledRule.Evaluator right = compileNode(binary.right());
+        return switch (binary.operator()) {
+            case "&&" -> args -> {
+                Object value = left.evaluate(args);
+                return isTruthy(value) ? right.evaluate(args) : value;
+            };
+            case "||" -> args -> {
+                Object value = left.evaluate(args);
+                return isTruthy(value) ? value : right.evaluate(args);
+            };
+            case "===" -> args -> strictEquals(left.evaluate(args), right.evaluate(args));
+            case "!==" -> args -> !strictEquals(left.evaluate(args), right.evaluate(args));
+            case "==" -> args -> looseEquals(left.evaluate(args), right.evaluate(args));
+            case "!=" -> args -> !looseEquals(left.evaluate(args), right.evaluate(args));
+            case "<" -> args -> compare(left.evaluate(args), right.evaluate(args), c -> c < 0);
+            case "<=" -> args -> compare(left.evaluate(args), right.evaluate(args), c -> c <= 0);
+            case ">" -> args -> compare(left.evaluate(args), right.evaluate(args), c -> c > 0);
+            case ">=" -> args -> compare(left.evaluate(args), right.evaluate(args), c -> c >= 0);
+            case "+" -> args -> add(left.evaluate(args), right.evaluate(args));
+            case "-" -> args -> normalize(toNumber(left.evaluate(args)) - toNumber(right.evaluate(args)));
+            case "*" -> args -> normalize(toNumber(left.evaluate(args)) * toNumber(right.evaluate(args)));
+            case "/" -> args -> normalize(toNumber(left.evaluate(args)) / toNumber(right.evaluate(args)));
+            case "%" -> args -> normalize(toNumber(left.evaluate(args)) % toNumber(right.evaluate(args)));
+            default -> throw new RuleParseException("Unsupported operator '" + binary.operator() + "'");
+        };
+    }
+
+    private CompiledRule.Evaluator compileMethodCall(RuleNode.MethodCall call) {
+        CompiledRule.Evaluator target = compileNode(call.target());
+        List<CompiledRule.Evaluator> arguments = new ArrayList<>();
+        for (RuleNode arg : call.args()) {
+            arguments.add(compileNode(arg));
+        }
+        CompiledRule.Evaluator first = arguments.isEmpty() ? args -> UNDEFINED : arguments.get(0);
+        return switch (call.method()) {
+            case "toUpperCase" -> args -> stringValue(requireValue(target.evaluate(args), "toUpperCase")).toUpperCase();
+            case "toLowerCase" -> args -> stringValue(requireValue(target.evaluate(args), "toLowerCase")).toLowerCase();
+            case "trim" -> args -> stringValue(requireValue(target.evaluate(args), "trim")).trim();
+            case "toString" -> args -> toJsString(requireValue(target.evaluate(args), "toString"));
+            case "startsWith" -> args -> stringValue(requireValue(target.evaluate(args), "startsWith"))
+                    .startsWith(toJsString(first.evaluate(args)));
+            case "endsWith" -> args -> stringValue(requireValue(target.evaluate(args), "endsWith"))
+                    .endsWith(toJsString(first.evaluate(args)));
+            case "includes" -> args -> {
+                Object value = requireValue(target.evaluate(args), "includes");
+                Object needle = first.evaluate(args);
+                if (value instanceof List<?> list) {
+                    return list.stream().anyMatch(item -> strictEquals(item, needle));
+                }
+                return stringValue(value).contains(toJsString(needle));
+            };
+            case "indexOf" -> args -> {
+                Object value = requireValue(target.evaluate(args), "indexOf");
+                Object needle = first.evaluate(args);
+                if (value instanceof List<?> list) {
+                    for (int i = 0; i < list.size(); i++) {
+                        if (strictEquals(list.get(i), needle)) {
+                            return i;
+                        }
+                    }
+                    return -1;
+                }
+                return stringValue(value).indexOf(toJsString(needle));
+            };
+            default -> throw new RuleParseException("Unsupported method '" + call.method() + "'");
+        };
+    }
+
+    // ---------------------------------------------------------------------
+    // JavaScript value semantics
+    // ---------------------------------------------------------------------
+
+    private static Object getProperty(Object target, String name) {
+        requireValue(target, name);
+        if (target instanceof Map<?, ?> map) {
+            return map.containsKey(name) ? map.get(name) : UNDEFINED;
+        }
+        if (target instanceof List<?> list) {
+            return name.equals("length") ? list.size() : UNDEFINED;
+        }
+        if (target instanceof String string) {
+            return name.equals("length") ? string.length() : UNDEFINED;
+        }
+        if (target instanceof Document document) {
+            return getProperty(document.getDocumentElement(), name);
+        }
+        if (target instanceof Element element) {
+            return getElementProperty(element, name);
+        }
+        return UNDEFINED;
+    }
+
+    /**
+     * XML access: child elements by name (text for leaf elements, a list when repeated),
+     * then attributes.
+     */
+    private static Object getElementProperty(Element element, String name) {
+        List<Object> matches = new ArrayList<>(1);
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child.getNodeType() == Node.ELEMENT_NODE && name.equals(localName(child))) {
+                matches.add(elementValue((Element) child));
+            }
+        }
+        if (matches.size() == 1) {
+            return matches.get(0);
+        }
+        if (!matches.isEmpty()) {
+            return matches;
+        }
+        Attr attribute = element.getAttributeNode(name);
+        return attribute != null ? attribute.getValue() : UNDEFINED;
+    }
+
+    private static Object elementValue(Element element) {
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+                return element;
+            }
+        }
+        return element.getTextContent();
+    }
+
+    private static String localName(Node node) {
+        return node.getLocalName() != null ? node.getLocalName() : node.getNodeName();
+    }
+
+    private static Object getIndexed(Object target, Object key) {
+        requireValue(target, String.valueOf(key));
+        if (target instanceof List<?> list && key instanceof Number number) {
+            int index = number.intValue();
+            return index >= 0 && index < list.size() ? list.get(index) : UNDEFINED;
+        }
+        return getProperty(target, toJsString(key));
+    }
+
+    private static Object requireValue(Object value, String access) {
+        if (value == null || value == UNDEFINED) {
+            throw new IllegalArgumentException("Cannot read '" + access + "' of " + value);
+        }
+        return value;
+    }
+
+    private static String stringValue(Object value) {
+        if (value instanceof String string) {
+            return string;
+        }
+        throw new IllegalArgumentException("Not a string: " + value);
+    }
+
+    static boolean isTruthy(Object value) {
+        if (value == null || value == UNDEFINED) {
+            return false;
+        }
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        if (value instanceof Number number) {
+            double d = number.doubleValue();
+            return d != 0 && !Double.isNaN(d);
+        }
+        if (value instanceof String string) {
+            return !string.isEmpty();
+        }
+        return true;
+    }
+
+    private static double toNumber(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? 1 : 0;
+        }
+        if (value instanceof String string) {
+            String trimmed = string.trim();
+            if (trimmed.isEmpty()) {
+                return 0;
+            }
+            try {
+                return Double.parseDouble(trimmed);
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static String toJsString(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Double d) {
+            return normalize(d).toString();
+        }
+        if (value instanceof Element element) {
+            return element.getTextContent();
+        }
+        return value.toString();
+    }
+
+    /**
+     * Integral doubles become Integer or Long, like numbers coming out of a script engine.
+     */
+    private static Object normalize(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            if (value >= Long.MIN_VALUE && value <= Long.MAX_VALUE) {
+                return (long) value;
+            }
+        }
+        return value;
+    }
+
+    private static Object add(Object left, Object right) {
+        if (left instanceof String || right instanceof String || left instanceof Element || right instanceof Element) {
+            return toJsString(left) + toJsString(right);
+        }
+        return normalize(toNumber(left) + toNumber(right));
+    }
+
+    private static boolean strictEquals(Object left, Object right) {
+        if (left instanceof Number l && right instanceof Number r) {
+            return l.doubleValue() == r.doubleValue();
+        }
+        if (left instanceof Element element) {
+            left = element.getTextContent();
+        }
+        if (right instanceof Element element) {
+            right = element.getTextContent();
+        }
+        return Objects.equals(left, right);
+    }
+
+    private static boolean looseEquals(Object left, Object right) {
+        boolean leftNullish = left == null || left == UNDEFINED;
+        boolean rightNullish = right == null || right == UNDEFINED;
+        if (leftNullish || rightNullish) {
+            return leftNullish && rightNullish;
+        }
+        if (left instanceof Element element) {
+            left = element.getTextContent();
+        }
+        if (right instanceof Element element) {
+            right = element.getTextContent();
+        }
+        if (left instanceof String && right instanceof String) {
+            return left.equals(right);
+        }
+        if (isPrimitive(left) && isPrimitive(right)) {
+            return toNumber(left) == toNumber(right);
+        }
+        return left == right;
+    }
+
+    private static boolean isPrimitive(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean;
+    }
+
+    @FunctionalInterface
+    private interface ComparisonTest {
+        boolean test(int comparison);
+    }
+
+    private static boolean compare(Object left, Object right, ComparisonTest test) {
+        if (left instanceof Element element) {
+            left = element.getTextContent();
+        }
+        if (right instanceof Element element) {
+            right = element.getTextContent();
+        }
+        if (left instanceof String l && right instanceof String r) {
+            return test.test(l.compareTo(r));
+        }
+        double l = toNumber(left);
+        double r = toNumber(right);
+        if (Double.isNaN(l) || Double.isNaN(r)) {
+            return false;
+        }
+        return test.test(Double.compare(l, r));
+    }
+}
@@ -0,0 +1,361 @@
+package com.integrixs.backend.service.transformation.rule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recursive-descent parser for rule expressions.
+ *
+ * <p>Accepts arrow functions and {@code function} expressions whose body is a single
+ * expression or a single {@code return} statement, built from literals, parameter
+ * property access, arithmetic, comparison, logical and conditional operators, object
+ * literals and a few string/array methods. Anything else raises
+ * {@link RuleParseException} so the caller can fall back to script evaluation.
+ */
+public class RuleExpressionParser {
+
+    /**
+     * Methods the compiler knows how to execute.
+     */
+    static final Set<String> SUPPORTED_METHODS = Set.of(
+            "startsWith", "endsWith", "includes", "indexOf",
+            "toUpperCase", "toLowerCase", "trim", "toString");
+
+    private static final Object UNDEFINED_LITERAL = RuleCompiler.UNDEFINED;
+
+    private final String source;
+    private final List<String> tokens;
+    private int position;
+    private List<String> params = List.of();
+
+    public RuleExpressionParser(String source) {
+        this.source = source;
+        this.tokens = tokenize(source);
+    }
+
+    /**
+     * Parse the source as a function rule.
+     *
+     * @return the parsed function
+     * @throws RuleParseException if the source uses anything outside the supported subset
+     */
+    public RuleNode.Lambda parseFunction() {
+        List<String> parsedParams = new ArrayList<>();
+        RuleNode body;
+
+        if (peekIs("function")) {
+            next();
+            if (isIdentifier(peek())) {
+                next(); // optional function name
+            }
+            parseParameterList(parsedParams);
+            params = parsedParams;
+            body = parseBlockBody();
+        } else {
+            if (peekIs("(")) {
+                parseParameterList(parsedParams);
+            } else if (isIdentifier(peek())) {
+                parsedParams.add(next());
+            } else {
+                throw new RuleParseException("Expected a function: " + source);
+            }
+            expect("=>");
+            params = parsedParams;
+            body = peekIs("{") ? parseBlockBody() : parseExpression();
+        }
+
+        if (peekIs(";")) {
+            next();
+        }
+        if (position < tokens.size()) {
+            throw new RuleParseException("Unexpected token '" + peek() + "' in: " + source);
+        }
+        return new RuleNode.Lambda(List.copyOf(parsedParams), body);
+    }
+
+    private void parseParameterList(List<String> target) {
+        expect("(");
+        while (!peekIs(")")) {
+            String name = next();
+            if (!isIdentifier(name)) {
+                throw new RuleParseException("Unsupported parameter '" + name + "'");
+            }
+            target.add(name);
+            if (!peekIs(")")) {
+                expect(",");
+            }
+        }
+        expect(")");
+    }
+
+    private RuleNode parseBlockBody() {
+        expect("{");
+        expect("return");
+        RuleNode body = parseExpression();
+        if (peekIs(";")) {
+            next();
+        }
+        expect("}");
+        return body;
+    }
+
+    private RuleNode parseExpression() {
+        RuleNode condition = parseBinary(0);
+        if (peekIs("?")) {
+            next();
+            RuleNode whenTrue = parseExpression();
+            expect(":");
+            RuleNode whenFalse = parseExpression();
+            return new RuleNode.Conditional(condition, whenTrue, whenFalse);
+        }
+        return condition;
+    }
+
+    private static final List<Set<String>> PRECEDENCE = List.of(
+            Set.of("||"),
+            Set.of("&&"),
+            Set.of("==", "!=", "===", "!=="),
+            Set.of("<", "<=", ">", ">="),
+            Set.of("+", "-"),
+            Set.of("*", "/", "%"));
+
+    private RuleNode parseBinary(int level) {
+        if (level == PRECEDENCE.size()) {
+            return parseUnary();
+        }
+        RuleNode left = parseBinary(level + 1);
+        while (position < tokens.size() && PRECEDENCE.get(level).contains(peek())) {
+            String operator = next();
+            RuleNode right = parseBinary(level + 1);
+            left = new RuleNode.Binary(operator, left, right);
+        }
+        return left;
+    }
+
+    private RuleNode parseUnary() {
+        if (peekIs("!") || peekIs("-")) {
+            String operator = next();
+            return new RuleNode.Unary(operator, parseUnary());
+        }
+        return parsePostfix(parsePrimary());
+    }
+
+    private RuleNode parsePostfix(RuleNode node) {
+        while (true) {
+            if (peekIs(".")) {
+                next();
+                String name = next();
+                if (!isIdentifier(name)) {
+                    throw new RuleParseException("Expected property name after '.'");
+                }
+                if (peekIs("(")) {
+                    if (!SUPPORTED_METHODS.contains(name)) {
+                        throw new RuleParseException("Unsupported method '" + name + "'");
+                    }
+                    next();
+                    List<RuleNode> args = new ArrayList<>();
+                    while (!peekIs(")")) {
+                        args.add(parseExpression());
+                        if (!peekIs(")")) {
+                            expect(",");
+                        }
+                    }
+                    expect(")");
+                    node = new RuleNode.MethodCall(node, name, args);
+                } else {
+                    node = new RuleNode.Property(node, name);
+                }
+            } else if (peekIs("[")) {
+                next();
+                RuleNode index = parseExpression();
+                expect("]");
+                node = new RuleNode.Index(node, index);
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private RuleNode parsePrimary() {
+        String token = next();
+        if (token.equals("(")) {
+            RuleNode inner = parseExpression();
+            expect(")");
+            return inner;
+        }
+        if (token.equals("{")) {
+            return parseObjectLiteral();
+        }
+        if (token.startsWith("\"") || token.startsWith("'")) {
+            return new RuleNode.Literal(unquote(token));
+        }
+        if (Character.isDigit(token.charAt(0))) {
+            return new RuleNode.Literal(parseNumber(token));
+        }
+        switch (token) {
+            case "true":
+                return new RuleNode.Literal(Boolean.TRUE);
+            case "false":
+                return new RuleNode.Literal(Boolean.FALSE);
+            case "null":
+                return new RuleNode.Literal(null);
+            case "undefined":
+                return new RuleNode.Literal(UNDEFINED_LITERAL);
+            default:
+                break;
+        }
+        int index = params.indexOf(token);
+        if (index >= 0) {
+            return new RuleNode.Parameter(token, index);
+        }
+        throw new RuleParseException("Unsupported identifier '" + token + "'");
+    }
+
+    private RuleNode parseObjectLiteral() {
+        Map<String, RuleNode> properties = new LinkedHashMap<>();
+        while (!peekIs("}")) {
+            String key = next();
+            if (key.startsWith("\"") || key.startsWith("'")) {
+                key = unquote(key);
+            } else if (!isIdentifier(key)) {
+                throw new RuleParseException("Unsupported object key '" + key + "'");
+            }
+            expect(":");
+            properties.put(key, parseExpression());
+            if (!peekIs("}")) {
+                expect(",");
+            }
+        }
+        expect("}");
+        return new RuleNode.ObjectLiteral(properties);
+    }
+
+    private Object parseNumber(String token) {
+        try {
+            if (token.contains(".") || token.contains("e") || token.contains("E")) {
+                return Double.parseDouble(token);
+            }
+            long value = Long.parseLong(token);
+            return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value;
+        } catch (NumberFormatException e) {
+            throw new RuleParseException("Invalid number '" + token + "'");
+        }
+    }
+
+    private static String unquote(String token) {
+        StringBuilder value = new StringBuilder();
+        for (int i = 1; i < token.length() - 1; i++) {
+            char c = token.charAt(i);
+            if (c == '\\' && i + 1 < token.length() - 1) {
+                char escaped = token.charAt(++i);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 't' -> value.append('\t');
+                    case 'r' -> value.append('\r');
+                    default -> value.append(escaped);
+                }
+            } else {
+                value.append(c);
+            }
+        }
+        return value.toString();
+    }
+
+    private String peek() {
+        return position < tokens.size() ? tokens.get(position) : "";
+    }
+
+    private boolean peekIs(String token) {
+        return position < tokens.size() && tokens.get(position).equals(token);
+    }
+
+    private String next() {
+        if (position >= tokens.size()) {
+            throw new RuleParseException("Unexpected end of rule: " + source);
+        }
+        return tokens.get(position++);
+    }
+
+    private void expect(String token) {
+        String actual = next();
+        if (!actual.equals(token)) {
+            throw new RuleParseException("Expected '" + token + "' but found '" + actual + "' in: " + source);
+        }
+    }
+
+    private static boolean isIdentifier(String token) {
+        if (token.isEmpty() || !Character.isJavaIdentifierStart(token.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < token.length(); i++) {
+            if (!Character.isJavaIdentifierPart(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final String[] OPERATORS = {
+            "===", "!==", "=>", "==", "!=", "<=", ">=", "&&", "||",
+            "<", ">", "+", "-", "*", "/", "%", "!", "?", ":", ".", ",", ";", "(", ")", "[", "]", "{", "}"
+    };
+
+    private static List<String> tokenize(String source) {
+        if (source == null) {
+            throw new RuleParseException("Rule is empty");
+        }
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        int length = source.length();
+        while (i < length) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"' || c == '\'') {
+                int end = i + 1;
+                while (end < length && source.charAt(end) != c) {
+                    end += source.charAt(end) == '\\' ? 2 : 1;
+                }
+                if (end >= length) {
+                    throw new RuleParseException("Unterminated string in: " + source);
+                }
+                tokens.add(source.substring(i, end + 1));
+                i = end + 1;
+            } else if (c == '`' || (c == '/' && i + 1 < length && (source.charAt(i + 1) == '/' || source.charAt(i + 1) == '*'))) {
+                // Template literals and comments are left to the script engine
+                throw new RuleParseException("Unsupported syntax in: " + source);
+            } else if (Character.isDigit(c)) {
+                int end = i;
+                while (end < length && (Character.isLetterOrDigit(source.charAt(end)) || source.charAt(end) == '.')) {
+                    end++;
+                }
+                tokens.add(source.substring(i, end));
+                i = end;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i;
+                while (end < length && Character.isJavaIdentifierPart(source.charAt(end))) {
+                    end++;
+                }
+                tokens.add(source.substring(i, end));
+                i = end;
+            } else {
+                String operator = null;
+                for (String candidate : OPERATORS) {
+                    if (source.startsWith(candidate, i)) {
+                        operator = candidate;
+                        break;
+                    }
+                }
+                if (operator == null) {
+                    throw new RuleParseException("Unsupported character '" + c + "' in: " + source);
+                }
+                tokens.add(operator);
+                i += operator.length();
+            }
+        }
+        return tokens;
+    }
+}
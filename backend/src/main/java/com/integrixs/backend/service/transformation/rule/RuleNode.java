@@ -0,0 +1,53 @@
+package com.integrixs.backend.service.transformation.rule;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AST of a rule expression - the JavaScript subset that {@link RuleCompiler}
+ * can turn into plain Java.
+ */
+public sealed interface RuleNode {
+
+    /**
+     * A function rule: {@code (record) => expression} or {@code function(record) { return expression; }}.
+     */
+    record Lambda(List<String> params, RuleNode body) {
+    }
+
+    /** Number, string, boolean, null or undefined literal. */
+    record Literal(Object value) implements RuleNode {
+    }
+
+    /** Reference to a function parameter. */
+    record Parameter(String name, int index) implements RuleNode {
+    }
+
+    /** {@code target.name} */
+    record Property(RuleNode target, String name) implements RuleNode {
+    }
+
+    /** {@code target[index]} */
+    record Index(RuleNode target, RuleNode index) implements RuleNode {
+    }
+
+    /** {@code target.method(args)} */
+    record MethodCall(RuleNode target, String method, List<RuleNode> args) implements RuleNode {
+    }
+
+    /** {@code !operand} or {@code -operand} */
+    record Unary(String operator, RuleNode operand) implements RuleNode {
+    }
+
+    /** Arithmetic, comparison and logical operators. */
+    record Binary(String operator, RuleNode left, RuleNode right) implements RuleNode {
+    }
+
+    /** {@code condition ? whenTrue : whenFalse} */
+    record Conditional(RuleNode condition, RuleNode whenTrue, RuleNode whenFalse) implements RuleNode {
+    }
+
+    /** {@code { key: value, ... }} */
+    record ObjectLiteral(Map<String, RuleNode> properties) implements RuleNode {
+    }
+}
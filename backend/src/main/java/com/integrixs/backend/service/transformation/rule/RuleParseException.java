@@ -0,0 +1,12 @@
+package com.integrixs.backend.service.transformation.rule;
+
+/**
+ * Thrown when a rule expression is outside the subset {@link RuleExpressionParser}
+ * understands. Such rules are evaluated by the script engine instead.
+ */
+public class RuleParseException extends RuntimeException {
+
+    public RuleParseException(String message) {
+        super(message);
+    }
+}
@@ -2,11 +2,12 @@ package com.integrixs.backend.util;
 
 import com.integrixs.backend.util.helpers.DateHelper;
 import com.integrixs.backend.util.helpers.StringUtils;
+import com.integrixs.engine.transformation.ScriptExecutionService;
 
-import javax.script.*;
+import javax.script.ScriptException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,17 +15,16 @@ public class JavaFunctionRunner {
 
     private static final Logger LOGGER = Logger.getLogger(JavaFunctionRunner.class.getName());
 
-    private static final ScriptEngineManager ENGINE_MANAGER = new ScriptEngineManager();
-    private static final ScriptEngine ENGINE = ENGINE_MANAGER.getEngineByName("nashorn");
-    private static final Map<String, CompiledScript> FUNCTION_CACHE = new ConcurrentHashMap<>();
+    private static final ScriptExecutionService SCRIPT_SERVICE = ScriptExecutionService.getInstance();
 
     /**
      * Executes a JavaScript function with arguments extracted from sourceData based on sourceFields,
      * with injected helper objects available in the script context.
      * Supports optional parameters by passing null for missing args.
-     * Uses a cache keyed by function body + version for better cache invalidation.
+     * Runs on the pooled {@link ScriptExecutionService}, which caches the compiled script
+     * (keyed by its hash, including the version) and isolates bindings per call.
      *
-     * WARNING: This runs untrusted JS code directly on Nashorn engine, no sandboxing applied.
+     * WARNING: This runs untrusted JS code with full access to the objects passed in, no sandboxing applied.
      * Consider sandboxing or validation if code comes from untrusted sources.
      *
      * @param functionBody The JavaScript function string, e.g. "(a, b) => a + ' ' + b"
@@ -45,57 +45,49 @@ public class JavaFunctionRunner {
         sourceData = sourceData != null ? sourceData : Map.of();
         version = version != null ? version : "default";
 
-        String cacheKey = functionBody + "##" + version;
-
         try {
-            if (!(ENGINE instanceof Compilable)) {
-                throw new UnsupportedOperationException("ScriptEngine does not support compilation.");
+            // Prepare argument list from sourceData according to sourceFields
+            Object[] args = new Object[sourceFields.size()];
+            for (int i = 0; i < sourceFields.size(); i++) {
+                args[i] = sourceData.getOrDefault(sourceFields.get(i), null);
             }
 
-            // Compile or retrieve compiled script from cache
-            CompiledScript compiledScript = FUNCTION_CACHE.computeIfAbsent(cacheKey, fn -> {
-                try {
-                    return ((Compilable) ENGINE).compile("var transform = " + functionBody + ";");
-                } catch (ScriptException e) {
-                    LOGGER.log(Level.SEVERE, "Failed to compile JavaScript function: " + functionBody, e);
-                    throw new RuntimeException("Failed to compile JavaScript function: " + functionBody, e);
-                }
-            });
-
             // Prepare bindings (context variables)
-            SimpleBindings bindings = new SimpleBindings();
+            Map<String, Object> bindings = new HashMap<>();
             if (helpers != null) {
                 bindings.putAll(helpers);
             }
-
-            // Evaluate compiled script with bindings
-            compiledScript.eval(bindings);
-
-            Invocable invocable = (Invocable) ENGINE;
-
-            // Prepare argument list from sourceData according to sourceFields
-            Object[] args = new Object[sourceFields.size()];
-            for (int i = 0; i < sourceFields.size(); i++) {
-                args[i] = sourceData.getOrDefault(sourceFields.get(i), null);
-            }
+            bindings.put("__args", args);
 
             // Debug logging inputs
             LOGGER.log(Level.FINE, "Invoking JS function with args: {0}", (Object) args);
 
-            // Invoke the 'transform' function with arguments
-            Object result = invocable.invokeFunction("transform", args);
+            // Invoke the function; the version comment keeps versions apart in the compiled cache
+            Object result = SCRIPT_SERVICE.evaluate(buildInvocation(functionBody, args.length, version), bindings);
 
             // Debug logging output
             LOGGER.log(Level.FINE, "JS function result: {0}", result);
 
             return result;
 
-        } catch (ScriptException | NoSuchMethodException e) {
+        } catch (ScriptException e) {
             LOGGER.log(Level.SEVERE, "JavaScript function execution failed: " + functionBody, e);
             throw new RuntimeException("Failed to execute JavaScript function: " + functionBody, e);
         }
     }
 
+    private static String buildInvocation(String functionBody, int argCount, String version) {
+        StringBuilder script = new StringBuilder("/* ").append(version.replace("*/", "")).append(" */ var transform = ")
+                .append(functionBody).append(";\ntransform(");
+        for (int i = 0; i < argCount; i++) {
+            if (i > 0) {
+                script.append(", ");
+            }
+            script.append("__args[").append(i).append(']');
+        }
+        return script.append(");").toString();
+    }
+
     /**
      * Convenience overload for running without helpers and version.
      */
@@ -110,7 +102,7 @@ public class JavaFunctionRunner {
      * Clears the compiled function cache. Useful for manual cache invalidation.
      */
     public static void clearCache() {
-        FUNCTION_CACHE.clear();
+        SCRIPT_SERVICE.clearCompiledScripts();
         LOGGER.info("JavaFunctionRunner cache cleared.");
     }
 }
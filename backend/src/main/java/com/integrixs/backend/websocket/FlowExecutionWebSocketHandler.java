@@ -1,23 +1,99 @@
 package com.integrixs.backend.websocket;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * WebSocket endpoint for live flow execution updates.
+ *
+ * <p>Broadcasts never block the calling flow thread: each update is serialized once and
+ * queued in a bounded outbox per subscriber. A small dispatch pool drains each outbox on one
+ * thread at a time, so every session gets its messages in order, and writes through a
+ * {@link ConcurrentWebSocketSessionDecorator} with a bounded outbound buffer. Slow clients
+ * lose their oldest buffered messages (DROP) or are disconnected (TERMINATE). Progress
+ * events are coalesced per execution and flushed at a fixed interval.
+ */
 @Component
 public class FlowExecutionWebSocketHandler implements WebSocketHandler {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Logger logger = LoggerFactory.getLogger(FlowExecutionWebSocketHandler.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
     private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
     private final Map<String, Set<String>> flowSubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, PendingProgress> pendingProgress = new ConcurrentHashMap<>();
+    private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private ThreadPoolExecutor dispatchExecutor;
+
+    @Value("${websocket.flow-execution.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.flow-execution.buffer-size-limit:524288}")
+    private int bufferSizeLimit;
+
+    @Value("${websocket.flow-execution.overflow-strategy:DROP}")
+    private String overflowStrategy;
+
+    @Value("${websocket.flow-execution.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    @Value("${websocket.flow-execution.dispatch-queue-capacity:10000}")
+    private int dispatchQueueCapacity;
+
+    @Value("${websocket.flow-execution.session-queue-capacity:1000}")
+    private int sessionQueueCapacity;
+
+    @Value("${websocket.flow-execution.coalesce-progress:true}")
+    private boolean coalesceProgress;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        dispatchExecutor = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(dispatchQueueCapacity), r -> {
+                    Thread t = new Thread(r, "flow-ws-dispatch-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, (task, executor) -> {
+                    throw new RejectedExecutionException("Flow execution WebSocket dispatch queue full");
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatchExecutor != null) {
+            dispatchExecutor.shutdownNow();
+        }
+    }
 
     @Override
-    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+    public void afterConnectionEstablished(WebSocketSession rawSession) throws Exception {
+        WebSocketSession session = new ConcurrentWebSocketSessionDecorator(rawSession, sendTimeLimitMs, bufferSizeLimit,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.valueOf(overflowStrategy.toUpperCase()));
         sessions.put(session.getId(), session);
         
         // Send welcome message
@@ -51,6 +127,7 @@ public class FlowExecutionWebSocketHandler implements WebSocketHandler {
     public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
         String sessionId = session.getId();
         sessions.remove(sessionId);
+        outboxes.remove(sessionId);
         
         // Remove session from all flow subscriptions
         flowSubscriptions.values().forEach(subscribers -> subscribers.remove(sessionId));
@@ -170,21 +247,121 @@ public class FlowExecutionWebSocketHandler implements WebSocketHandler {
             message.setTimestamp(LocalDateTime.now());
             message.setData(update);
             
+            // Serialize once for all subscribers
+            TextMessage textMessage;
+            try {
+                textMessage = new TextMessage(objectMapper.writeValueAsString(message));
+            } catch (JsonProcessingException e) {
+                logger.error("Failed to serialize flow execution update for flow {}", flowId, e);
+                return;
+            }
+            
             subscribers.forEach(sessionId -> {
                 WebSocketSession session = sessions.get(sessionId);
                 if (session != null && session.isOpen()) {
+                    dispatch(session, textMessage);
+                }
+            });
+        }
+    }
+
+    /**
+     * Queue a serialized message for a subscriber. The caller never waits on the socket.
+     * Each session has its own outbox drained by one pool task at a time, so a session
+     * receives its messages in broadcast order; a full outbox drops the message.
+     */
+    private void dispatch(WebSocketSession session, TextMessage textMessage) {
+        Outbox outbox = outboxes.computeIfAbsent(session.getId(), id -> new Outbox(session));
+        if (outbox.size.incrementAndGet() > sessionQueueCapacity) {
+            outbox.size.decrementAndGet();
+            droppedMessages.incrementAndGet();
+            logger.debug("Flow execution update dropped for session {}: outbox full", session.getId());
+            return;
+        }
+        outbox.messages.add(textMessage);
+        outbox.schedule();
+    }
+
+    private void dropSession(String sessionId) {
+        sessions.remove(sessionId);
+        outboxes.remove(sessionId);
+        flowSubscriptions.values().forEach(subscribers -> subscribers.remove(sessionId));
+    }
+
+    /**
+     * Messages waiting for one session, sent in order by at most one dispatch thread.
+     */
+    private final class Outbox implements Runnable {
+        private static final int MAX_MESSAGES_PER_RUN = 100;
+
+        private final WebSocketSession session;
+        private final Queue<TextMessage> messages = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Outbox(WebSocketSession session) {
+            this.session = session;
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatchExecutor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Messages stay queued and go out with the next broadcast to this session
+                    scheduled.set(false);
+                    logger.debug("Flow execution updates delayed for session {}: dispatch queue full", session.getId());
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                TextMessage message;
+                int sent = 0;
+                while (sent++ < MAX_MESSAGES_PER_RUN && (message = messages.poll()) != null) {
+                    size.decrementAndGet();
                     try {
-                        sendMessage(session, message);
-                    } catch (IOException e) {
-                        // Remove failed session
-                        sessions.remove(sessionId);
-                        subscribers.remove(sessionId);
+                        session.sendMessage(message);
+                    } catch (IOException | RuntimeException e) {
+                        // Send failure or buffer overflow with TERMINATE: stop sending to this session
+                        logger.debug("Dropping flow execution WebSocket session {}: {}", session.getId(), e.getMessage());
+                        dropSession(session.getId());
+                        messages.clear();
+                        return;
                     }
                 }
-            });
+            } finally {
+                scheduled.set(false);
+            }
+            // Messages added after the last poll, or left over to give other sessions a turn
+            if (!messages.isEmpty()) {
+                schedule();
+            }
         }
     }
 
+    /**
+     * Flush the latest coalesced progress update of each execution.
+     */
+    @Scheduled(fixedDelayString = "${websocket.flow-execution.progress-interval-ms:250}")
+    public void flushPendingProgress() {
+        if (pendingProgress.isEmpty()) {
+            return;
+        }
+        for (String executionId : new ArrayList<>(pendingProgress.keySet())) {
+            PendingProgress progress = pendingProgress.remove(executionId);
+            if (progress != null) {
+                broadcastFlowExecutionUpdate(progress.flowId(), progress.update());
+            }
+        }
+    }
+
+    public long getDroppedMessageCount() {
+        return droppedMessages.get();
+    }
+
     public void broadcastFlowExecutionStarted(String flowId, String executionId) {
         FlowExecutionUpdate update = new FlowExecutionUpdate();
         update.setExecutionId(executionId);
@@ -202,6 +379,8 @@ public class FlowExecutionWebSocketHandler implements WebSocketHandler {
         update.setMessage("Flow execution " + (success ? "completed successfully" : "failed"));
         update.setTimestamp(LocalDateTime.now());
         
+        // A terminal event supersedes any progress still waiting to be flushed
+        pendingProgress.remove(executionId);
         broadcastFlowExecutionUpdate(flowId, update);
     }
 
@@ -213,7 +392,16 @@ public class FlowExecutionWebSocketHandler implements WebSocketHandler {
         update.setMessage(message);
         update.setTimestamp(LocalDateTime.now());
         
-        broadcastFlowExecutionUpdate(flowId, update);
+        if (!coalesceProgress) {
+            broadcastFlowExecutionUpdate(flowId, update);
+            return;
+        }
+        
+        Set<String> subscribers = flowSubscriptions.get(flowId);
+        if (subscribers != null && !subscribers.isEmpty()) {
+            // Keep only the latest progress per execution until the next flush
+            pendingProgress.put(executionId, new PendingProgress(flowId, update));
+        }
     }
 
     public void broadcastFlowExecutionError(String flowId, String executionId, String errorMessage) {
@@ -223,13 +411,16 @@ public class FlowExecutionWebSocketHandler implements WebSocketHandler {
         update.setMessage("Execution error: " + errorMessage);
         update.setTimestamp(LocalDateTime.now());
         
+        pendingProgress.remove(executionId);
         broadcastFlowExecutionUpdate(flowId, update);
     }
 
     private void sendMessage(WebSocketSession session, FlowExecutionMessage message) throws IOException {
-        if (session.isOpen()) {
+        // Always write through the decorated session so replies and broadcasts never overlap
+        WebSocketSession target = sessions.getOrDefault(session.getId(), session);
+        if (target.isOpen()) {
             String json = objectMapper.writeValueAsString(message);
-            session.sendMessage(new TextMessage(json));
+            target.sendMessage(new TextMessage(json));
         }
     }
 
@@ -242,6 +433,9 @@ public class FlowExecutionWebSocketHandler implements WebSocketHandler {
         sendMessage(session, message);
     }
 
+    private record PendingProgress(String flowId, FlowExecutionUpdate update) {
+    }
+
     // Message classes
     public enum MessageType {
         CONNECTION_ESTABLISHED,
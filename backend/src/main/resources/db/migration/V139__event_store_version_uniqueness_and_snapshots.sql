@@ -0,0 +1,36 @@
+-- V139: Enforce one event per (aggregate_id, aggregate_version) and add aggregate snapshots
+-- Versions were previously allocated with MAX()+1 per event, so concurrent writers could
+-- produce duplicates. Renumber any duplicates in event order before adding the constraint.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'event_store') THEN
+        WITH renumbered AS (
+            SELECT event_id,
+                   ROW_NUMBER() OVER (PARTITION BY aggregate_id
+                                      ORDER BY aggregate_version, occurred_at, stored_at, event_id) AS new_version
+            FROM event_store
+        )
+        UPDATE event_store e
+        SET aggregate_version = r.new_version
+        FROM renumbered r
+        WHERE e.event_id = r.event_id
+          AND e.aggregate_version <> r.new_version;
+
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_event_store_aggregate_version') THEN
+            ALTER TABLE event_store
+            ADD CONSTRAINT uk_event_store_aggregate_version UNIQUE (aggregate_id, aggregate_version);
+        END IF;
+    END IF;
+END $$;
+
+-- Latest snapshot per aggregate, used to avoid replaying the full event history
+CREATE TABLE IF NOT EXISTS aggregate_snapshots (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    aggregate_id UUID NOT NULL,
+    aggregate_type VARCHAR(100) NOT NULL,
+    aggregate_version BIGINT NOT NULL,
+    snapshot_data TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_aggregate_snapshot UNIQUE (aggregate_id, aggregate_type)
+);
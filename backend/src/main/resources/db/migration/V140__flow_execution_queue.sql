@@ -0,0 +1,40 @@
+-- V140: Durable work queue for asynchronous flow executions
+-- Work is written in the same transaction as its message log entry and claimed by
+-- workers with FOR UPDATE SKIP LOCKED under a lease. Completed work is deleted, so the
+-- table only holds pending, claimed and failed entries.
+
+CREATE TABLE IF NOT EXISTS flow_execution_queue (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    work_type VARCHAR(30) NOT NULL,
+    flow_id UUID NOT NULL,
+    correlation_id VARCHAR(36) NOT NULL,
+    payload TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL DEFAULT 5,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_flow_execution_queue_status CHECK (status IN ('PENDING', 'CLAIMED', 'FAILED'))
+) WITH (fillfactor = 70);
+
+-- Claim order for pending work
+CREATE INDEX IF NOT EXISTS idx_flow_execution_queue_pending
+    ON flow_execution_queue (available_at)
+    WHERE status = 'PENDING';
+
+-- Expired leases
+CREATE INDEX IF NOT EXISTS idx_flow_execution_queue_lease
+    ON flow_execution_queue (lease_expires_at)
+    WHERE status = 'CLAIMED';
+
+CREATE INDEX IF NOT EXISTS idx_flow_execution_queue_correlation
+    ON flow_execution_queue (correlation_id);
+
+-- High-churn table: vacuum after a small fraction of rows changed
+ALTER TABLE flow_execution_queue SET (
+    autovacuum_vacuum_scale_factor = 0.01,
+    autovacuum_analyze_scale_factor = 0.02
+);
@@ -0,0 +1,40 @@
+-- V141: Dead-letter store for terminally failed messages
+-- One row per message whose queued execution used up its attempts. The payload is not
+-- copied: queued message payloads stay on the FAILED flow_execution_queue entry and flow
+-- executions reference the inbound adapter payload they received.
+
+CREATE TABLE IF NOT EXISTS dead_letter_messages (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    flow_id UUID NOT NULL,
+    correlation_id VARCHAR(36) NOT NULL,
+    work_type VARCHAR(30) NOT NULL,
+    queue_entry_id UUID,
+    payload_id UUID,
+    failed_stage VARCHAR(30) NOT NULL,
+    error_class VARCHAR(255) NOT NULL,
+    error_message TEXT,
+    attempts INT NOT NULL DEFAULT 0,
+    failed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    status VARCHAR(20) NOT NULL DEFAULT 'DEAD',
+    reprocess_attempts INT NOT NULL DEFAULT 0,
+    reprocess_started_at TIMESTAMP,
+    reprocessed_at TIMESTAMP,
+    reprocess_correlation_id VARCHAR(36),
+    CONSTRAINT chk_dead_letter_status CHECK (status IN ('DEAD', 'REPROCESSING', 'REPROCESSED'))
+);
+
+-- Bulk selection: by flow, error or time window over messages still dead, oldest first
+CREATE INDEX IF NOT EXISTS idx_dead_letter_dead_failed_at
+    ON dead_letter_messages (failed_at, id)
+    WHERE status = 'DEAD';
+
+CREATE INDEX IF NOT EXISTS idx_dead_letter_flow
+    ON dead_letter_messages (flow_id, failed_at)
+    WHERE status = 'DEAD';
+
+CREATE INDEX IF NOT EXISTS idx_dead_letter_error_class
+    ON dead_letter_messages (error_class, failed_at)
+    WHERE status = 'DEAD';
+
+CREATE INDEX IF NOT EXISTS idx_dead_letter_correlation
+    ON dead_letter_messages (correlation_id);
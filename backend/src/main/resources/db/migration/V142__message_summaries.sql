@@ -0,0 +1,180 @@
+-- V142: One row per message for the message list
+-- Messages are the main flow log entries in system_logs (category FLOW_EXECUTION or
+-- domain type IntegrationFlow). Triggers keep the summary in step as a message's log entry
+-- is created and updated and as adapter payloads are logged for it, so the message list
+-- reads one narrow row per message and pages with a seek on (started_at, id) instead of an
+-- OFFSET scan of the log table.
+
+CREATE TABLE IF NOT EXISTS message_summaries (
+    id UUID PRIMARY KEY,                -- the message's main system_logs entry
+    correlation_id VARCHAR(100),
+    flow_id VARCHAR(36),
+    business_component_id VARCHAR(36),
+    category VARCHAR(50),
+    source VARCHAR(50),
+    target VARCHAR(255),
+    status VARCHAR(20) NOT NULL,        -- success | failed | processing
+    level VARCHAR(10) NOT NULL,
+    message TEXT,
+    started_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    duration_ms BIGINT,
+    message_size BIGINT,
+    inbound_bytes BIGINT NOT NULL DEFAULT 0,
+    outbound_bytes BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) WITH (fillfactor = 80);
+
+CREATE INDEX IF NOT EXISTS idx_message_summaries_started
+    ON message_summaries (started_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_message_summaries_status_started
+    ON message_summaries (status, started_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_message_summaries_flow_started
+    ON message_summaries (flow_id, started_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_message_summaries_component_started
+    ON message_summaries (business_component_id, started_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_message_summaries_correlation
+    ON message_summaries (correlation_id);
+
+-- Message logs and adapter payloads are looked up by correlation ID
+CREATE INDEX IF NOT EXISTS idx_system_log_correlation ON system_logs (correlation_id);
+CREATE INDEX IF NOT EXISTS idx_adapter_payload_correlation ON adapter_payloads (correlation_id);
+
+-- Details are free text; malformed JSON must not fail the log write
+CREATE OR REPLACE FUNCTION message_summary_details(details TEXT)
+RETURNS JSONB AS $$
+BEGIN
+    IF details IS NULL OR left(ltrim(details), 1) <> '{' THEN
+        RETURN NULL;
+    END IF;
+    RETURN details::jsonb;
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION message_summary_status(level VARCHAR)
+RETURNS VARCHAR AS $$
+    SELECT CASE upper(level)
+        WHEN 'ERROR' THEN 'failed'
+        WHEN 'FATAL' THEN 'failed'
+        WHEN 'SUCCESS' THEN 'success'
+        WHEN 'INFO' THEN 'success'
+        ELSE 'processing'
+    END;
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION message_summary_timestamp(value TEXT)
+RETURNS TIMESTAMP AS $$
+BEGIN
+    RETURN value::timestamp;
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION message_summary_upsert()
+RETURNS TRIGGER AS $$
+DECLARE
+    d JSONB := message_summary_details(NEW.details);
+BEGIN
+    INSERT INTO message_summaries (id, correlation_id, flow_id, business_component_id, category, source,
+                                   target, status, level, message, started_at, completed_at, duration_ms,
+                                   message_size, inbound_bytes, outbound_bytes, updated_at)
+    VALUES (NEW.id, NEW.correlation_id, NEW.domain_reference_id, NEW.component_id, NEW.category, NEW.source,
+            NEW.source_name, message_summary_status(NEW.level), NEW.level, NEW.message, NEW.timestamp,
+            message_summary_timestamp(d ->> 'endTime'),
+            CASE WHEN jsonb_typeof(d -> 'durationMs') = 'number' THEN (d ->> 'durationMs')::bigint END,
+            CASE WHEN jsonb_typeof(d -> 'messageSize') = 'number' THEN (d ->> 'messageSize')::bigint END,
+            0, 0, CURRENT_TIMESTAMP)
+    ON CONFLICT (id) DO UPDATE SET
+        correlation_id = EXCLUDED.correlation_id,
+        flow_id = EXCLUDED.flow_id,
+        business_component_id = EXCLUDED.business_component_id,
+        category = EXCLUDED.category,
+        source = EXCLUDED.source,
+        target = EXCLUDED.target,
+        status = EXCLUDED.status,
+        level = EXCLUDED.level,
+        message = EXCLUDED.message,
+        started_at = EXCLUDED.started_at,
+        completed_at = EXCLUDED.completed_at,
+        duration_ms = EXCLUDED.duration_ms,
+        message_size = EXCLUDED.message_size,
+        updated_at = EXCLUDED.updated_at;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION message_summary_delete()
+RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM message_summaries WHERE id = OLD.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION message_summary_add_payload()
+RETURNS TRIGGER AS $$
+DECLARE
+    bytes BIGINT := COALESCE(NEW.payload_size, octet_length(NEW.payload), 0);
+BEGIN
+    IF NEW.direction = 'INBOUND' THEN
+        UPDATE message_summaries SET inbound_bytes = inbound_bytes + bytes, updated_at = CURRENT_TIMESTAMP
+        WHERE correlation_id = NEW.correlation_id;
+    ELSE
+        UPDATE message_summaries SET outbound_bytes = outbound_bytes + bytes, updated_at = CURRENT_TIMESTAMP
+        WHERE correlation_id = NEW.correlation_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS message_summary_upsert_trigger ON system_logs;
+CREATE TRIGGER message_summary_upsert_trigger
+    AFTER INSERT OR UPDATE ON system_logs
+    FOR EACH ROW
+    WHEN (NEW.category = 'FLOW_EXECUTION' OR NEW.domain_type = 'IntegrationFlow')
+    EXECUTE FUNCTION message_summary_upsert();
+
+DROP TRIGGER IF EXISTS message_summary_delete_trigger ON system_logs;
+CREATE TRIGGER message_summary_delete_trigger
+    AFTER DELETE ON system_logs
+    FOR EACH ROW
+    WHEN (OLD.category = 'FLOW_EXECUTION' OR OLD.domain_type = 'IntegrationFlow')
+    EXECUTE FUNCTION message_summary_delete();
+
+DROP TRIGGER IF EXISTS message_summary_payload_trigger ON adapter_payloads;
+CREATE TRIGGER message_summary_payload_trigger
+    AFTER INSERT ON adapter_payloads
+    FOR EACH ROW
+    WHEN (NEW.correlation_id IS NOT NULL)
+    EXECUTE FUNCTION message_summary_add_payload();
+
+-- Backfill existing messages
+INSERT INTO message_summaries (id, correlation_id, flow_id, business_component_id, category, source, target,
+                               status, level, message, started_at, completed_at, duration_ms, message_size,
+                               inbound_bytes, outbound_bytes)
+SELECT l.id, l.correlation_id, l.domain_reference_id, l.component_id, l.category, l.source, l.source_name,
+       message_summary_status(l.level), l.level, l.message, l.timestamp,
+       message_summary_timestamp(d ->> 'endTime'),
+       CASE WHEN jsonb_typeof(d -> 'durationMs') = 'number' THEN (d ->> 'durationMs')::bigint END,
+       CASE WHEN jsonb_typeof(d -> 'messageSize') = 'number' THEN (d ->> 'messageSize')::bigint END,
+       COALESCE(p.inbound_bytes, 0), COALESCE(p.outbound_bytes, 0)
+FROM system_logs l
+CROSS JOIN LATERAL message_summary_details(l.details) AS d
+LEFT JOIN (
+    SELECT correlation_id,
+           sum(COALESCE(payload_size, octet_length(payload), 0)) FILTER (WHERE direction = 'INBOUND') AS inbound_bytes,
+           sum(COALESCE(payload_size, octet_length(payload), 0)) FILTER (WHERE direction <> 'INBOUND') AS outbound_bytes
+    FROM adapter_payloads
+    GROUP BY correlation_id
+) p ON p.correlation_id = l.correlation_id
+WHERE l.category = 'FLOW_EXECUTION' OR l.domain_type = 'IntegrationFlow'
+ON CONFLICT (id) DO NOTHING;
+
+ANALYZE message_summaries;
@@ -0,0 +1,24 @@
+-- V143: Indexed search over system logs
+-- Full-text: message and details are searched through one tsvector expression with the
+-- 'simple' configuration (no stemming or stop words, so identifiers match as written).
+-- Substring: trigram index on message, which makes LIKE/ILIKE '%...%' use an index.
+-- Business keys: details parsed as JSON (NULL when not JSON) with a containment index.
+-- Queries must use exactly these expressions for the indexes to apply.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_system_logs_search_tsv
+    ON system_logs USING gin (to_tsvector('simple', message || ' ' || COALESCE(details, '')));
+
+CREATE INDEX IF NOT EXISTS idx_system_logs_message_trgm
+    ON system_logs USING gin (message gin_trgm_ops);
+
+-- message_summary_details() is defined in V142
+CREATE INDEX IF NOT EXISTS idx_system_logs_details_json
+    ON system_logs USING gin (message_summary_details(details) jsonb_path_ops);
+
+-- Search pages seek on (timestamp, id) within a time window
+CREATE INDEX IF NOT EXISTS idx_system_logs_timestamp_id
+    ON system_logs (timestamp DESC, id DESC);
+
+ANALYZE system_logs;
@@ -0,0 +1,113 @@
+-- V144: Time-partitioned system_logs and adapter_payloads
+-- Both tables become range-partitioned parents (system_logs on timestamp, adapter_payloads
+-- on created_at) so retention drops or detaches whole partitions instead of deleting rows,
+-- and time-bounded queries only read the partitions of their window.
+--
+-- Existing data is not copied: each table is renamed to <table>_legacy and attached as one
+-- partition covering everything before tomorrow, and daily partitions are created from
+-- tomorrow on. The legacy partition is dropped by the partition manager like any other
+-- once all of its rows are past retention. A default partition takes rows outside the
+-- created ranges; the partition manager moves them out when it creates their partition.
+--
+-- Primary keys must include the partition key, so they become (id, timestamp) and
+-- (id, created_at). Foreign keys into system_logs are not possible any more; the only one,
+-- user_management_errors.log_id, is dropped and log_id remains a plain reference.
+
+CREATE OR REPLACE FUNCTION pg_temp.partition_by_time(tbl TEXT, key_column TEXT, cutoff TIMESTAMP, days_ahead INT)
+RETURNS VOID AS $$
+DECLARE
+    legacy TEXT := tbl || '_legacy';
+    r RECORD;
+    day TIMESTAMP;
+BEGIN
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', tbl, legacy);
+
+    -- Index names are global; free them for the partitioned parent
+    FOR r IN SELECT i.relname FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid
+             WHERE x.indrelid = legacy::regclass AND NOT x.indisprimary LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', r.relname, left(r.relname, 56) || '_legacy');
+    END LOOP;
+
+    -- Dropping the id-only primary key also drops foreign keys referencing it
+    FOR r IN SELECT conname FROM pg_constraint WHERE conrelid = legacy::regclass AND contype = 'p' LOOP
+        EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I CASCADE', legacy, r.conname);
+    END LOOP;
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET NOT NULL, ALTER COLUMN %I SET NOT NULL', legacy, key_column);
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE '
+                   'INCLUDING COMMENTS) PARTITION BY RANGE (%I)', tbl, legacy, key_column);
+    EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id, %I)', tbl, key_column);
+
+    -- Same-named foreign keys are merged with the legacy table's on attach, without revalidation
+    FOR r IN SELECT conname, pg_get_constraintdef(oid) AS def FROM pg_constraint
+             WHERE conrelid = legacy::regclass AND contype = 'f' LOOP
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I %s', tbl, r.conname, r.def);
+    END LOOP;
+
+    -- A validated constraint implying the partition bound lets the attach skip its own scan
+    -- under the exclusive lock; validation only blocks schema changes while it reads
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (%I < %L) NOT VALID',
+                   legacy, legacy || '_partition_bound', key_column, cutoff);
+    EXECUTE format('ALTER TABLE %I VALIDATE CONSTRAINT %I', legacy, legacy || '_partition_bound');
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (MINVALUE) TO (%L)', tbl, legacy, cutoff);
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', legacy, legacy || '_partition_bound');
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', tbl || '_default', tbl);
+
+    FOR i IN 0 .. days_ahead - 1 LOOP
+        day := cutoff + make_interval(days => i);
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       tbl || '_p' || to_char(day, 'YYYYMMDD'), tbl, day, day + INTERVAL '1 day');
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Summary triggers are recreated on the partitioned parents below
+DROP TRIGGER IF EXISTS message_summary_upsert_trigger ON system_logs;
+DROP TRIGGER IF EXISTS message_summary_delete_trigger ON system_logs;
+DROP TRIGGER IF EXISTS message_summary_payload_trigger ON adapter_payloads;
+
+ALTER TABLE user_management_errors DROP CONSTRAINT IF EXISTS user_management_errors_log_id_fkey;
+
+SELECT pg_temp.partition_by_time('system_logs', 'timestamp',
+                                 date_trunc('day', LOCALTIMESTAMP) + INTERVAL '1 day', 7);
+SELECT pg_temp.partition_by_time('adapter_payloads', 'created_at',
+                                 date_trunc('day', LOCALTIMESTAMP) + INTERVAL '1 day', 7);
+
+-- Indexes on the parents; the renamed legacy indexes with the same definition are attached
+-- to them instead of being rebuilt
+CREATE INDEX idx_system_log_timestamp ON system_logs (timestamp);
+CREATE INDEX idx_system_log_level ON system_logs (level);
+CREATE INDEX idx_system_log_source ON system_logs (source);
+CREATE INDEX idx_system_log_user ON system_logs (user_id);
+CREATE INDEX idx_system_log_correlation ON system_logs (correlation_id);
+CREATE INDEX idx_system_log_category ON system_logs (category);
+CREATE INDEX idx_system_logs_search_tsv
+    ON system_logs USING gin (to_tsvector('simple', message || ' ' || COALESCE(details, '')));
+CREATE INDEX idx_system_logs_message_trgm ON system_logs USING gin (message gin_trgm_ops);
+CREATE INDEX idx_system_logs_details_json ON system_logs USING gin (message_summary_details(details) jsonb_path_ops);
+CREATE INDEX idx_system_logs_timestamp_id ON system_logs (timestamp DESC, id DESC);
+
+CREATE INDEX idx_adapter_payload_correlation ON adapter_payloads (correlation_id);
+CREATE INDEX idx_adapter_payload_created_at ON adapter_payloads (created_at);
+CREATE INDEX idx_adapter_payload_adapter ON adapter_payloads (adapter_id);
+
+CREATE TRIGGER message_summary_upsert_trigger
+    AFTER INSERT OR UPDATE ON system_logs
+    FOR EACH ROW
+    WHEN (NEW.category = 'FLOW_EXECUTION' OR NEW.domain_type = 'IntegrationFlow')
+    EXECUTE FUNCTION message_summary_upsert();
+
+CREATE TRIGGER message_summary_delete_trigger
+    AFTER DELETE ON system_logs
+    FOR EACH ROW
+    WHEN (OLD.category = 'FLOW_EXECUTION' OR OLD.domain_type = 'IntegrationFlow')
+    EXECUTE FUNCTION message_summary_delete();
+
+CREATE TRIGGER message_summary_payload_trigger
+    AFTER INSERT ON adapter_payloads
+    FOR EACH ROW
+    WHEN (NEW.correlation_id IS NOT NULL)
+    EXECUTE FUNCTION message_summary_add_payload();
+
+ANALYZE system_logs;
+ANALYZE adapter_payloads;
@@ -0,0 +1,18 @@
+-- V145: Compressed and offloaded adapter payload bodies
+-- payload_encoding says where a body is kept:
+--   NULL / PLAIN  payload (TEXT), as before; small bodies and existing rows
+--   DEFLATE       payload_compressed, deflate-compressed UTF-8
+--   BLOB          deflate-compressed file in the payload blob directory, named by payload_ref
+--                 (SHA-256 of the body); identical bodies share one file
+--   OMITTED       not captured (sampled out); only the size is recorded
+-- payload_size stays the original body size in bytes, which message summaries add up.
+
+ALTER TABLE adapter_payloads
+    ADD COLUMN IF NOT EXISTS payload_encoding VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS payload_compressed BYTEA,
+    ADD COLUMN IF NOT EXISTS payload_ref VARCHAR(64),
+    ADD COLUMN IF NOT EXISTS stored_size INTEGER,
+    ADD COLUMN IF NOT EXISTS truncated BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Already compressed; keep PostgreSQL from trying again
+ALTER TABLE adapter_payloads ALTER COLUMN payload_compressed SET STORAGE EXTERNAL;
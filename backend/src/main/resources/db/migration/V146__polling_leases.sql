@@ -0,0 +1,44 @@
+-- V146: Cluster-wide ownership of polling source adapters
+-- Every node heartbeats into cluster_nodes. Each deployed flow whose source adapter polls
+-- (file, FTP, SFTP, JDBC, mail) has one polling_leases row, held by at most one node
+-- until lease_expires_at; nodes renew their leases on every heartbeat and take over
+-- leases that expired or were released, up to their fair share of all leases.
+-- Times are TIMESTAMPTZ: nodes compare them with now() from sessions in their own time zones.
+
+CREATE TABLE IF NOT EXISTS cluster_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    host_name VARCHAR(255),
+    started_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS polling_leases (
+    flow_id UUID PRIMARY KEY REFERENCES integration_flows(id) ON DELETE CASCADE,
+    adapter_id UUID NOT NULL,
+    owner_node VARCHAR(100),
+    lease_expires_at TIMESTAMPTZ,
+    acquired_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+) WITH (fillfactor = 70);
+
+CREATE INDEX IF NOT EXISTS idx_polling_leases_owner
+    ON polling_leases (owner_node);
+
+-- Flows deployed before this migration
+INSERT INTO polling_leases (flow_id, adapter_id)
+SELECT f.id, f.source_adapter_id
+FROM integration_flows f
+JOIN communication_adapters a ON a.id = f.source_adapter_id
+WHERE f.status = 'DEPLOYED_ACTIVE'
+  AND a.type IN ('FILE', 'FTP', 'SFTP', 'JDBC', 'MAIL')
+ON CONFLICT (flow_id) DO NOTHING;
+
+-- Renewed every few seconds by every node
+ALTER TABLE polling_leases SET (
+    autovacuum_vacuum_scale_factor = 0.01,
+    autovacuum_analyze_scale_factor = 0.02
+);
+ALTER TABLE cluster_nodes SET (
+    autovacuum_vacuum_scale_factor = 0.01,
+    autovacuum_analyze_scale_factor = 0.02
+);
@@ -0,0 +1,198 @@
+package com.integrixs.backend.cluster;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Several nodes sharing one PostgreSQL: every deployed polling adapter is polled by exactly
+ * one node, shares stay even as nodes join and leave, and a crashed node's adapters move
+ * to the others after the lease time. Skipped unless
+ * {@code -Dcluster.loadtest.url=jdbc:postgresql://...} is given (with
+ * {@code cluster.loadtest.user} and {@code cluster.loadtest.password}); runs in its own
+ * schema with stand-in flow and adapter tables and the V146 migration.
+ */
+public class PollingLeaseLoadTest {
+
+    private static final String SCHEMA = "polling_lease_loadtest";
+    private static final int FLOWS = 12;
+    private static final long LEASE_MS = 1000;
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    /** Flow to the node polling it, as reported to the listeners */
+    private final Map<UUID, String> polling = new ConcurrentHashMap<>();
+    private final List<String> violations = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        String url = System.getProperty("cluster.loadtest.url");
+        assumeTrue(url != null, "cluster.loadtest.url not set");
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("cluster.loadtest.user", "postgres"));
+        dataSource.setPassword(System.getProperty("cluster.loadtest.password", "postgres"));
+        dataSource.setMaximumPoolSize(8);
+        dataSource.setConnectionInitSql("CREATE SCHEMA IF NOT EXISTS " + SCHEMA + "; SET search_path TO " + SCHEMA);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS polling_leases, cluster_nodes, integration_flows, communication_adapters");
+        jdbcTemplate.execute("CREATE TABLE communication_adapters (id UUID PRIMARY KEY, type VARCHAR(20) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE integration_flows (id UUID PRIMARY KEY, source_adapter_id UUID NOT NULL, " +
+                             "status VARCHAR(20) NOT NULL)");
+        jdbcTemplate.execute(Files.readString(
+            Path.of("src/main/resources/db/migration/V146__polling_leases.sql"), StandardCharsets.UTF_8));
+
+        UUID fileAdapter = UUID.randomUUID();
+        UUID httpAdapter = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO communication_adapters VALUES (?, 'FILE'), (?, 'HTTP')", fileAdapter, httpAdapter);
+        for (int i = 0; i < FLOWS; i++) {
+            jdbcTemplate.update("INSERT INTO integration_flows VALUES (?, ?, 'DEPLOYED_ACTIVE')", UUID.randomUUID(), fileAdapter);
+        }
+        // Neither polled: an HTTP source and an undeployed flow
+        jdbcTemplate.update("INSERT INTO integration_flows VALUES (?, ?, 'DEPLOYED_ACTIVE')", UUID.randomUUID(), httpAdapter);
+        jdbcTemplate.update("INSERT INTO integration_flows VALUES (?, ?, 'DEVELOPED_INACTIVE')", UUID.randomUUID(), fileAdapter);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (dataSource != null) {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void pollingAdaptersHaveOneOwnerAndMoveBetweenNodes() throws Exception {
+        PollingLeaseService a = node("node-a");
+        PollingLeaseService b = node("node-b");
+        PollingLeaseService c = node("node-c");
+        List<PollingLeaseService> nodes = new ArrayList<>(List.of(a, b, c));
+
+        rounds(nodes);
+        assertShares(nodes, 4, 4, 4);
+
+        // Join: every node gives up one lease to the new one
+        PollingLeaseService d = node("node-d");
+        nodes.add(d);
+        rounds(nodes);
+        assertShares(nodes, 3, 3, 3, 3);
+
+        // Graceful leave: leases are handed back at once
+        d.stop();
+        nodes.remove(d);
+        rounds(nodes);
+        assertShares(nodes, 4, 4, 4);
+
+        // Crash: c stops heartbeating; its process and pollers are gone
+        nodes.remove(c);
+        polling.values().removeIf("node-c"::equals);
+        long deadline = System.currentTimeMillis() + LEASE_MS + 200;
+        while (System.currentTimeMillis() < deadline) {
+            rounds(nodes);
+            Thread.sleep(100);
+        }
+        assertTrue(c.getOwnedFlows().stream().noneMatch(c::isOwner), "stale ownership is not trusted after the lease time");
+        rounds(nodes);
+        assertShares(nodes, 6, 6);
+
+        // Undeploy: the lease disappears and its owner stops polling
+        UUID undeployed = a.getOwnedFlows().iterator().next();
+        jdbcTemplate.update("UPDATE integration_flows SET status = 'DEVELOPED_INACTIVE' WHERE id = ?", undeployed);
+        a.unregister(undeployed);
+        assertFalse(a.isOwner(undeployed));
+        rounds(nodes);
+        assertEquals(FLOWS - 1, polling.size());
+
+        assertTrue(violations.isEmpty(), String.join("\n", violations));
+        a.stop();
+        b.stop();
+    }
+
+    private PollingLeaseService node(String nodeId) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("listener", new PollingOwnershipListener() {
+            @Override
+            public void onOwnershipAcquired(UUID flowId, UUID adapterId) {
+                String previous = polling.putIfAbsent(flowId, nodeId);
+                if (previous != null) {
+                    violations.add(nodeId + " acquired " + flowId + " still polled by " + previous);
+                }
+            }
+
+            @Override
+            public void onOwnershipRevoked(UUID flowId, UUID adapterId) {
+                if (!polling.remove(flowId, nodeId)) {
+                    violations.add(nodeId + " revoked " + flowId + " it did not poll");
+                }
+            }
+        });
+        PollingLeaseService service = new PollingLeaseService(
+            jdbcTemplate, beanFactory.getBeanProvider(PollingOwnershipListener.class), nodeId);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "heartbeatMillis", 200L);
+        ReflectionTestUtils.setField(service, "leaseMillis", LEASE_MS);
+        ReflectionTestUtils.setField(service, "nodeTimeoutMillis", LEASE_MS);
+        return service;
+    }
+
+    /**
+     * Heartbeat all nodes concurrently a few times, enough to converge
+     */
+    private void rounds(List<PollingLeaseService> nodes) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+        try {
+            for (int round = 0; round < 4; round++) {
+                List<Future<?>> heartbeats = new ArrayList<>();
+                for (PollingLeaseService node : nodes) {
+                    heartbeats.add(executor.submit(node::heartbeat));
+                }
+                for (Future<?> heartbeat : heartbeats) {
+                    heartbeat.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void assertShares(List<PollingLeaseService> nodes, int... shares) {
+        Set<UUID> all = new HashSet<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            Set<UUID> owned = nodes.get(i).getOwnedFlows();
+            assertEquals(shares[i], owned.size(), nodes.get(i).getNodeId() + " share");
+            for (UUID flowId : owned) {
+                assertTrue(all.add(flowId), flowId + " owned by two nodes");
+                assertTrue(nodes.get(i).isOwner(flowId));
+            }
+            Integer inDatabase = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM polling_leases WHERE owner_node = ?", Integer.class, nodes.get(i).getNodeId());
+            assertEquals(shares[i], inDatabase);
+        }
+        assertEquals(FLOWS, all.size());
+        assertEquals(FLOWS, polling.size());
+    }
+}
@@ -0,0 +1,140 @@
+package com.integrixs.backend.queue;
+
+import com.integrixs.backend.service.MessageService;
+import com.integrixs.data.model.IntegrationFlow;
+import com.integrixs.data.model.SystemLog;
+import com.integrixs.data.repository.SystemLogRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Enqueue and claim throughput against a local PostgreSQL, and no entry claimed twice by
+ * concurrent workers. Skipped unless {@code -Dqueue.loadtest.url=jdbc:postgresql://...}
+ * is given (with {@code queue.loadtest.user} and {@code queue.loadtest.password}); the
+ * table is recreated from the V140 migration.
+ */
+public class FlowExecutionQueueLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FlowExecutionQueueLoadTest.class);
+
+    private static final int PRODUCERS = 16;
+    private static final int MESSAGES_PER_PRODUCER = 2000;
+    private static final int WORKERS = 8;
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static FlowExecutionQueue queue;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        String url = System.getProperty("queue.loadtest.url");
+        assumeTrue(url != null, "queue.loadtest.url not set");
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("queue.loadtest.user", "postgres"));
+        dataSource.setPassword(System.getProperty("queue.loadtest.password", "postgres"));
+        dataSource.setMaximumPoolSize(PRODUCERS + WORKERS);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS flow_execution_queue");
+        jdbcTemplate.execute(Files.readString(
+            Path.of("src/main/resources/db/migration/V140__flow_execution_queue.sql"), StandardCharsets.UTF_8));
+
+        MessageService messageService = mock(MessageService.class);
+        when(messageService.newMessageLog(any(), anyString(), anyString(), anyString())).thenReturn(new SystemLog());
+        queue = new FlowExecutionQueue(jdbcTemplate, mock(SystemLogRepository.class), messageService);
+        ReflectionTestUtils.setField(queue, "maxAttempts", 5);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (dataSource != null) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS flow_execution_queue");
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void enqueueAndClaimUnderConcurrency() throws Exception {
+        IntegrationFlow flow = new IntegrationFlow();
+        flow.setId(UUID.randomUUID());
+        int total = PRODUCERS * MESSAGES_PER_PRODUCER;
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + WORKERS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                producers.add(executor.submit(() -> {
+                    for (int i = 0; i < MESSAGES_PER_PRODUCER; i++) {
+                        queue.enqueue(flow, FlowExecutionQueue.WorkType.MESSAGE, "{\"n\":" + i + "}", "TEST", null);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> producer : producers) {
+                producer.get();
+            }
+            double enqueueSeconds = (System.nanoTime() - start) / 1e9;
+            log.info("Enqueued {} entries in {}s ({}/s)", total, String.format("%.2f", enqueueSeconds),
+                     Math.round(total / enqueueSeconds));
+
+            Set<UUID> claimed = ConcurrentHashMap.newKeySet();
+            start = System.nanoTime();
+            List<Future<Integer>> workers = new ArrayList<>();
+            for (int w = 0; w < WORKERS; w++) {
+                String owner = "worker-" + w;
+                workers.add(executor.submit(() -> {
+                    int duplicates = 0;
+                    List<FlowExecutionQueue.QueuedWork> batch;
+                    while (!(batch = queue.claim(owner, 50, 60000)).isEmpty()) {
+                        for (FlowExecutionQueue.QueuedWork work : batch) {
+                            if (!claimed.add(work.id())) {
+                                duplicates++;
+                            }
+                            assertTrue(queue.complete(work, owner));
+                        }
+                    }
+                    return duplicates;
+                }));
+            }
+            int duplicates = 0;
+            for (Future<Integer> worker : workers) {
+                duplicates += worker.get();
+            }
+            double claimSeconds = (System.nanoTime() - start) / 1e9;
+            log.info("Claimed and completed {} entries in {}s ({}/s)", claimed.size(),
+                     String.format("%.2f", claimSeconds), Math.round(claimed.size() / claimSeconds));
+
+            assertEquals(0, duplicates);
+            assertEquals(total, claimed.size());
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM flow_execution_queue", Integer.class));
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.integrixs.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integrixs.data.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Updates are recorded as changed fields under dotted paths, and updates of one entity by
+ * one user within a batch are merged; a batch without a transaction is queued again.
+ */
+public class AuditTrailServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<JsonNode> written = new ArrayList<>();
+    private AuditTrailService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        service = new AuditTrailService();
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "pendingEntries", new LinkedBlockingQueue<>(10));
+        ReflectionTestUtils.setField(service, "batchTransaction", new TransactionTemplate(transactionManager));
+
+        // Bind each batched entry and keep the changes column
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<Object> entries = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            for (Object entry : entries) {
+                PreparedStatement ps = mock(PreparedStatement.class);
+                setter.setValues(ps, entry);
+                ArgumentCaptor<String> changes = ArgumentCaptor.forClass(String.class);
+                verify(ps).setString(eq(5), changes.capture());
+                written.add(objectMapper.readTree(changes.getValue()));
+            }
+            return new int[0][];
+        });
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void nestedChangesAreRecordedUnderDottedPaths() {
+        service.logUpdate("Adapter", "a1",
+            Map.of("name", "orders", "config", Map.of("url", "http://old", "timeout", 5)),
+            Map.of("name", "orders", "config", Map.of("url", "http://new", "timeout", 5, "retries", 3)));
+        service.flush();
+
+        assertEquals(1, written.size());
+        JsonNode changed = written.get(0).get("changed");
+        assertEquals(2, changed.size());
+        assertEquals("http://old", changed.at("/config.url/old").asText());
+        assertEquals("http://new", changed.at("/config.url/new").asText());
+        assertTrue(changed.at("/config.retries/old").isNull());
+        assertEquals(3, changed.at("/config.retries/new").asInt());
+    }
+
+    @Test
+    void updatesThatCancelOutAreNotWritten() {
+        actAs(UUID.randomUUID());
+        service.logUpdate("Flow", "f1", Map.of("status", "DRAFT"), Map.of("status", "ACTIVE"));
+        service.logUpdate("Flow", "f1", Map.of("status", "ACTIVE"), Map.of("status", "DRAFT"));
+        service.flush();
+
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void updatesAreMergedPerUser() {
+        actAs(UUID.randomUUID());
+        service.logUpdate("Flow", "f1", Map.of("status", "DRAFT", "name", "a"), Map.of("status", "ACTIVE", "name", "a"));
+        service.logUpdate("Flow", "f1", Map.of("status", "ACTIVE", "name", "a"), Map.of("status", "STOPPED", "name", "b"));
+        actAs(UUID.randomUUID());
+        service.logUpdate("Flow", "f1", Map.of("status", "STOPPED"), Map.of("status", "ACTIVE"));
+        service.flush();
+
+        assertEquals(2, written.size());
+        JsonNode merged = written.get(0);
+        assertEquals(2, merged.get("coalesced").asInt());
+        assertEquals("DRAFT", merged.at("/changed/status/old").asText());
+        assertEquals("STOPPED", merged.at("/changed/status/new").asText());
+        assertEquals("b", merged.at("/changed/name/new").asText());
+        assertEquals("STOPPED", written.get(1).at("/changed/status/old").asText());
+        assertFalse(written.get(1).has("coalesced"));
+    }
+
+    @Test
+    void batchWithoutTransactionIsRequeued() {
+        when(transactionManager.getTransaction(any())).thenThrow(new CannotCreateTransactionException("database down"));
+        service.logDelete("Flow", "f1", Map.of("name", "a"));
+        service.logDelete("Flow", "f2", Map.of("name", "b"));
+        service.flush();
+
+        assertEquals(2, service.getPendingEntryCount());
+        assertEquals(0, service.getDroppedEntryCount());
+        assertTrue(written.isEmpty());
+    }
+
+    private static void actAs(UUID userId) {
+        User user = new User();
+        user.setId(userId);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
@@ -0,0 +1,171 @@
+package com.integrixs.backend.service;
+
+import com.integrixs.backend.service.FanOutDispatcher.Completion;
+import com.integrixs.backend.service.FanOutDispatcher.FanOutPolicy;
+import com.integrixs.backend.service.FanOutDispatcher.FanOutResult;
+import com.integrixs.backend.service.FanOutDispatcher.TargetStatus;
+import com.integrixs.data.model.CommunicationAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * A fan-out returns once its completion is decided, whether reached or no longer reachable;
+ * targets past their timeout or no longer needed by an ANY fan-out are interrupted, and
+ * targets the executor rejects are recorded without being run.
+ */
+public class FanOutDispatcherTest {
+
+    private final AdapterExecutionService adapterExecutionService = mock(AdapterExecutionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, Target> behaviours = new ConcurrentHashMap<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger delivered = new AtomicInteger();
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void quorumReachedReturnsWithoutWaitingForSlowTarget() throws Exception {
+        List<CommunicationAdapter> targets = List.of(target("a", this::succeed), target("b", this::succeed),
+                                                     target("slow", this::awaitRelease));
+
+        FanOutResult result = dispatcher().dispatch("msg", targets, Map.of(), new FanOutPolicy(Completion.QUORUM, 2, 10000));
+
+        assertTrue(result.satisfied());
+        assertEquals(2, result.requiredSuccesses());
+        assertEquals(2, result.count(TargetStatus.SUCCEEDED));
+        assertEquals(TargetStatus.PENDING, result.targets().get(2).status());
+        assertTrue(result.elapsedMillis() < 5000, "Waited " + result.elapsedMillis() + " ms");
+    }
+
+    @Test
+    void quorumImpossibleIsDecidedBeforeSlowTargetFinishes() throws Exception {
+        List<CommunicationAdapter> targets = List.of(target("a", this::fail), target("b", this::fail),
+                                                     target("slow", this::awaitRelease));
+
+        FanOutResult result = dispatcher().dispatch("msg", targets, Map.of(), new FanOutPolicy(Completion.QUORUM, 2, 10000));
+
+        assertFalse(result.satisfied());
+        assertEquals(2, result.count(TargetStatus.FAILED));
+        assertEquals(TargetStatus.PENDING, result.targets().get(2).status());
+        assertEquals("target down", result.targets().get(0).error());
+        assertTrue(result.elapsedMillis() < 5000, "Waited " + result.elapsedMillis() + " ms");
+    }
+
+    @Test
+    void targetPastItsTimeoutIsInterrupted() throws Exception {
+        List<CommunicationAdapter> targets = List.of(target("a", this::succeed), target("hung", this::awaitRelease));
+
+        FanOutResult result = dispatcher().dispatch("msg", targets, Map.of(), new FanOutPolicy(Completion.ALL, 0, 200));
+
+        assertFalse(result.satisfied());
+        assertEquals(TargetStatus.SUCCEEDED, result.targets().get(0).status());
+        assertEquals(TargetStatus.TIMED_OUT, result.targets().get(1).status());
+        assertEquals(200, result.targets().get(1).latencyMillis());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Hung target not interrupted");
+    }
+
+    @Test
+    void anySuccessCancelsSlowTargets() throws Exception {
+        List<CommunicationAdapter> targets = List.of(target("fast", this::succeed), target("slow-1", this::awaitRelease),
+                                                     target("slow-2", this::awaitRelease));
+
+        FanOutResult result = dispatcher().dispatch("msg", targets, Map.of(), new FanOutPolicy(Completion.ANY, 0, 10000));
+
+        assertTrue(result.satisfied());
+        assertEquals(TargetStatus.SUCCEEDED, result.targets().get(0).status());
+        assertEquals(2, result.count(TargetStatus.CANCELLED));
+        // Interrupted while delivering, or never started
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, delivered.get());
+        assertEquals(2.0, meterRegistry.get("orchestration.fanout.targets").tag("status", "cancelled").counter().count());
+    }
+
+    @Test
+    void rejectedTargetIsRecordedWithoutRunning() throws Exception {
+        // One thread, busy until released, and room for one queued delivery
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.submit(() -> {
+            busy.await(300, TimeUnit.MILLISECONDS);
+            return null;
+        });
+        List<CommunicationAdapter> targets = List.of(target("queued", this::succeed), target("rejected", this::succeed));
+
+        FanOutResult result = dispatcher().dispatch("msg", targets, Map.of(), new FanOutPolicy(Completion.ALL, 0, 5000));
+
+        assertFalse(result.satisfied());
+        assertEquals(TargetStatus.SUCCEEDED, result.targets().get(0).status());
+        assertEquals(TargetStatus.REJECTED, result.targets().get(1).status());
+        assertEquals("Fan-out executor saturated", result.targets().get(1).error());
+        verify(adapterExecutionService, never()).executeAdapter(eq(targets.get(1)), anyString(), anyMap());
+        assertEquals(1.0, meterRegistry.get("orchestration.fanout.targets").tag("status", "rejected").counter().count());
+    }
+
+    private FanOutDispatcher dispatcher() throws Exception {
+        when(adapterExecutionService.executeAdapter(any(), anyString(), anyMap())).thenAnswer(invocation -> {
+            CommunicationAdapter target = invocation.getArgument(0);
+            return behaviours.get(target.getName()).deliver(invocation.getArgument(1));
+        });
+        return new FanOutDispatcher(executor, adapterExecutionService, meterRegistry);
+    }
+
+    private CommunicationAdapter target(String name, Target behaviour) {
+        CommunicationAdapter adapter = new CommunicationAdapter();
+        adapter.setId(UUID.randomUUID());
+        adapter.setName(name);
+        behaviours.put(name, behaviour);
+        return adapter;
+    }
+
+    private String succeed(String message) {
+        return "delivered " + message;
+    }
+
+    private String fail(String message) {
+        throw new IllegalStateException("target down");
+    }
+
+    private String awaitRelease(String message) throws InterruptedException {
+        try {
+            release.await();
+            delivered.incrementAndGet();
+            return "late";
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+        }
+    }
+
+    /**
+     * Stub delivery of one target
+     */
+    @FunctionalInterface
+    private interface Target {
+        String deliver(String message) throws Exception;
+    }
+}
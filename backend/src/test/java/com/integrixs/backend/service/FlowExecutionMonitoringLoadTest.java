@@ -0,0 +1,109 @@
+package com.integrixs.backend.service;
+
+import com.integrixs.backend.service.FlowExecutionMonitoringService.ExecutionSearchCriteria;
+import com.integrixs.backend.service.FlowExecutionMonitoringService.ExecutionStatistics;
+import com.integrixs.backend.service.FlowExecutionMonitoringService.ExecutionStatus;
+import com.integrixs.backend.websocket.FlowExecutionWebSocketHandler;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Executions started from several threads, a share of which never report completion: the
+ * active set stays within {@code max-active} (plus one in-flight start per thread) and the
+ * counters match the executions left once the load stops.
+ */
+public class FlowExecutionMonitoringLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FlowExecutionMonitoringLoadTest.class);
+
+    private static final int THREADS = 8;
+    private static final int EXECUTIONS_PER_THREAD = 5_000;
+    private static final int MAX_ACTIVE = 1_000;
+
+    @Test
+    void activeSetStaysBoundedUnderLoad() throws Exception {
+        FlowExecutionMonitoringService service = new FlowExecutionMonitoringService();
+        ReflectionTestUtils.setField(service, "webSocketHandler",
+            mock(FlowExecutionWebSocketHandler.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(service, "maxActive", MAX_ACTIVE);
+        ReflectionTestUtils.setField(service, "activeTtlMinutes", 1440L);
+        ReflectionTestUtils.setField(service, "eventsPerTrace", 10);
+        ReflectionTestUtils.setField(service, "historyPerFlow", 100);
+        ReflectionTestUtils.setField(service, "recentFinishedCapacity", 500);
+        ReflectionTestUtils.setField(service, "recentFailuresCapacity", 100);
+        service.init();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger largestActive = new AtomicInteger();
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                largestActive.accumulateAndGet(service.getExecutionStatistics().getActiveExecutions(), Math::max);
+                LockSupport.parkNanos(100_000);
+            }
+        });
+        sampler.start();
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(executor.submit(() -> {
+                for (int i = 0; i < EXECUTIONS_PER_THREAD; i++) {
+                    String executionId = thread + "-" + i;
+                    service.startMonitoring("flow-" + (i % 50), executionId, "DIRECT");
+                    service.updateExecutionProgress(executionId, "step", "running");
+                    // One in ten executions is left without completion
+                    switch (i % 10) {
+                        case 0 -> { }
+                        case 1 -> service.recordExecutionError(executionId, "failed", null);
+                        case 2 -> service.cancelExecution(executionId);
+                        default -> service.completeExecution(executionId, true, "done");
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        running.set(false);
+        sampler.join();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        ExecutionStatistics stats = service.getExecutionStatistics();
+        log.info("{} executions in {} ms, largest active set {}, {} expired",
+                 THREADS * EXECUTIONS_PER_THREAD, elapsedMs, largestActive.get(), stats.getExpiredExecutions());
+
+        assertTrue(largestActive.get() <= MAX_ACTIVE + THREADS, "Active set reached " + largestActive.get());
+        // A trim racing with another thread's completion may leave slightly fewer
+        assertTrue(stats.getActiveExecutions() <= MAX_ACTIVE && stats.getActiveExecutions() >= MAX_ACTIVE - THREADS,
+                   "Active set left at " + stats.getActiveExecutions());
+        assertEquals(stats.getActiveExecutions(), service.getActiveExecutions().size());
+        long runningLeft = service.getActiveExecutions().stream()
+            .filter(trace -> trace.getStatus() == ExecutionStatus.RUNNING).count();
+        assertEquals(runningLeft, stats.getRunningExecutions());
+        // Every execution ended exactly one way or is still active
+        assertEquals(THREADS * EXECUTIONS_PER_THREAD, stats.getActiveExecutions() + stats.getCompletedExecutions()
+            + stats.getFailedExecutions() + stats.getCancelledExecutions() + stats.getExpiredExecutions());
+
+        ExecutionSearchCriteria all = new ExecutionSearchCriteria();
+        all.setLimit(Integer.MAX_VALUE);
+        assertTrue(service.searchExecutions(all).size() <= MAX_ACTIVE + 500);
+    }
+}
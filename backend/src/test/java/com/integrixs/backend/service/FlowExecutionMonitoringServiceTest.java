@@ -0,0 +1,201 @@
+package com.integrixs.backend.service;
+
+import com.integrixs.backend.service.FlowExecutionMonitoringService.ExecutionSearchCriteria;
+import com.integrixs.backend.service.FlowExecutionMonitoringService.ExecutionStatistics;
+import com.integrixs.backend.service.FlowExecutionMonitoringService.ExecutionStatus;
+import com.integrixs.backend.service.FlowExecutionMonitoringService.FlowExecutionTrace;
+import com.integrixs.backend.websocket.FlowExecutionWebSocketHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Active executions are bounded by count and age, finished ones by fixed rings, and the
+ * running and active counters follow every way an execution can leave the active set.
+ */
+public class FlowExecutionMonitoringServiceTest {
+
+    private FlowExecutionMonitoringService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlowExecutionMonitoringService();
+        ReflectionTestUtils.setField(service, "webSocketHandler", mock(FlowExecutionWebSocketHandler.class));
+        ReflectionTestUtils.setField(service, "maxActive", 100);
+        ReflectionTestUtils.setField(service, "activeTtlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "eventsPerTrace", 10);
+        ReflectionTestUtils.setField(service, "historyPerFlow", 10);
+        ReflectionTestUtils.setField(service, "recentFinishedCapacity", 5);
+        ReflectionTestUtils.setField(service, "recentFailuresCapacity", 5);
+        service.init();
+    }
+
+    @Test
+    void ringOverwritesOldestAndReadsNewestFirst() {
+        FlowExecutionMonitoringService.Ring<Integer> ring = new FlowExecutionMonitoringService.Ring<>(3);
+        assertEquals(List.of(), ring.newest(10, i -> true));
+
+        for (int i = 1; i <= 5; i++) {
+            ring.add(i);
+        }
+
+        assertEquals(List.of(5, 4, 3), ring.newest(10, i -> true));
+        assertEquals(List.of(5, 4), ring.newest(2, i -> true));
+        assertEquals(List.of(5, 3), ring.newest(10, i -> i % 2 == 1));
+        assertEquals(List.of(), ring.newest(0, i -> true));
+    }
+
+    @Test
+    void percentilesAreBucketBoundsCappedAtMaximum() {
+        FlowExecutionMonitoringService.LatencyHistogram histogram = new FlowExecutionMonitoringService.LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.5));
+
+        histogram.record(3);
+        assertEquals(3, histogram.percentile(0.5));
+
+        histogram = new FlowExecutionMonitoringService.LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms);
+        }
+        assertEquals(1, histogram.percentile(0.0));
+        assertEquals(50, histogram.percentile(0.50));
+        assertEquals(100, histogram.percentile(0.95));
+        assertEquals(100, histogram.percentile(0.99));
+        assertEquals(50.5, histogram.mean());
+        assertEquals(1, histogram.min());
+        assertEquals(100, histogram.max());
+
+        // Beyond the last bucket the longest execution is reported
+        histogram.record(4_000_000);
+        assertEquals(4_000_000, histogram.percentile(1.0));
+    }
+
+    @Test
+    void oldestActiveExecutionsExpireBeyondMaxActive() {
+        ReflectionTestUtils.setField(service, "maxActive", 3);
+        for (int i = 1; i <= 5; i++) {
+            service.startMonitoring("flow", "e" + i, "DIRECT");
+            service.updateExecutionProgress("e" + i, "step", "running");
+        }
+
+        assertEquals(List.of("e3", "e4", "e5"), service.getActiveExecutions().stream()
+            .map(FlowExecutionTrace::getExecutionId).toList());
+        ExecutionStatistics stats = service.getExecutionStatistics();
+        assertEquals(3, stats.getActiveExecutions());
+        assertEquals(3, stats.getRunningExecutions());
+        assertEquals(2, stats.getExpiredExecutions());
+        assertTrue(service.getExecutionTrace("e1").isEmpty());
+    }
+
+    @Test
+    void activeExecutionsExpireAfterTtl() throws Exception {
+        service.startMonitoring("flow-a", "e1", "DIRECT");
+        service.updateExecutionProgress("e1", "step", "running");
+        service.startMonitoring("flow-b", "e2", "DIRECT");
+
+        service.expireStaleExecutions();
+        assertEquals(2, service.getExecutionStatistics().getActiveExecutions());
+
+        ReflectionTestUtils.setField(service, "activeTtlMinutes", 0L);
+        Thread.sleep(5);
+        service.expireStaleExecutions();
+
+        ExecutionStatistics stats = service.getExecutionStatistics();
+        assertEquals(0, stats.getActiveExecutions());
+        assertEquals(0, stats.getRunningExecutions());
+        assertEquals(0, stats.getUniqueFlowsMonitored());
+        assertEquals(2, stats.getExpiredExecutions());
+
+        // Completion reported after expiry is ignored
+        service.completeExecution("e1", true, "late");
+        assertEquals(0, service.getExecutionStatistics().getCompletedExecutions());
+    }
+
+    @Test
+    void countersFollowEveryWayOutOfTheActiveSet() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            service.startMonitoring("flow", "e" + i, "DIRECT");
+        }
+        for (int i = 1; i <= 4; i++) {
+            service.updateExecutionProgress("e" + i, "step", "running");
+        }
+        assertCounters(5, 4, 1);
+
+        service.completeExecution("e1", true, "done");
+        assertCounters(4, 3, 1);
+        service.recordExecutionError("e2", "failed", new IllegalStateException("boom"));
+        assertCounters(3, 2, 1);
+        assertTrue(service.cancelExecution("e3"));
+        assertCounters(2, 1, 1);
+
+        // Only running executions can be cancelled, and each finishes once
+        assertFalse(service.cancelExecution("e5"));
+        assertFalse(service.cancelExecution("e3"));
+        service.completeExecution("e1", false, "again");
+        assertCounters(2, 1, 1);
+
+        // Starting a running execution again replaces its trace
+        service.startMonitoring("flow", "e4", "DIRECT");
+        assertCounters(2, 0, 1);
+        assertEquals(ExecutionStatus.STARTED, service.getExecutionTrace("e4").orElseThrow().getStatus());
+
+        ReflectionTestUtils.setField(service, "activeTtlMinutes", 0L);
+        Thread.sleep(5);
+        service.expireStaleExecutions();
+        assertCounters(0, 0, 0);
+
+        ExecutionStatistics stats = service.getExecutionStatistics();
+        assertEquals(1, stats.getCompletedExecutions());
+        assertEquals(1, stats.getFailedExecutions());
+        assertEquals(1, stats.getCancelledExecutions());
+        assertEquals(2, stats.getExpiredExecutions());
+        assertEquals(2, service.getFlowMetrics("flow").orElseThrow().getTotalExecutions());
+    }
+
+    @Test
+    void searchIsBoundedByLimitAndRings() {
+        for (int i = 1; i <= 20; i++) {
+            service.startMonitoring("flow", "done-" + i, "DIRECT");
+            service.updateExecutionProgress("done-" + i, "step", "running");
+            if (i % 4 == 0) {
+                service.recordExecutionError("done-" + i, "failed", null);
+            } else {
+                service.completeExecution("done-" + i, true, "done");
+            }
+        }
+        service.startMonitoring("flow", "active-1", "DIRECT");
+        service.startMonitoring("flow", "active-2", "DIRECT");
+
+        ExecutionSearchCriteria all = new ExecutionSearchCriteria();
+        all.setLimit(Integer.MAX_VALUE);
+        assertEquals(2 + 5, service.searchExecutions(all).size());
+
+        ExecutionSearchCriteria limited = new ExecutionSearchCriteria();
+        limited.setLimit(3);
+        List<FlowExecutionTrace> newest = service.searchExecutions(limited);
+        assertEquals(3, newest.size());
+        assertEquals("active-2", newest.get(0).getExecutionId());
+
+        ExecutionSearchCriteria failed = new ExecutionSearchCriteria();
+        failed.setStatus(ExecutionStatus.ERROR);
+        failed.setLimit(Integer.MAX_VALUE);
+        List<FlowExecutionTrace> failures = service.searchExecutions(failed);
+        assertEquals(5, failures.size());
+        assertEquals("done-20", failures.get(0).getExecutionId());
+        assertTrue(failures.stream().allMatch(trace -> trace.getStatus() == ExecutionStatus.ERROR));
+
+        assertEquals(10, service.getExecutionHistory("flow", 100).size());
+    }
+
+    private void assertCounters(int active, int running, int flows) {
+        ExecutionStatistics stats = service.getExecutionStatistics();
+        assertEquals(active, stats.getActiveExecutions(), "active");
+        assertEquals(running, stats.getRunningExecutions(), "running");
+        assertEquals(flows, stats.getUniqueFlowsMonitored(), "flows");
+    }
+}
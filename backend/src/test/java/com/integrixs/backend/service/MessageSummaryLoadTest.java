@@ -0,0 +1,116 @@
+package com.integrixs.backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Message list latency over a large log table: keyset pages of the summary table against
+ * the former OFFSET scan of system_logs. Skipped unless {@code -Dmessages.loadtest.url}
+ * points at a migrated PostgreSQL database; {@code messages.loadtest.rows} log rows
+ * (default 10M, one in five a message) are generated and removed afterwards.
+ */
+public class MessageSummaryLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageSummaryLoadTest.class);
+
+    private static final String MARKER = "LOADTEST";
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 5000;
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static MessageSummaryService service;
+
+    @BeforeAll
+    static void setUp() {
+        String url = System.getProperty("messages.loadtest.url");
+        assumeTrue(url != null, "messages.loadtest.url not set");
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("messages.loadtest.user", "postgres"));
+        dataSource.setPassword(System.getProperty("messages.loadtest.password", "postgres"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        service = new MessageSummaryService(jdbcTemplate);
+        ReflectionTestUtils.setField(service, "exactCountThreshold", 10000L);
+
+        long rows = Long.getLong("messages.loadtest.rows", 10_000_000L);
+        long start = System.nanoTime();
+        jdbcTemplate.update(
+            "INSERT INTO system_logs (id, timestamp, level, message, details, source, source_name, category, " +
+            "domain_type, domain_reference_id, correlation_id, created_at) " +
+            "SELECT gen_random_uuid(), now() - n * interval '1 second', " +
+            "CASE WHEN n % 50 = 0 THEN 'ERROR' ELSE 'INFO' END, 'Load test ' || n, " +
+            "'{\"messageSize\":' || (n % 4096) || ',\"durationMs\":' || (n % 900) || '}', ?, 'Flow ' || (n % 100), " +
+            "CASE WHEN n % 5 = 0 THEN 'FLOW_EXECUTION' ELSE 'ADAPTER_ACTIVITY' END, " +
+            "CASE WHEN n % 5 = 0 THEN 'IntegrationFlow' ELSE 'CommunicationAdapter' END, NULL, " +
+            "'lt-' || (n / 5), now() FROM generate_series(1, ?) AS n",
+            MARKER, rows);
+        jdbcTemplate.execute("ANALYZE system_logs");
+        jdbcTemplate.execute("ANALYZE message_summaries");
+        log.info("Generated {} log rows in {}s", rows, String.format("%.1f", (System.nanoTime() - start) / 1e9));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (dataSource != null) {
+            jdbcTemplate.update("DELETE FROM system_logs WHERE source = ?", MARKER);
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void keysetPagesStayFastAtDepth() {
+        MessageSummaryService.SummaryFilter filter =
+            new MessageSummaryService.SummaryFilter(null, MARKER, null, null, null, null, null, null, null);
+
+        MessageSummaryService.SummaryPage first = time("summary first page",
+            () -> service.findPage(filter, null, 0, PAGE_SIZE, false)).result();
+        assertEquals(PAGE_SIZE, first.messages().size());
+        assertNotNull(first.nextCursor());
+
+        // Cursor positioned DEEP_PAGE pages down, as if the user had paged there
+        MessageSummaryService.SummaryPage deepOffset = time("summary OFFSET page " + DEEP_PAGE,
+            () -> service.findPage(filter, null, DEEP_PAGE - 1, PAGE_SIZE, false)).result();
+        Timed<MessageSummaryService.SummaryPage> keyset = time("summary keyset page " + DEEP_PAGE,
+            () -> service.findPage(filter, deepOffset.nextCursor(), 0, PAGE_SIZE, false));
+        MessageSummaryService.SummaryPage deep = keyset.result();
+        assertEquals(PAGE_SIZE, deep.messages().size());
+        assertTrue(deep.messages().get(0).startedAt().compareTo(
+            deepOffset.messages().get(PAGE_SIZE - 1).startedAt()) <= 0);
+
+        Timed<List<?>> former = time("former log OFFSET page " + DEEP_PAGE, () -> jdbcTemplate.queryForList(
+            "SELECT * FROM system_logs WHERE source = ? ORDER BY timestamp DESC LIMIT ? OFFSET ?",
+            MARKER, PAGE_SIZE, (long) DEEP_PAGE * PAGE_SIZE));
+        assertEquals(PAGE_SIZE, former.result().size());
+        assertTrue(keyset.millis() < former.millis(), "keyset page " + keyset.millis()
+            + "ms not faster than the former OFFSET page " + former.millis() + "ms");
+
+        MessageSummaryService.SummaryStats stats = time("summary stats", () -> service.stats(filter)).result();
+        assertTrue(stats.total() > 0);
+        log.info("Total {} (estimated {}), {} failed", first.total(), first.totalEstimated(), stats.failed());
+    }
+
+    private static <T> Timed<T> time(String label, Supplier<T> query) {
+        long start = System.nanoTime();
+        T result = query.get();
+        double millis = (System.nanoTime() - start) / 1e6;
+        log.info("{}: {} ms", label, String.format("%.1f", millis));
+        return new Timed<>(result, millis);
+    }
+
+    private record Timed<T>(T result, double millis) {
+    }
+}
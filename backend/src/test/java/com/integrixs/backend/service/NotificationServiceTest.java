@@ -0,0 +1,199 @@
+package com.integrixs.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repeated alerts become one digest per window, sent over a reused SMTP connection to an
+ * in-process SMTP stub; alerts over the channel rate or that could not be sent wait for a
+ * later window.
+ */
+public class NotificationServiceTest {
+
+    private SmtpStub smtp;
+    private JavaMailSenderImpl mailSender;
+    private NotificationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStub();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtp.getPort());
+
+        service = new NotificationService();
+        ReflectionTestUtils.setField(service, "mailSender", mailSender);
+        ReflectionTestUtils.setField(service, "emailEnabled", true);
+        ReflectionTestUtils.setField(service, "fromEmail", "noreply@integrix.test");
+        ReflectionTestUtils.setField(service, "adminEmail", "admin@integrix.test");
+        ReflectionTestUtils.setField(service, "mailPoolSize", 1);
+        ReflectionTestUtils.setField(service, "maxFingerprints", 100);
+        ReflectionTestUtils.setField(service, "digestMaxEntries", 10);
+        ReflectionTestUtils.setField(service, "adminPerHour", 2);
+        ReflectionTestUtils.setField(service, "userPerHour", 2);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.shutdown();
+        smtp.close();
+    }
+
+    @Test
+    void aggregatesAlertsIntoDigestsOverPooledConnection() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            service.sendSystemAlert("flow-1", "adapter-1", "java.net.ConnectException",
+                    "Adapter target failed", "Connection refused " + i);
+        }
+        service.sendSystemAlert("Disk space low", "Only 5% left");
+        service.flush();
+
+        assertEquals(1, smtp.getMessages().size());
+        String digest = smtp.getMessages().get(0);
+        assertTrue(digest.contains("1001 alerts (2 distinct)"), digest);
+        assertTrue(digest.contains("1000 x Adapter target failed"), digest);
+        assertTrue(digest.contains("Connection refused 999"), digest);
+
+        service.sendSystemAlert("Disk space low", "Only 4% left");
+        service.flush();
+
+        assertEquals(2, smtp.getMessages().size());
+        assertTrue(smtp.getMessages().get(1).contains("Subject: [Integrix Alert] Disk space low"));
+        assertEquals(1, smtp.getConnections(), "second window reuses the pooled connection");
+
+        // Channel allows two notifications per hour; the third window's alerts are kept
+        service.sendSystemAlert("Disk space low", "Only 3% left");
+        service.flush();
+
+        assertEquals(2, smtp.getMessages().size());
+        assertEquals(1, service.getPendingAlertCount());
+    }
+
+    @Test
+    void keepsAlertsThatCouldNotBeSent() throws Exception {
+        String today = LocalDate.now().toString();
+        service.sendSystemAlert("Disk space low", "Only 5% left");
+        service.sendSystemAlert("Disk space low", "Only 4% left");
+        smtp.close();
+        service.flush();
+
+        assertEquals(1, service.getPendingAlertCount());
+
+        service.sendSystemAlert("Disk space low", "Only 3% left");
+        smtp = new SmtpStub();
+        mailSender.setPort(smtp.getPort());
+        service.flush();
+
+        assertEquals(1, smtp.getMessages().size());
+        String digest = smtp.getMessages().get(0);
+        assertTrue(digest.contains("Subject: [Integrix Alert] 3 alerts (1 distinct) " + today), digest);
+        assertTrue(digest.contains("Only 3% left"), digest);
+        assertEquals(0, service.getPendingAlertCount());
+    }
+
+    /**
+     * Minimal SMTP server accepting every command and recording message data
+     */
+    private static final class SmtpStub implements AutoCloseable {
+        private final ServerSocket serverSocket;
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final AtomicInteger connections = new AtomicInteger();
+        private final Thread acceptor;
+
+        SmtpStub() throws IOException {
+            serverSocket = new ServerSocket(0, 10, InetAddress.getLoopbackAddress());
+            acceptor = new Thread(this::accept, "smtp-stub");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        int getConnections() {
+            return connections.get();
+        }
+
+        List<String> getMessages() {
+            return messages;
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread session = new Thread(() -> serve(socket), "smtp-stub-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 OutputStream out = socket.getOutputStream()) {
+                reply(out, "220 localhost SMTP stub");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+                        }
+                        messages.add(data.toString());
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else {
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away
+            }
+        }
+
+        private static void reply(OutputStream out, String line) throws IOException {
+            out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            try {
+                acceptor.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.integrixs.backend.service;
+
+import com.integrixs.backend.config.PayloadStorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Bodies come back unchanged from every storage tier; identical large bodies share one blob,
+ * which is kept while any remaining payload row, attached or detached, may reference it.
+ */
+public class PayloadStoreTest {
+
+    @TempDir
+    Path blobDirectory;
+
+    private PayloadStorageConfig config;
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private PayloadStore store;
+
+    @BeforeEach
+    void setUp() {
+        config = new PayloadStorageConfig();
+        config.setCompressMinBytes(64);
+        config.setBlobMinBytes(4096);
+        config.setBlobDirectory(blobDirectory.toString());
+        store = new PayloadStore(config, jdbcTemplate);
+    }
+
+    @Test
+    void storesEachSizeInItsTierAndReadsItBack() throws Exception {
+        String small = "<a>1</a>";
+        String medium = "<order><line>item</line></order>".repeat(10);
+        String large = "<order><line>item</line></order>".repeat(500);
+
+        PayloadStore.StoredBody plain = store.store(null, "c-1", small);
+        PayloadStore.StoredBody deflated = store.store(null, "c-1", medium);
+        PayloadStore.StoredBody blob = store.store(null, "c-1", large);
+        PayloadStore.StoredBody sameBlob = store.store(null, "c-2", large);
+
+        assertEquals(PayloadStore.PLAIN, plain.encoding());
+        assertEquals(PayloadStore.DEFLATE, deflated.encoding());
+        assertTrue(deflated.storedSize() < medium.length());
+        assertEquals(PayloadStore.BLOB, blob.encoding());
+        assertEquals(blob.ref(), sameBlob.ref());
+        try (Stream<Path> files = Files.walk(blobDirectory)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+
+        assertEquals(small, store.read(plain.encoding(), plain.text(), plain.compressed(), plain.ref()));
+        assertEquals(medium, store.read(deflated.encoding(), deflated.text(), deflated.compressed(), deflated.ref()));
+        assertEquals(large, store.read(blob.encoding(), blob.text(), blob.compressed(), blob.ref()));
+        assertEquals(large.length(), blob.originalSize());
+    }
+
+    @Test
+    void appliesFlowCapturePolicy() {
+        PayloadStorageConfig.Capture none = new PayloadStorageConfig.Capture();
+        none.setSampleRate(0.0);
+        PayloadStorageConfig.Capture truncated = new PayloadStorageConfig.Capture();
+        truncated.setMaxChars(10);
+        config.getFlows().put("skipped-flow", none);
+        config.getFlows().put("truncated-flow", truncated);
+
+        PayloadStore.StoredBody omitted = store.store("skipped-flow", "c-1", "<a>payload</a>");
+        assertEquals(PayloadStore.OMITTED, omitted.encoding());
+        assertEquals(14, omitted.originalSize());
+        assertNull(store.read(omitted.encoding(), omitted.text(), omitted.compressed(), omitted.ref()));
+
+        PayloadStore.StoredBody cut = store.store("truncated-flow", "c-1", "<a>payload</a>");
+        assertTrue(cut.truncated());
+        assertEquals("<a>payload", cut.text());
+        assertEquals(14, cut.originalSize());
+    }
+
+    @Test
+    void sweepKeepsBlobsOfDetachedPartitions() throws Exception {
+        String large = "<order><line>item</line></order>".repeat(500);
+        Path kept = blobFile(store.store(null, "c-1", large));
+        Path expired = blobFile(store.store(null, "c-2", large.replace("item", "gone")));
+        Instant now = Instant.now();
+        Files.setLastModifiedTime(kept, FileTime.from(now.minus(Duration.ofDays(60))));
+        Files.setLastModifiedTime(expired, FileTime.from(now.minus(Duration.ofDays(200))));
+
+        // Attached partitions start 30 days back, a detached one holds rows from 90 days back
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("adapter_payloads_p20260101"));
+        when(jdbcTemplate.queryForObject("SELECT min(created_at) FROM adapter_payloads", Timestamp.class))
+            .thenReturn(Timestamp.from(now.minus(Duration.ofDays(30))));
+        when(jdbcTemplate.queryForObject("SELECT min(created_at) FROM adapter_payloads_p20260101", Timestamp.class))
+            .thenReturn(Timestamp.from(now.minus(Duration.ofDays(90))));
+
+        store.removeExpiredBlobs();
+
+        assertTrue(Files.exists(kept));
+        assertFalse(Files.exists(expired));
+    }
+
+    @Test
+    void sweepIsSkippedWhenRowsCannotBeQueried() throws Exception {
+        Path blob = blobFile(store.store(null, "c-1", "<order><line>item</line></order>".repeat(500)));
+        Files.setLastModifiedTime(blob, FileTime.from(Instant.now().minus(Duration.ofDays(400))));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenThrow(new IllegalStateException("database down"));
+
+        store.removeExpiredBlobs();
+
+        assertTrue(Files.exists(blob));
+    }
+
+    private Path blobFile(PayloadStore.StoredBody body) {
+        return blobDirectory.resolve(body.ref().substring(0, 2)).resolve(body.ref() + ".z");
+    }
+}
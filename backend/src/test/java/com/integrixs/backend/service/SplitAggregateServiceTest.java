@@ -0,0 +1,115 @@
+package com.integrixs.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records mapped in parallel must come out in source order, within the in-flight bound.
+ */
+public class SplitAggregateServiceTest {
+
+    private static final int RECORDS = 2000;
+    private static final int MAX_IN_FLIGHT = 16;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final SplitAggregateService service = new SplitAggregateService(executor, new SimpleMeterRegistry());
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void orderedAggregationKeepsRecordOrder() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        SplitAggregateService.SplitConfig config = new SplitAggregateService.SplitConfig(
+            "/Orders/Order", MAX_IN_FLIGHT, SplitAggregateService.Aggregation.ORDERED, null, 1);
+
+        SplitAggregateService.SplitResult result = service.process("msg-1", orders(), config, record -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+            running.decrementAndGet();
+            return record.replace("<Order", "<Mapped").replace("</Order>", "</Mapped>");
+        }, null);
+
+        assertEquals(RECORDS, result.records());
+        assertTrue(result.aggregated().startsWith("<ns:Orders xmlns:ns=\"urn:orders\" batch=\"7\">"));
+        assertTrue(result.aggregated().endsWith("</ns:Orders>"));
+        assertEquals(sequence(), ids(result.aggregated()));
+        assertTrue(peak.get() <= MAX_IN_FLIGHT, "In-flight bound exceeded: " + peak.get());
+    }
+
+    @Test
+    void streamingSendsOrderedBatches() throws Exception {
+        List<Integer> streamed = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        SplitAggregateService.SplitConfig config = new SplitAggregateService.SplitConfig(
+            "Order", MAX_IN_FLIGHT, SplitAggregateService.Aggregation.STREAM, "Batch", 250);
+
+        SplitAggregateService.SplitResult result = service.process("msg-2", orders(), config, record -> record,
+            (messageId, firstSequence, recordCount, batch) -> {
+                assertEquals("msg-2", messageId);
+                assertSame(caller, Thread.currentThread());
+                assertEquals(streamed.size(), firstSequence);
+                assertTrue(batch.startsWith("<Batch>"));
+                streamed.addAll(ids(batch));
+            });
+
+        assertEquals(RECORDS, result.records());
+        assertNull(result.aggregated());
+        assertEquals(sequence(), streamed);
+    }
+
+    @Test
+    void failedRecordFailsTheMessage() {
+        SplitAggregateService.SplitConfig config = new SplitAggregateService.SplitConfig(
+            "Order", MAX_IN_FLIGHT, SplitAggregateService.Aggregation.ORDERED, null, 1);
+
+        Exception e = assertThrows(Exception.class, () -> service.process("msg-3", orders(), config, record -> {
+            if (record.contains("id=\"500\"")) {
+                throw new IllegalStateException("bad record");
+            }
+            return record;
+        }, null));
+        assertTrue(e.getMessage().contains("bad record"));
+        assertTrue(service.getProgress("msg-3").isEmpty());
+    }
+
+    private static String orders() {
+        StringBuilder xml = new StringBuilder("<ns:Orders xmlns:ns=\"urn:orders\" batch=\"7\">");
+        for (int i = 0; i < RECORDS; i++) {
+            xml.append("<Order id=\"").append(i).append("\"><ns:amount>").append(i * 10).append("</ns:amount></Order>");
+        }
+        return xml.append("</ns:Orders>").toString();
+    }
+
+    private static List<Integer> sequence() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < RECORDS; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+
+    private static List<Integer> ids(String xml) {
+        List<Integer> ids = new ArrayList<>();
+        Matcher matcher = Pattern.compile("id=\"(\\d+)\"").matcher(xml);
+        while (matcher.find()) {
+            ids.add(Integer.parseInt(matcher.group(1)));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,156 @@
+package com.integrixs.backend.service.transformation.rule;
+
+import com.integrixs.engine.transformation.ScriptExecutionService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiled rules against the script engine they replace, on JSON (Map) and XML (DOM)
+ * payloads. Throughput is logged for comparison; only results are asserted.
+ */
+public class RuleCompilerBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleCompilerBenchmarkTest.class);
+
+    private static final String RULE =
+            "(record) => record.status === 'ACTIVE' && record.amount * 1.2 > 100 && record.customer.country.startsWith('N')";
+
+    private static final int MESSAGES = 2000;
+    private static final int ROUNDS = 5;
+
+    private final RuleCompiler compiler = new RuleCompiler(100);
+
+    @Test
+    void compiledRulesMatchOnJsonPayloads() throws Exception {
+        List<Object> payloads = new ArrayList<>();
+        for (int i = 0; i < MESSAGES; i++) {
+            Map<String, Object> customer = new LinkedHashMap<>();
+            customer.put("country", i % 3 == 0 ? "NL" : "DE");
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("status", i % 2 == 0 ? "ACTIVE" : "CLOSED");
+            record.put("amount", i % 200);
+            record.put("customer", customer);
+            payloads.add(record);
+        }
+        long expected = payloads.stream().filter(p -> expectedMatch((Map<?, ?>) p)).count();
+
+        CompiledRule rule = compiler.compile(RULE);
+        assertTrue(rule.isCompiled(), () -> "Rule should compile: " + rule.getFallbackReason());
+
+        report("JSON", payloads, expected, rule);
+    }
+
+    @Test
+    void compiledRulesMatchOnXmlPayloads() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        List<Object> payloads = new ArrayList<>();
+        long expected = 0;
+        for (int i = 0; i < MESSAGES; i++) {
+            String status = i % 2 == 0 ? "ACTIVE" : "CLOSED";
+            String country = i % 3 == 0 ? "NL" : "DE";
+            int amount = i % 200;
+            String xml = "<order><status>" + status + "</status><amount>" + amount + "</amount>"
+                    + "<customer><country>" + country + "</country></customer></order>";
+            Document document = factory.newDocumentBuilder()
+                    .parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+            Element root = document.getDocumentElement();
+            payloads.add(root);
+            if (status.equals("ACTIVE") && amount * 1.2 > 100 && country.startsWith("N")) {
+                expected++;
+            }
+        }
+
+        CompiledRule rule = compiler.compile(RULE);
+        assertTrue(rule.isCompiled());
+
+        report("XML", payloads, expected, rule);
+    }
+
+    @Test
+    void unsupportedRulesFallBackToScript() {
+        CompiledRule rule = compiler.compile("(record) => { var total = record.a + record.b; return total > 2; }");
+        assertFalse(rule.isCompiled());
+        assertNotNull(rule.getFallbackReason());
+
+        CompiledRule enrichment = compiler.compile(
+                "(record) => ({ label: record.name.toUpperCase() + '-' + record.id, vip: record.id > 10 ? true : false })");
+        assertTrue(enrichment.isCompiled());
+        Map<String, Object> record = new HashMap<>();
+        record.put("name", "acme");
+        record.put("id", 42);
+        assertEquals(Map.of("label", "ACME-42", "vip", true), enrichment.evaluate(record));
+        assertSame(enrichment, compiler.compile(enrichment.getSource()));
+    }
+
+    private void report(String format, List<Object> payloads, long expected, CompiledRule rule) throws Exception {
+        long compiledMatches = 0;
+        long compiledNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            compiledMatches = count(payloads, p -> rule.evaluate(p));
+            compiledNanos = Math.min(compiledNanos, System.nanoTime() - start);
+        }
+        assertEquals(expected, compiledMatches);
+
+        if (!format.equals("JSON")) {
+            // The script engine cannot navigate DOM nodes like maps, so there is no baseline for XML
+            log.info("{} rule evaluation, {} messages: compiled {} msg/ms",
+                    format, payloads.size(), perMs(payloads.size(), compiledNanos));
+            return;
+        }
+
+        // Baseline: the pooled script engine with the parsed rule cached, as before compilation
+        ScriptExecutionService scripts = ScriptExecutionService.getInstance();
+        String invocation = "var rule = " + RULE + "; rule(record);";
+        scripts.evaluate(invocation, Map.of("record", payloads.get(0)));
+        long start = System.nanoTime();
+        long scriptMatches = count(payloads, p -> {
+            try {
+                return scripts.evaluate(invocation, Map.of("record", p));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long scriptNanos = System.nanoTime() - start;
+        assertEquals(expected, scriptMatches);
+
+        log.info("{} rule evaluation, {} messages: compiled {} msg/ms, script engine {} msg/ms",
+                format, payloads.size(), perMs(payloads.size(), compiledNanos), perMs(payloads.size(), scriptNanos));
+    }
+
+    private static long count(List<Object> payloads, Function<Object, Object> rule) {
+        long matches = 0;
+        for (Object payload : payloads) {
+            if (Boolean.TRUE.equals(rule.apply(payload))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static boolean expectedMatch(Map<?, ?> record) {
+        Map<?, ?> customer = (Map<?, ?>) record.get("customer");
+        return "ACTIVE".equals(record.get("status"))
+                && ((Integer) record.get("amount")) * 1.2 > 100
+                && ((String) customer.get("country")).startsWith("N");
+    }
+
+    private static String perMs(int messages, long nanos) {
+        return String.format("%.1f", messages / (nanos / 1_000_000.0));
+    }
+}
@@ -1,5 +1,6 @@
 package com.integrixs.data.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -53,12 +54,50 @@ public class AdapterPayload {
     // @Column(name = "message_structure_id", columnDefinition = "UUID")
     // private UUID messageStructureId;
 
+    /**
+     * Body as text when stored uncompressed (encoding null or PLAIN)
+     */
     @Column(name = "payload", columnDefinition = "TEXT")
     private String payload;
 
+    /**
+     * Original body size in bytes (UTF-8)
+     */
     @Column(name = "payload_size")
     private Integer payloadSize;
 
+    /**
+     * Storage of the body: PLAIN, DEFLATE, BLOB or OMITTED; null for rows stored as plain text
+     */
+    @Column(name = "payload_encoding", length = 20)
+    private String payloadEncoding;
+
+    /**
+     * Deflate-compressed body (encoding DEFLATE)
+     */
+    @JsonIgnore
+    @Column(name = "payload_compressed")
+    private byte[] payloadCompressed;
+
+    /**
+     * SHA-256 of the body, naming its blob file (encoding BLOB)
+     */
+    @Column(name = "payload_ref", length = 64)
+    private String payloadRef;
+
+    /**
+     * Bytes stored inline or in the blob file
+     */
+    @Column(name = "stored_size")
+    private Integer storedSize;
+
+    /**
+     * Whether the body was cut to the flow's capture limit
+     */
+    @Builder.Default
+    @Column(name = "truncated", nullable = false)
+    private boolean truncated = false;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -0,0 +1,75 @@
+package com.integrixs.data.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity for aggregate snapshots - the serialized state of an aggregate at a version.
+ * 
+ * <p>Rebuilding an aggregate starts from its snapshot and replays only later events.
+ * 
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "aggregate_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_aggregate_snapshot", columnNames = {"aggregate_id", "aggregate_type"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class AggregateSnapshot {
+    
+    /**
+     * Unique snapshot ID
+     */
+    @Id
+    @GeneratedValue(generator = "uuid2")
+    @GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(columnDefinition = "UUID")
+    @EqualsAndHashCode.Include
+    private UUID id;
+    
+    /**
+     * ID of the aggregate
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    @NotNull(message = "Aggregate ID is required")
+    private UUID aggregateId;
+    
+    /**
+     * Type of the aggregate
+     */
+    @Column(name = "aggregate_type", nullable = false, length = 100)
+    @NotBlank(message = "Aggregate type is required")
+    private String aggregateType;
+    
+    /**
+     * Last event version included in the snapshot
+     */
+    @Column(name = "aggregate_version", nullable = false)
+    @NotNull(message = "Aggregate version is required")
+    private Long aggregateVersion;
+    
+    /**
+     * Serialized aggregate state in JSON format
+     */
+    @Column(name = "snapshot_data", columnDefinition = "TEXT", nullable = false)
+    @NotBlank(message = "Snapshot data is required")
+    private String snapshotData;
+    
+    /**
+     * When the snapshot was taken
+     */
+    @Column(name = "created_at", nullable = false)
+    @NotNull
+    private LocalDateTime createdAt;
+}
@@ -19,7 +19,9 @@ import java.util.UUID;
  * @since 1.0.0
  */
 @Entity
-@Table(name = "event_store", indexes = {
+@Table(name = "event_store", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_event_store_aggregate_version", columnNames = {"aggregate_id", "aggregate_version"})
+}, indexes = {
     @Index(name = "idx_event_aggregate", columnList = "aggregate_id, aggregate_version"),
     @Index(name = "idx_event_type", columnList = "event_type"),
     @Index(name = "idx_event_timestamp", columnList = "occurred_at"),
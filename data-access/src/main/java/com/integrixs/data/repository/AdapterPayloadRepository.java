@@ -2,9 +2,13 @@ package com.integrixs.data.repository;
 
 import com.integrixs.data.model.AdapterPayload;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -13,7 +17,41 @@ import java.util.UUID;
 @Repository
 public interface AdapterPayloadRepository extends JpaRepository<AdapterPayload, UUID> {
     
-    List<AdapterPayload> findByCorrelationIdOrderByCreatedAtAsc(String correlationId);
+    // Bounded by created_at so only the matching partitions are read
+    List<AdapterPayload> findByCorrelationIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(String correlationId, LocalDateTime from);
+    
+    Optional<AdapterPayload> findByIdAndCorrelationIdAndCreatedAtGreaterThanEqual(UUID id, String correlationId, LocalDateTime from);
+    
+    /**
+     * Payloads of a message without their bodies, except bodies of at most {@code inlineMaxBytes}
+     */
+    @Query("SELECT p.id AS id, p.correlationId AS correlationId, p.adapterId AS adapterId, p.adapterName AS adapterName, " +
+           "p.adapterType AS adapterType, p.direction AS direction, p.payloadType AS payloadType, " +
+           "p.payloadSize AS payloadSize, p.payloadEncoding AS payloadEncoding, p.payloadRef AS payloadRef, " +
+           "p.storedSize AS storedSize, p.truncated AS truncated, p.createdAt AS createdAt, " +
+           "CASE WHEN p.payloadSize <= :inlineMaxBytes THEN p.payload END AS payload, " +
+           "CASE WHEN p.payloadSize <= :inlineMaxBytes THEN p.payloadCompressed END AS payloadCompressed " +
+           "FROM AdapterPayload p WHERE p.correlationId = :correlationId AND p.createdAt >= :from ORDER BY p.createdAt")
+    List<PayloadListing> findListing(@Param("correlationId") String correlationId, @Param("from") LocalDateTime from,
+                                     @Param("inlineMaxBytes") int inlineMaxBytes);
+    
+    interface PayloadListing {
+        UUID getId();
+        String getCorrelationId();
+        UUID getAdapterId();
+        String getAdapterName();
+        String getAdapterType();
+        String getDirection();
+        String getPayloadType();
+        Integer getPayloadSize();
+        String getPayloadEncoding();
+        String getPayloadRef();
+        Integer getStoredSize();
+        boolean isTruncated();
+        LocalDateTime getCreatedAt();
+        String getPayload();
+        byte[] getPayloadCompressed();
+    }
     
     List<AdapterPayload> findByAdapterIdOrderByCreatedAtDesc(UUID adapterId);
     
@@ -0,0 +1,27 @@
+package com.integrixs.data.repository;
+
+import com.integrixs.data.model.AggregateSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for aggregate snapshot operations.
+ * 
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Repository
+public interface AggregateSnapshotRepository extends JpaRepository<AggregateSnapshot, UUID> {
+    
+    /**
+     * Finds the snapshot of an aggregate.
+     * 
+     * @param aggregateId the aggregate ID
+     * @param aggregateType the aggregate type
+     * @return the snapshot if one exists
+     */
+    Optional<AggregateSnapshot> findByAggregateIdAndAggregateType(UUID aggregateId, String aggregateType);
+}
@@ -39,6 +39,18 @@ public interface EventStoreRepository extends JpaRepository<EventStore, UUID> {
     List<EventStore> findByAggregateIdAndAggregateTypeOrderByAggregateVersionAsc(
         UUID aggregateId, String aggregateType);
     
+    /**
+     * Finds events of an aggregate recorded after a given version, used to replay
+     * events on top of a snapshot.
+     * 
+     * @param aggregateId the aggregate ID
+     * @param aggregateType the aggregate type
+     * @param aggregateVersion the version already covered by the snapshot
+     * @return list of newer events
+     */
+    List<EventStore> findByAggregateIdAndAggregateTypeAndAggregateVersionGreaterThanOrderByAggregateVersionAsc(
+        UUID aggregateId, String aggregateType, Long aggregateVersion);
+    
     /**
      * Finds events by type within a time range.
      * 
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -24,16 +25,21 @@ public interface SystemLogRepository extends JpaRepository<SystemLog, UUID>, Jpa
     long countByComponentIdAndLevelAndTimestampAfter(String componentId, SystemLog.LogLevel level, LocalDateTime date);
     long countByLevelAndTimestampAfter(SystemLog.LogLevel level, LocalDateTime date);
     
-    // Methods for MessageService
-    List<SystemLog> findByComponentId(String componentId, org.springframework.data.domain.Pageable pageable);
+    // Methods for MessageService; bounded by timestamp so only the matching partitions are read
+    List<SystemLog> findByComponentIdAndTimestampAfter(String componentId, LocalDateTime after, org.springframework.data.domain.Pageable pageable);
     
-    // Find logs by correlation ID
-    List<SystemLog> findByCorrelationId(String correlationId);
+    List<SystemLog> findByTimestampAfter(LocalDateTime after, org.springframework.data.domain.Pageable pageable);
     
-    // Methods for adapter monitoring
-    List<SystemLog> findByMessageContainingAndSourceOrderByTimestampDesc(String message, String source);
+    Optional<SystemLog> findByIdAndTimestamp(UUID id, LocalDateTime timestamp);
     
-    List<SystemLog> findByMessageContainingOrderByTimestampDesc(String message);
+    List<SystemLog> findByIdInAndTimestampBetween(java.util.Collection<UUID> ids, LocalDateTime from, LocalDateTime to);
+    
+    List<SystemLog> findByCorrelationIdInAndTimestampGreaterThanEqual(java.util.Collection<String> correlationIds, LocalDateTime from);
+    
+    // Methods for adapter monitoring; bounded by time and count (trigram index on message)
+    List<SystemLog> findTop500ByMessageContainingAndSourceAndTimestampAfterOrderByTimestampDesc(String message, String source, LocalDateTime after);
+    
+    Optional<SystemLog> findFirstByMessageContainingAndTimestampAfterOrderByTimestampDesc(String message, LocalDateTime after);
     
     // Methods for payload viewer
     List<SystemLog> findByCorrelationIdAndCategoryOrderByTimestampDesc(String correlationId, String category);
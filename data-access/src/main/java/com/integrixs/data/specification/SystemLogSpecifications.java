@@ -12,9 +12,16 @@ import java.util.UUID;
 /**
  * JPA Specifications for SystemLog dynamic queries.
  * Provides reusable query predicates for flexible filtering.
+ * system_logs is partitioned by timestamp, so queries are always bounded by a timestamp
+ * range that lets the database skip partitions outside it.
  */
 public class SystemLogSpecifications {
 
+    /**
+     * Window before the end date used when no start date is given
+     */
+    public static final int DEFAULT_WINDOW_DAYS = 7;
+
     /**
      * Creates a specification for filtering system logs with multiple optional parameters.
      * 
@@ -22,8 +29,8 @@ public class SystemLogSpecifications {
      * @param category The log category
      * @param level The log level
      * @param userId The user ID
-     * @param startDate The start date for timestamp filtering
-     * @param endDate The end date for timestamp filtering
+     * @param startDate The start date for timestamp filtering; {@link #DEFAULT_WINDOW_DAYS} before the end date if null
+     * @param endDate The end date for timestamp filtering; open-ended if null
      * @return Specification for filtering system logs
      */
     public static Specification<SystemLog> withFilters(String source, 
@@ -56,9 +63,9 @@ public class SystemLogSpecifications {
                 }
             }
             
-            if (startDate != null) {
-                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("timestamp"), startDate));
-            }
+            LocalDateTime from = startDate != null ? startDate
+                : (endDate != null ? endDate : LocalDateTime.now()).minusDays(DEFAULT_WINDOW_DAYS);
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("timestamp"), from));
             
             if (endDate != null) {
                 predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("timestamp"), endDate));
@@ -90,7 +97,7 @@ public class SystemLogSpecifications {
         return (root, query, criteriaBuilder) -> 
             criteriaBuilder.and(
                 criteriaBuilder.equal(root.get("level"), level),
-                criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), after)
+                criteriaBuilder.greaterThanOrEqualTo(root.get("timestamp"), after)
             );
     }
     
@@ -17,6 +17,7 @@ import com.integrixs.data.model.FlowStructureNamespace;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -24,6 +25,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Main engine for processing messages through integration flows
@@ -41,6 +45,8 @@ public class MessageProcessingEngine {
     private final CommunicationAdapterRepository adapterRepository;
     private final FlowStructureRepository flowStructureRepository;
     
+    private Executor flowExecutor = ForkJoinPool.commonPool();
+    
     @Autowired
     public MessageProcessingEngine(
             MessageRoutingService messageRoutingService,
@@ -59,6 +65,14 @@ public class MessageProcessingEngine {
         this.flowStructureRepository = flowStructureRepository;
     }
     
+    /**
+     * Use the application's flow executor (platform pool or virtual threads) when present.
+     */
+    @Autowired(required = false)
+    public void setFlowExecutor(@Qualifier("flowExecutor") ExecutorService flowExecutor) {
+        this.flowExecutor = flowExecutor;
+    }
+    
     /**
      * Process a message through an integration flow
      * 
@@ -100,7 +114,7 @@ public class MessageProcessingEngine {
                 logger.error("Error processing message for flow: {}", flowId, e);
                 return new ProcessingResult(false, "Processing failed: " + e.getMessage(), null);
             }
-        });
+        }, flowExecutor);
     }
     
     /**
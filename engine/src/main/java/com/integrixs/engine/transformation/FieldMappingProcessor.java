@@ -4,9 +4,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Processor for executing field mapping transformations
@@ -16,7 +16,7 @@ public class FieldMappingProcessor {
     
     private static final Logger log = LoggerFactory.getLogger(FieldMappingProcessor.class);
     
-    private final ScriptEngineManager scriptEngineManager = new ScriptEngineManager();
+    private final ScriptExecutionService scriptExecutionService = ScriptExecutionService.getInstance();
     
     /**
      * Execute a transformation function on input values
@@ -36,22 +36,16 @@ public class FieldMappingProcessor {
                 return executeBuiltinFunction(functionCode.substring(8), inputValues);
             }
             
-            // Execute custom JavaScript/Java code
-            ScriptEngine engine = scriptEngineManager.getEngineByName("javascript");
-            if (engine == null) {
-                log.error("JavaScript engine not available");
-                return String.join(" ", inputValues);
-            }
-            
-            // Set input values as variables
+            // Execute custom JavaScript/Java code with its own bindings
+            Map<String, Object> bindings = new HashMap<>();
             for (int i = 0; i < inputValues.length; i++) {
-                engine.put("input" + (i + 1), inputValues[i]);
-                engine.put("$" + (i + 1), inputValues[i]); // Alternative syntax
+                bindings.put("input" + (i + 1), inputValues[i]);
+                bindings.put("$" + (i + 1), inputValues[i]); // Alternative syntax
             }
-            engine.put("inputs", inputValues);
+            bindings.put("inputs", inputValues);
             
             // Execute the function
-            Object result = engine.eval(functionCode);
+            Object result = scriptExecutionService.evaluate(functionCode, bindings);
             return result != null ? result.toString() : "";
             
         } catch (ScriptException e) {
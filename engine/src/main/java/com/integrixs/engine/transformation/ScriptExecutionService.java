@@ -0,0 +1,254 @@
+package com.integrixs.engine.transformation;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.script.ScriptException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared JavaScript execution for field mappings, filters and custom functions.
+ *
+ * <p>Scripts run on GraalJS. All evaluations share one polyglot engine, which keeps the
+ * parsed code of the sources held in a bounded cache keyed by the SHA-256 of the script
+ * source. Every evaluation gets its own context, so globals and bindings never leak
+ * between calls, and at most {@code poolSize} evaluations run at once.
+ *
+ * <p>A script that exceeds the timeout is stopped by closing its context with
+ * cancellation, which aborts the running code and frees the calling thread; a runaway
+ * script cannot hold on to a thread.
+ */
+public class ScriptExecutionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScriptExecutionService.class);
+
+    private static final ScriptExecutionService INSTANCE = new ScriptExecutionService();
+
+    private static final String LANGUAGE = "js";
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "script-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private volatile long timeoutMs = 5000;
+    private volatile int compiledCacheSize = 500;
+
+    private volatile Engine engine;
+    private volatile Semaphore slots;
+    private volatile Map<String, Source> sources;
+    private final AtomicLong evaluations = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong compilations = new AtomicLong();
+
+    private ScriptExecutionService() {
+        start();
+    }
+
+    public static ScriptExecutionService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Reconfigure the service. Cached scripts are discarded.
+     *
+     * @param poolSize maximum number of concurrent evaluations
+     * @param timeoutMs maximum time per evaluation in milliseconds
+     * @param compiledCacheSize parsed scripts kept
+     */
+    public synchronized void configure(int poolSize, long timeoutMs, int compiledCacheSize) {
+        this.poolSize = Math.max(1, poolSize);
+        this.timeoutMs = Math.max(1, timeoutMs);
+        this.compiledCacheSize = Math.max(1, compiledCacheSize);
+        start();
+        log.info("Script execution configured: pool size={}, timeout={}ms, compiled cache={}",
+                this.poolSize, this.timeoutMs, this.compiledCacheSize);
+    }
+
+    private synchronized void start() {
+        // Contexts still running on the previous engine keep it alive until they close
+        engine = Engine.newBuilder(LANGUAGE)
+                .option("engine.WarnInterpreterOnly", "false")
+                .build();
+        slots = new Semaphore(poolSize);
+        int cacheSize = compiledCacheSize;
+        sources = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Source> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Evaluate a script with its own bindings.
+     *
+     * @param script the script source
+     * @param bindings variables visible to the script, may be null
+     * @return the value of the script, converted to plain Java values
+     * @throws ScriptException if the script fails, times out or no slot frees up in time
+     */
+    public Object evaluate(String script, Map<String, Object> bindings) throws ScriptException {
+        Engine sharedEngine;
+        Semaphore pool;
+        synchronized (this) {
+            sharedEngine = engine;
+            pool = slots;
+        }
+
+        evaluations.incrementAndGet();
+        acquire(pool);
+        try (Context context = Context.newBuilder(LANGUAGE)
+                .engine(sharedEngine)
+                .allowHostAccess(HostAccess.ALL)
+                .build()) {
+            Value scope = context.getBindings(LANGUAGE);
+            if (bindings != null) {
+                bindings.forEach(scope::putMember);
+            }
+
+            ScheduledFuture<?> timeout = watchdog.schedule(() -> context.close(true), timeoutMs, TimeUnit.MILLISECONDS);
+            try {
+                // Converted before the context closes; its values are unusable afterwards
+                return toJava(context.eval(source(script)));
+            } finally {
+                timeout.cancel(false);
+            }
+        } catch (PolyglotException e) {
+            if (e.isCancelled()) {
+                timeouts.incrementAndGet();
+                log.warn("Script evaluation timed out after {}ms and was cancelled", timeoutMs);
+                throw new ScriptException("Script evaluation timed out after " + timeoutMs + "ms");
+            }
+            ScriptException wrapped = new ScriptException(e.getMessage());
+            wrapped.initCause(e);
+            throw wrapped;
+        } catch (IllegalStateException e) {
+            // The watchdog closed the context between evaluation and conversion
+            timeouts.incrementAndGet();
+            throw new ScriptException("Script evaluation timed out after " + timeoutMs + "ms");
+        } finally {
+            pool.release();
+        }
+    }
+
+    private void acquire(Semaphore pool) throws ScriptException {
+        try {
+            if (!pool.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ScriptException("No script engine available within " + timeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScriptException("Interrupted while waiting for a script engine");
+        }
+    }
+
+    private Source source(String script) {
+        String key = hash(script);
+        Map<String, Source> cache = sources;
+        synchronized (cache) {
+            Source source = cache.get(key);
+            if (source == null) {
+                source = Source.newBuilder(LANGUAGE, script, "script-" + key.substring(0, 12)).buildLiteral();
+                compilations.incrementAndGet();
+                cache.put(key, source);
+            }
+            return source;
+        }
+    }
+
+    private static Object toJava(Value value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isHostObject()) {
+            return value.asHostObject();
+        }
+        if (value.isBoolean()) {
+            return value.asBoolean();
+        }
+        if (value.isString()) {
+            return value.asString();
+        }
+        if (value.isNumber()) {
+            if (value.fitsInInt()) {
+                return value.asInt();
+            }
+            if (value.fitsInLong()) {
+                return value.asLong();
+            }
+            return value.asDouble();
+        }
+        if (value.hasArrayElements()) {
+            List<Object> list = new ArrayList<>((int) value.getArraySize());
+            for (long i = 0; i < value.getArraySize(); i++) {
+                list.add(toJava(value.getArrayElement(i)));
+            }
+            return list;
+        }
+        if (value.hasMembers() && !value.canExecute()) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (String key : value.getMemberKeys()) {
+                map.put(key, toJava(value.getMember(key)));
+            }
+            return map;
+        }
+        return value.toString();
+    }
+
+    public long getEvaluationCount() {
+        return evaluations.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.get();
+    }
+
+    public long getCompilationCount() {
+        return compilations.get();
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Clear the cached scripts.
+     */
+    public void clearCompiledScripts() {
+        Map<String, Source> cache = sources;
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static String hash(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.integrixs.engine.xml;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits an XML message into record fragments with a streaming parser, so a large
+ * multi-record message is never held as one DOM.
+ *
+ * <p>The record path is either absolute ({@code /Orders/Order}), matching elements by
+ * local name from the root, or relative ({@code Order} or {@code //Order}), matching the
+ * outermost element with that local name at any depth. Namespaces declared on ancestors
+ * of a record are redeclared on the record element, so each fragment parses on its own.
+ */
+public class XmlRecordSplitter implements Iterator<String> {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final XMLEventFactory EVENT_FACTORY = XMLEventFactory.newInstance();
+
+    private final XMLEventReader reader;
+    private final String[] absolutePath;
+    private final String recordName;
+    private final Deque<String> path = new ArrayDeque<>();
+    private final Deque<List<Namespace>> namespaces = new ArrayDeque<>();
+
+    private StartElement rootStart;
+    private String next;
+    private int count;
+
+    /**
+     * @param xml the message
+     * @param recordPath absolute or relative path of the record elements
+     * @throws XmlConversionException if the message cannot be read
+     */
+    public XmlRecordSplitter(String xml, String recordPath) throws XmlConversionException {
+        if (recordPath == null || recordPath.isBlank()) {
+            throw new XmlConversionException("Record path is required to split a message");
+        }
+        String trimmed = recordPath.trim();
+        if (trimmed.startsWith("/") && !trimmed.startsWith("//")) {
+            this.absolutePath = trimmed.substring(1).split("/");
+            this.recordName = absolutePath[absolutePath.length - 1];
+        } else {
+            this.absolutePath = null;
+            this.recordName = trimmed.replaceFirst("^//", "");
+        }
+        try {
+            this.reader = INPUT_FACTORY.createXMLEventReader(new StringReader(xml));
+        } catch (XMLStreamException e) {
+            throw new XmlConversionException("Failed to read message for splitting", e);
+        }
+    }
+
+    /**
+     * @return the root element of the message, once the first record has been read
+     */
+    public QName getRootElement() {
+        return rootStart != null ? rootStart.getName() : null;
+    }
+
+    /**
+     * @return the start tag of the root element with its prefix, namespace declarations
+     * and attributes, once the first record has been read
+     */
+    public String getRootStartTag() {
+        if (rootStart == null) {
+            return null;
+        }
+        StringBuilder tag = new StringBuilder("<").append(qualifiedName(rootStart.getName()));
+        for (Iterator<Namespace> it = rootStart.getNamespaces(); it.hasNext(); ) {
+            Namespace namespace = it.next();
+            tag.append(namespace.isDefaultNamespaceDeclaration() ? " xmlns" : " xmlns:" + namespace.getPrefix());
+            appendValue(tag, namespace.getNamespaceURI());
+        }
+        for (Iterator<Attribute> it = rootStart.getAttributes(); it.hasNext(); ) {
+            Attribute attribute = it.next();
+            tag.append(' ').append(qualifiedName(attribute.getName()));
+            appendValue(tag, attribute.getValue());
+        }
+        return tag.append('>').toString();
+    }
+
+    /**
+     * @return the end tag of the root element, once the first record has been read
+     */
+    public String getRootEndTag() {
+        return rootStart != null ? "</" + qualifiedName(rootStart.getName()) + ">" : null;
+    }
+
+    /**
+     * @return number of records returned so far
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readRecord();
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Failed to split message: " + e.getMessage(), e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String record = next;
+        next = null;
+        count++;
+        return record;
+    }
+
+    private String readRecord() throws XMLStreamException {
+        while (reader.hasNext()) {
+            XMLEvent event = reader.nextEvent();
+            if (event.isStartElement()) {
+                StartElement start = event.asStartElement();
+                if (rootStart == null) {
+                    rootStart = start;
+                }
+                path.addLast(start.getName().getLocalPart());
+                List<Namespace> declared = new ArrayList<>();
+                start.getNamespaces().forEachRemaining(declared::add);
+                namespaces.addLast(declared);
+                if (isRecord()) {
+                    return capture(start);
+                }
+            } else if (event.isEndElement()) {
+                path.removeLast();
+                namespaces.removeLast();
+            }
+        }
+        reader.close();
+        return null;
+    }
+
+    private boolean isRecord() {
+        if (absolutePath == null) {
+            return recordName.equals(path.peekLast());
+        }
+        if (path.size() != absolutePath.length) {
+            return false;
+        }
+        int i = 0;
+        for (String name : path) {
+            if (!name.equals(absolutePath[i++])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String capture(StartElement start) throws XMLStreamException {
+        StringWriter out = new StringWriter();
+        XMLEventWriter writer = OUTPUT_FACTORY.createXMLEventWriter(out);
+        writer.add(EVENT_FACTORY.createStartElement(start.getName(), start.getAttributes(), inScopeNamespaces()));
+
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            XMLEvent event = reader.nextEvent();
+            if (event.isStartElement()) {
+                depth++;
+            } else if (event.isEndElement()) {
+                depth--;
+            }
+            writer.add(event);
+        }
+        writer.close();
+        path.removeLast();
+        namespaces.removeLast();
+        return out.toString();
+    }
+
+    private Iterator<Namespace> inScopeNamespaces() {
+        Map<String, Namespace> inScope = new LinkedHashMap<>();
+        for (List<Namespace> declared : namespaces) {
+            for (Namespace namespace : declared) {
+                inScope.put(namespace.getPrefix(), namespace);
+            }
+        }
+        return inScope.values().iterator();
+    }
+
+    private static String qualifiedName(QName name) {
+        return name.getPrefix().isEmpty() ? name.getLocalPart() : name.getPrefix() + ":" + name.getLocalPart();
+    }
+
+    private static void appendValue(StringBuilder tag, String value) {
+        tag.append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> tag.append("&amp;");
+                case '<' -> tag.append("&lt;");
+                case '"' -> tag.append("&quot;");
+                default -> tag.append(c);
+            }
+        }
+        tag.append('"');
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+}
@@ -0,0 +1,74 @@
+package com.integrixs.engine.transformation;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.script.ScriptException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ScriptExecutionService: timeouts, isolation and result conversion.
+ */
+public class ScriptExecutionServiceTest {
+
+    private static final ScriptExecutionService service = ScriptExecutionService.getInstance();
+
+    @BeforeAll
+    static void setUp() {
+        service.configure(2, 500, 10);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        service.configure(Math.max(2, Runtime.getRuntime().availableProcessors()), 5000, 500);
+    }
+
+    @Test
+    void runawayScriptsTimeOutAndThePoolStaysUsable() throws Exception {
+        long timeoutsBefore = service.getTimeoutCount();
+
+        // Occupy every slot with a script that never ends
+        ExecutorService callers = Executors.newFixedThreadPool(service.getPoolSize());
+        try {
+            List<Future<ScriptException>> runaways = new ArrayList<>();
+            for (int i = 0; i < service.getPoolSize(); i++) {
+                runaways.add(callers.submit(() -> assertThrows(ScriptException.class,
+                        () -> service.evaluate("while (true) {}", null))));
+            }
+            for (Future<ScriptException> runaway : runaways) {
+                assertTrue(runaway.get().getMessage().contains("timed out"), runaway.get().getMessage());
+            }
+        } finally {
+            callers.shutdown();
+        }
+        assertEquals(timeoutsBefore + service.getPoolSize(), service.getTimeoutCount());
+
+        // The runaway scripts were stopped, so every slot is free again
+        for (int i = 0; i < 20; i++) {
+            Object result = service.evaluate("value + 1", Map.of("value", i));
+            assertEquals(i + 1, result);
+        }
+    }
+
+    @Test
+    void evaluationsDoNotShareGlobals() throws Exception {
+        assertEquals(1, service.evaluate("var counter = (typeof counter === 'undefined' ? 0 : counter) + 1; counter", null));
+        assertEquals(1, service.evaluate("var counter = (typeof counter === 'undefined' ? 0 : counter) + 1; counter", null));
+    }
+
+    @Test
+    void resultsAreConvertedToJavaValues() throws Exception {
+        Object result = service.evaluate(
+                "var label = (record) => ({ name: record.name.toUpperCase(), tags: [record.id, 1.5] }); label(record)",
+                Map.of("record", Map.of("name", "acme", "id", 42)));
+        assertEquals(Map.of("name", "ACME", "tags", List.of(42, 1.5)), result);
+    }
+}
@@ -0,0 +1,30 @@
+package com.integrixs.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdapterPayloadDTO {
+    private String id;
+    private String correlationId;
+    private String adapterId;
+    private String adapterName;
+    private String adapterType;
+    private String direction; // INBOUND or OUTBOUND
+    private String payloadType; // REQUEST or RESPONSE
+    private String payload; // null if not captured or deferred
+    private Integer payloadSize; // original size in bytes
+    private Integer storedSize; // bytes stored after compression
+    private String encoding; // PLAIN, DEFLATE, BLOB or OMITTED
+    private boolean truncated;
+    private boolean captured;
+    private boolean contentDeferred; // body is fetched from the payload content endpoint
+    private LocalDateTime createdAt;
+}
@@ -20,8 +20,10 @@ public class AdapterStatusDTO {
     private Integer load; // 0-100 percentage
     private String businessComponentId;
     private String businessComponentName;
-    private Long messagesProcessed;
-    private Long errorsCount;
+    private Long messagesProcessed; // within the activity window
+    private Long errorsCount; // within the activity window
+    private Integer activityWindowHours; // hours of logs the counts cover
+    private Boolean activityCountsTruncated; // counts cover only the most recent log entries of the window
     private LocalDateTime lastActivity;
     private String lastError;
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.integrixs.shared.events.entity;
+
+import com.integrixs.shared.events.AbstractDomainEvent;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Event raised after a transaction that updated or deleted a persistent entity
+ * has committed.
+ * 
+ * @author Integration Team
+ * @since 1.0.0
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class EntityChangedEvent extends AbstractDomainEvent {
+    
+    public enum ChangeType {
+        UPDATED,
+        DELETED
+    }
+    
+    private String entityType;
+    private String entityId;
+    private ChangeType changeType;
+    
+    public EntityChangedEvent(String entityType, String entityId, ChangeType changeType, String changedBy) {
+        super(entityId, changedBy);
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+    }
+    
+    /**
+     * Checks if the event concerns the given entity class.
+     * 
+     * @param entityClass the entity class
+     * @return true if the changed entity is of that class
+     */
+    public boolean isFor(Class<?> entityClass) {
+        return entityClass.getSimpleName().equals(entityType);
+    }
+}